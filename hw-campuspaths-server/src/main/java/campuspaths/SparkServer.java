@@ -15,6 +15,10 @@ import campuspaths.utils.CORSFilter;
 import com.google.gson.Gson;
 import spark.Spark;
 import pathfinder.CampusMap;
+import pathfinder.RoutingAlgorithm;
+
+import java.nio.file.Paths;
+import java.util.Locale;
 
 public class SparkServer {
 
@@ -28,7 +32,13 @@ public class SparkServer {
 
         // TODO: Create all the Spark Java routes you need here.
 
-        CampusMap map = new CampusMap();
+        //Start from a memory-mapped binary graph file, written on the first run, if one is configured
+        String graphFile = System.getProperty("pathfinder.graphFile");
+        CampusMap map = graphFile == null ? new CampusMap() : new CampusMap(Paths.get(graphFile));
+        //Optionally answer default path requests from a table of every building-to-building route computed up front
+        if(Boolean.getBoolean("pathfinder.precomputeRoutes")){
+            map.precomputeRoutes();
+        }
         Gson g = new Gson();
 
         Spark.get("/path", (req, res) -> {
@@ -50,10 +60,26 @@ public class SparkServer {
                 res.status(400);
                 return "end building does not exist";
             }
-            return g.toJson(map.findShortestPath(start, end));
+            //Optional search algorithm; every algorithm returns a path of the same distance. Without one, the path is
+            //found with Dijkstra's algorithm through the cache of shortest path trees out of recent start buildings
+            String algorithm = req.queryParams("algorithm");
+            if(algorithm == null){
+                return g.toJson(map.findShortestPath(start, end));
+            }
+            RoutingAlgorithm routing;
+            try {
+                routing = RoutingAlgorithm.valueOf(algorithm.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e){
+                res.status(400);
+                return "unknown algorithm";
+            }
+            return g.toJson(map.findShortestPath(start, end, routing));
         });
 
         Spark.get("/buildings", (req,res) -> g.toJson(map.buildingNames()));
+
+        //Node and edge counts, out-degree histogram and estimated memory of the campus graph
+        Spark.get("/stats", (req,res) -> g.toJson(map.graphStats()));
     }
 
 }
@@ -0,0 +1,261 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * <b>BidirectionalBreadthFirstSearch</b> finds fewest-edge paths in a FrozenGraph by searching breadth first forward
+ * from the start and, over a ReverseAdjacency view, backward from the end, one whole level at a time, always expanding
+ * the smaller of the two frontiers. When a level reaches nodes the other side has already reached, the shortest path
+ * passes through the one of those nodes with the least total depth, and the search stops after that level. In a
+ * small-world graph, where a few hops reach most nodes, each side only has to go half the distance, so the search
+ * reaches far fewer nodes than a one-sided search does.
+ *
+ * <p>The path found is a shortest path, but among several equally short paths it need not be the one a one-sided
+ * search would find. Among parallel edges between two consecutive nodes of the path, the least edge label is used.</p>
+ *
+ * <p>The arrays are allocated once and reused by each search, so an instance is not safe for use by multiple threads
+ * at once.</p>
+ *
+ * <p>Specification fields:
+ * @spec.specfield graph : FrozenGraph //The graph searched
+ * @spec.specfield reachedCount : int //The number of nodes reached by both sides in the last search</p>
+ *
+ * Type Parameter N is the data type of the node labels in the graph.
+ * Type Parameter E is the data type of the edge labels in the graph.
+ */
+public final class BidirectionalBreadthFirstSearch<N,E> {
+
+    /**
+     * The graph searched forward
+     */
+    private final FrozenGraph<N,E> graph;
+
+    /**
+     * The reverse of graph, searched backward
+     */
+    private final ReverseAdjacency<N> reverse;
+
+    /**
+     * The number of edges from the start to each node, and from each node to the end, valid for nodes that side reached this run
+     */
+    private final int[] forwardDepth, backwardDepth;
+
+    /**
+     * The node before each node on its path from the start, and after each node on its path to the end, or -1 for the start and end
+     */
+    private final int[] forwardParent, backwardParent;
+
+    /**
+     * The run in which each side last reached each node
+     */
+    private final int[] forwardSeen, backwardSeen;
+
+    /**
+     * The number of the current run, starting at 1
+     */
+    private int run;
+
+    /**
+     * The number of nodes reached by both sides in the last search
+     */
+    private int reachedCount;
+
+    //Abstraction Function: A node n was reached by the forward side in the last search if forwardSeen[n] == run, and then its path from the start
+    //                      follows forwardParent back from n. Likewise for the backward side, whose paths follow backwardParent on to the end.
+
+    //Representation Invariant: graph, reverse and all arrays are not null, reverse is the reverse of graph and all arrays have length graph.nodeCount()
+
+    /**Creates a bidirectional search for a graph, reversing the graph's edges once for the backward searches
+     *
+     * @param graph The graph to search
+     * @throws IllegalArgumentException if graph is null
+     * @spec.effects Constructs a new bidirectional search that has not searched yet
+     */
+    public BidirectionalBreadthFirstSearch(FrozenGraph<N,E> graph){
+        if(graph == null){
+            throw new IllegalArgumentException();
+        }
+        this.graph = graph;
+        reverse = new ReverseAdjacency<>(graph);
+        int nodeCount = graph.nodeCount();
+        forwardDepth = new int[nodeCount];
+        backwardDepth = new int[nodeCount];
+        forwardParent = new int[nodeCount];
+        backwardParent = new int[nodeCount];
+        forwardSeen = new int[nodeCount];
+        backwardSeen = new int[nodeCount];
+        checkRep();
+    }
+
+    /**Returns the graph this searches
+     *
+     * @return the graph searched
+     */
+    public FrozenGraph<N,E> graph(){
+        return graph;
+    }
+
+    /**Finds a shortest path between two nodes
+     *
+     * @param start The label of the node the path should begin at
+     * @param end The label of the node the path should arrive at
+     * @param edgeOrder The order used to choose between parallel edges between two nodes of the path
+     * @return The edges of a shortest path from start to end, not including start (empty if start equals end), or null if end cannot be reached
+     * @throws IllegalArgumentException if any argument is null or start is not a node in graph
+     * @spec.modifies this
+     * @spec.effects Sets reachedCount to the number of nodes this search reached
+     */
+    public List<DirectedLabeledGraph.Edge<N,E>> findPath(N start, N end, Comparator<? super E> edgeOrder){
+        if(start == null || end == null || edgeOrder == null){
+            throw new IllegalArgumentException();
+        }
+        int source = graph.idOf(start);
+        if(source == -1){
+            throw new IllegalArgumentException();
+        }
+        int target = graph.idOf(end);
+        startRun(source, target);
+        if(target == -1){
+            return null;
+        }
+        int meeting = search(source, target);
+        if(meeting == -1){
+            return null;
+        }
+        List<DirectedLabeledGraph.Edge<N,E>> path = new ArrayList<>();
+        for(int node = meeting; forwardParent[node] != -1; node = forwardParent[node]){
+            path.add(edge(forwardParent[node], node, edgeOrder));
+        }
+        Collections.reverse(path);
+        for(int node = meeting; backwardParent[node] != -1; node = backwardParent[node]){
+            path.add(edge(node, backwardParent[node], edgeOrder));
+        }
+        checkRep();
+        return path;
+    }
+
+    /**Returns the number of nodes reached by the last search, a measure of how much of the graph it explored
+     *
+     * @return the number of nodes reached by the forward side plus the number reached by the backward side in the last search
+     */
+    public int reachedCount(){
+        return reachedCount;
+    }
+
+    /**Runs the two searches a level at a time until they meet or one side runs out of nodes
+     *
+     * @param source The id of the start node
+     * @param target The id of the end node
+     * @return The id of the node where a shortest path's two halves meet, or -1 if there is no path
+     */
+    private int search(int source, int target){
+        if(source == target){
+            return source;
+        }
+        int[] forwardFrontier = {source};
+        int[] backwardFrontier = {target};
+        while(forwardFrontier.length > 0 && backwardFrontier.length > 0){
+            int[] meeting = new int[]{-1, Integer.MAX_VALUE};
+            if(forwardFrontier.length <= backwardFrontier.length){
+                forwardFrontier = expand(graph, forwardFrontier, forwardDepth, forwardParent, forwardSeen, backwardDepth, backwardSeen, meeting);
+            } else {
+                backwardFrontier = expand(reverse, backwardFrontier, backwardDepth, backwardParent, backwardSeen, forwardDepth, forwardSeen, meeting);
+            }
+            if(meeting[0] != -1){
+                return meeting[0];
+            }
+        }
+        return -1;
+    }
+
+    /**Expands one side's frontier by a level, noting the best node the other side has also reached
+     *
+     * @param adjacency The graph this side searches
+     * @param frontier The nodes this side reached in its last level
+     * @param depth This side's depths
+     * @param parent This side's parents
+     * @param seen This side's reached stamps
+     * @param otherDepth The other side's depths
+     * @param otherSeen The other side's reached stamps
+     * @param meeting Holds the best meeting node found so far and its total depth, which this updates
+     * @return The nodes this side reached for the first time in this level
+     */
+    private int[] expand(IntAdjacency<N> adjacency, int[] frontier, int[] depth, int[] parent, int[] seen,
+                         int[] otherDepth, int[] otherSeen, int[] meeting){
+        int[] next = new int[16];
+        int count = 0;
+        for(int node : frontier){
+            int end = adjacency.edgeEnd(node);
+            for(int e = adjacency.edgeStart(node); e < end; e++){
+                int child = adjacency.target(e);
+                if(seen[child] == run){
+                    continue;
+                }
+                seen[child] = run;
+                depth[child] = depth[node] + 1;
+                parent[child] = node;
+                reachedCount++;
+                if(count == next.length){
+                    next = Arrays.copyOf(next, count * 2);
+                }
+                next[count++] = child;
+                if(otherSeen[child] == run && depth[child] + otherDepth[child] < meeting[1]){
+                    meeting[0] = child;
+                    meeting[1] = depth[child] + otherDepth[child];
+                }
+            }
+        }
+        return Arrays.copyOf(next, count);
+    }
+
+    /**Returns the least edge, by label, from one node to another
+     *
+     * @param from The id of the node the edge comes out of
+     * @param to The id of the node the edge goes into
+     * @param edgeOrder The order of the edge labels
+     * @return The least edge from from to to, with to as its destination
+     * @spec.requires there is an edge from from to to
+     */
+    private DirectedLabeledGraph.Edge<N,E> edge(int from, int to, Comparator<? super E> edgeOrder){
+        E best = null;
+        for(int e = graph.edgeStart(from); e < graph.edgeEnd(from); e++){
+            if(graph.target(e) == to && (best == null || edgeOrder.compare(graph.edgeLabel(e), best) < 0)){
+                best = graph.edgeLabel(e);
+            }
+        }
+        return new DirectedLabeledGraph.Edge<>(best, new DirectedLabeledGraph.Node<>(graph.labelOf(to)));
+    }
+
+    /**Starts a new run with the start and end reached by their own sides
+     *
+     * @param source The id of the start node
+     * @param target The id of the end node, or -1 if it is not in the graph
+     */
+    private void startRun(int source, int target){
+        if(run == Integer.MAX_VALUE){ //Stamps would repeat, so clear them
+            Arrays.fill(forwardSeen, 0);
+            Arrays.fill(backwardSeen, 0);
+            run = 0;
+        }
+        run++;
+        forwardSeen[source] = run;
+        forwardDepth[source] = 0;
+        forwardParent[source] = -1;
+        reachedCount = 1;
+        if(target != -1){
+            backwardSeen[target] = run;
+            backwardDepth[target] = 0;
+            backwardParent[target] = -1;
+            reachedCount++;
+        }
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated
+     */
+    private void checkRep(){
+        assert graph != null && reverse != null && reverse.forward() == graph;
+        assert forwardDepth != null && backwardDepth != null && forwardParent != null && backwardParent != null;
+        assert forwardSeen != null && backwardSeen != null;
+    }
+}
@@ -0,0 +1,299 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * <b>BidirectionalDijkstra</b> finds shortest paths in a WeightedAdjacency graph by running Dijkstra's algorithm
+ * forward from the source and, over a ReverseAdjacency view, backward from the target at the same time. Each step
+ * settles a node on whichever side has the nearer frontier. Whenever an edge reaches a node the other side has reached,
+ * the path through that node is a candidate, and the search stops once the two frontiers' least distances add up to at
+ * least the best candidate, since no path found later could be shorter. The two searches each cover a ball about half
+ * the radius of a one-sided search, so together they settle far fewer nodes.
+ *
+ * <p>As in a DijkstraEngine, the arrays are allocated once and reused by each search, and an instance is not safe for
+ * use by multiple threads at once.</p>
+ *
+ * <p>Specification fields:
+ * @spec.specfield graph : WeightedAdjacency //The graph searched forward
+ * @spec.specfield reverse : WeightedAdjacency //The reverse of graph, searched backward
+ * @spec.specfield path : List(int) //The edges of the shortest path found by the last search, or nothing if none was found</p>
+ *
+ * Type Parameter N is the data type of the node labels in the searched graph.
+ */
+public final class BidirectionalDijkstra<N> {
+
+    /**
+     * The graph searched forward
+     */
+    private final WeightedAdjacency<N> graph;
+
+    /**
+     * The reverse of graph, searched backward
+     */
+    private final ReverseAdjacency<N> reverse;
+
+    /**
+     * The nodes reached but not settled by each side this run, keyed by their distance on that side
+     */
+    private final IndexedHeap forwardFrontier, backwardFrontier;
+
+    /**
+     * The best known distance from the source to each node, and from each node to the target
+     */
+    private final double[] forwardDist, backwardDist;
+
+    /**
+     * The edge of graph into each node on its best known path from the source, and out of each node on its best known
+     * path to the target, or -1 for the source and target themselves
+     */
+    private final int[] forwardEdge, backwardEdge;
+
+    /**
+     * The node before each node on its best known path from the source, and after each node on its best known path to
+     * the target, valid where the matching edge is not -1
+     */
+    private final int[] forwardParent, backwardParent;
+
+    /**
+     * The run in which each node was last reached and settled by each side
+     */
+    private final int[] forwardSeen, backwardSeen, forwardSettled, backwardSettled;
+
+    /**
+     * The number of the current run, starting at 1
+     */
+    private int run;
+
+    /**
+     * The length of the shortest path found by the last search, or positive infinity if none was found
+     */
+    private double best;
+
+    /**
+     * The node where the forward and backward halves of the best path meet, or -1 if none was found
+     */
+    private int meeting;
+
+    /**
+     * The number of nodes settled by both sides in the last search
+     */
+    private int settledCount;
+
+    //Abstraction Function: If meeting != -1, path is the edges forwardEdge[n] of the nodes n reached by following forwardParent back from meeting
+    //                      to the source, in order from the source, followed by the edges backwardEdge[n] of the nodes n reached by following
+    //                      backwardParent on from meeting to the target. Otherwise path is empty.
+
+    //Representation Invariant: graph, reverse, both frontiers and all arrays are not null, reverse is the reverse of graph
+    //                          all arrays have length graph.nodeCount()
+    //                          each frontier holds only nodes its side has reached but not settled this run
+
+    /**Creates a bidirectional search for a graph, reversing the graph's edges once for the backward searches
+     *
+     * @param graph The graph to search. Must not change while this is in use
+     * @throws IllegalArgumentException if graph is null
+     * @spec.effects Constructs a new bidirectional search that has not searched yet
+     */
+    public BidirectionalDijkstra(WeightedAdjacency<N> graph){
+        this(graph, graph == null ? null : new ReverseAdjacency<>(graph));
+    }
+
+    /**Creates a bidirectional search for a graph whose reverse has already been built, which lets several searches
+     * share one ReverseAdjacency
+     *
+     * @param graph The graph to search. Must not change while this is in use
+     * @param reverse The reverse of graph
+     * @throws IllegalArgumentException if graph or reverse is null or reverse is not a view of graph
+     * @spec.effects Constructs a new bidirectional search that has not searched yet
+     */
+    public BidirectionalDijkstra(WeightedAdjacency<N> graph, ReverseAdjacency<N> reverse){
+        if(graph == null || reverse == null || reverse.forward() != graph){
+            throw new IllegalArgumentException();
+        }
+        this.graph = graph;
+        this.reverse = reverse;
+        int nodeCount = graph.nodeCount();
+        forwardFrontier = new IndexedHeap(nodeCount);
+        backwardFrontier = new IndexedHeap(nodeCount);
+        forwardDist = new double[nodeCount];
+        backwardDist = new double[nodeCount];
+        forwardEdge = new int[nodeCount];
+        backwardEdge = new int[nodeCount];
+        forwardParent = new int[nodeCount];
+        backwardParent = new int[nodeCount];
+        forwardSeen = new int[nodeCount];
+        backwardSeen = new int[nodeCount];
+        forwardSettled = new int[nodeCount];
+        backwardSettled = new int[nodeCount];
+        meeting = -1;
+        best = Double.POSITIVE_INFINITY;
+        checkRep();
+    }
+
+    /**Returns the graph this searches
+     *
+     * @return the graph searched forward
+     */
+    public WeightedAdjacency<N> graph(){
+        return graph;
+    }
+
+    /**Finds a shortest path from source to target
+     *
+     * @param source The id of the node the path should start at
+     * @param target The id of the node the path should end at
+     * @return true if target can be reached from source
+     * @throws IllegalArgumentException if source or target is not a valid node id
+     * @spec.requires graph does not contain any negative edge weights
+     * @spec.modifies this
+     * @spec.effects Replaces the path found by the previous search with a shortest path from source to target
+     */
+    public boolean search(int source, int target){
+        int nodeCount = graph.nodeCount();
+        if(source < 0 || source >= nodeCount || target < 0 || target >= nodeCount){
+            throw new IllegalArgumentException();
+        }
+        startRun(source, target);
+        while(forwardFrontier.peekKey() + backwardFrontier.peekKey() < best){
+            if(forwardFrontier.peekKey() <= backwardFrontier.peekKey()){
+                step(graph, forwardFrontier, forwardDist, forwardEdge, forwardParent, forwardSeen, forwardSettled, backwardDist, backwardSeen, false);
+            } else {
+                step(reverse, backwardFrontier, backwardDist, backwardEdge, backwardParent, backwardSeen, backwardSettled, forwardDist, forwardSeen, true);
+            }
+        }
+        checkRep();
+        return meeting != -1;
+    }
+
+    /**Returns the length of the path found by the last search
+     *
+     * @return the sum of the weights of the path found by the last search, or positive infinity if none was found
+     */
+    public double distance(){
+        return best;
+    }
+
+    /**Returns the edges of the path found by the last search
+     *
+     * @return the indices in graph of the edges of the path from the source to the target, in order, which is empty if
+     *         the source is the target, or null if no path was found
+     */
+    public int[] pathEdges(){
+        if(meeting == -1){
+            return null;
+        }
+        int before = 0;
+        for(int n = meeting; forwardEdge[n] != -1; n = forwardParent[n]){
+            before++;
+        }
+        int after = 0;
+        for(int n = meeting; backwardEdge[n] != -1; n = backwardParent[n]){
+            after++;
+        }
+        int[] edges = new int[before + after];
+        int i = before - 1;
+        for(int n = meeting; forwardEdge[n] != -1; n = forwardParent[n]){
+            edges[i--] = forwardEdge[n];
+        }
+        i = before;
+        for(int n = meeting; backwardEdge[n] != -1; n = backwardParent[n]){
+            edges[i++] = backwardEdge[n];
+        }
+        return edges;
+    }
+
+    /**Returns the number of nodes settled by the last search, counting nodes settled by both sides twice
+     *
+     * @return the number of nodes settled by the last search
+     */
+    public int settledCount(){
+        return settledCount;
+    }
+
+    /**Settles the nearest node of one side's frontier and relaxes its edges
+     *
+     * @param adjacency The graph this side searches
+     * @param frontier This side's frontier
+     * @param dist This side's distances
+     * @param edge This side's path edges, as indices into the forward graph
+     * @param parent This side's path parents
+     * @param seen This side's reached stamps
+     * @param settled This side's settled stamps
+     * @param otherDist The other side's distances
+     * @param otherSeen The other side's reached stamps
+     * @param backward true if this is the backward side, whose edges are indices into reverse
+     */
+    private void step(WeightedAdjacency<N> adjacency, IndexedHeap frontier, double[] dist, int[] edge, int[] parent, int[] seen, int[] settled,
+                      double[] otherDist, int[] otherSeen, boolean backward){
+        int node = frontier.pop();
+        settled[node] = run;
+        settledCount++;
+        double base = dist[node];
+        int end = adjacency.edgeEnd(node);
+        for(int e = adjacency.edgeStart(node); e < end; e++){
+            int child = adjacency.target(e);
+            double candidate = base + adjacency.weight(e);
+            if(settled[child] != run){
+                if(seen[child] != run){
+                    seen[child] = run;
+                    dist[child] = candidate;
+                    edge[child] = backward ? reverse.forwardEdge(e) : e;
+                    parent[child] = node;
+                    frontier.insert(child, candidate);
+                } else if(candidate < dist[child]){
+                    dist[child] = candidate;
+                    edge[child] = backward ? reverse.forwardEdge(e) : e;
+                    parent[child] = node;
+                    frontier.decreaseKey(child, candidate);
+                }
+            }
+            if(otherSeen[child] == run && dist[child] + otherDist[child] < best){
+                best = dist[child] + otherDist[child];
+                meeting = child;
+            }
+        }
+    }
+
+    /**Starts a new run with the source and target alone in their frontiers
+     *
+     * @param source The id of the source node
+     * @param target The id of the target node
+     */
+    private void startRun(int source, int target){
+        if(run == Integer.MAX_VALUE){ //Stamps would repeat, so clear them
+            Arrays.fill(forwardSeen, 0);
+            Arrays.fill(backwardSeen, 0);
+            Arrays.fill(forwardSettled, 0);
+            Arrays.fill(backwardSettled, 0);
+            run = 0;
+        }
+        run++;
+        settledCount = 0;
+        forwardFrontier.clear();
+        backwardFrontier.clear();
+        forwardSeen[source] = run;
+        forwardDist[source] = 0;
+        forwardEdge[source] = -1;
+        forwardFrontier.insert(source, 0);
+        backwardSeen[target] = run;
+        backwardDist[target] = 0;
+        backwardEdge[target] = -1;
+        backwardFrontier.insert(target, 0);
+        if(source == target){
+            best = 0;
+            meeting = source;
+        } else {
+            best = Double.POSITIVE_INFINITY;
+            meeting = -1;
+        }
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated
+     */
+    private void checkRep(){
+        assert graph != null && reverse != null && reverse.forward() == graph;
+        assert forwardFrontier != null && backwardFrontier != null && forwardDist != null && backwardDist != null;
+        assert forwardEdge != null && backwardEdge != null && forwardSeen != null && backwardSeen != null;
+        assert forwardParent != null && backwardParent != null && forwardSettled != null && backwardSettled != null;
+    }
+}
@@ -0,0 +1,248 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * <b>BipartiteGraph</b> represents an immutable graph of nodes and the groups they belong to, such as characters and
+ * the comic books they appear in, stored only as the incidence lists between the two. It stands for the implicit graph
+ * in which every two distinct members of a group are joined, in both directions, by an edge labeled with the group,
+ * without storing those edges: a group of k members takes k entries rather than k * (k - 1) edges.
+ *
+ * <p>findPath searches the implicit graph breadth first, expanding each node to its groups and each group to its
+ * members as it goes. If node labels and group labels are Comparable, node ids and group codes are assigned in their
+ * natural order, so the path found is the one a breadth first search of the implicit graph finds when it visits each
+ * node's edges in order of destination and then label.</p>
+ *
+ * <p>Specification fields:
+ * @spec.specfield nodes : List(N) //The nodes in the graph, each with a unique id
+ * @spec.specfield groups : List(E) //The groups in the graph, each with a unique code
+ * @spec.specfield members : Map(E, Set(N)) //The nodes in each group</p>
+ *
+ * Type Parameter N is the data type held in the nodes of this BipartiteGraph.
+ * Type Parameter E is the data type of the groups, which label the implicit edges of this BipartiteGraph.
+ */
+public final class BipartiteGraph<N,E> {
+
+    /**
+     * The label of each node, indexed by node id
+     */
+    private final N[] nodeLabels;
+
+    /**
+     * Maps each node label to its node id
+     */
+    private final Map<N, Integer> ids;
+
+    /**
+     * The label of each group, indexed by group code
+     */
+    private final E[] groupLabels;
+
+    /**
+     * The groups of node id are groups[groupStarts[id]] to groups[groupStarts[id + 1] - 1], in increasing order of code
+     */
+    private final int[] groupStarts, groups;
+
+    /**
+     * The members of group code are members[memberStarts[code]] to members[memberStarts[code + 1] - 1], in increasing order of id
+     */
+    private final int[] memberStarts, members;
+
+    //Abstract Invariant: nodeLabels[i] is the label of the node with id i and groupLabels[g] is the label of the group with code g.
+    //                    The members of group g are the nodes members[memberStarts[g]] to members[memberStarts[g + 1] - 1].
+
+    //Representation Invariant: nodeLabels, ids, groupLabels, groupStarts, groups, memberStarts and members are not null
+    //                          groupStarts.length == nodeLabels.length + 1, memberStarts.length == groupLabels.length + 1
+    //                          groupStarts and memberStarts start at 0, are non-decreasing and end at groups.length == members.length
+    //                          node i is listed in the members of group g if and only if g is listed in the groups of node i, each once
+    //                          for all 0 <= i < nodeLabels.length, nodeLabels[i] != null and ids.get(nodeLabels[i]) == i
+
+    /**Creates a BipartiteGraph from the members of each group
+     *
+     * @param groupMembers Maps each group to the nodes in it. A node listed more than once in a group is a member once
+     * @throws IllegalArgumentException if groupMembers, or any group or member in it, is null
+     * @spec.effects Constructs a new BipartiteGraph with the groups of groupMembers and every node in any of them
+     */
+    @SuppressWarnings("unchecked")
+    public BipartiteGraph(Map<? extends E, ? extends Collection<? extends N>> groupMembers){
+        if(groupMembers == null){
+            throw new IllegalArgumentException();
+        }
+        Set<N> distinct = new HashSet<>();
+        int incidences = 0;
+        for(Map.Entry<? extends E, ? extends Collection<? extends N>> group : groupMembers.entrySet()){
+            if(group.getKey() == null || group.getValue() == null){
+                throw new IllegalArgumentException();
+            }
+            for(N member : group.getValue()){
+                if(member == null){
+                    throw new IllegalArgumentException();
+                }
+                distinct.add(member);
+                incidences++;
+            }
+        }
+        List<N> sortedNodes = new ArrayList<>(distinct);
+        FrozenGraph.sortIfComparable(sortedNodes);
+        nodeLabels = (N[]) sortedNodes.toArray();
+        ids = new HashMap<>(nodeLabels.length * 4 / 3 + 1);
+        for(int i = 0; i < nodeLabels.length; i++){
+            ids.put(nodeLabels[i], i);
+        }
+        List<E> sortedGroups = new ArrayList<>(groupMembers.keySet());
+        FrozenGraph.sortIfComparable(sortedGroups);
+        groupLabels = (E[]) sortedGroups.toArray();
+
+        //List each group's members by id, dropping repeats, then invert the lists so each node's groups come out in code order
+        memberStarts = new int[groupLabels.length + 1];
+        int[] listed = new int[incidences];
+        int count = 0;
+        for(int g = 0; g < groupLabels.length; g++){
+            memberStarts[g] = count;
+            for(N member : groupMembers.get(groupLabels[g])){
+                listed[count++] = ids.get(member);
+            }
+            Arrays.sort(listed, memberStarts[g], count);
+            int kept = memberStarts[g];
+            for(int k = memberStarts[g]; k < count; k++){
+                if(k == memberStarts[g] || listed[k] != listed[k - 1]){
+                    listed[kept++] = listed[k];
+                }
+            }
+            count = kept;
+        }
+        memberStarts[groupLabels.length] = count;
+        members = Arrays.copyOf(listed, count);
+        groupStarts = new int[nodeLabels.length + 1];
+        for(int member : members){
+            groupStarts[member + 1]++;
+        }
+        for(int i = 0; i < nodeLabels.length; i++){
+            groupStarts[i + 1] += groupStarts[i];
+        }
+        groups = new int[count];
+        int[] next = Arrays.copyOf(groupStarts, nodeLabels.length);
+        for(int g = 0; g < groupLabels.length; g++){
+            for(int k = memberStarts[g]; k < memberStarts[g + 1]; k++){
+                groups[next[members[k]]++] = g;
+            }
+        }
+        checkRep();
+    }
+
+    /**Returns the number of nodes in this
+     *
+     * @return the number of nodes in this
+     */
+    public int nodeCount(){
+        return nodeLabels.length;
+    }
+
+    /**Returns the number of groups in this
+     *
+     * @return the number of groups in this
+     */
+    public int groupCount(){
+        return groupLabels.length;
+    }
+
+    /**Returns the number of times a node belongs to a group, which is the number of entries this stores in each direction
+     *
+     * @return the sum over groups of their number of members
+     */
+    public int incidenceCount(){
+        return members.length;
+    }
+
+    /**Returns whether or not a node with a specific label is in this
+     *
+     * @param label The label of the node to look for
+     * @return true if a node with label "label" is in this and false otherwise
+     * @throws IllegalArgumentException if label is null
+     */
+    public boolean containsNode(N label){
+        if(label == null){
+            throw new IllegalArgumentException();
+        }
+        return ids.containsKey(label);
+    }
+
+    /**Finds the shortest path between two nodes in the implicit graph, where each edge joins two members of a group.
+     * Each group is expanded at most once, the first time a node in it is expanded, since that reaches all of its members;
+     * a search therefore takes time proportional to the incidences of the groups it reaches, not to their implicit edges.
+     * Of equally short paths, the one found is the first in order of node labels and then group labels, as findPath of a
+     * DirectedLabeledGraph holding the implicit edges would find with edges sorted by destination and then label.
+     *
+     * @param start The label of the node the path should begin at
+     * @param end The label of the node the path should arrive at
+     * @return A list of DirectedLabeledGraph Edges, each labeled with a group shared by the node before it and its destination, that represent the
+     *         shortest path from start to end, or null if no path exists. Note the start node will not be in the returned list, the path is implied to start at "start"
+     * @throws IllegalArgumentException if start or end is null or if start is not a node in this
+     */
+    public List<DirectedLabeledGraph.Edge<N,E>> findPath(N start, N end){
+        if(start == null || end == null){
+            throw new IllegalArgumentException();
+        }
+        Integer source = ids.get(start);
+        if(source == null){
+            throw new IllegalArgumentException();
+        }
+        Integer target = ids.get(end);
+        if(target == null){
+            return null;
+        }
+        int[] parentGroup = new int[nodeLabels.length]; //The group each reached node was first reached through, or -1 if not reached
+        Arrays.fill(parentGroup, -1);
+        int[] parent = new int[nodeLabels.length];
+        boolean[] expanded = new boolean[groupLabels.length];
+        int[] queue = new int[nodeLabels.length];
+        int[] found = new int[nodeLabels.length]; //The nodes first reached by the node being expanded
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        boolean reached = source.equals(target);
+        while(head < tail && !reached){
+            int node = queue[head++];
+            int count = 0;
+            for(int k = groupStarts[node]; k < groupStarts[node + 1]; k++){ //Groups in code order, so each node is reached through its least shared group
+                int group = groups[k];
+                if(expanded[group]){
+                    continue; //Every member was reached when the group was first expanded
+                }
+                expanded[group] = true;
+                for(int m = memberStarts[group]; m < memberStarts[group + 1]; m++){
+                    int member = members[m];
+                    if(member != source && parentGroup[member] == -1){
+                        parentGroup[member] = group;
+                        parent[member] = node;
+                        found[count++] = member;
+                    }
+                }
+            }
+            Arrays.sort(found, 0, count); //Queue the newly reached nodes in id order, as sorted edges would have
+            for(int i = 0; i < count; i++){
+                queue[tail++] = found[i];
+                reached |= found[i] == target;
+            }
+        }
+        if(!reached){
+            return null;
+        }
+        LinkedList<DirectedLabeledGraph.Edge<N,E>> path = new LinkedList<>();
+        for(int node = target; node != source; node = parent[node]){
+            path.addFirst(new DirectedLabeledGraph.Edge<>(groupLabels[parentGroup[node]], new DirectedLabeledGraph.Node<>(nodeLabels[node])));
+        }
+        return new ArrayList<>(path);
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated
+     */
+    private void checkRep(){
+        assert nodeLabels != null && ids != null && groupLabels != null;
+        assert groupStarts != null && groups != null && memberStarts != null && members != null;
+        assert groupStarts.length == nodeLabels.length + 1 && memberStarts.length == groupLabels.length + 1;
+        assert groupStarts[nodeLabels.length] == groups.length && memberStarts[groupLabels.length] == members.length;
+        assert groups.length == members.length && ids.size() == nodeLabels.length;
+    }
+}
@@ -0,0 +1,722 @@
+package graph;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.zip.CRC32;
+
+/**
+ * <b>BufferGraph</b> represents an immutable directed graph read directly out of a ByteBuffer holding the binary graph
+ * format, usually a memory-mapped file or a direct buffer filled by OffHeapGraphBuilder. Adjacency, edge labels and weights are never copied onto the heap: each query reads
+ * the buffer at a computed offset, so loading a mapped graph costs little more than the page faults of the parts that
+ * are used. Only the node labels are decoded up front, so that nodes can be looked up by label.
+ *
+ * <p>The binary format is big-endian and laid out as follows, with both padded sections padded with zeros to a
+ * multiple of 8 bytes from the start of the buffer:</p>
+ * <pre>
+ *   header          int magic ("DLGB"), int version, int flags (1 = weighted), int nodeCount, int edgeCount,
+ *                   int stringCount, int stringBytes, int source (a checksum of the data the graph was built from, or 0)
+ *   dictionary      int[stringCount + 1] byte offsets, then stringBytes bytes of UTF-8 text (padded)
+ *   node labels     int[nodeCount] dictionary indices
+ *   offsets         int[nodeCount + 1], the outgoing edges of node id are [offsets[id], offsets[id + 1])
+ *   targets         int[edgeCount] destination node ids (padded)
+ *   edge data       double[edgeCount] weights if weighted, otherwise int[edgeCount] edge label dictionary indices
+ * </pre>
+ *
+ * <p>A file built from some other data, such as a csv file, can record a checksum of that data so that it is rebuilt,
+ * rather than trusted, once the data changes: checksum gives the checksum of the data, write and writeWeighted store
+ * it, and source reads it back.</p>
+ *
+ * <p>Specification fields:
+ * @spec.specfield nodes : Set(Nodes) //The nodes in the graph, each with a unique id
+ * @spec.specfield edges : Set(Edges) //The edges in the graph, each with a unique index and either a weight or a string label</p>
+ *
+ * Type Parameter N is the data type held in the nodes of this BufferGraph.
+ */
+public final class BufferGraph<N> implements WeightedAdjacency<N> {
+
+    /**
+     * The first four bytes of every graph buffer, "DLGB" in ASCII
+     */
+    static final int MAGIC = 0x444C4742;
+
+    /**
+     * The version of the binary format written by this class
+     */
+    static final int VERSION = 2;
+
+    /**
+     * The header flag marking a graph whose edges carry weights rather than string labels
+     */
+    static final int WEIGHTED = 1;
+
+    /**
+     * The size in bytes of the header
+     */
+    private static final int HEADER_BYTES = 32;
+
+    /**
+     * The index in the header of the checksum of the data the graph was built from
+     */
+    private static final int SOURCE_AT = 28;
+
+    /**
+     * The buffer holding the graph, positioned so that the header starts at index 0
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * True if the edges of this graph carry weights, false if they carry string labels
+     */
+    private final boolean weighted;
+
+    /**
+     * The number of nodes and edges in this graph
+     */
+    private final int nodeCount, edgeCount, stringCount;
+
+    /**
+     * The buffer index at which each section starts
+     */
+    private final int stringOffsetsAt, stringBytesAt, offsetsAt, targetsAt, edgeDataAt;
+
+    /**
+     * The decoded label of each node, indexed by node id
+     */
+    private final N[] nodeLabels;
+
+    /**
+     * Maps each node label to its node id
+     */
+    private final Map<N, Integer> ids;
+
+    /**
+     * Indicates if checkRep() will run in its entirety if called
+     */
+    private static final boolean DEBUG = false;
+
+    //Abstract Invariant: nodeLabels[i] is the label of the node with id i. For each node id i, the edges at indices offsets[i] to offsets[i+1]-1
+    //                    of the buffer's offsets section are the outgoing edges of node i, where the edge at index j goes to node targets[j]
+    //                    and has weight weights[j] if weighted, or the label held at dictionary index labels[j] otherwise.
+
+    //Representation Invariant: buffer, nodeLabels and ids are not null, nodeLabels.length == nodeCount
+    //                          the buffer holds a well formed graph of nodeCount nodes and edgeCount edges at the section indices above
+    //                          for all 0 <= i < nodeCount, nodeLabels[i] != null and ids.get(nodeLabels[i]) == i
+
+    /**Reads a graph out of a buffer holding the binary graph format. The buffer is shared, not copied, and must not be
+     * modified afterwards.
+     *
+     * @param buffer The buffer, whose remaining bytes start with a graph in the binary format
+     * @param nodeDecoder Turns the string form of each node label back into a label
+     * @param <N> The type of the node labels
+     * @return A BufferGraph reading from buffer
+     * @throws IllegalArgumentException if buffer or nodeDecoder is null or the buffer does not hold a graph in the binary format
+     */
+    public static <N> BufferGraph<N> wrap(ByteBuffer buffer, Function<String, ? extends N> nodeDecoder){
+        if(buffer == null || nodeDecoder == null){
+            throw new IllegalArgumentException();
+        }
+        return new BufferGraph<>(buffer.slice(), nodeDecoder);
+    }
+
+    /**Memory-maps a file holding the binary graph format and reads a graph directly out of the mapping
+     *
+     * @param file The file to map
+     * @param nodeDecoder Turns the string form of each node label back into a label
+     * @param <N> The type of the node labels
+     * @return A BufferGraph reading from the mapped file
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if file or nodeDecoder is null or the file does not hold a graph in the binary format
+     */
+    public static <N> BufferGraph<N> map(Path file, Function<String, ? extends N> nodeDecoder) throws IOException {
+        if(file == null || nodeDecoder == null){
+            throw new IllegalArgumentException();
+        }
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)){
+            //The mapping stays valid after the channel is closed
+            return new BufferGraph<>(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), nodeDecoder);
+        }
+    }
+
+    /**Writes a graph with string-encodable edge labels to a file in the binary format
+     *
+     * @param graph The graph to write
+     * @param file The file to create or replace
+     * @param nodeEncoder Turns each node label into a string that nodeDecoder can later turn back into the label
+     * @param edgeEncoder Turns each edge label into a string
+     * @param <N> The type of the node labels
+     * @param <E> The type of the edge labels
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if any argument is null
+     * @spec.requires nodeEncoder gives different strings for different labels
+     */
+    public static <N,E> void write(DirectedLabeledGraph<N,E> graph, Path file, Function<? super N, String> nodeEncoder,
+                                   Function<? super E, String> edgeEncoder) throws IOException {
+        write(graph, file, nodeEncoder, edgeEncoder, 0);
+    }
+
+    /**Writes a graph with string-encodable edge labels to a file in the binary format, recording the checksum of the
+     * data it was built from
+     *
+     * @param graph The graph to write
+     * @param file The file to create or replace
+     * @param nodeEncoder Turns each node label into a string that nodeDecoder can later turn back into the label
+     * @param edgeEncoder Turns each edge label into a string
+     * @param source The checksum of the data graph was built from, as returned by checksum, which source() of the written graph returns
+     * @param <N> The type of the node labels
+     * @param <E> The type of the edge labels
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if any argument is null
+     * @spec.requires nodeEncoder gives different strings for different labels
+     */
+    public static <N,E> void write(DirectedLabeledGraph<N,E> graph, Path file, Function<? super N, String> nodeEncoder,
+                                   Function<? super E, String> edgeEncoder, int source) throws IOException {
+        if(graph == null || file == null || nodeEncoder == null || edgeEncoder == null){
+            throw new IllegalArgumentException();
+        }
+        writeBuffer(encode(graph.freeze(), nodeEncoder, edgeEncoder, null).putInt(SOURCE_AT, source), file);
+    }
+
+    /**Writes a graph whose edge labels are weights to a file in the binary format, storing the weights as primitive doubles
+     *
+     * @param graph The graph to write
+     * @param file The file to create or replace
+     * @param nodeEncoder Turns each node label into a string that nodeDecoder can later turn back into the label
+     * @param <N> The type of the node labels
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if any argument is null
+     * @spec.requires nodeEncoder gives different strings for different labels
+     */
+    public static <N> void writeWeighted(DirectedLabeledGraph<N, Double> graph, Path file, Function<? super N, String> nodeEncoder) throws IOException {
+        writeWeighted(graph, file, nodeEncoder, 0);
+    }
+
+    /**Writes a graph whose edge labels are weights to a file in the binary format, storing the weights as primitive
+     * doubles and recording the checksum of the data the graph was built from
+     *
+     * @param graph The graph to write
+     * @param file The file to create or replace
+     * @param nodeEncoder Turns each node label into a string that nodeDecoder can later turn back into the label
+     * @param source The checksum of the data graph was built from, as returned by checksum, which source() of the written graph returns
+     * @param <N> The type of the node labels
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if any argument is null
+     * @spec.requires nodeEncoder gives different strings for different labels
+     */
+    public static <N> void writeWeighted(DirectedLabeledGraph<N, Double> graph, Path file, Function<? super N, String> nodeEncoder, int source) throws IOException {
+        if(graph == null || file == null || nodeEncoder == null){
+            throw new IllegalArgumentException();
+        }
+        writeBuffer(encode(graph.freeze(), nodeEncoder, null, Double::doubleValue).putInt(SOURCE_AT, source), file);
+    }
+
+    /**Encodes a graph with string-encodable edge labels in the binary format into a buffer on the heap, so that it can
+     * be searched as a BufferGraph straight away and saved to a file with save
+     *
+     * @param graph The graph to encode
+     * @param nodeEncoder Turns each node label into a string that nodeDecoder can later turn back into the label
+     * @param edgeEncoder Turns each edge label into a string
+     * @param source The checksum of the data graph was built from, as returned by checksum, which source() of the copy returns
+     * @param <N> The type of the node labels
+     * @param <E> The type of the edge labels
+     * @return A BufferGraph with the nodes and edges of graph, in the order of graph.freeze()
+     * @throws IllegalArgumentException if graph, nodeEncoder or edgeEncoder is null or the graph is too large for the binary format
+     * @spec.requires nodeEncoder gives different strings for different labels
+     */
+    @SuppressWarnings("unchecked")
+    public static <N,E> BufferGraph<N> copyOf(DirectedLabeledGraph<N,E> graph, Function<? super N, String> nodeEncoder,
+                                             Function<? super E, String> edgeEncoder, int source){
+        if(graph == null || nodeEncoder == null || edgeEncoder == null){
+            throw new IllegalArgumentException();
+        }
+        FrozenGraph<N,E> frozen = graph.freeze();
+        N[] labels = (N[]) new Object[frozen.nodeCount()];
+        for(int i = 0; i < labels.length; i++){
+            labels[i] = frozen.labelOf(i);
+        }
+        return new BufferGraph<>(encode(frozen, nodeEncoder, edgeEncoder, null).putInt(SOURCE_AT, source), labels);
+    }
+
+    /**Computes the checksum of the data a graph is built from, to record when the graph is written and to compare with
+     * source() when it is read back, so that a graph file is rebuilt once the data it came from changes
+     *
+     * @param data The data the graph is built from, which is read to its end but not closed
+     * @return the CRC-32 of the bytes of data
+     * @throws IOException if data cannot be read
+     * @throws IllegalArgumentException if data is null
+     */
+    public static int checksum(InputStream data) throws IOException {
+        if(data == null){
+            throw new IllegalArgumentException();
+        }
+        CRC32 crc = new CRC32();
+        byte[] chunk = new byte[1 << 16];
+        for(int read = data.read(chunk); read != -1; read = data.read(chunk)){
+            crc.update(chunk, 0, read);
+        }
+        return (int) crc.getValue();
+    }
+
+    /**Encodes a frozen graph in the binary format. Exactly one of edgeEncoder and weigher is not null, and decides
+     * whether the edges are stored as string labels or as weights. Node and edge ids are those of frozen.
+     *
+     * @param frozen The graph to encode
+     * @param nodeEncoder Turns each node label into a string
+     * @param edgeEncoder Turns each edge label into a string, or null to store weights
+     * @param weigher Turns each edge label into a weight, or null to store string labels
+     * @param <N> The type of the node labels
+     * @param <E> The type of the edge labels
+     * @return A heap buffer holding the encoded graph, positioned at 0
+     * @throws IllegalArgumentException if the encoded graph would be larger than a buffer can hold
+     */
+    static <N,E> ByteBuffer encode(FrozenGraph<N,E> frozen, Function<? super N, String> nodeEncoder,
+                                   Function<? super E, String> edgeEncoder, ToDoubleFunction<? super E> weigher){
+        int nodeCount = frozen.nodeCount();
+        int edgeCount = frozen.edgeCount();
+        boolean weighted = weigher != null;
+
+        //Build the string dictionary, node labels first so that node i is usually string i
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        int[] nodeStrings = new int[nodeCount];
+        for(int i = 0; i < nodeCount; i++){
+            nodeStrings[i] = intern(dictionary, nodeEncoder.apply(frozen.labelOf(i)));
+        }
+        int[] edgeStrings = weighted ? null : new int[edgeCount];
+        if(!weighted){
+            for(int e = 0; e < edgeCount; e++){
+                edgeStrings[e] = intern(dictionary, edgeEncoder.apply(frozen.edgeLabel(e)));
+            }
+        }
+        List<byte[]> strings = new ArrayList<>(dictionary.size());
+        for(String s : dictionary.keySet()){
+            strings.add(s.getBytes(StandardCharsets.UTF_8));
+        }
+
+        ByteBuffer out = startBuffer(false, weighted, nodeCount, edgeCount, strings, nodeStrings);
+        for(int i = 0; i < nodeCount; i++){
+            out.putInt(frozen.edgeStart(i));
+        }
+        out.putInt(edgeCount);
+        for(int e = 0; e < edgeCount; e++){
+            out.putInt(frozen.target(e));
+        }
+        out.position(align(out.position()));
+        for(int e = 0; e < edgeCount; e++){
+            if(weighted){
+                out.putDouble(weigher.applyAsDouble(frozen.edgeLabel(e)));
+            } else {
+                out.putInt(edgeStrings[e]);
+            }
+        }
+        assert !out.hasRemaining() : "encoded size miscounted";
+        out.flip();
+        return out;
+    }
+
+    /**Allocates a buffer for a graph in the binary format and writes everything up to the offsets section into it
+     *
+     * @param direct True to allocate the buffer off the heap with ByteBuffer.allocateDirect
+     * @param weighted True if the graph's edges carry weights rather than string labels
+     * @param nodeCount The number of nodes in the graph
+     * @param edgeCount The number of edges in the graph
+     * @param strings The UTF-8 bytes of each dictionary string, in dictionary order
+     * @param nodeStrings The dictionary index of the label of each node, indexed by node id
+     * @return A buffer of exactly the graph's size, positioned at the start of the offsets section
+     * @throws IllegalArgumentException if the graph would be larger than a buffer can hold
+     */
+    static ByteBuffer startBuffer(boolean direct, boolean weighted, int nodeCount, int edgeCount, List<byte[]> strings, int[] nodeStrings){
+        long stringBytes = 0;
+        for(byte[] bytes : strings){
+            stringBytes += bytes.length;
+        }
+        long size = align(HEADER_BYTES + 4L * (strings.size() + 1) + stringBytes)
+                + align(4L * nodeCount + 4L * (nodeCount + 1) + 4L * edgeCount)
+                + (weighted ? 8L : 4L) * edgeCount;
+        if(size > Integer.MAX_VALUE){
+            throw new IllegalArgumentException("Graph too large for the binary format");
+        }
+        ByteBuffer out = direct ? ByteBuffer.allocateDirect((int) size) : ByteBuffer.allocate((int) size);
+        out.putInt(MAGIC).putInt(VERSION).putInt(weighted ? WEIGHTED : 0).putInt(nodeCount).putInt(edgeCount)
+                .putInt(strings.size()).putInt((int) stringBytes).putInt(0);
+        int offset = 0;
+        out.putInt(offset);
+        for(byte[] bytes : strings){
+            offset += bytes.length;
+            out.putInt(offset);
+        }
+        for(byte[] bytes : strings){
+            out.put(bytes);
+        }
+        out.position(align(out.position()));
+        for(int i = 0; i < nodeCount; i++){
+            out.putInt(nodeStrings[i]);
+        }
+        return out;
+    }
+
+    /**Creates a BufferGraph reading from a buffer
+     *
+     * @param buffer The buffer holding the graph, with the header at index 0
+     * @param nodeDecoder Turns the string form of each node label back into a label
+     * @throws IllegalArgumentException if the buffer does not hold a graph in the binary format
+     * @spec.requires buffer and nodeDecoder are not null
+     */
+    private BufferGraph(ByteBuffer buffer, Function<String, ? extends N> nodeDecoder){
+        this(buffer, nodeDecoder, null);
+    }
+
+    /**Creates a BufferGraph reading from a buffer whose node labels are already known, so none are decoded
+     *
+     * @param buffer The buffer holding the graph, with the header at index 0
+     * @param nodeLabels The label of each node, indexed by node id. Owned by the new graph afterwards
+     * @throws IllegalArgumentException if the buffer does not hold a graph in the binary format
+     * @spec.requires buffer and nodeLabels are not null and nodeLabels holds the labels encoded in buffer
+     */
+    BufferGraph(ByteBuffer buffer, N[] nodeLabels){
+        this(buffer, null, nodeLabels);
+    }
+
+    /**Creates a BufferGraph reading from a buffer, taking the node labels from knownLabels if it is not null and
+     * decoding them with nodeDecoder otherwise
+     *
+     * @param buffer The buffer holding the graph, with the header at index 0
+     * @param nodeDecoder Turns the string form of each node label back into a label
+     * @param knownLabels The label of each node indexed by node id, or null to decode the labels
+     * @throws IllegalArgumentException if the buffer does not hold a graph in the binary format
+     * @spec.requires buffer is not null and exactly one of nodeDecoder and knownLabels is not null
+     */
+    @SuppressWarnings("unchecked")
+    private BufferGraph(ByteBuffer buffer, Function<String, ? extends N> nodeDecoder, N[] knownLabels){
+        if(buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION){
+            throw new IllegalArgumentException("Not a graph in the binary format");
+        }
+        this.buffer = buffer;
+        weighted = (buffer.getInt(8) & WEIGHTED) != 0;
+        nodeCount = buffer.getInt(12);
+        edgeCount = buffer.getInt(16);
+        stringCount = buffer.getInt(20);
+        int stringBytes = buffer.getInt(24);
+        if(nodeCount < 0 || edgeCount < 0 || stringCount < 0 || stringBytes < 0){
+            throw new IllegalArgumentException("Not a graph in the binary format");
+        }
+        long nodeLabelsAt = align(HEADER_BYTES + 4L * (stringCount + 1) + stringBytes);
+        long end = align(nodeLabelsAt + 4L * nodeCount + 4L * (nodeCount + 1) + 4L * edgeCount) + (weighted ? 8L : 4L) * edgeCount;
+        if(end > buffer.capacity()){
+            throw new IllegalArgumentException("Truncated graph buffer");
+        }
+        stringOffsetsAt = HEADER_BYTES;
+        stringBytesAt = stringOffsetsAt + 4 * (stringCount + 1);
+        offsetsAt = (int) nodeLabelsAt + 4 * nodeCount;
+        targetsAt = offsetsAt + 4 * (nodeCount + 1);
+        edgeDataAt = align(targetsAt + 4 * edgeCount);
+
+        //Check every index that decoding and searching follow, so a corrupt buffer is rejected here rather than
+        //failing with a huge allocation or an out of range index at query time
+        checkOffsets(buffer, stringOffsetsAt, stringCount, stringBytes, "string");
+        checkIndices(buffer, (int) nodeLabelsAt, nodeCount, stringCount, "node label");
+        checkOffsets(buffer, offsetsAt, nodeCount, edgeCount, "edge");
+        checkIndices(buffer, targetsAt, edgeCount, nodeCount, "edge target");
+        if(!weighted){
+            checkIndices(buffer, edgeDataAt, edgeCount, stringCount, "edge label");
+        }
+
+        if(knownLabels != null && knownLabels.length != nodeCount){
+            throw new IllegalArgumentException("Node labels do not match the buffer");
+        }
+        nodeLabels = knownLabels != null ? knownLabels : (N[]) new Object[nodeCount];
+        ids = new HashMap<>(nodeCount * 4 / 3 + 1);
+        for(int i = 0; i < nodeCount; i++){
+            N label = knownLabels != null ? knownLabels[i] : nodeDecoder.apply(string(buffer.getInt((int) nodeLabelsAt + 4 * i)));
+            nodeLabels[i] = label;
+            if(ids.put(label, i) != null){
+                throw new IllegalArgumentException("Duplicate node label " + label);
+            }
+        }
+        checkRep();
+    }
+
+    @Override
+    public int nodeCount(){
+        return nodeCount;
+    }
+
+    @Override
+    public int edgeCount(){
+        return edgeCount;
+    }
+
+    @Override
+    public int idOf(N label){
+        if(label == null){
+            throw new IllegalArgumentException();
+        }
+        Integer id = ids.get(label);
+        return id == null ? -1 : id;
+    }
+
+    @Override
+    public N labelOf(int id){
+        return nodeLabels[id];
+    }
+
+    @Override
+    public int edgeStart(int id){
+        return buffer.getInt(offsetsAt + 4 * id);
+    }
+
+    @Override
+    public int edgeEnd(int id){
+        return buffer.getInt(offsetsAt + 4 * (id + 1));
+    }
+
+    @Override
+    public int target(int edge){
+        return buffer.getInt(targetsAt + 4 * edge);
+    }
+
+    /**Writes this graph to a file in the binary format, so that it can be memory-mapped again with map
+     *
+     * @param file The file to create or replace
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if file is null
+     */
+    public void save(Path file) throws IOException {
+        if(file == null){
+            throw new IllegalArgumentException();
+        }
+        ByteBuffer bytes = buffer.duplicate();
+        bytes.position(0).limit(edgeDataAt + (weighted ? 8 : 4) * edgeCount);
+        writeBuffer(bytes, file);
+    }
+
+    /**Returns the checksum of the data this graph was built from, as recorded when it was written
+     *
+     * @return the checksum passed to write or writeWeighted when this graph was written, or 0 if none was
+     */
+    public int source(){
+        return buffer.getInt(SOURCE_AT);
+    }
+
+    /**Returns whether the edges of this graph carry weights rather than string labels
+     *
+     * @return true if the edges of this carry weights, false if they carry string labels
+     */
+    public boolean hasWeights(){
+        return weighted;
+    }
+
+    /**Returns the weight of an edge
+     *
+     * @param edge The index of the edge
+     * @return the weight of the edge with index "edge"
+     * @throws IllegalStateException if the edges of this graph carry string labels rather than weights
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    @Override
+    public double weight(int edge){
+        if(!weighted){
+            throw new IllegalStateException("Graph edges are not weighted");
+        }
+        return buffer.getDouble(edgeDataAt + 8 * edge);
+    }
+
+    /**Returns the string label of an edge, decoded from the buffer
+     *
+     * @param edge The index of the edge
+     * @return the string label of the edge with index "edge"
+     * @throws IllegalStateException if the edges of this graph carry weights rather than string labels
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    public String edgeLabel(int edge){
+        if(weighted){
+            throw new IllegalStateException("Graph edges are weighted");
+        }
+        return string(buffer.getInt(edgeDataAt + 4 * edge));
+    }
+
+    /**Copies this graph into a new mutable DirectedLabeledGraph
+     *
+     * @param edgeDecoder Turns the string label, or for a weighted graph the string form of the weight, of each edge into an edge label
+     * @param <E> The type of the edge labels of the returned graph
+     * @return A new DirectedLabeledGraph with the same nodes and edges as this
+     * @throws IllegalArgumentException if edgeDecoder is null
+     */
+    public <E> DirectedLabeledGraph<N,E> thaw(Function<String, ? extends E> edgeDecoder){
+        if(edgeDecoder == null){
+            throw new IllegalArgumentException();
+        }
+        GraphBuilder<N,E> builder = new GraphBuilder<>(nodeCount, edgeCount);
+        List<E> decoded = new ArrayList<>(Collections.nCopies(weighted ? 0 : stringCount, null)); //Each dictionary string is decoded once
+        for(int i = 0; i < nodeCount; i++){
+            builder.addNode(nodeLabels[i]);
+            for(int e = edgeStart(i); e < edgeEnd(i); e++){
+                E label;
+                if(weighted){
+                    label = edgeDecoder.apply(Double.toString(weight(e)));
+                } else {
+                    int index = buffer.getInt(edgeDataAt + 4 * e);
+                    label = decoded.get(index);
+                    if(label == null){
+                        label = edgeDecoder.apply(string(index));
+                        decoded.set(index, label);
+                    }
+                }
+                builder.addEdge(label, nodeLabels[i], nodeLabels[target(e)]);
+            }
+        }
+        return builder.build();
+    }
+
+    /**Reports the shape and memory footprint of this, on the same assumptions as DirectedLabeledGraph.stats(). The
+     * whole buffer is counted, whether it is on the heap or mapped from a file
+     *
+     * @return The node and edge counts, out-degree histogram and bytes per node and per edge of this, counting the
+     *         target and edge data sections of the buffer for the edges and the rest of the buffer, with the decoded
+     *         node label index kept on the heap, for the nodes
+     */
+    public GraphStats stats(){
+        long edgeBytes = (weighted ? 12L : 8L) * edgeCount;
+        long nodeBytes = buffer.capacity() - edgeBytes + GraphStats.labelIndexBytes(nodeCount);
+        return new GraphStats(this, nodeBytes, edgeBytes);
+    }
+
+    /**Checks an offsets section of the binary format, which splits a run of items into consecutive ranges
+     *
+     * @param buffer The buffer holding the section
+     * @param at The buffer index of the section
+     * @param ranges The number of ranges, one fewer than the number of offsets
+     * @param total The number of items the ranges cover
+     * @param what The kind of offset, for the exception message
+     * @throws IllegalArgumentException unless the offsets start at 0, never decrease and end at total
+     */
+    private static void checkOffsets(ByteBuffer buffer, int at, int ranges, int total, String what){
+        int previous = 0;
+        for(int i = 0; i <= ranges; i++){
+            int offset = buffer.getInt(at + 4 * i);
+            if(offset < previous || offset > total || (i == 0 && offset != 0) || (i == ranges && offset != total)){
+                throw new IllegalArgumentException("Corrupt " + what + " offset " + offset + " at index " + i);
+            }
+            previous = offset;
+        }
+    }
+
+    /**Checks a section of the binary format holding indices into some other section
+     *
+     * @param buffer The buffer holding the section
+     * @param at The buffer index of the section
+     * @param count The number of indices in the section
+     * @param bound One more than the largest valid index
+     * @param what The kind of index, for the exception message
+     * @throws IllegalArgumentException unless every index is at least 0 and less than bound
+     */
+    private static void checkIndices(ByteBuffer buffer, int at, int count, int bound, String what){
+        for(int i = 0; i < count; i++){
+            int index = buffer.getInt(at + 4 * i);
+            if(index < 0 || index >= bound){
+                throw new IllegalArgumentException("Corrupt " + what + " " + index + " at index " + i);
+            }
+        }
+    }
+
+    /**Decodes a string from the dictionary
+     *
+     * @param index The dictionary index of the string
+     * @return the string at dictionary index "index"
+     */
+    private String string(int index){
+        int start = buffer.getInt(stringOffsetsAt + 4 * index);
+        int end = buffer.getInt(stringOffsetsAt + 4 * (index + 1));
+        byte[] bytes = new byte[end - start];
+        ByteBuffer view = buffer.duplicate();
+        view.position(stringBytesAt + start);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**Returns the dictionary index of a string, adding the string to the dictionary if it is missing
+     *
+     * @param dictionary Maps each string added so far to its index
+     * @param s The string to look up
+     * @return the dictionary index of s
+     * @throws IllegalArgumentException if s is null
+     */
+    private static int intern(Map<String, Integer> dictionary, String s){
+        if(s == null){
+            throw new IllegalArgumentException("Labels must encode to non-null strings");
+        }
+        Integer index = dictionary.get(s);
+        if(index == null){
+            index = dictionary.size();
+            dictionary.put(s, index);
+        }
+        return index;
+    }
+
+    /**Writes the remaining bytes of a buffer to a file, replacing the file if it exists. The bytes are written to a
+     * temporary file beside it, which is then moved over it in one step, so a graph already mapped from the old file
+     * keeps reading the old bytes rather than faulting on a file truncated under it
+     *
+     * @param buffer The bytes to write
+     * @param file The file to write to
+     * @throws IOException if the file cannot be written or replaced
+     */
+    private static void writeBuffer(ByteBuffer buffer, Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try(FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)){
+                while(buffer.hasRemaining()){
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**Rounds a buffer index up to the next multiple of 8
+     *
+     * @param index The index to round up
+     * @return the smallest multiple of 8 that is at least index
+     */
+    private static long align(long index){
+        return (index + 7) & ~7L;
+    }
+
+    /**Rounds a buffer index up to the next multiple of 8
+     *
+     * @param index The index to round up
+     * @return the smallest multiple of 8 that is at least index
+     */
+    static int align(int index){
+        return (index + 7) & ~7;
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated
+     */
+    private void checkRep(){
+        assert buffer != null && nodeLabels != null && ids != null;
+        assert nodeLabels.length == nodeCount;
+        if(DEBUG){
+            assert buffer.getInt(offsetsAt) == 0 && buffer.getInt(offsetsAt + 4 * nodeCount) == edgeCount : "offsets do not span the edges";
+            for(int i = 0; i < nodeCount; i++){
+                assert edgeStart(i) <= edgeEnd(i) : "offsets decrease";
+                assert ids.get(nodeLabels[i]) == i : "id index out of step";
+            }
+            for(int e = 0; e < edgeCount; e++){
+                assert target(e) >= 0 && target(e) < nodeCount : "edge target out of range";
+            }
+        }
+    }
+}
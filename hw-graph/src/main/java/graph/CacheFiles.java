@@ -0,0 +1,59 @@
+package graph;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <b>CacheFiles</b> saves the files that graphs and their indexes are cached in between runs, such as binary graph
+ * files, contraction hierarchies and landmark distances. A cache file only saves rebuilding on the next run, so a
+ * failure to write one is logged as a warning rather than thrown, and whatever was built is still used.
+ */
+public final class CacheFiles {
+    //CacheFiles only contains static methods and is never constructed therefore it is not an ADT and does not have a abstraction function or representation invariant
+
+    /**
+     * Logger for cache files that could not be saved
+     */
+    private static final Logger LOGGER = Logger.getLogger(CacheFiles.class.getName());
+
+    /**
+     * Writes a cache file
+     */
+    @FunctionalInterface
+    public interface Writer {
+        /**Writes the cache to a file
+         *
+         * @param file The file to create or replace
+         * @throws IOException if the file cannot be written
+         */
+        void writeTo(Path file) throws IOException;
+    }
+
+    /**
+     * Never constructed, CacheFiles only has static methods
+     */
+    private CacheFiles(){
+    }
+
+    /**Saves a cache file, logging a warning instead of throwing if it cannot be written
+     *
+     * @param file The file to create or replace
+     * @param writer Writes the cache to file
+     * @return true if the file was written and false if writing it failed, in which case a warning has been logged
+     * @throws IllegalArgumentException if file or writer is null
+     */
+    public static boolean saveOrWarn(Path file, Writer writer){
+        if(file == null || writer == null){
+            throw new IllegalArgumentException();
+        }
+        try {
+            writer.writeTo(file);
+            return true;
+        } catch (IOException e){
+            LOGGER.log(Level.WARNING, "Could not save " + file + ", it will be rebuilt on the next run", e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * <b>ComponentIndex</b> records the weakly and strongly connected components of an int-indexed graph, computed once,
+ * so that many pairs of nodes with no path between them can be told apart in O(1) before any search is run.
+ *
+ * <p>Weakly connected components, where edge directions are ignored, are found by union-find with union by size and
+ * path halving. Strongly connected components, where every node reaches every other, are found by Tarjan's algorithm,
+ * run with an explicit stack so that long paths cannot overflow the call stack. Tarjan's algorithm finishes a
+ * component only after every component it reaches, so numbering components in the order they finish means a node can
+ * only reach nodes whose strong component number is no greater than its own.</p>
+ *
+ * <p>A ComponentIndex is immutable and can be shared by threads.</p>
+ *
+ * <p>Specification fields:
+ * @spec.specfield graph : IntAdjacency //The graph the components are of
+ * @spec.specfield weak : Map(int, int) //The weakly connected component of each node
+ * @spec.specfield strong : Map(int, int) //The strongly connected component of each node, in the order Tarjan's algorithm finished them</p>
+ *
+ * Type Parameter N is the data type of the node labels in the graph.
+ */
+public final class ComponentIndex<N> {
+
+    /**
+     * The graph the components are of
+     */
+    private final IntAdjacency<N> graph;
+
+    /**
+     * The weakly connected component of each node, numbered from 0 in order of each component's least node id
+     */
+    private final int[] weak;
+
+    /**
+     * The strongly connected component of each node, numbered from 0 in the order Tarjan's algorithm finished them
+     */
+    private final int[] strong;
+
+    /**
+     * The number of weakly and of strongly connected components
+     */
+    private final int weakCount, strongCount;
+
+    //Abstraction Function: weak maps node n to weak[n] and strong maps node n to strong[n]
+
+    //Representation Invariant: graph, weak and strong are not null and have length graph.nodeCount()
+    //                          0 <= weak[n] < weakCount and 0 <= strong[n] < strongCount for every node n
+    //                          for every edge from u to v, weak[u] == weak[v] and strong[u] >= strong[v]
+
+    /**Computes the components of a graph, in O(nodes + edges) time
+     *
+     * @param graph The graph to index. Must not change while the index is in use
+     * @throws IllegalArgumentException if graph is null
+     * @spec.effects Constructs an index of the weakly and strongly connected components of graph
+     */
+    public ComponentIndex(IntAdjacency<N> graph){
+        if(graph == null){
+            throw new IllegalArgumentException();
+        }
+        this.graph = graph;
+        int nodeCount = graph.nodeCount();
+        weak = new int[nodeCount];
+        weakCount = weakComponents(graph, weak);
+        strong = new int[nodeCount];
+        strongCount = strongComponents(graph, strong);
+        checkRep();
+    }
+
+    /**Labels the weakly connected components of a graph by union-find
+     *
+     * @param graph The graph
+     * @param component Set to the component of each node, numbered in order of each component's least node id
+     * @return The number of weakly connected components
+     */
+    private static int weakComponents(IntAdjacency<?> graph, int[] component){
+        int nodeCount = graph.nodeCount();
+        int[] parent = new int[nodeCount];
+        int[] size = new int[nodeCount];
+        for(int n = 0; n < nodeCount; n++){
+            parent[n] = n;
+            size[n] = 1;
+        }
+        for(int n = 0; n < nodeCount; n++){
+            for(int e = graph.edgeStart(n); e < graph.edgeEnd(n); e++){
+                int a = find(parent, n);
+                int b = find(parent, graph.target(e));
+                if(a != b){ //Hang the smaller tree under the larger one so trees stay shallow
+                    if(size[a] < size[b]){
+                        int swap = a;
+                        a = b;
+                        b = swap;
+                    }
+                    parent[b] = a;
+                    size[a] += size[b];
+                }
+            }
+        }
+        int count = 0;
+        int[] number = size; //Reused to hold each root's component number, once sizes are no longer needed
+        Arrays.fill(number, -1);
+        for(int n = 0; n < nodeCount; n++){
+            int root = find(parent, n);
+            if(number[root] == -1){
+                number[root] = count++;
+            }
+            component[n] = number[root];
+        }
+        return count;
+    }
+
+    /**Finds the root of a node's union-find tree, halving the path to it on the way
+     *
+     * @param parent The union-find parent of each node
+     * @param n The node
+     * @return The root of n's tree
+     */
+    private static int find(int[] parent, int n){
+        while(parent[n] != n){
+            parent[n] = parent[parent[n]];
+            n = parent[n];
+        }
+        return n;
+    }
+
+    /**Labels the strongly connected components of a graph with Tarjan's algorithm, using explicit stacks
+     *
+     * @param graph The graph
+     * @param component Set to the component of each node, numbered in the order the components are finished
+     * @return The number of strongly connected components
+     */
+    private static int strongComponents(IntAdjacency<?> graph, int[] component){
+        int nodeCount = graph.nodeCount();
+        int[] order = new int[nodeCount]; //The order each node was first visited in, plus one, or 0 if it has not been
+        int[] low = new int[nodeCount]; //The least order of a node on the stack reachable from each node's subtree
+        boolean[] onStack = new boolean[nodeCount];
+        int[] stack = new int[nodeCount]; //Visited nodes not yet assigned to a component
+        int stackSize = 0;
+        int[] callNode = new int[nodeCount]; //The depth first search path, with the next edge to try from each node
+        int[] callEdge = new int[nodeCount];
+        int visited = 0;
+        int count = 0;
+        for(int root = 0; root < nodeCount; root++){
+            if(order[root] != 0){
+                continue;
+            }
+            int depth = 0;
+            callNode[0] = root;
+            callEdge[0] = graph.edgeStart(root);
+            order[root] = low[root] = ++visited;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+            while(depth >= 0){
+                int node = callNode[depth];
+                if(callEdge[depth] < graph.edgeEnd(node)){
+                    int child = graph.target(callEdge[depth]++);
+                    if(order[child] == 0){ //Descend into child, as a recursive call would
+                        depth++;
+                        callNode[depth] = child;
+                        callEdge[depth] = graph.edgeStart(child);
+                        order[child] = low[child] = ++visited;
+                        stack[stackSize++] = child;
+                        onStack[child] = true;
+                    } else if(onStack[child]){
+                        low[node] = Math.min(low[node], order[child]);
+                    }
+                    continue;
+                }
+                if(low[node] == order[node]){ //node is the root of a component made of it and the nodes above it on the stack
+                    int member;
+                    do {
+                        member = stack[--stackSize];
+                        onStack[member] = false;
+                        component[member] = count;
+                    } while(member != node);
+                    count++;
+                }
+                depth--; //Return to the caller, passing up the least order reached
+                if(depth >= 0){
+                    int caller = callNode[depth];
+                    low[caller] = Math.min(low[caller], low[node]);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**Returns the graph the components are of
+     *
+     * @return the graph the components are of
+     */
+    public IntAdjacency<N> graph(){
+        return graph;
+    }
+
+    /**Returns the number of weakly connected components
+     *
+     * @return the number of weakly connected components of graph
+     */
+    public int weakComponentCount(){
+        return weakCount;
+    }
+
+    /**Returns the number of strongly connected components
+     *
+     * @return the number of strongly connected components of graph
+     */
+    public int strongComponentCount(){
+        return strongCount;
+    }
+
+    /**Returns the weakly connected component of a node
+     *
+     * @param node The id of the node
+     * @return the number of node's weakly connected component, between 0 and weakComponentCount() - 1
+     * @spec.requires 0 &lt;= node &lt; graph.nodeCount()
+     */
+    public int weakComponent(int node){
+        return weak[node];
+    }
+
+    /**Returns the strongly connected component of a node
+     *
+     * @param node The id of the node
+     * @return the number of node's strongly connected component, between 0 and strongComponentCount() - 1
+     * @spec.requires 0 &lt;= node &lt; graph.nodeCount()
+     */
+    public int strongComponent(int node){
+        return strong[node];
+    }
+
+    /**Returns whether there may be a path from one node to another, in O(1). A false answer is certain; a true answer
+     * is certain only when the nodes are strongly connected, and otherwise a search must decide.
+     *
+     * @param from The id of the node the path would start at
+     * @param to The id of the node the path would end at
+     * @return false if from and to are in different weakly connected components, or if to's strong component was
+     *         finished after from's, so that from cannot reach it; true otherwise
+     * @spec.requires 0 &lt;= from, to &lt; graph.nodeCount()
+     */
+    public boolean mayReach(int from, int to){
+        return weak[from] == weak[to] && strong[from] >= strong[to];
+    }
+
+    /**Returns whether there may be a path between the nodes with two labels, as mayReach does for ids
+     *
+     * @param from The label of the node the path would start at
+     * @param to The label of the node the path would end at
+     * @return false if either label is not a node of graph or mayReach is false for their ids; true otherwise
+     * @throws IllegalArgumentException if from or to is null
+     */
+    public boolean mayReach(N from, N to){
+        if(from == null || to == null){
+            throw new IllegalArgumentException();
+        }
+        int fromId = graph.idOf(from);
+        int toId = graph.idOf(to);
+        return fromId != -1 && toId != -1 && mayReach(fromId, toId);
+    }
+
+    /**Returns whether each of two nodes can reach the other
+     *
+     * @param a The id of one node
+     * @param b The id of the other node
+     * @return true if a and b are in the same strongly connected component
+     * @spec.requires 0 &lt;= a, b &lt; graph.nodeCount()
+     */
+    public boolean stronglyConnected(int a, int b){
+        return strong[a] == strong[b];
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated
+     */
+    private void checkRep(){
+        assert graph != null && weak != null && strong != null;
+        assert weak.length == graph.nodeCount() && strong.length == graph.nodeCount();
+        assert weakCount >= 0 && strongCount >= weakCount;
+    }
+}
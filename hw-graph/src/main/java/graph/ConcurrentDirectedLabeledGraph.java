@@ -0,0 +1,344 @@
+package graph;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <b>ConcurrentDirectedLabeledGraph</b> represents a mutable directed labeled graph that may be shared between threads.
+ * It has the same specification as DirectedLabeledGraph.
+ *
+ * <p>Reads never block: the node table and each node's edge set are concurrent hash sets, and the views returned by
+ * getNodes, getEdges and iterator are weakly consistent, so they never throw ConcurrentModificationException and reflect some
+ * state of the graph at or since their creation. Writes are serialized with one another, so every mutator takes effect
+ * atomically with respect to other mutators and its return value is linearizable. A concurrent reader may observe a
+ * removeNode part way through, with some edges into the node already gone, but the edges into a node are removed before
+ * the node itself, so a reader that finds a node missing never afterwards reads an edge into it unless the node is added
+ * again. freeze always returns a consistent snapshot.</p>
+ *
+ * <p>Specification fields:
+ * @spec.specfield nodes : Set(Nodes) //The nodes in the graph
+ * @spec.specfield edges : Set(Edges) //The labeled edges in the graph</p>
+ *
+ * <p>Abstract Invariant:
+ * Two of the same node cannot be in the graph and each edge with the same parent and child must have different labels</p>
+ *
+ * Type Parameter N is the data type that will be held in the nodes of this ConcurrentDirectedLabeledGraph.
+ * Type Parameter E is the data type that will be held in the edges of this ConcurrentDirectedLabeledGraph.
+ */
+public class ConcurrentDirectedLabeledGraph<N,E> implements LabeledGraph<N,E> {
+
+    /**
+     *Holds the adjacency list representation of our graph mapping nodes to its edges
+     */
+    private final ConcurrentHashMap<DirectedLabeledGraph.Node<N>, Set<DirectedLabeledGraph.Edge<N,E>>> adj;
+
+    /**
+     *Reverse adjacency list mapping nodes to their incoming edges, where the destination of each stored edge is the node
+     *the edge comes from
+     */
+    private final ConcurrentHashMap<DirectedLabeledGraph.Node<N>, Set<DirectedLabeledGraph.Edge<N,E>>> incoming;
+
+    /**
+     *Maps the label of each node in this graph to that node
+     */
+    private final ConcurrentHashMap<N, DirectedLabeledGraph.Node<N>> labels;
+
+    /**
+     *Lock held by every mutator so that writes are applied one at a time
+     */
+    private final Object writeLock = new Object();
+
+    /**
+     * Indicates if checkRep() will run in its entirety if called
+     */
+    private static final boolean DEBUG = false;
+
+    //Abstract Invariant: adj.keySet() is the set of nodes in this graph.
+    //                    for each node n in adj.keySet(), for each edge e in adj.get(n) an outgoing edge starts from n and uses e to get to the destination node,
+    //                    The union of all of these edges make up the set of edges in this graph
+    //                    for each node n in incoming.keySet(), each edge e in incoming.get(n) represents the edge with the same label from e's destination node to n
+    //                    labels maps the label of each node in this graph to that node
+
+    //Representation Invariant (holds whenever writeLock is not held):
+    //                          adj, incoming and labels are not null
+    //                          for each node n in adj.keySet(), for each edge e in adj.get(n), the destination node of e exists in the graph
+    //                          incoming.keySet() equals adj.keySet() and for all nodes a, b and labels l,
+    //                          adj.get(a) contains Edge(l, b) if and only if incoming.get(b) contains Edge(l, a)
+    //                          labels.size() == adj.size() and for each node n in adj.keySet(), labels.get(n.getLabel()) equals n
+    //                          (ConcurrentHashMap forbids null keys and values, so no node or edge is null)
+
+    /**Creates a new ConcurrentDirectedLabeledGraph with no nodes or edges
+     * @spec.effects Constructs a new ConcurrentDirectedLabeledGraph with no nodes or edges
+     * @spec.requires Type parameters must be immutable objects
+     */
+    public ConcurrentDirectedLabeledGraph(){
+        adj = new ConcurrentHashMap<>();
+        incoming = new ConcurrentHashMap<>();
+        labels = new ConcurrentHashMap<>();
+        checkRep();
+    }
+
+    @Override
+    public boolean addNode(DirectedLabeledGraph.Node<N> node){
+        if(node == null){
+            throw new IllegalArgumentException();
+        }
+        synchronized (writeLock) {
+            boolean added = putNode(node);
+            checkRep();
+            return added;
+        }
+    }
+
+    /**Adds node to this if it is not already present
+     *
+     * @param node The node to be added to the graph
+     * @return true if node was added to the graph and false if it was already in the graph
+     * @spec.requires node is not null and writeLock is held
+     * @spec.modifies this
+     */
+    private boolean putNode(DirectedLabeledGraph.Node<N> node){
+        if(adj.containsKey(node)){
+            return false;
+        }
+        //Publish the node to readers last so it is never visible without its index entries
+        incoming.put(node, ConcurrentHashMap.newKeySet());
+        labels.put(node.getLabel(), node);
+        adj.put(node, ConcurrentHashMap.newKeySet());
+        return true;
+    }
+
+    @Override
+    public boolean addNode(N label){
+        if(label == null){
+            throw new IllegalArgumentException();
+        }
+        return addNode(new DirectedLabeledGraph.Node<>(label));
+    }
+
+    @Override
+    public boolean addEdge(E label, DirectedLabeledGraph.Node<N> source, DirectedLabeledGraph.Node<N> destination){
+        if(label == null || source == null || destination == null){
+            throw new IllegalArgumentException();
+        }
+        synchronized (writeLock) {
+            putNode(source);
+            putNode(destination);
+            boolean added = adj.get(source).add(new DirectedLabeledGraph.Edge<>(label, destination));
+            if(added){
+                incoming.get(destination).add(new DirectedLabeledGraph.Edge<>(label, source));
+            }
+            checkRep();
+            return added;
+        }
+    }
+
+    @Override
+    public boolean removeEdge(E label, DirectedLabeledGraph.Node<N> source, DirectedLabeledGraph.Node<N> destination){
+        if(label == null || source == null || destination == null){
+            throw new IllegalArgumentException();
+        }
+        synchronized (writeLock) {
+            Set<DirectedLabeledGraph.Edge<N,E>> edges = adj.get(source);
+            boolean removed = edges != null && edges.remove(new DirectedLabeledGraph.Edge<>(label, destination));
+            if(removed){
+                incoming.get(destination).remove(new DirectedLabeledGraph.Edge<>(label, source));
+            }
+            checkRep();
+            return removed;
+        }
+    }
+
+    @Override
+    public boolean removeNode(DirectedLabeledGraph.Node<N> node){
+        if(node == null){
+            throw new IllegalArgumentException();
+        }
+        synchronized (writeLock) {
+            Set<DirectedLabeledGraph.Edge<N,E>> outgoing = adj.get(node);
+            if(outgoing == null){
+                return false;
+            }
+            //Drop the edges into node before node itself so readers never see an edge to a missing node
+            for(DirectedLabeledGraph.Edge<N,E> in : incoming.get(node)){
+                adj.get(in.getDestination()).remove(new DirectedLabeledGraph.Edge<>(in.getLabel(), node));
+            }
+            for(DirectedLabeledGraph.Edge<N,E> out : outgoing){
+                incoming.get(out.getDestination()).remove(new DirectedLabeledGraph.Edge<>(out.getLabel(), node));
+            }
+            adj.remove(node);
+            incoming.remove(node);
+            labels.remove(node.getLabel());
+            checkRep();
+            return true;
+        }
+    }
+
+    @Override
+    public boolean removeNode(N label){
+        if(label == null){
+            throw new IllegalArgumentException();
+        }
+        return removeNode(new DirectedLabeledGraph.Node<>(label));
+    }
+
+    @Override
+    public List<DirectedLabeledGraph.Node<N>> listChildren(DirectedLabeledGraph.Node<N> node){
+        List<DirectedLabeledGraph.Node<N>> children = new ArrayList<>();
+        for(DirectedLabeledGraph.Edge<N,E> edge : getEdges(node)){
+            children.add(edge.getDestination());
+        }
+        return children;
+    }
+
+    @Override
+    public List<DirectedLabeledGraph.Node<N>> listParents(DirectedLabeledGraph.Node<N> node){
+        List<DirectedLabeledGraph.Node<N>> parents = new ArrayList<>();
+        for(DirectedLabeledGraph.Edge<N,E> edge : getIncomingEdges(node)){
+            parents.add(edge.getDestination());
+        }
+        return parents;
+    }
+
+    @Override
+    public Set<DirectedLabeledGraph.Edge<N,E>> getIncomingEdges(DirectedLabeledGraph.Node<N> node){
+        if(node == null){
+            throw new IllegalArgumentException();
+        }
+        Set<DirectedLabeledGraph.Edge<N,E>> edges = incoming.get(node);
+        if(edges == null){
+            throw new IllegalArgumentException();
+        }
+        return new HashSet<>(edges);
+    }
+
+    @Override
+    public Iterator<DirectedLabeledGraph.Node<N>> iterator(){
+        return getNodes().iterator();
+    }
+
+    @Override
+    public Set<DirectedLabeledGraph.Node<N>> getNodes(){
+        return Collections.unmodifiableSet(adj.keySet());
+    }
+
+    @Override
+    public boolean containsNode(DirectedLabeledGraph.Node<N> node){
+        if(node == null){
+            throw new IllegalArgumentException();
+        }
+        return adj.containsKey(node);
+    }
+
+    @Override
+    public int outDegree(DirectedLabeledGraph.Node<N> node){
+        return getEdges(node).size();
+    }
+
+    @Override
+    public DirectedLabeledGraph.Node<N> getNodeByName(String label){
+        if(label == null){
+            throw new IllegalArgumentException();
+        }
+        return labels.get(label);
+    }
+
+    @Override
+    public DirectedLabeledGraph.Node<N> getNode(N label){
+        if(label == null){
+            throw new IllegalArgumentException();
+        }
+        return labels.get(label);
+    }
+
+    @Override
+    public Set<E> getEdgesBetween(DirectedLabeledGraph.Node<N> source, DirectedLabeledGraph.Node<N> destination){
+        if(destination == null || !adj.containsKey(destination)){
+            throw new IllegalArgumentException();
+        }
+        Set<E> between = new HashSet<>();
+        for(DirectedLabeledGraph.Edge<N,E> edge : getEdges(source)){
+            if(edge.getDestination().equals(destination)){
+                between.add(edge.getLabel());
+            }
+        }
+        return between;
+    }
+
+    @Override
+    public Set<DirectedLabeledGraph.Edge<N,E>> getEdges(DirectedLabeledGraph.Node<N> node){
+        if(node == null){
+            throw new IllegalArgumentException();
+        }
+        Set<DirectedLabeledGraph.Edge<N,E>> edges = adj.get(node);
+        if(edges == null){
+            throw new IllegalArgumentException();
+        }
+        return Collections.unmodifiableSet(edges);
+    }
+
+    @Override
+    public FrozenGraph<N,E> freeze(){
+        synchronized (writeLock) {
+            return new FrozenGraph<>(adj);
+        }
+    }
+
+    @Override
+    public void clear(){
+        synchronized (writeLock) {
+            adj.clear();
+            incoming.clear();
+            labels.clear();
+            checkRep();
+        }
+    }
+
+    /**
+     * Standard hashCode function.
+     *
+     * @return an int that all objects equal to this will also return
+     */
+    @Override
+    public int hashCode() {
+        return adj.hashCode();
+    }
+
+    /**
+     * Standard equality operation.
+     *
+     * @param obj the object to be compared for equality
+     * @return true if and only if 'obj' is an instance of a ConcurrentDirectedLabeledGraph and 'this' and 'obj' represent
+     * the same graph.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if(obj instanceof ConcurrentDirectedLabeledGraph<?,?>) {
+            ConcurrentDirectedLabeledGraph<?,?> graph = (ConcurrentDirectedLabeledGraph<?,?>) obj;
+            return adj.equals(graph.adj);
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated. Must be called with writeLock held
+     */
+    private void checkRep(){
+        assert adj != null && incoming != null && labels != null;
+        if(DEBUG) {
+            assert incoming.keySet().equals(adj.keySet()) : "incoming index nodes differ";
+            assert labels.size() == adj.size() : "label index size differs";
+            for (DirectedLabeledGraph.Node<N> node : adj.keySet()) {
+                assert node.equals(labels.get(node.getLabel())) : "label index missing node";
+                for (DirectedLabeledGraph.Edge<N,E> edge : adj.get(node)) {
+                    assert adj.containsKey(edge.getDestination()) : "edge with destination not in graph";
+                    assert incoming.get(edge.getDestination()).contains(new DirectedLabeledGraph.Edge<>(edge.getLabel(), node)) : "incoming index missing edge";
+                }
+                for (DirectedLabeledGraph.Edge<N,E> edge : incoming.get(node)) {
+                    assert adj.get(edge.getDestination()).contains(new DirectedLabeledGraph.Edge<>(edge.getLabel(), node)) : "incoming index has extra edge";
+                }
+            }
+        }
+    }
+}
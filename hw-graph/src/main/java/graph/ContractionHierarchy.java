@@ -0,0 +1,835 @@
+package graph;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * <b>ContractionHierarchy</b> is a preprocessed index over a WeightedAdjacency graph that answers shortest path queries
+ * while settling only a small number of nodes.
+ *
+ * <p>Preprocessing contracts the nodes one at a time, least important first, where importance is estimated by the
+ * edge difference (shortcuts a contraction would add minus edges it would remove) plus the number of neighbors already
+ * contracted. Contracting a node v removes it from the remaining graph, and for each pair of a remaining in-neighbor u
+ * and out-neighbor w it adds a shortcut edge u to w of weight w(u,v) + w(v,w), unless a bounded witness search finds a
+ * path from u to w that avoids v and is no longer. A node's rank is the order in which it was contracted.</p>
+ *
+ * <p>A query runs Dijkstra's algorithm forward from the source over edges to higher ranked nodes and backward from the
+ * target over edges from higher ranked nodes, and takes the best node reached by both. Shortcuts in the path found are
+ * then unpacked recursively into the original edges they stand for.</p>
+ *
+ * <p>The hierarchy holds only ids, weights and edge indices, so it can be saved to a file and loaded back onto the same
+ * graph instead of being rebuilt. A ContractionHierarchy is immutable and can be shared by threads, each with its own
+ * Query.</p>
+ *
+ * <p>Specification fields:
+ * @spec.specfield graph : WeightedAdjacency //The graph this is an index over
+ * @spec.specfield rank : Map(int, int) //The order in which each node was contracted
+ * @spec.specfield edges : Set(Edges) //The edges of graph and the shortcuts added, each with the original edges it stands for</p>
+ *
+ * Type Parameter N is the data type of the node labels in the graph.
+ */
+public final class ContractionHierarchy<N> {
+
+    /**
+     * The first int of a saved hierarchy, "DLCH" in ASCII
+     */
+    private static final int MAGIC = 0x444C4348;
+
+    /**
+     * The version of the saved hierarchy format
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The most nodes a witness search settles before giving up and allowing the shortcut
+     */
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+
+    /**
+     * The graph this is an index over
+     */
+    private final WeightedAdjacency<N> graph;
+
+    /**
+     * The rank of each node
+     */
+    private final int[] rank;
+
+    /**
+     * The node each hierarchy edge comes out of and goes into, and its weight
+     */
+    private final int[] edgeFrom, edgeTo;
+    private final double[] edgeWeight;
+
+    /**
+     * For an original edge, the index of the graph edge it is, and -1 in second. For a shortcut, the two hierarchy
+     * edges it joins, first into the contracted node and second out of it.
+     */
+    private final int[] first, second;
+
+    /**
+     * The hierarchy edges going up out of node i are upEdges[upOffsets[i]] to upEdges[upOffsets[i + 1] - 1]
+     */
+    private final int[] upOffsets, upEdges;
+
+    /**
+     * The hierarchy edges coming down into node i are downEdges[downOffsets[i]] to downEdges[downOffsets[i + 1] - 1]
+     */
+    private final int[] downOffsets, downEdges;
+
+    //Abstraction Function: rank[n] is the rank of node n. Hierarchy edge h goes from edgeFrom[h] to edgeTo[h] with weight edgeWeight[h]. If
+    //                      second[h] == -1 it is the graph edge first[h], otherwise it is a shortcut standing for the original edges of
+    //                      hierarchy edge first[h] followed by those of hierarchy edge second[h].
+
+    //Representation Invariant: all fields are not null, rank is a permutation of [0, graph.nodeCount())
+    //                          edgeFrom, edgeTo, edgeWeight, first and second have the same length
+    //                          upEdges holds the edges h with rank[edgeFrom[h]] < rank[edgeTo[h]], grouped by edgeFrom[h]
+    //                          downEdges holds the edges h with rank[edgeFrom[h]] > rank[edgeTo[h]], grouped by edgeTo[h]
+    //                          for a shortcut h, edgeWeight[h] == edgeWeight[first[h]] + edgeWeight[second[h]]
+
+    /**Creates a hierarchy from its contraction order and edges, building the upward and downward adjacency
+     *
+     * @param graph The graph the hierarchy is over
+     * @param rank The rank of each node
+     * @param edgeFrom The node each hierarchy edge comes out of
+     * @param edgeTo The node each hierarchy edge goes into
+     * @param edgeWeight The weight of each hierarchy edge
+     * @param first The graph edge of each original edge, or the first half of each shortcut
+     * @param second -1 for each original edge, or the second half of each shortcut
+     */
+    private ContractionHierarchy(WeightedAdjacency<N> graph, int[] rank, int[] edgeFrom, int[] edgeTo, double[] edgeWeight,
+                                 int[] first, int[] second){
+        this.graph = graph;
+        this.rank = rank;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.edgeWeight = edgeWeight;
+        this.first = first;
+        this.second = second;
+        int nodeCount = rank.length;
+        upOffsets = new int[nodeCount + 1];
+        downOffsets = new int[nodeCount + 1];
+        for(int h = 0; h < edgeFrom.length; h++){
+            if(rank[edgeFrom[h]] < rank[edgeTo[h]]){
+                upOffsets[edgeFrom[h] + 1]++;
+            } else if(rank[edgeFrom[h]] > rank[edgeTo[h]]){
+                downOffsets[edgeTo[h] + 1]++;
+            }
+        }
+        for(int i = 0; i < nodeCount; i++){
+            upOffsets[i + 1] += upOffsets[i];
+            downOffsets[i + 1] += downOffsets[i];
+        }
+        upEdges = new int[upOffsets[nodeCount]];
+        downEdges = new int[downOffsets[nodeCount]];
+        int[] upNext = Arrays.copyOf(upOffsets, nodeCount);
+        int[] downNext = Arrays.copyOf(downOffsets, nodeCount);
+        for(int h = 0; h < edgeFrom.length; h++){
+            if(rank[edgeFrom[h]] < rank[edgeTo[h]]){
+                upEdges[upNext[edgeFrom[h]]++] = h;
+            } else if(rank[edgeFrom[h]] > rank[edgeTo[h]]){
+                downEdges[downNext[edgeTo[h]]++] = h;
+            }
+        }
+        checkRep();
+    }
+
+    /**Preprocesses a graph into a contraction hierarchy. This takes much longer than a single Dijkstra search.
+     *
+     * @param graph The graph to preprocess. Must not change while the hierarchy is in use
+     * @param <N> The type of the node labels
+     * @return A new hierarchy over graph
+     * @throws IllegalArgumentException if graph is null
+     * @spec.requires graph does not contain any negative edge weights
+     */
+    public static <N> ContractionHierarchy<N> build(WeightedAdjacency<N> graph){
+        if(graph == null){
+            throw new IllegalArgumentException();
+        }
+        return new Contractor<>(graph).contract();
+    }
+
+    /**Loads a hierarchy saved by save() back onto the graph it was built over
+     *
+     * @param file The file the hierarchy was saved to
+     * @param graph The graph the hierarchy was built over
+     * @param <N> The type of the node labels
+     * @return The saved hierarchy, over graph
+     * @throws IOException if file cannot be read
+     * @throws IllegalArgumentException if file or graph is null, file does not hold a saved hierarchy, or the hierarchy
+     *                                  was built over a graph with different nodes, edges or weights
+     */
+    public static <N> ContractionHierarchy<N> load(Path file, WeightedAdjacency<N> graph) throws IOException {
+        if(file == null || graph == null){
+            throw new IllegalArgumentException();
+        }
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))){
+            if(in.readInt() != MAGIC || in.readInt() != VERSION){
+                throw new IllegalArgumentException("Not a contraction hierarchy file");
+            }
+            int nodeCount = in.readInt();
+            int graphEdges = in.readInt();
+            long fingerprint = in.readLong();
+            if(nodeCount != graph.nodeCount() || graphEdges != graph.edgeCount() || fingerprint != fingerprint(graph)){
+                throw new IllegalArgumentException("Hierarchy was built over a different graph");
+            }
+            int[] rank = new int[nodeCount];
+            boolean[] used = new boolean[nodeCount];
+            for(int i = 0; i < nodeCount; i++){
+                rank[i] = in.readInt();
+                if(rank[i] < 0 || rank[i] >= nodeCount || used[rank[i]]){
+                    throw new IllegalArgumentException("Corrupt contraction hierarchy file");
+                }
+                used[rank[i]] = true;
+            }
+            int edgeCount = in.readInt();
+            if(edgeCount < 0){
+                throw new IllegalArgumentException("Corrupt contraction hierarchy file");
+            }
+            int[] edgeFrom = new int[edgeCount];
+            int[] edgeTo = new int[edgeCount];
+            double[] edgeWeight = new double[edgeCount];
+            int[] first = new int[edgeCount];
+            int[] second = new int[edgeCount];
+            for(int h = 0; h < edgeCount; h++){
+                edgeFrom[h] = in.readInt();
+                edgeTo[h] = in.readInt();
+                edgeWeight[h] = in.readDouble();
+                first[h] = in.readInt();
+                second[h] = in.readInt();
+                boolean valid = edgeFrom[h] >= 0 && edgeFrom[h] < nodeCount && edgeTo[h] >= 0 && edgeTo[h] < nodeCount
+                        && (second[h] == -1 ? first[h] >= 0 && first[h] < graphEdges : first[h] >= 0 && first[h] < h && second[h] >= 0 && second[h] < h);
+                if(!valid){
+                    throw new IllegalArgumentException("Corrupt contraction hierarchy file");
+                }
+            }
+            return new ContractionHierarchy<>(graph, rank, edgeFrom, edgeTo, edgeWeight, first, second);
+        } catch (EOFException e){
+            throw new IllegalArgumentException("Truncated contraction hierarchy file");
+        }
+    }
+
+    /**Saves this hierarchy to a file so that it can be loaded instead of being rebuilt
+     *
+     * @param file The file to write, replacing it if it exists
+     * @throws IOException if file cannot be written
+     * @throws IllegalArgumentException if file is null
+     */
+    public void save(Path file) throws IOException {
+        if(file == null){
+            throw new IllegalArgumentException();
+        }
+        try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))){
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(graph.nodeCount());
+            out.writeInt(graph.edgeCount());
+            out.writeLong(fingerprint(graph));
+            for(int r : rank){
+                out.writeInt(r);
+            }
+            out.writeInt(edgeFrom.length);
+            for(int h = 0; h < edgeFrom.length; h++){
+                out.writeInt(edgeFrom[h]);
+                out.writeInt(edgeTo[h]);
+                out.writeDouble(edgeWeight[h]);
+                out.writeInt(first[h]);
+                out.writeInt(second[h]);
+            }
+        }
+    }
+
+    /**Returns the graph this is an index over
+     *
+     * @return the graph this is an index over
+     */
+    public WeightedAdjacency<N> graph(){
+        return graph;
+    }
+
+    /**Returns the rank of a node, the order in which it was contracted
+     *
+     * @param node The id of the node
+     * @return the rank of node, between 0 and graph.nodeCount() - 1
+     * @spec.requires 0 &lt;= node &lt; graph.nodeCount()
+     */
+    public int rank(int node){
+        return rank[node];
+    }
+
+    /**Returns the number of shortcuts preprocessing added
+     *
+     * @return the number of edges in this that are shortcuts
+     */
+    public int shortcutCount(){
+        int count = 0;
+        for(int s : second){
+            if(s != -1){
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**Creates a new query over this hierarchy
+     *
+     * @return a new query, to be used by one thread at a time
+     */
+    public Query<N> query(){
+        return new Query<>(this);
+    }
+
+    /**Computes a checksum of a graph's structure and weights, so a saved hierarchy or set of landmark tables is only
+     * loaded onto the graph it was built over
+     *
+     * @param graph The graph
+     * @return A 64 bit hash of the node count and the target and weight of every edge of graph in order
+     */
+    static long fingerprint(WeightedAdjacency<?> graph){
+        long hash = 1125899906842597L;
+        hash = 31 * hash + graph.nodeCount();
+        for(int i = 0; i < graph.nodeCount(); i++){
+            hash = 31 * hash + graph.edgeEnd(i);
+        }
+        for(int e = 0; e < graph.edgeCount(); e++){
+            hash = 31 * hash + graph.target(e);
+            hash = 31 * hash + Double.doubleToLongBits(graph.weight(e));
+        }
+        return hash;
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated
+     */
+    private void checkRep(){
+        assert graph != null && rank != null && edgeFrom != null && edgeTo != null && edgeWeight != null;
+        assert first != null && second != null && upOffsets != null && upEdges != null && downOffsets != null && downEdges != null;
+        assert rank.length == graph.nodeCount();
+        assert edgeTo.length == edgeFrom.length && edgeWeight.length == edgeFrom.length;
+        assert first.length == edgeFrom.length && second.length == edgeFrom.length;
+    }
+
+    /**
+     * <b>Query</b> finds shortest paths with a bidirectional upward search of a ContractionHierarchy. Its arrays are
+     * allocated once and reused by each search, so a Query is not safe for use by multiple threads at once.
+     *
+     * <p>Specification fields:
+     * @spec.specfield hierarchy : ContractionHierarchy //The hierarchy searched
+     * @spec.specfield path : List(int) //The graph edges of the shortest path found by the last search, or nothing if none was found</p>
+     *
+     * Type Parameter N is the data type of the node labels in the graph.
+     */
+    public static final class Query<N> {
+
+        /**
+         * The hierarchy searched
+         */
+        private final ContractionHierarchy<N> hierarchy;
+
+        /**
+         * The nodes reached but not settled by each side this run, keyed by their distance on that side
+         */
+        private final IndexedHeap forwardFrontier, backwardFrontier;
+
+        /**
+         * The best known upward distance from the source to each node, and from each node down to the target
+         */
+        private final double[] forwardDist, backwardDist;
+
+        /**
+         * The hierarchy edge into each node on its path from the source, and out of each node on its path to the target
+         */
+        private final int[] forwardEdge, backwardEdge;
+
+        /**
+         * The run in which each side last reached and settled each node
+         */
+        private final int[] forwardSeen, backwardSeen, forwardSettled, backwardSettled;
+
+        /**
+         * The number of the current run, starting at 1
+         */
+        private int run;
+
+        /**
+         * The length of the shortest path found by the last search, or positive infinity if none was found
+         */
+        private double best;
+
+        /**
+         * The highest node of the best path, where its two halves meet, or -1 if none was found
+         */
+        private int meeting;
+
+        /**
+         * The number of nodes settled by both sides in the last search
+         */
+        private int settledCount;
+
+        /**
+         * The graph edges unpacked so far by pathEdges(), in indices [0, unpackedCount)
+         */
+        private int[] unpacked;
+        private int unpackedCount;
+
+        //Abstraction Function: If meeting != -1, path is the graph edges the hierarchy edges forwardEdge[...] stand for, followed back from
+        //                      meeting to the source, in order, followed by those the hierarchy edges backwardEdge[...] stand for, followed on
+        //                      from meeting to the target. Otherwise path is empty.
+
+        //Representation Invariant: hierarchy, both frontiers and all arrays are not null, all arrays have length hierarchy.graph.nodeCount()
+
+        /**Creates a query over a hierarchy
+         *
+         * @param hierarchy The hierarchy to search
+         * @spec.effects Constructs a new query that has not searched yet
+         */
+        private Query(ContractionHierarchy<N> hierarchy){
+            this.hierarchy = hierarchy;
+            int nodeCount = hierarchy.rank.length;
+            forwardFrontier = new IndexedHeap(nodeCount);
+            backwardFrontier = new IndexedHeap(nodeCount);
+            forwardDist = new double[nodeCount];
+            backwardDist = new double[nodeCount];
+            forwardEdge = new int[nodeCount];
+            backwardEdge = new int[nodeCount];
+            forwardSeen = new int[nodeCount];
+            backwardSeen = new int[nodeCount];
+            forwardSettled = new int[nodeCount];
+            backwardSettled = new int[nodeCount];
+            meeting = -1;
+            best = Double.POSITIVE_INFINITY;
+            unpacked = new int[16];
+        }
+
+        /**Returns the hierarchy this searches
+         *
+         * @return the hierarchy searched
+         */
+        public ContractionHierarchy<N> hierarchy(){
+            return hierarchy;
+        }
+
+        /**Finds a shortest path from source to target
+         *
+         * @param source The id of the node the path should start at
+         * @param target The id of the node the path should end at
+         * @return true if target can be reached from source
+         * @throws IllegalArgumentException if source or target is not a valid node id
+         * @spec.modifies this
+         * @spec.effects Replaces the path found by the previous search with a shortest path from source to target
+         */
+        public boolean search(int source, int target){
+            int nodeCount = hierarchy.rank.length;
+            if(source < 0 || source >= nodeCount || target < 0 || target >= nodeCount){
+                throw new IllegalArgumentException();
+            }
+            startRun(source, target);
+            //Neither side can stop at the first meeting, since the highest node of the best path may be reached later,
+            //but a side is done once its nearest unsettled node is no closer than the best path found
+            while(forwardFrontier.peekKey() < best || backwardFrontier.peekKey() < best){
+                boolean forward = backwardFrontier.peekKey() >= best
+                        || (forwardFrontier.peekKey() < best && forwardFrontier.peekKey() <= backwardFrontier.peekKey());
+                if(forward){
+                    step(forwardFrontier, forwardDist, forwardEdge, forwardSeen, forwardSettled, backwardDist, backwardSeen,
+                            hierarchy.upOffsets, hierarchy.upEdges, hierarchy.edgeTo);
+                } else {
+                    step(backwardFrontier, backwardDist, backwardEdge, backwardSeen, backwardSettled, forwardDist, forwardSeen,
+                            hierarchy.downOffsets, hierarchy.downEdges, hierarchy.edgeFrom);
+                }
+            }
+            return meeting != -1;
+        }
+
+        /**Returns the length of the path found by the last search
+         *
+         * @return the sum of the weights of the path found by the last search, or positive infinity if none was found
+         */
+        public double distance(){
+            return best;
+        }
+
+        /**Returns the edges of the path found by the last search, with every shortcut unpacked into original edges
+         *
+         * @return the indices in the graph of the edges of the path from the source to the target, in order, which is
+         *         empty if the source is the target, or null if no path was found
+         */
+        public int[] pathEdges(){
+            if(meeting == -1){
+                return null;
+            }
+            int[] up = new int[16];
+            int upCount = 0;
+            for(int n = meeting; forwardEdge[n] != -1; n = hierarchy.edgeFrom[forwardEdge[n]]){
+                if(upCount == up.length){
+                    up = Arrays.copyOf(up, upCount * 2);
+                }
+                up[upCount++] = forwardEdge[n];
+            }
+            unpackedCount = 0;
+            for(int i = upCount - 1; i >= 0; i--){
+                unpack(up[i]);
+            }
+            for(int n = meeting; backwardEdge[n] != -1; n = hierarchy.edgeTo[backwardEdge[n]]){
+                unpack(backwardEdge[n]);
+            }
+            return Arrays.copyOf(unpacked, unpackedCount);
+        }
+
+        /**Returns the number of nodes settled by the last search, counting nodes settled by both sides twice
+         *
+         * @return the number of nodes settled by the last search
+         */
+        public int settledCount(){
+            return settledCount;
+        }
+
+        /**Appends the original edges a hierarchy edge stands for to unpacked, without recursion so long shortcut
+         * chains cannot overflow the stack
+         *
+         * @param edge The hierarchy edge to unpack
+         */
+        private void unpack(int edge){
+            int[] stack = new int[16];
+            int top = 0;
+            stack[top++] = edge;
+            while(top > 0){
+                int h = stack[--top];
+                if(hierarchy.second[h] == -1){
+                    if(unpackedCount == unpacked.length){
+                        unpacked = Arrays.copyOf(unpacked, unpackedCount * 2);
+                    }
+                    unpacked[unpackedCount++] = hierarchy.first[h];
+                } else {
+                    if(top + 2 > stack.length){
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                    }
+                    stack[top++] = hierarchy.second[h]; //Pushed first so the first half is unpacked first
+                    stack[top++] = hierarchy.first[h];
+                }
+            }
+        }
+
+        /**Settles the nearest node of one side's frontier and relaxes its hierarchy edges towards higher ranks
+         *
+         * @param frontier This side's frontier
+         * @param dist This side's distances
+         * @param edge This side's path edges
+         * @param seen This side's reached stamps
+         * @param settled This side's settled stamps
+         * @param otherDist The other side's distances
+         * @param otherSeen The other side's reached stamps
+         * @param offsets The offsets of this side's adjacency
+         * @param edges The hierarchy edges of this side's adjacency
+         * @param far The end of each hierarchy edge away from the node it is grouped under
+         */
+        private void step(IndexedHeap frontier, double[] dist, int[] edge, int[] seen, int[] settled, double[] otherDist, int[] otherSeen,
+                          int[] offsets, int[] edges, int[] far){
+            int node = frontier.pop();
+            settled[node] = run;
+            settledCount++;
+            if(otherSeen[node] == run && dist[node] + otherDist[node] < best){
+                best = dist[node] + otherDist[node];
+                meeting = node;
+            }
+            double base = dist[node];
+            for(int i = offsets[node]; i < offsets[node + 1]; i++){
+                int h = edges[i];
+                int child = far[h];
+                if(settled[child] == run){
+                    continue;
+                }
+                double candidate = base + hierarchy.edgeWeight[h];
+                if(seen[child] != run){
+                    seen[child] = run;
+                    dist[child] = candidate;
+                    edge[child] = h;
+                    frontier.insert(child, candidate);
+                } else if(candidate < dist[child]){
+                    dist[child] = candidate;
+                    edge[child] = h;
+                    frontier.decreaseKey(child, candidate);
+                }
+            }
+        }
+
+        /**Starts a new run with the source and target alone in their frontiers
+         *
+         * @param source The id of the source node
+         * @param target The id of the target node
+         */
+        private void startRun(int source, int target){
+            if(run == Integer.MAX_VALUE){ //Stamps would repeat, so clear them
+                Arrays.fill(forwardSeen, 0);
+                Arrays.fill(backwardSeen, 0);
+                Arrays.fill(forwardSettled, 0);
+                Arrays.fill(backwardSettled, 0);
+                run = 0;
+            }
+            run++;
+            settledCount = 0;
+            best = Double.POSITIVE_INFINITY;
+            meeting = -1;
+            forwardFrontier.clear();
+            backwardFrontier.clear();
+            forwardSeen[source] = run;
+            forwardDist[source] = 0;
+            forwardEdge[source] = -1;
+            forwardFrontier.insert(source, 0);
+            backwardSeen[target] = run;
+            backwardDist[target] = 0;
+            backwardEdge[target] = -1;
+            backwardFrontier.insert(target, 0);
+        }
+    }
+
+    /**
+     * <b>Contractor</b> holds the remaining graph while a hierarchy is being built and contracts its nodes one by one.
+     * It is discarded once the hierarchy is built.
+     */
+    private static final class Contractor<N> {
+
+        private final WeightedAdjacency<N> graph;
+
+        /**
+         * The hierarchy edges built so far, grown as shortcuts are added
+         */
+        private int[] edgeFrom, edgeTo, first, second;
+        private double[] edgeWeight;
+        private int edgeCount;
+
+        /**
+         * The hierarchy edges out of and into each node that still lead to or from uncontracted nodes
+         */
+        private final int[][] out, in;
+        private final int[] outCount, inCount;
+
+        /**
+         * The rank of each contracted node, or -1 for nodes not contracted yet
+         */
+        private final int[] rank;
+
+        /**
+         * The number of contracted neighbors of each node
+         */
+        private final int[] contractedNeighbors;
+
+        /**
+         * Witness search state, reused by every witness search
+         */
+        private final IndexedHeap witnessFrontier;
+        private final double[] witnessDist;
+        private final int[] witnessSeen, witnessSettled;
+        private int witnessRun;
+
+        //Abstraction Function: The remaining graph is the uncontracted nodes with the hierarchy edges out[n][0..outCount[n]) of each
+        //                      uncontracted node n whose far end is uncontracted. Contracted nodes keep stale entries that are never read.
+
+        //Representation Invariant: all fields are not null and all per-node arrays have length graph.nodeCount()
+
+        Contractor(WeightedAdjacency<N> graph){
+            this.graph = graph;
+            int nodeCount = graph.nodeCount();
+            int capacity = Math.max(16, graph.edgeCount() * 2);
+            edgeFrom = new int[capacity];
+            edgeTo = new int[capacity];
+            first = new int[capacity];
+            second = new int[capacity];
+            edgeWeight = new double[capacity];
+            out = new int[nodeCount][];
+            in = new int[nodeCount][];
+            outCount = new int[nodeCount];
+            inCount = new int[nodeCount];
+            for(int i = 0; i < nodeCount; i++){
+                out[i] = new int[4];
+                in[i] = new int[4];
+            }
+            rank = new int[nodeCount];
+            Arrays.fill(rank, -1);
+            contractedNeighbors = new int[nodeCount];
+            witnessFrontier = new IndexedHeap(nodeCount);
+            witnessDist = new double[nodeCount];
+            witnessSeen = new int[nodeCount];
+            witnessSettled = new int[nodeCount];
+            for(int i = 0; i < nodeCount; i++){
+                for(int e = graph.edgeStart(i); e < graph.edgeEnd(i); e++){
+                    if(graph.target(e) != i){ //Loops are never on a shortest path
+                        addEdge(i, graph.target(e), graph.weight(e), e, -1);
+                    }
+                }
+            }
+        }
+
+        /**Contracts every node, least important first, and builds the hierarchy
+         *
+         * @return the finished hierarchy
+         */
+        ContractionHierarchy<N> contract(){
+            int nodeCount = graph.nodeCount();
+            IndexedHeap order = new IndexedHeap(nodeCount);
+            for(int i = 0; i < nodeCount; i++){
+                order.insert(i, priority(i));
+            }
+            int next = 0;
+            while(!order.isEmpty()){
+                int node = order.pop();
+                //Priorities go stale as neighbors are contracted, so recompute lazily and requeue if no longer the least
+                double current = priority(node);
+                if(!order.isEmpty() && current > order.peekKey()){
+                    order.insert(node, current);
+                    continue;
+                }
+                contractNode(node, true);
+                rank[node] = next++;
+                for(int i = 0; i < outCount[node]; i++){
+                    contractedNeighbors[edgeTo[out[node][i]]]++;
+                }
+                for(int i = 0; i < inCount[node]; i++){
+                    contractedNeighbors[edgeFrom[in[node][i]]]++;
+                }
+            }
+            return new ContractionHierarchy<>(graph, rank, Arrays.copyOf(edgeFrom, edgeCount), Arrays.copyOf(edgeTo, edgeCount),
+                    Arrays.copyOf(edgeWeight, edgeCount), Arrays.copyOf(first, edgeCount), Arrays.copyOf(second, edgeCount));
+        }
+
+        /**Estimates how important a node is, so that less important nodes are contracted first
+         *
+         * @param node The id of an uncontracted node
+         * @return the shortcuts contracting node would add, minus the remaining edges it would remove, plus its contracted neighbors
+         */
+        private double priority(int node){
+            int removed = 0;
+            for(int i = 0; i < outCount[node]; i++){
+                if(rank[edgeTo[out[node][i]]] == -1){
+                    removed++;
+                }
+            }
+            for(int i = 0; i < inCount[node]; i++){
+                if(rank[edgeFrom[in[node][i]]] == -1){
+                    removed++;
+                }
+            }
+            return contractNode(node, false) - removed + contractedNeighbors[node];
+        }
+
+        /**Finds the shortcuts needed to contract a node, adding them if asked
+         *
+         * @param node The id of the uncontracted node
+         * @param add true to add the shortcuts, false to only count them
+         * @return the number of shortcuts needed
+         */
+        private int contractNode(int node, boolean add){
+            int shortcuts = 0;
+            int ins = inCount[node];
+            int outs = outCount[node];
+            for(int i = 0; i < ins; i++){
+                int into = in[node][i];
+                int u = edgeFrom[into];
+                if(rank[u] != -1){
+                    continue;
+                }
+                double limit = 0;
+                for(int j = 0; j < outs; j++){
+                    int w = edgeTo[out[node][j]];
+                    if(rank[w] == -1 && w != u){
+                        limit = Math.max(limit, edgeWeight[into] + edgeWeight[out[node][j]]);
+                    }
+                }
+                witnessSearch(u, node, limit);
+                for(int j = 0; j < outs; j++){
+                    int outOf = out[node][j];
+                    int w = edgeTo[outOf];
+                    if(rank[w] != -1 || w == u){
+                        continue;
+                    }
+                    double via = edgeWeight[into] + edgeWeight[outOf];
+                    if(witnessSeen[w] == witnessRun && witnessDist[w] <= via){
+                        continue;
+                    }
+                    shortcuts++;
+                    if(add){
+                        addEdge(u, w, via, into, outOf);
+                        //Later pairs from u may use this shortcut as a witness
+                        if(witnessSeen[w] != witnessRun || via < witnessDist[w]){
+                            witnessSeen[w] = witnessRun;
+                            witnessDist[w] = via;
+                        }
+                    }
+                }
+            }
+            return shortcuts;
+        }
+
+        /**Finds distances from a node in the remaining graph without passing through an excluded node, giving up past a limit
+         *
+         * @param source The id of the node to search from
+         * @param excluded The id of the node being contracted
+         * @param limit The greatest distance worth finding
+         */
+        private void witnessSearch(int source, int excluded, double limit){
+            witnessRun++;
+            witnessFrontier.clear();
+            witnessSeen[source] = witnessRun;
+            witnessDist[source] = 0;
+            witnessFrontier.insert(source, 0);
+            int settled = 0;
+            //Settled nodes are left in witnessDist with their final distances, and frontier nodes with upper bounds,
+            //either of which is a valid witness
+            while(!witnessFrontier.isEmpty() && witnessFrontier.peekKey() <= limit && settled < WITNESS_SETTLE_LIMIT){
+                int node = witnessFrontier.pop();
+                witnessSettled[node] = witnessRun;
+                settled++;
+                for(int i = 0; i < outCount[node]; i++){
+                    int h = out[node][i];
+                    int child = edgeTo[h];
+                    if(child == excluded || rank[child] != -1 || witnessSettled[child] == witnessRun){
+                        continue;
+                    }
+                    double candidate = witnessDist[node] + edgeWeight[h];
+                    if(witnessSeen[child] != witnessRun){
+                        witnessSeen[child] = witnessRun;
+                        witnessDist[child] = candidate;
+                        witnessFrontier.insert(child, candidate);
+                    } else if(candidate < witnessDist[child]){
+                        witnessDist[child] = candidate;
+                        witnessFrontier.decreaseKey(child, candidate);
+                    }
+                }
+            }
+        }
+
+        /**Adds a hierarchy edge, growing the arrays if needed
+         *
+         * @param from The node the edge comes out of
+         * @param to The node the edge goes into
+         * @param weight The weight of the edge
+         * @param firstPart The graph edge for an original edge, or the first half of a shortcut
+         * @param secondPart -1 for an original edge, or the second half of a shortcut
+         */
+        private void addEdge(int from, int to, double weight, int firstPart, int secondPart){
+            if(edgeCount == edgeFrom.length){
+                int capacity = edgeCount * 2;
+                edgeFrom = Arrays.copyOf(edgeFrom, capacity);
+                edgeTo = Arrays.copyOf(edgeTo, capacity);
+                first = Arrays.copyOf(first, capacity);
+                second = Arrays.copyOf(second, capacity);
+                edgeWeight = Arrays.copyOf(edgeWeight, capacity);
+            }
+            int h = edgeCount++;
+            edgeFrom[h] = from;
+            edgeTo[h] = to;
+            edgeWeight[h] = weight;
+            first[h] = firstPart;
+            second[h] = secondPart;
+            if(outCount[from] == out[from].length){
+                out[from] = Arrays.copyOf(out[from], outCount[from] * 2);
+            }
+            out[from][outCount[from]++] = h;
+            if(inCount[to] == in[to].length){
+                in[to] = Arrays.copyOf(in[to], inCount[to] * 2);
+            }
+            in[to][inCount[to]++] = h;
+        }
+    }
+}
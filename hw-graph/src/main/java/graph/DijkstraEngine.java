@@ -0,0 +1,325 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * <b>DijkstraEngine</b> runs Dijkstra's algorithm over the int node ids of a WeightedAdjacency graph. The frontier is an
+ * IndexedHeap, a 4-ary heap with decrease-key, so it never holds more than one entry per node, and distances and
+ * parents live in primitive arrays. The arrays are allocated once per engine and reused by every search: a run counter marks which
+ * entries belong to the current search, so starting a search costs O(1) rather than O(nodes).
+ *
+ * <p>A search relaxes an edge only when it gives a strictly shorter distance, so among equally short paths the one
+ * found first is kept. Distances are summed along the path in order from the source, as Path.extend sums costs.</p>
+ *
+ * <p>Given a Heuristic, a search is an A* search: the heap is ordered by distance plus the heuristic's estimate of the
+ * distance left to the target, so nodes leading away from the target are settled late or not at all.</p>
+ *
+ * <p>An engine is not safe for use by multiple threads at once; give each thread its own engine over the same graph.</p>
+ *
+ * <p>Specification fields:
+ * @spec.specfield graph : WeightedAdjacency //The graph searched by this engine
+ * @spec.specfield source : int //The source of the last search, or -1 if there has been none
+ * @spec.specfield reached : Map(int, (double, int)) //The distance and parent edge of each node reached by the last search</p>
+ *
+ * Type Parameter N is the data type of the node labels in the searched graph.
+ */
+public final class DijkstraEngine<N> {
+
+    /**
+     * The graph searched by this engine
+     */
+    private final WeightedAdjacency<N> graph;
+
+    /**
+     * The best known distance to each node, valid for nodes whose seen stamp is the current run
+     */
+    private final double[] dist;
+
+    /**
+     * The estimated distance from each node to the target, valid for nodes seen this run
+     */
+    private final double[] estimate;
+
+    /**
+     * The node before each node on its best known path, or -1 for the source, valid for nodes seen this run
+     */
+    private final int[] parent;
+
+    /**
+     * The index of the last edge on each node's best known path, or -1 for the source, valid for nodes seen this run
+     */
+    private final int[] parentEdge;
+
+    /**
+     * The run in which each node was last reached
+     */
+    private final int[] seen;
+
+    /**
+     * The run in which each node was last settled
+     */
+    private final int[] settled;
+
+    /**
+     * The nodes reached but not settled this run, keyed by distance plus estimated distance to the target
+     */
+    private final IndexedHeap frontier;
+
+    /**
+     * The number of the current run, starting at 1
+     */
+    private int run;
+
+    /**
+     * The source of the last search, or -1 if there has been none
+     */
+    private int source;
+
+    /**
+     * The number of nodes settled by the last search
+     */
+    private int settledCount;
+
+    //Abstraction Function: A node n was reached by the last search if seen[n] == run, in which case its distance is dist[n] and its
+    //                      parent edge is parentEdge[n]. source is the source of the last search.
+
+    //Representation Invariant: graph, frontier and all arrays are not null, all arrays have length graph.nodeCount() and frontier holds ids below it
+    //                          every node n in frontier has seen[n] == run and settled[n] != run, with key dist[n] + estimate[n]
+
+    /**Creates an engine for searching a graph
+     *
+     * @param graph The graph to search. Must not change while the engine is in use
+     * @throws IllegalArgumentException if graph is null
+     * @spec.effects Constructs a new engine that has not searched yet
+     */
+    public DijkstraEngine(WeightedAdjacency<N> graph){
+        if(graph == null){
+            throw new IllegalArgumentException();
+        }
+        this.graph = graph;
+        int nodeCount = graph.nodeCount();
+        dist = new double[nodeCount];
+        estimate = new double[nodeCount];
+        parent = new int[nodeCount];
+        parentEdge = new int[nodeCount];
+        seen = new int[nodeCount];
+        settled = new int[nodeCount];
+        frontier = new IndexedHeap(nodeCount);
+        source = -1;
+        checkRep();
+    }
+
+    /**Returns the graph this engine searches
+     *
+     * @return the graph searched by this
+     */
+    public WeightedAdjacency<N> graph(){
+        return graph;
+    }
+
+    /**Finds the shortest paths from source, stopping as soon as target is settled
+     *
+     * @param source The id of the node to search from
+     * @param target The id of the node to stop at, or -1 to settle every node reachable from source
+     * @return true if target was reached, or if target is -1
+     * @throws IllegalArgumentException if source or target is not a valid node id
+     * @spec.modifies this
+     * @spec.effects Replaces the results of the previous search with the results of this one
+     */
+    public boolean search(int source, int target){
+        return search(source, target, null);
+    }
+
+    /**Finds a shortest path from source to target with an A* search guided by heuristic, stopping as soon as target is
+     * settled. Nodes settled on the way have their shortest distances, but nodes the heuristic steers away from may not
+     * be reached at all.
+     *
+     * @param source The id of the node to search from
+     * @param target The id of the node to search for, or -1 to settle every node reachable from source
+     * @param heuristic The consistent heuristic estimating the distance from each node to target, or null to run Dijkstra's algorithm
+     * @return true if target was reached, or if target is -1
+     * @throws IllegalArgumentException if source or target is not a valid node id, or if heuristic is not null and target is -1
+     * @spec.modifies this
+     * @spec.effects Replaces the results of the previous search with the results of this one
+     */
+    public boolean search(int source, int target, Heuristic heuristic){
+        int nodeCount = graph.nodeCount();
+        if(source < 0 || source >= nodeCount || target < -1 || target >= nodeCount || (heuristic != null && target == -1)){
+            throw new IllegalArgumentException();
+        }
+        startRun(source, heuristic == null ? 0 : heuristic.estimate(source, target));
+        while(!frontier.isEmpty()){
+            int node = frontier.pop();
+            settled[node] = run;
+            settledCount++;
+            if(node == target){
+                return true;
+            }
+            double base = dist[node];
+            int end = graph.edgeEnd(node);
+            for(int e = graph.edgeStart(node); e < end; e++){
+                int child = graph.target(e);
+                if(settled[child] == run){
+                    continue;
+                }
+                double candidate = base + graph.weight(e);
+                if(seen[child] != run){
+                    seen[child] = run;
+                    estimate[child] = heuristic == null ? 0 : heuristic.estimate(child, target);
+                    dist[child] = candidate;
+                    parent[child] = node;
+                    parentEdge[child] = e;
+                    frontier.insert(child, candidate + estimate[child]);
+                } else if(candidate < dist[child]){
+                    dist[child] = candidate;
+                    parent[child] = node;
+                    parentEdge[child] = e;
+                    frontier.decreaseKey(child, candidate + estimate[child]);
+                }
+            }
+        }
+        checkRep();
+        return target == -1;
+    }
+
+    /**Settles every node reachable from source and copies the result into a ShortestPathTree, which stays valid when
+     * this engine searches again
+     *
+     * @param source The id of the node to search from
+     * @return The shortest path tree out of source
+     * @throws IllegalArgumentException if source is not a valid node id
+     * @spec.modifies this
+     * @spec.effects Replaces the results of the previous search with a search from source that settles every node it can reach
+     */
+    public ShortestPathTree<N> shortestPathTree(int source){
+        search(source, -1);
+        int nodeCount = graph.nodeCount();
+        double[] treeDistance = new double[nodeCount];
+        int[] treeParent = new int[nodeCount];
+        int[] treeParentEdge = new int[nodeCount];
+        for(int n = 0; n < nodeCount; n++){
+            treeDistance[n] = isSettled(n) ? dist[n] : Double.POSITIVE_INFINITY;
+            treeParent[n] = isSettled(n) ? parent[n] : -1;
+            treeParentEdge[n] = isSettled(n) ? parentEdge[n] : -1;
+        }
+        return new ShortestPathTree<>(graph, source, treeDistance, treeParent, treeParentEdge, settledCount);
+    }
+
+    /**Returns the source of the last search
+     *
+     * @return the id of the source of the last search, or -1 if there has been none
+     */
+    public int source(){
+        return source;
+    }
+
+    /**Returns whether the last search reached a node. A node reached but not settled has a tentative distance.
+     *
+     * @param node The id of the node
+     * @return true if the last search reached node
+     * @spec.requires 0 &lt;= node &lt; graph.nodeCount()
+     */
+    public boolean reached(int node){
+        return run != 0 && seen[node] == run;
+    }
+
+    /**Returns whether the last search settled a node, so that its distance is final
+     *
+     * @param node The id of the node
+     * @return true if the last search settled node
+     * @spec.requires 0 &lt;= node &lt; graph.nodeCount()
+     */
+    public boolean isSettled(int node){
+        return run != 0 && settled[node] == run;
+    }
+
+    /**Returns the distance found to a node by the last search
+     *
+     * @param node The id of the node
+     * @return the distance from the source to node, or positive infinity if node was not reached
+     * @spec.requires 0 &lt;= node &lt; graph.nodeCount()
+     */
+    public double distance(int node){
+        return reached(node) ? dist[node] : Double.POSITIVE_INFINITY;
+    }
+
+    /**Returns the node before a node on the path found by the last search
+     *
+     * @param node The id of the node
+     * @return the id of the node before node on its path, or -1 if node is the source or was not reached
+     * @spec.requires 0 &lt;= node &lt; graph.nodeCount()
+     */
+    public int parent(int node){
+        return reached(node) ? parent[node] : -1;
+    }
+
+    /**Returns the last edge on the path found to a node by the last search
+     *
+     * @param node The id of the node
+     * @return the index of the edge into node on its path, or -1 if node is the source or was not reached
+     * @spec.requires 0 &lt;= node &lt; graph.nodeCount()
+     */
+    public int parentEdge(int node){
+        return reached(node) ? parentEdge[node] : -1;
+    }
+
+    /**Returns the nodes on the path found to a node by the last search
+     *
+     * @param node The id of the node the path ends at
+     * @return the ids of the nodes on the path from the source to node, in order, or null if node was not settled
+     * @spec.requires 0 &lt;= node &lt; graph.nodeCount()
+     */
+    public int[] pathTo(int node){
+        if(!isSettled(node)){
+            return null;
+        }
+        int length = 1;
+        for(int n = node; parent[n] != -1; n = parent[n]){
+            length++;
+        }
+        int[] path = new int[length];
+        for(int n = node, i = length - 1; i >= 0; n = parent[n], i--){
+            path[i] = n;
+        }
+        return path;
+    }
+
+    /**Returns the number of nodes settled by the last search, a measure of how much work it did
+     *
+     * @return the number of nodes settled by the last search
+     */
+    public int settledCount(){
+        return settledCount;
+    }
+
+    /**Starts a new run with source alone in the heap
+     *
+     * @param source The id of the source node
+     * @param sourceEstimate The estimated distance from source to the target
+     */
+    private void startRun(int source, double sourceEstimate){
+        if(run == Integer.MAX_VALUE){ //Stamps would repeat, so clear them
+            Arrays.fill(seen, 0);
+            Arrays.fill(settled, 0);
+            run = 0;
+        }
+        run++;
+        this.source = source;
+        settledCount = 0;
+        frontier.clear();
+        seen[source] = run;
+        dist[source] = 0;
+        estimate[source] = sourceEstimate;
+        parent[source] = -1;
+        parentEdge[source] = -1;
+        frontier.insert(source, sourceEstimate);
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated
+     */
+    private void checkRep(){
+        assert graph != null && frontier != null && dist != null && estimate != null;
+        assert parent != null && parentEdge != null && seen != null && settled != null;
+    }
+}
@@ -17,13 +17,29 @@ import java.util.*;
  * Type Parameter N is the data type that will be held in the nodes of this DirectedLabeledGraph.
  * Type Parameter E is the data type that will be held in the edges of this DirectedLabeledGraph.
  */
-public class DirectedLabeledGraph<N,E> implements Iterable<DirectedLabeledGraph.Node<N>>{
+public class DirectedLabeledGraph<N,E> implements LabeledGraph<N,E> {
 
     /**
      *Holds the adjacency list representation of our graph mapping nodes to its edges
      */
     private HashMap<Node<N>, Set<Edge<N,E>>> adj;
 
+    /**
+     *Optional reverse adjacency list mapping nodes to their incoming edges, where the destination of each stored edge is
+     *the node the edge comes from. Null if this graph does not index incoming edges.
+     */
+    private final HashMap<Node<N>, Set<Edge<N,E>>> incoming;
+
+    /**
+     *Maps the label of each node in this graph to that node so nodes can be looked up by label in constant time
+     */
+    private final HashMap<N, Node<N>> labels;
+
+    /**
+     *The snapshot last returned by freeze(), or null if this has not been frozen since it last changed
+     */
+    private FrozenGraph<N,E> frozen;
+
     /**
      * Indicates if checkRep() will run in its entirety if called
      */
@@ -32,10 +48,17 @@ public class DirectedLabeledGraph<N,E> implements Iterable<DirectedLabeledGraph.
     //Abstract Invariant: adj.keySet() is the set of nodes in this DirectedLabeledGraph.
     //                    for each node n in adj.keySet(), for each edge e in adj.get(n) an outgoing edge starts from n and uses e to get to the destination node,
     //                    The union of all of these edges make up the set of edges in this DirectedLabeledGraph
+    //                    If incoming != null, for each node n in incoming.keySet(), each edge e in incoming.get(n) represents the edge with the same label
+    //                    from e's destination node to n
+    //                    labels maps the label of each node in this DirectedLabeledGraph to that node
 
     //Representation Invariant: adj != null
     //                          for each node n in adj.keySet(), n != null
     //                          for each node n in adj.keySet(), for each edge e in adj.get(n), e != null and the destination node of e exists in the graph
+    //                          if incoming != null, incoming.keySet() equals adj.keySet() and for all nodes a, b and labels l,
+    //                          adj.get(a) contains Edge(l, b) if and only if incoming.get(b) contains Edge(l, a)
+    //                          labels != null, labels.size() == adj.size() and for each node n in adj.keySet(), labels.get(n.getLabel()) equals n
+    //                          if frozen != null, frozen has exactly the nodes and edges of adj
     //
     //
     //                          (No duplicate nodes or edges between two nodes is implied through implementation using a hashset)
@@ -45,7 +68,34 @@ public class DirectedLabeledGraph<N,E> implements Iterable<DirectedLabeledGraph.
      * @spec.requires Type parameters must be immutable objects
      */
     public DirectedLabeledGraph(){
+        this(false);
+    }
+
+    /**Creates a new DirectedLabeledGraph with no nodes or edges that can optionally index the incoming edges of each node.
+     * Indexing incoming edges uses more memory but makes removeNode, getIncomingEdges and listParents cost O(degree) instead of O(nodes + edges)
+     *
+     * @param indexIncoming true if this graph should keep an index of the incoming edges of each node
+     * @spec.effects Constructs a new DirectedLabeledGraph with no nodes or edges
+     * @spec.requires Type parameters must be immutable objects
+     */
+    public DirectedLabeledGraph(boolean indexIncoming){
         adj = new HashMap<>();
+        incoming = indexIncoming ? new HashMap<>() : null;
+        labels = new HashMap<>();
+        checkRep();
+    }
+
+    /**Creates a DirectedLabeledGraph that takes ownership of already built maps, for use by GraphBuilder
+     *
+     * @param adj The adjacency list of the new graph
+     * @param incoming The incoming edge index of the new graph, or null if the graph should not index incoming edges
+     * @param labels The label index of the new graph
+     * @spec.requires adj, incoming and labels satisfy the representation invariant of this class and are not used by the caller afterwards
+     */
+    DirectedLabeledGraph(HashMap<Node<N>, Set<Edge<N,E>>> adj, HashMap<Node<N>, Set<Edge<N,E>>> incoming, HashMap<N, Node<N>> labels){
+        this.adj = adj;
+        this.incoming = incoming;
+        this.labels = labels;
         checkRep();
     }
 
@@ -58,6 +108,7 @@ public class DirectedLabeledGraph<N,E> implements Iterable<DirectedLabeledGraph.
      * @spec.modifies this
      * @spec.effects Adds node to this without any edges in or out of it or does not add to graph if node already in graph
      */
+    @Override
     public boolean addNode(Node<N> node){
         checkRep();
         if(node == null){
@@ -66,6 +117,11 @@ public class DirectedLabeledGraph<N,E> implements Iterable<DirectedLabeledGraph.
             return false;
         }
         adj.put(node, new HashSet<>());
+        labels.put(node.getLabel(), node);
+        frozen = null;
+        if(incoming != null){
+            incoming.put(node, new HashSet<>());
+        }
         checkRep();
         return true;
     }
@@ -78,6 +134,7 @@ public class DirectedLabeledGraph<N,E> implements Iterable<DirectedLabeledGraph.
      * @spec.modifies this
      * @spec.effects Adds node with label without any edges in or out of it or does not add the node if node with label already in graph
      */
+    @Override
     public boolean addNode(N label){
         checkRep();
         if(label == null){
@@ -102,6 +159,7 @@ public class DirectedLabeledGraph<N,E> implements Iterable<DirectedLabeledGraph.
      *               If source or destination does not exist in the graph, addEdge will add the missing node into the graph and then add the edge
      *
      */
+    @Override
     public boolean addEdge(E label, Node<N> source, Node<N> destination){
         checkRep();
         if(label == null || source == null || destination == null){
@@ -116,6 +174,12 @@ public class DirectedLabeledGraph<N,E> implements Iterable<DirectedLabeledGraph.
         }
         Set<Edge<N,E>> s = adj.get(source);
         boolean added = s.add(edge);
+        if(added){
+            frozen = null;
+            if(incoming != null){
+                incoming.get(destination).add(new Edge<>(label, source));
+            }
+        }
         checkRep();
         return added;
     }
@@ -130,6 +194,7 @@ public class DirectedLabeledGraph<N,E> implements Iterable<DirectedLabeledGraph.
      * @spec.modifies this
      * @spec.effects Removes the edge between source and destination in this or does nothing if the edge didn't exist
      */
+    @Override
     public boolean removeEdge(E label, Node<N> source, Node<N> destination){
         checkRep();
         if(label == null || source == null || destination == null){
@@ -141,6 +206,12 @@ public class DirectedLabeledGraph<N,E> implements Iterable<DirectedLabeledGraph.
         Edge<N,E> edge = new Edge<>(label, destination);
         Set<Edge<N,E>> s = adj.get(source);
         boolean removed = s.remove(edge);
+        if(removed){
+            frozen = null;
+            if(incoming != null){
+                incoming.get(destination).remove(new Edge<>(label, source));
+            }
+        }
         checkRep();
         return removed;
     }
@@ -153,14 +224,18 @@ public class DirectedLabeledGraph<N,E> implements Iterable<DirectedLabeledGraph.
      * @spec.modifies this
      * @spec.effects Removes node from this and removes all occurrences of node from this or does nothing if the node did not exist in the graph
      */
+    @Override
     public boolean removeNode(Node<N> node){
         checkRep();
         if(node == null){
             throw new IllegalArgumentException();
         }
-        boolean removed = adj.remove(node) != null;
+        Set<Edge<N,E>> outgoing = adj.remove(node);
+        boolean removed = outgoing != null;
         if(removed){
-            fixGraph(node);
+            labels.remove(node.getLabel());
+            fixGraph(node, outgoing);
+            frozen = null;
         }
         checkRep();
         return removed;
@@ -169,13 +244,30 @@ public class DirectedLabeledGraph<N,E> implements Iterable<DirectedLabeledGraph.
     /**Removes all occurrences of a removed node from the graph
      *
      * @param node The node that should be removed
+     * @param outgoing The edges that came out of node before it was removed
      * @spec.modifies this
      * @spec.effects Removes all edges where the destination is node in this
      */
-    private void fixGraph(Node<N> node){
-        for(Node<N> source : adj.keySet()){
-            Set<Edge<N,E>> edges = adj.get(source);
-            edges.removeIf(edge -> edge.getDestination().equals(node));
+    private void fixGraph(Node<N> node, Set<Edge<N,E>> outgoing){
+        if(incoming == null){
+            for(Node<N> source : adj.keySet()){
+                Set<Edge<N,E>> edges = adj.get(source);
+                edges.removeIf(edge -> edge.getDestination().equals(node));
+            }
+            return;
+        }
+        //Only visit the neighbors of node using the incoming index
+        for(Edge<N,E> in : incoming.remove(node)){
+            Set<Edge<N,E>> edges = adj.get(in.getDestination());
+            if(edges != null){
+                edges.remove(new Edge<>(in.getLabel(), node));
+            }
+        }
+        for(Edge<N,E> out : outgoing){
+            Set<Edge<N,E>> edges = incoming.get(out.getDestination());
+            if(edges != null){
+                edges.remove(new Edge<>(out.getLabel(), node));
+            }
         }
     }
 
@@ -187,6 +279,7 @@ public class DirectedLabeledGraph<N,E> implements Iterable<DirectedLabeledGraph.
      * @spec.modifies this
      * @spec.effects Removes the node with label "label" from this and removes all occurrences of the node with "label" or does nothing if a node with "label" does not exist
      */
+    @Override
     public boolean removeNode(N label){
         checkRep();
         if(label == null){
@@ -205,33 +298,105 @@ public class DirectedLabeledGraph<N,E> implements Iterable<DirectedLabeledGraph.
      * @spec.requires node is not null, node exists in this
      *
      */
+    @Override
     public List<Node<N>> listChildren(Node<N> node){
         if(node == null || !adj.containsKey(node)){
             throw new IllegalArgumentException();
         }
         Set<Edge<N,E>> edges = adj.get(node);
-        List<Node<N>> children = new ArrayList<>();
+        List<Node<N>> children = new ArrayList<>(edges.size());
         for(Edge<N,E> edge : edges){
             children.add(edge.getDestination());
         }
         return children;
     }
 
-    /**Provides an iterator over all of the nodes in this
+    /**Returns a list of all of the nodes where there exists an edge from them to "node".
+     *
+     * @param node The node whom's parents will be in the list
+     * @return A list of all of the nodes where there exists an edge from them to "node", listed once per edge
+     * @spec.requires node is not null, node exists in this
+     */
+    @Override
+    public List<Node<N>> listParents(Node<N> node){
+        List<Node<N>> parents = new ArrayList<>();
+        for(Edge<N,E> edge : getIncomingEdges(node)){
+            parents.add(edge.getDestination());
+        }
+        return parents;
+    }
+
+    /**Returns a set of the edges coming into node, each reversed so that its destination is the node the edge comes from.
+     * Costs O(in-degree) if this graph indexes incoming edges and O(nodes + edges) otherwise.
+     *
+     * @param node The node who's incoming edges will be returned
+     * @return A set of edges with the label of each edge into node and the node that edge comes from as its destination (empty set if no parents)
+     * @spec.requires node is not null and node is in the graph
+     */
+    @Override
+    public Set<Edge<N,E>> getIncomingEdges(Node<N> node){
+        if(node == null || !adj.containsKey(node)){
+            throw new IllegalArgumentException();
+        }
+        if(incoming != null){
+            return new HashSet<>(incoming.get(node));
+        }
+        Set<Edge<N,E>> edges = new HashSet<>();
+        for(Map.Entry<Node<N>, Set<Edge<N,E>>> entry : adj.entrySet()){
+            for(Edge<N,E> edge : entry.getValue()){
+                if(edge.getDestination().equals(node)){
+                    edges.add(new Edge<>(edge.getLabel(), entry.getKey()));
+                }
+            }
+        }
+        return edges;
+    }
+
+    /**Provides an iterator over all of the nodes in this. The iterator does not support remove and must not be used
+     * after this graph is modified
      *
      * @return An iterator over all of the nodes in this
      */
+    @Override
     public Iterator<Node<N>> iterator(){
-        Set<Node<N>> nodes = new HashSet<>(adj.keySet());
-        return nodes.iterator();
+        return Collections.unmodifiableSet(adj.keySet()).iterator();
     }
 
-    /**Returns the set of nodes in this graph
+    /**Returns a read-only view of the set of nodes in this graph. The view reflects later changes to this graph
      *
-     * @return the set of nodes that are in this
+     * @return an unmodifiable view of the set of nodes that are in this
      */
+    @Override
     public Set<Node<N>> getNodes(){
-        return new HashSet<>(adj.keySet());
+        return Collections.unmodifiableSet(adj.keySet());
+    }
+
+    /**Returns whether or not a node is in this graph
+     *
+     * @param node The node to look for
+     * @return true if node is in this and false otherwise
+     * @spec.requires node is not null
+     */
+    @Override
+    public boolean containsNode(Node<N> node){
+        if(node == null){
+            throw new IllegalArgumentException();
+        }
+        return adj.containsKey(node);
+    }
+
+    /**Returns the number of edges coming out of a node
+     *
+     * @param node The node whose out degree will be returned
+     * @return the number of edges coming out of node
+     * @spec.requires node is not null and node is in the graph
+     */
+    @Override
+    public int outDegree(Node<N> node){
+        if(node == null || !adj.containsKey(node)){
+            throw new IllegalArgumentException();
+        }
+        return adj.get(node).size();
     }
 
     /**Returns the node with a specific label in this
@@ -240,16 +405,26 @@ public class DirectedLabeledGraph<N,E> implements Iterable<DirectedLabeledGraph.
      * @return The node in this with the label "label" or null if node does not exist in this
      * @spec.requires label is not null
      */
+    @Override
     public Node<N> getNodeByName(String label){
         if(label == null){
             throw new IllegalArgumentException();
         }
-        for(Node<N> node : adj.keySet()){
-            if(node.getLabel().equals(label)){
-                return node;
-            }
+        return labels.get(label);
+    }
+
+    /**Returns the node with a specific label in this in constant time
+     *
+     * @param label The label of the node that should be returned
+     * @return The node in this with the label "label" or null if node does not exist in this
+     * @spec.requires label is not null
+     */
+    @Override
+    public Node<N> getNode(N label){
+        if(label == null){
+            throw new IllegalArgumentException();
         }
-        return null;
+        return labels.get(label);
     }
 
     /**Returns a set of the labels of the edges between two nodes
@@ -259,6 +434,7 @@ public class DirectedLabeledGraph<N,E> implements Iterable<DirectedLabeledGraph.
      * @return A set of the labels of the edges between source and destination (empty set if no edges between)
      * @spec.requires source and destination are not null, source and destination both exist in the graph
      */
+    @Override
     public Set<E> getEdgesBetween(Node<N> source, Node<N> destination){
         if(source == null || destination == null || !adj.containsKey(source) || !adj.containsKey(destination)){
             throw new IllegalArgumentException();
@@ -273,18 +449,47 @@ public class DirectedLabeledGraph<N,E> implements Iterable<DirectedLabeledGraph.
         return between;
     }
 
-    /**Returns a set of the edges to children nodes of node
+    /**Returns a read-only view of the set of the edges to children nodes of node. The view reflects later changes to the
+     * outgoing edges of node
      *
      * @param node The node who's edges will be returned
-     * @return A set of the edges to the children of node (empty set if no children)
+     * @return An unmodifiable view of the edges to the children of node (empty set if no children)
      * @spec.requires node is not null and node is in the graph
      */
+    @Override
     public Set<Edge<N,E>> getEdges(Node<N> node){
-        if(node == null || !adj.containsKey(node)){
+        if(node == null){
             throw new IllegalArgumentException();
         }
         Set<Edge<N,E>> edges = adj.get(node);
-        return new HashSet<>(edges);
+        if(edges == null){
+            throw new IllegalArgumentException();
+        }
+        return Collections.unmodifiableSet(edges);
+    }
+
+    /**Creates an immutable compressed snapshot of this for fast read-only traversal. The snapshot is kept until this
+     * next changes, so freezing an unchanged graph again returns the same snapshot without rebuilding it
+     *
+     * @return A FrozenGraph with the same nodes and edges as this. Later changes to this are not reflected in the snapshot
+     */
+    @Override
+    public FrozenGraph<N,E> freeze(){
+        checkRep();
+        if(frozen == null){
+            frozen = new FrozenGraph<>(adj);
+        }
+        return frozen;
+    }
+
+    /**Reports the shape and estimated memory footprint of this, for tracking how changes to its representation affect memory per edge
+     *
+     * @return The node and edge counts, out-degree histogram, ideal edge set load factor and estimated bytes per node and per edge of this,
+     *         with the bytes of the snapshot kept since the last freeze(), if any, reported separately and included in the total
+     */
+    public GraphStats stats(){
+        checkRep();
+        return new GraphStats(adj, incoming, labels, frozen);
     }
 
     /**Removes all nodes and edges from this
@@ -292,9 +497,15 @@ public class DirectedLabeledGraph<N,E> implements Iterable<DirectedLabeledGraph.
      * @spec.modifies this
      * @spec.effects Removes all node and edges from this, resulting in a empty graph
      */
+    @Override
     public void clear(){
         checkRep();
         adj.clear();
+        labels.clear();
+        frozen = null;
+        if(incoming != null){
+            incoming.clear();
+        }
         checkRep();
     }
 
@@ -330,12 +541,24 @@ public class DirectedLabeledGraph<N,E> implements Iterable<DirectedLabeledGraph.
      */
     private void checkRep(){
         assert adj != null;
+        assert labels != null;
         if(DEBUG) {
+            assert labels.size() == adj.size() : "label index size differs";
             for (Node<N> node : adj.keySet()) {
                 assert node != null : "null node";
+                assert node.equals(labels.get(node.getLabel())) : "label index missing node";
                 for (Edge<N,E> edge : adj.get(node)) {
                     assert edge != null : "null edge";
                     assert adj.containsKey(edge.getDestination()) : "edge with destination not in graph";
+                    assert incoming == null || incoming.get(edge.getDestination()).contains(new Edge<>(edge.getLabel(), node)) : "incoming index missing edge";
+                }
+            }
+            if(incoming != null){
+                assert incoming.keySet().equals(adj.keySet()) : "incoming index nodes differ";
+                for (Node<N> node : incoming.keySet()) {
+                    for (Edge<N,E> edge : incoming.get(node)) {
+                        assert adj.get(edge.getDestination()).contains(new Edge<>(edge.getLabel(), node)) : "incoming index has extra edge";
+                    }
                 }
             }
         }
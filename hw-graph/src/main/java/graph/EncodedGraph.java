@@ -0,0 +1,301 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * <b>EncodedGraph</b> represents an immutable graph whose node labels and edge labels are dictionary encoded: each
+ * distinct label is stored once, and the graph itself holds only int codes for them, in compressed sparse row form.
+ * Every node is given an int id in the range [0, nodeCount()), every distinct edge label an int code in the range
+ * [0, edgeLabelCount()), and every edge an int index in the range [0, edgeCount()). The outgoing edges of node id are
+ * the edge indices in the range [edgeStart(id), edgeEnd(id)). Labels are only resolved when asked for, so a graph with
+ * many edges sharing few labels, such as a character network where every edge is one of a few thousand books, takes
+ * two ints per edge rather than an Edge object and a hash set entry.
+ *
+ * <p>If every node label is Comparable, node ids are assigned in the natural order of the labels, and likewise for the
+ * codes of edge labels, so comparing ids or codes compares labels. The outgoing edges of each node are sorted by
+ * destination id and then by label code, with no two edges having the same destination and label.</p>
+ *
+ * <p>Specification fields:
+ * @spec.specfield nodes : Set(Nodes) //The nodes in the graph, each with a unique id
+ * @spec.specfield labels : List(E) //The distinct edge labels in the graph, each with a unique code
+ * @spec.specfield edges : Set(Edges) //The labeled edges in the graph, each with a unique index</p>
+ *
+ * Type Parameter N is the data type held in the nodes of this EncodedGraph.
+ * Type Parameter E is the data type held in the edges of this EncodedGraph.
+ */
+public final class EncodedGraph<N,E> implements IntAdjacency<N> {
+
+    /**
+     * The label of each node, indexed by node id
+     */
+    private final N[] nodeLabels;
+
+    /**
+     * Maps each node label to its node id
+     */
+    private final Map<N, Integer> ids;
+
+    /**
+     * The distinct edge labels, indexed by code
+     */
+    private final E[] edgeLabels;
+
+    /**
+     * The outgoing edges of node id are stored at indices offsets[id] (inclusive) to offsets[id + 1] (exclusive)
+     */
+    private final int[] offsets;
+
+    /**
+     * The destination node id of each edge, indexed by edge index
+     */
+    private final int[] targets;
+
+    /**
+     * The code of the label of each edge, indexed by edge index
+     */
+    private final int[] labelCodes;
+
+    //Abstract Invariant: nodeLabels[i] is the label of the node with id i and edgeLabels[c] is the edge label with code c. For each node id i,
+    //                    the edges at indices offsets[i] to offsets[i+1]-1 are the outgoing edges of node i, where the edge at index j goes to
+    //                    node targets[j] and has label edgeLabels[labelCodes[j]].
+
+    //Representation Invariant: nodeLabels, ids, edgeLabels, offsets, targets and labelCodes are not null
+    //                          offsets.length == nodeLabels.length + 1, offsets[0] == 0, offsets[nodeLabels.length] == targets.length
+    //                          offsets is non-decreasing and targets.length == labelCodes.length
+    //                          for all 0 <= j < targets.length, 0 <= targets[j] < nodeLabels.length and 0 <= labelCodes[j] < edgeLabels.length
+    //                          within each node's edges, (targets[j], labelCodes[j]) is strictly increasing
+    //                          for all 0 <= i < nodeLabels.length, nodeLabels[i] != null and ids.get(nodeLabels[i]) == i
+    //                          every element of edgeLabels is not null and distinct
+
+    /**Creates an EncodedGraph from the buffered nodes and edges of a GraphBuilder
+     *
+     * @param nodes The label of each node, indexed by the builder's node id
+     * @param sources The builder's source node id of each edge
+     * @param destinations The builder's destination node id of each edge
+     * @param labels The label of each edge
+     * @spec.requires nodes and labels hold no nulls, sources and destinations hold at least labels.size() valid builder node ids
+     * @spec.effects Constructs a new EncodedGraph with the nodes and the distinct edges given
+     */
+    @SuppressWarnings("unchecked")
+    EncodedGraph(List<N> nodes, int[] sources, int[] destinations, List<E> labels){
+        List<N> sortedNodes = new ArrayList<>(nodes);
+        FrozenGraph.sortIfComparable(sortedNodes);
+        nodeLabels = (N[]) sortedNodes.toArray();
+        ids = new HashMap<>(nodeLabels.length * 4 / 3 + 1);
+        for(int i = 0; i < nodeLabels.length; i++){
+            ids.put(nodeLabels[i], i);
+        }
+        int[] rank = new int[nodeLabels.length]; //The id of each of the builder's nodes in this
+        for(int i = 0; i < rank.length; i++){
+            rank[i] = ids.get(nodes.get(i));
+        }
+
+        //Give each distinct edge label a code, looking up a label only when it differs from the edge before, as the
+        //edges of one clique share theirs
+        Map<E, Integer> codes = new HashMap<>();
+        List<E> distinct = new ArrayList<>();
+        int edgeCount = labels.size();
+        int[] buffered = new int[edgeCount];
+        E previous = null;
+        int code = -1;
+        for(int e = 0; e < edgeCount; e++){
+            E label = labels.get(e);
+            if(label != previous){
+                Integer known = codes.get(label);
+                if(known == null){
+                    known = distinct.size();
+                    codes.put(label, known);
+                    distinct.add(label);
+                }
+                code = known;
+                previous = label;
+            }
+            buffered[e] = code;
+        }
+        List<E> sortedLabels = new ArrayList<>(distinct);
+        FrozenGraph.sortIfComparable(sortedLabels);
+        edgeLabels = (E[]) sortedLabels.toArray();
+        int[] recode = new int[edgeLabels.length]; //The code in this of each label's first-seen code
+        for(int c = 0; c < edgeLabels.length; c++){
+            recode[codes.get(edgeLabels[c])] = c;
+        }
+
+        //Group the edges by source with a counting sort, then sort and deduplicate each node's edges by destination and code
+        int[] starts = new int[nodeLabels.length + 1];
+        for(int e = 0; e < edgeCount; e++){
+            starts[rank[sources[e]] + 1]++;
+        }
+        for(int i = 0; i < nodeLabels.length; i++){
+            starts[i + 1] += starts[i];
+        }
+        long[] keys = new long[edgeCount];
+        int[] next = Arrays.copyOf(starts, nodeLabels.length);
+        for(int e = 0; e < edgeCount; e++){
+            keys[next[rank[sources[e]]]++] = (long) rank[destinations[e]] << 32 | recode[buffered[e]];
+        }
+        offsets = new int[nodeLabels.length + 1];
+        int kept = 0;
+        for(int i = 0; i < nodeLabels.length; i++){
+            Arrays.sort(keys, starts[i], starts[i + 1]);
+            offsets[i] = kept;
+            for(int k = starts[i]; k < starts[i + 1]; k++){
+                if(k == starts[i] || keys[k] != keys[k - 1]){
+                    keys[kept++] = keys[k];
+                }
+            }
+        }
+        offsets[nodeLabels.length] = kept;
+        targets = new int[kept];
+        labelCodes = new int[kept];
+        for(int j = 0; j < kept; j++){
+            targets[j] = (int) (keys[j] >>> 32);
+            labelCodes[j] = (int) keys[j];
+        }
+        checkRep();
+    }
+
+    /**Returns the number of nodes in this
+     *
+     * @return the number of nodes in this
+     */
+    @Override
+    public int nodeCount(){
+        return nodeLabels.length;
+    }
+
+    /**Returns the number of edges in this
+     *
+     * @return the number of edges in this
+     */
+    @Override
+    public int edgeCount(){
+        return targets.length;
+    }
+
+    /**Returns the number of distinct edge labels in this
+     *
+     * @return the number of distinct edge labels in this
+     */
+    public int edgeLabelCount(){
+        return edgeLabels.length;
+    }
+
+    /**Returns the id of the node with a specific label
+     *
+     * @param label The label of the node whose id should be returned
+     * @return The id of the node with label "label" or -1 if no such node exists in this
+     * @spec.requires label is not null
+     */
+    @Override
+    public int idOf(N label){
+        if(label == null){
+            throw new IllegalArgumentException();
+        }
+        Integer id = ids.get(label);
+        return id == null ? -1 : id;
+    }
+
+    /**Returns the label of the node with a specific id
+     *
+     * @param id The id of the node whose label should be returned
+     * @return The label of the node with id "id"
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    @Override
+    public N labelOf(int id){
+        return nodeLabels[id];
+    }
+
+    /**Returns whether or not a node with a specific label is in this
+     *
+     * @param label The label of the node to look for
+     * @return true if a node with label "label" is in this and false otherwise
+     * @spec.requires label is not null
+     */
+    public boolean containsNode(N label){
+        return idOf(label) != -1;
+    }
+
+    /**Returns the index of the first outgoing edge of a node
+     *
+     * @param id The id of the node
+     * @return the index of the first outgoing edge of the node with id "id"
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    @Override
+    public int edgeStart(int id){
+        return offsets[id];
+    }
+
+    /**Returns one past the index of the last outgoing edge of a node
+     *
+     * @param id The id of the node
+     * @return one past the index of the last outgoing edge of the node with id "id"
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    @Override
+    public int edgeEnd(int id){
+        return offsets[id + 1];
+    }
+
+    /**Returns the id of the destination node of an edge
+     *
+     * @param edge The index of the edge
+     * @return the id of the node that the edge with index "edge" goes into
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    @Override
+    public int target(int edge){
+        return targets[edge];
+    }
+
+    /**Returns the code of the label of an edge
+     *
+     * @param edge The index of the edge
+     * @return the code of the label of the edge with index "edge"
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    public int edgeLabelCode(int edge){
+        return labelCodes[edge];
+    }
+
+    /**Returns the edge label with a specific code
+     *
+     * @param code The code of the label
+     * @return the edge label with code "code"
+     * @spec.requires 0 &lt;= code &lt; edgeLabelCount()
+     */
+    public E decodeEdgeLabel(int code){
+        return edgeLabels[code];
+    }
+
+    /**Returns the label of an edge
+     *
+     * @param edge The index of the edge
+     * @return the label of the edge with index "edge"
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    public E edgeLabel(int edge){
+        return edgeLabels[labelCodes[edge]];
+    }
+
+    /**Returns the estimated bytes retained by this, on the same assumptions as GraphStats, so the two representations can be compared
+     *
+     * @return the estimated bytes of the arrays and the node label index of this, not counting the labels themselves
+     */
+    public long estimatedBytes(){
+        long arrays = 5 * 16 + 4L * (nodeLabels.length + edgeLabels.length + offsets.length + targets.length + labelCodes.length);
+        return arrays + GraphStats.mapBytes(ids.size()) + 16L * ids.size(); //The index's entries each box their id
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated
+     */
+    private void checkRep(){
+        assert nodeLabels != null && ids != null && edgeLabels != null;
+        assert offsets != null && targets != null && labelCodes != null;
+        assert offsets.length == nodeLabels.length + 1 && offsets[0] == 0 && offsets[nodeLabels.length] == targets.length;
+        assert targets.length == labelCodes.length;
+        assert ids.size() == nodeLabels.length;
+    }
+}
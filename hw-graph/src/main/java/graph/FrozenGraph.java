@@ -0,0 +1,472 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * <b>FrozenGraph</b> represents an immutable snapshot of a DirectedLabeledGraph stored in compressed sparse row form.
+ * Every node is given an int id in the range [0, nodeCount()) and every edge an int index in the range [0, edgeCount()).
+ * The outgoing edges of node id are the edge indices in the range [edgeStart(id), edgeEnd(id)).
+ *
+ * <p>If every node label is Comparable, node ids are assigned in the natural order of the labels, otherwise they
+ * are assigned in the iteration order of the graph that was frozen. The outgoing edges of each node are sorted by
+ * destination id and then, if every edge label is Comparable, by label, so a search that visits edges in index order
+ * visits them in that order without sorting them itself.</p>
+ *
+ * <p>Specification fields:
+ * @spec.specfield nodes : Set(Nodes) //The nodes in the graph, each with a unique id
+ * @spec.specfield edges : Set(Edges) //The labeled edges in the graph, each with a unique index</p>
+ *
+ * Type Parameter N is the data type held in the nodes of this FrozenGraph.
+ * Type Parameter E is the data type held in the edges of this FrozenGraph.
+ */
+public final class FrozenGraph<N,E> implements IntAdjacency<N> {
+
+    /**
+     * The label of each node, indexed by node id
+     */
+    private final N[] nodeLabels;
+
+    /**
+     * Maps each node label to its node id
+     */
+    private final Map<N, Integer> ids;
+
+    /**
+     * The outgoing edges of node id are stored at indices offsets[id] (inclusive) to offsets[id + 1] (exclusive)
+     */
+    private final int[] offsets;
+
+    /**
+     * The destination node id of each edge, indexed by edge index
+     */
+    private final int[] targets;
+
+    /**
+     * The label of each edge, indexed by edge index
+     */
+    private final E[] edgeLabels;
+
+    /**
+     * Indicates if checkRep() will run in its entirety if called
+     */
+    private static final boolean DEBUG = false;
+
+    //Abstract Invariant: nodeLabels[i] is the label of the node with id i. For each node id i, the edges at indices offsets[i] to offsets[i+1]-1
+    //                    are the outgoing edges of node i, where the edge at index j goes to node targets[j] and has label edgeLabels[j].
+
+    //Representation Invariant: nodeLabels, ids, offsets, targets and edgeLabels are not null
+    //                          offsets.length == nodeLabels.length + 1, offsets[0] == 0, offsets[nodeLabels.length] == targets.length
+    //                          offsets is non-decreasing
+    //                          targets.length == edgeLabels.length
+    //                          for all 0 <= j < targets.length, 0 <= targets[j] < nodeLabels.length and edgeLabels[j] != null
+    //                          for all 0 <= i < nodeLabels.length, nodeLabels[i] != null and ids.get(nodeLabels[i]) == i
+    //                          within each node's edges, targets[j] is non-decreasing
+
+    /**Creates a FrozenGraph holding the same nodes and edges as an adjacency list
+     *
+     * @param adj The adjacency list of a DirectedLabeledGraph mapping each node to its outgoing edges
+     * @spec.requires adj is not null and is a valid DirectedLabeledGraph adjacency list
+     * @spec.effects Constructs a new FrozenGraph with the nodes and edges of adj
+     */
+    @SuppressWarnings("unchecked")
+    FrozenGraph(Map<DirectedLabeledGraph.Node<N>, Set<DirectedLabeledGraph.Edge<N,E>>> adj){
+        List<N> labels = new ArrayList<>(adj.size());
+        int edgeCount = 0;
+        for(Map.Entry<DirectedLabeledGraph.Node<N>, Set<DirectedLabeledGraph.Edge<N,E>>> entry : adj.entrySet()){
+            labels.add(entry.getKey().getLabel());
+            edgeCount += entry.getValue().size();
+        }
+        sortIfComparable(labels);
+
+        nodeLabels = (N[]) labels.toArray();
+        ids = new HashMap<>(nodeLabels.length * 4 / 3 + 1);
+        for(int i = 0; i < nodeLabels.length; i++){
+            ids.put(nodeLabels[i], i);
+        }
+
+        //Gather the edges, resolving each source and destination id once
+        int[] sources = new int[edgeCount];
+        int[] unsortedTargets = new int[edgeCount];
+        List<E> unsortedLabels = new ArrayList<>(edgeCount);
+        for(int i = 0; i < nodeLabels.length; i++){
+            for(DirectedLabeledGraph.Edge<N,E> edge : adj.get(new DirectedLabeledGraph.Node<>(nodeLabels[i]))){
+                sources[unsortedLabels.size()] = i;
+                unsortedTargets[unsortedLabels.size()] = ids.get(edge.getDestination().getLabel());
+                unsortedLabels.add(edge.getLabel());
+            }
+        }
+
+        //Order the edges by source, then destination, then label with stable counting sorts on the least significant
+        //key first, so ordering them takes linear time and compares nothing. Labels that cannot be ranked keep the
+        //iteration order of their source's edges
+        List<E> ranked = new ArrayList<>();
+        int[] ranks = rankLabels(unsortedLabels, ranked);
+        int[] order = new int[edgeCount];
+        for(int j = 0; j < edgeCount; j++){
+            order[j] = j;
+        }
+        if(ranks != null){
+            order = countingSort(order, ranks, ranked.size());
+        }
+        order = countingSort(order, unsortedTargets, nodeLabels.length);
+        order = countingSort(order, sources, nodeLabels.length);
+
+        offsets = new int[nodeLabels.length + 1];
+        for(int source : sources){
+            offsets[source + 1]++;
+        }
+        for(int i = 0; i < nodeLabels.length; i++){
+            offsets[i + 1] += offsets[i];
+        }
+        targets = new int[edgeCount];
+        edgeLabels = (E[]) new Object[edgeCount];
+        for(int j = 0; j < edgeCount; j++){
+            targets[j] = unsortedTargets[order[j]];
+            edgeLabels[j] = unsortedLabels.get(order[j]);
+        }
+        checkRep();
+    }
+
+    /**Stably sorts edges by an int key with a counting sort
+     *
+     * @param order The indices of the edges, in their current order
+     * @param keys The key of each edge, indexed by edge index
+     * @param keyCount One more than the largest key
+     * @return A new array of the indices in order, sorted by key and otherwise in the order of "order"
+     * @spec.requires every key is in the range [0, keyCount)
+     */
+    private static int[] countingSort(int[] order, int[] keys, int keyCount){
+        int[] next = new int[keyCount + 1];
+        for(int key : keys){
+            next[key + 1]++;
+        }
+        for(int k = 0; k < keyCount; k++){
+            next[k + 1] += next[k];
+        }
+        int[] sorted = new int[order.length];
+        for(int edge : order){
+            sorted[next[keys[edge]]++] = edge;
+        }
+        return sorted;
+    }
+
+    /**Ranks edge labels in their natural order, so that edges can be sorted by label as ints
+     *
+     * @param labels The label of each edge
+     * @param ranked Filled with the distinct labels in natural order, so that ranked.get(r) is the label of rank r
+     * @return The rank of the label of each edge, indexed as labels, or null if the labels are not all mutually Comparable
+     * @spec.requires labels holds no nulls and ranked is empty
+     * @spec.modifies ranked
+     */
+    private static <E> int[] rankLabels(List<E> labels, List<E> ranked){
+        Map<E, Integer> codes = new HashMap<>();
+        int[] labelCodes = new int[labels.size()];
+        E previous = null;
+        int code = -1;
+        for(int j = 0; j < labels.size(); j++){
+            E label = labels.get(j);
+            if(label != previous){ //Only look up a label that differs from the one before, as consecutive edges often share one
+                Integer known = codes.get(label);
+                if(known == null){
+                    known = ranked.size();
+                    codes.put(label, known);
+                    ranked.add(label);
+                }
+                code = known;
+                previous = label;
+            }
+            labelCodes[j] = code;
+        }
+        if(!sortIfComparable(ranked)){
+            return null;
+        }
+        int[] rankOfCode = new int[ranked.size()];
+        for(int r = 0; r < ranked.size(); r++){
+            rankOfCode[codes.get(ranked.get(r))] = r;
+        }
+        for(int j = 0; j < labelCodes.length; j++){
+            labelCodes[j] = rankOfCode[labelCodes[j]];
+        }
+        return labelCodes;
+    }
+
+    /**Sorts labels into their natural order if every label is Comparable. Otherwise labels is left unchanged if some
+     * label is not Comparable, and in an unspecified order if the labels are Comparable but not mutually comparable
+     *
+     * @param labels The list of labels to be sorted
+     * @param <N> The type of the labels
+     * @return true if labels were sorted and false if they are not all mutually Comparable
+     * @spec.modifies labels
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <N> boolean sortIfComparable(List<N> labels){
+        for(N label : labels){
+            if(!(label instanceof Comparable)){
+                return false;
+            }
+        }
+        try {
+            labels.sort((a, b) -> ((Comparable) a).compareTo(b));
+            return true;
+        } catch (ClassCastException e){
+            return false; //Labels are Comparable but not mutually comparable
+        }
+    }
+
+    /**Returns the number of nodes in this
+     *
+     * @return the number of nodes in this
+     */
+    @Override
+    public int nodeCount(){
+        return nodeLabels.length;
+    }
+
+    /**Returns the number of edges in this
+     *
+     * @return the number of edges in this
+     */
+    @Override
+    public int edgeCount(){
+        return targets.length;
+    }
+
+    /**Returns the id of the node with a specific label
+     *
+     * @param label The label of the node whose id should be returned
+     * @return The id of the node with label "label" or -1 if no such node exists in this
+     * @spec.requires label is not null
+     */
+    @Override
+    public int idOf(N label){
+        if(label == null){
+            throw new IllegalArgumentException();
+        }
+        Integer id = ids.get(label);
+        return id == null ? -1 : id;
+    }
+
+    /**Returns the label of the node with a specific id
+     *
+     * @param id The id of the node whose label should be returned
+     * @return The label of the node with id "id"
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    @Override
+    public N labelOf(int id){
+        return nodeLabels[id];
+    }
+
+    /**Returns whether or not a node with a specific label is in this
+     *
+     * @param label The label of the node to look for
+     * @return true if a node with label "label" is in this and false otherwise
+     * @spec.requires label is not null
+     */
+    public boolean containsNode(N label){
+        return idOf(label) != -1;
+    }
+
+    /**Returns the number of edges coming out of a node
+     *
+     * @param id The id of the node whose out degree will be returned
+     * @return the number of edges coming out of the node with id "id"
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    public int outDegree(int id){
+        return offsets[id + 1] - offsets[id];
+    }
+
+    /**Returns the index of the first outgoing edge of a node
+     *
+     * @param id The id of the node
+     * @return the index of the first outgoing edge of the node with id "id"
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    @Override
+    public int edgeStart(int id){
+        return offsets[id];
+    }
+
+    /**Returns one past the index of the last outgoing edge of a node
+     *
+     * @param id The id of the node
+     * @return one past the index of the last outgoing edge of the node with id "id"
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    @Override
+    public int edgeEnd(int id){
+        return offsets[id + 1];
+    }
+
+    /**Returns the id of the destination node of an edge
+     *
+     * @param edge The index of the edge
+     * @return the id of the node that the edge with index "edge" goes into
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    @Override
+    public int target(int edge){
+        return targets[edge];
+    }
+
+    /**Returns the label of an edge
+     *
+     * @param edge The index of the edge
+     * @return the label of the edge with index "edge"
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    public E edgeLabel(int edge){
+        return edgeLabels[edge];
+    }
+
+    /**Returns a list of all of the nodes where there exists an edge from "node" to them.
+     *
+     * @param node The node whom's children will be in the list
+     * @return A list of all of the nodes where there exists an edge from "node" to them
+     * @spec.requires node is not null, node exists in this
+     */
+    public List<DirectedLabeledGraph.Node<N>> listChildren(DirectedLabeledGraph.Node<N> node){
+        int id = requireId(node);
+        List<DirectedLabeledGraph.Node<N>> children = new ArrayList<>(outDegree(id));
+        for(int e = offsets[id]; e < offsets[id + 1]; e++){
+            children.add(new DirectedLabeledGraph.Node<>(nodeLabels[targets[e]]));
+        }
+        return children;
+    }
+
+    /**Returns a set of the labels of the edges between two nodes
+     *
+     * @param source The node that the edges in the returned set are coming out of
+     * @param destination The node that the edges in the returned set go into
+     * @return A set of the labels of the edges between source and destination (empty set if no edges between)
+     * @spec.requires source and destination are not null, source and destination both exist in the graph
+     */
+    public Set<E> getEdgesBetween(DirectedLabeledGraph.Node<N> source, DirectedLabeledGraph.Node<N> destination){
+        int sourceId = requireId(source);
+        int destinationId = requireId(destination);
+        Set<E> between = new HashSet<>();
+        for(int e = offsets[sourceId]; e < offsets[sourceId + 1]; e++){
+            if(targets[e] == destinationId){
+                between.add(edgeLabels[e]);
+            }
+        }
+        return between;
+    }
+
+    /**Returns a set of the edges to children nodes of node
+     *
+     * @param node The node who's edges will be returned
+     * @return A set of the edges to the children of node (empty set if no children)
+     * @spec.requires node is not null and node is in the graph
+     */
+    public Set<DirectedLabeledGraph.Edge<N,E>> getEdges(DirectedLabeledGraph.Node<N> node){
+        int id = requireId(node);
+        Set<DirectedLabeledGraph.Edge<N,E>> edges = new HashSet<>();
+        for(int e = offsets[id]; e < offsets[id + 1]; e++){
+            edges.add(new DirectedLabeledGraph.Edge<>(edgeLabels[e], new DirectedLabeledGraph.Node<>(nodeLabels[targets[e]])));
+        }
+        return edges;
+    }
+
+    /**Returns the set of nodes in this graph
+     *
+     * @return the set of nodes that are in this
+     */
+    public Set<DirectedLabeledGraph.Node<N>> getNodes(){
+        Set<DirectedLabeledGraph.Node<N>> nodes = new HashSet<>();
+        for(N label : nodeLabels){
+            nodes.add(new DirectedLabeledGraph.Node<>(label));
+        }
+        return nodes;
+    }
+
+    /**Creates a mutable DirectedLabeledGraph with the same nodes and edges as this
+     *
+     * @return a new DirectedLabeledGraph equal to the graph this was frozen from
+     */
+    public DirectedLabeledGraph<N,E> thaw(){
+        DirectedLabeledGraph<N,E> graph = new DirectedLabeledGraph<>();
+        for(int i = 0; i < nodeLabels.length; i++){
+            DirectedLabeledGraph.Node<N> source = new DirectedLabeledGraph.Node<>(nodeLabels[i]);
+            graph.addNode(source);
+            for(int e = offsets[i]; e < offsets[i + 1]; e++){
+                graph.addEdge(edgeLabels[e], source, new DirectedLabeledGraph.Node<>(nodeLabels[targets[e]]));
+            }
+        }
+        return graph;
+    }
+
+    /**Returns the array of node labels indexed by id, shared with this for use by other immutable graphs in this package
+     *
+     * @return the node labels of this, indexed by node id. Must not be modified
+     */
+    N[] nodeLabelArray(){
+        return nodeLabels;
+    }
+
+    /**Returns the label to id dictionary, shared with this for use by other immutable graphs in this package
+     *
+     * @return the map from each node label to its id. Must not be modified
+     */
+    Map<N, Integer> idMap(){
+        return ids;
+    }
+
+    /**Returns the offsets array, shared with this for use by other immutable graphs in this package
+     *
+     * @return the offsets of the outgoing edges of each node. Must not be modified
+     */
+    int[] offsetArray(){
+        return offsets;
+    }
+
+    /**Returns the targets array, shared with this for use by other immutable graphs in this package
+     *
+     * @return the destination node id of each edge. Must not be modified
+     */
+    int[] targetArray(){
+        return targets;
+    }
+
+    /**Returns the id of a node that must be in this
+     *
+     * @param node The node whose id should be returned
+     * @return the id of node
+     * @throws IllegalArgumentException if node is null or not in this
+     */
+    private int requireId(DirectedLabeledGraph.Node<N> node){
+        if(node == null){
+            throw new IllegalArgumentException();
+        }
+        int id = idOf(node.getLabel());
+        if(id == -1){
+            throw new IllegalArgumentException();
+        }
+        return id;
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated
+     */
+    private void checkRep(){
+        assert nodeLabels != null && ids != null && offsets != null && targets != null && edgeLabels != null;
+        assert offsets.length == nodeLabels.length + 1 : "offsets has wrong length";
+        assert targets.length == edgeLabels.length : "targets and edge labels differ in length";
+        if(DEBUG){
+            assert offsets[0] == 0 && offsets[nodeLabels.length] == targets.length : "offsets do not cover edges";
+            for(int i = 0; i < nodeLabels.length; i++){
+                assert nodeLabels[i] != null : "null node";
+                assert ids.get(nodeLabels[i]) == i : "id dictionary out of step";
+                assert offsets[i] <= offsets[i + 1] : "offsets decreasing";
+                for(int j = offsets[i] + 1; j < offsets[i + 1]; j++){
+                    assert targets[j - 1] <= targets[j] : "edges out of order";
+                }
+            }
+            for(int j = 0; j < targets.length; j++){
+                assert targets[j] >= 0 && targets[j] < nodeLabels.length : "edge with destination not in graph";
+                assert edgeLabels[j] != null : "null edge";
+            }
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * <b>GraphBuilder</b> collects the nodes and edges of a DirectedLabeledGraph and builds the graph in a single pass.
+ * Edges are buffered in primitive arrays of node ids, so adding an edge does no hashing beyond the label to id lookup.
+ * build() groups the edges by source, sizes every hash set for its final degree and drops duplicate edges as it fills them,
+ * so no set is ever resized and the graph's representation invariant is checked once rather than on every edge.
+ *
+ * <p>Specification fields:
+ * @spec.specfield nodes : Set(Nodes) //The nodes added so far
+ * @spec.specfield edges : List(Edges) //The labeled edges added so far, in order and possibly with duplicates</p>
+ *
+ * Type Parameter N is the data type that will be held in the nodes of the built graph.
+ * Type Parameter E is the data type that will be held in the edges of the built graph.
+ */
+public final class GraphBuilder<N,E> {
+
+    /**
+     * Maps each node label added so far to its node id
+     */
+    private final HashMap<N, Integer> ids;
+
+    /**
+     * The label of each node, indexed by node id
+     */
+    private final ArrayList<N> nodeLabels;
+
+    /**
+     * The source node id of each buffered edge, indexed by the order the edges were added
+     */
+    private int[] sources;
+
+    /**
+     * The destination node id of each buffered edge, indexed by the order the edges were added
+     */
+    private int[] targets;
+
+    /**
+     * The label of each buffered edge, indexed by the order the edges were added
+     */
+    private final ArrayList<E> edgeLabels;
+
+    /**
+     * True if built graphs should index their incoming edges
+     */
+    private boolean indexIncoming;
+
+    //Abstract Invariant: nodeLabels holds the nodes added so far, in the order they were first added.
+    //                    For 0 <= i < edgeLabels.size(), the i-th edge added goes from node sources[i] to node targets[i] with label edgeLabels.get(i)
+
+    //Representation Invariant: ids, nodeLabels, sources, targets and edgeLabels are not null
+    //                          ids.get(nodeLabels.get(i)) == i for all 0 <= i < nodeLabels.size() and ids.size() == nodeLabels.size()
+    //                          sources.length == targets.length >= edgeLabels.size()
+    //                          all buffered source and target ids are valid node ids and all buffered labels are not null
+
+    /**Creates a new GraphBuilder with no nodes or edges
+     * @spec.effects Constructs a new GraphBuilder with no nodes or edges
+     * @spec.requires Type parameters must be immutable objects
+     */
+    public GraphBuilder(){
+        this(16, 16);
+    }
+
+    /**Creates a new GraphBuilder with no nodes or edges, presized to hold the given numbers of nodes and edges without growing
+     *
+     * @param expectedNodes A hint for the number of distinct nodes that will be added
+     * @param expectedEdges A hint for the number of edges, including duplicates, that will be added
+     * @throws IllegalArgumentException if expectedNodes or expectedEdges is negative
+     * @spec.effects Constructs a new GraphBuilder with no nodes or edges
+     * @spec.requires Type parameters must be immutable objects
+     */
+    public GraphBuilder(int expectedNodes, int expectedEdges){
+        if(expectedNodes < 0 || expectedEdges < 0){
+            throw new IllegalArgumentException();
+        }
+        ids = new HashMap<>(capacityFor(expectedNodes));
+        nodeLabels = new ArrayList<>(expectedNodes);
+        sources = new int[expectedEdges];
+        targets = new int[expectedEdges];
+        edgeLabels = new ArrayList<>(expectedEdges);
+        checkRep();
+    }
+
+    /**Makes graphs built by this index their incoming edges, as with new DirectedLabeledGraph(true)
+     *
+     * @return this builder
+     * @spec.modifies this
+     * @spec.effects Graphs built after this call index their incoming edges
+     */
+    public GraphBuilder<N,E> indexIncoming(){
+        indexIncoming = true;
+        return this;
+    }
+
+    /**Adds a node with label "label" to this if it has not been added already
+     *
+     * @param label The label of the node to add
+     * @return this builder
+     * @throws IllegalArgumentException if label is null
+     * @spec.modifies this
+     * @spec.effects Adds a node with label "label" to nodes if no such node is in nodes
+     */
+    public GraphBuilder<N,E> addNode(N label){
+        if(label == null){
+            throw new IllegalArgumentException();
+        }
+        idFor(label);
+        return this;
+    }
+
+    /**Adds an edge with label "label" from the node labeled source to the node labeled destination, adding either node if
+     * it has not been added already. Adding the same edge more than once is allowed, and the built graph holds it once.
+     *
+     * @param label The label of the edge to add
+     * @param source The label of the node the edge comes out of
+     * @param destination The label of the node the edge goes into
+     * @return this builder
+     * @throws IllegalArgumentException if label, source or destination is null
+     * @spec.modifies this
+     * @spec.effects Adds source and destination to nodes if they are missing and appends the edge to edges
+     */
+    public GraphBuilder<N,E> addEdge(E label, N source, N destination){
+        if(label == null || source == null || destination == null){
+            throw new IllegalArgumentException();
+        }
+        append(label, idFor(source), idFor(destination));
+        return this;
+    }
+
+    /**Adds every node in members and, for every ordered pair of distinct members, an edge with label "label" from the
+     * first member to the second. This is the shape of one book in a character network.
+     *
+     * @param label The label of every added edge
+     * @param members The labels of the nodes to connect to one another
+     * @return this builder
+     * @throws IllegalArgumentException if label, members or any member is null
+     * @spec.modifies this
+     * @spec.effects Adds each member to nodes if missing and appends an edge labeled "label" between each ordered pair of distinct members to edges
+     */
+    public GraphBuilder<N,E> addClique(E label, Collection<? extends N> members){
+        if(label == null || members == null){
+            throw new IllegalArgumentException();
+        }
+        int[] memberIds = new int[members.size()];
+        int count = 0;
+        for(N member : members){
+            if(member == null){
+                throw new IllegalArgumentException();
+            }
+            memberIds[count++] = idFor(member);
+        }
+        ensureEdgeCapacity(edgeLabels.size() + count * (count - 1));
+        for(int i = 0; i < count; i++){
+            for(int j = 0; j < count; j++){
+                if(memberIds[i] != memberIds[j]){
+                    append(label, memberIds[i], memberIds[j]);
+                }
+            }
+        }
+        return this;
+    }
+
+    /**Builds a DirectedLabeledGraph holding the nodes and edges added so far. This builder is left unchanged and can
+     * keep being added to and built from.
+     *
+     * @return A new DirectedLabeledGraph with exactly the nodes and the distinct edges added to this
+     */
+    public DirectedLabeledGraph<N,E> build(){
+        checkRep();
+        int nodeCount = nodeLabels.size();
+        int edgeCount = edgeLabels.size();
+
+        //Group the buffered edges by source with a counting sort so each node's edge set is filled in one go
+        int[] offsets = new int[nodeCount + 1];
+        for(int e = 0; e < edgeCount; e++){
+            offsets[sources[e] + 1]++;
+        }
+        for(int i = 0; i < nodeCount; i++){
+            offsets[i + 1] += offsets[i];
+        }
+        int[] order = new int[edgeCount];
+        int[] next = Arrays.copyOf(offsets, nodeCount);
+        for(int e = 0; e < edgeCount; e++){
+            order[next[sources[e]]++] = e;
+        }
+
+        List<DirectedLabeledGraph.Node<N>> nodes = new ArrayList<>(nodeCount);
+        HashMap<N, DirectedLabeledGraph.Node<N>> labels = new HashMap<>(capacityFor(nodeCount));
+        for(N label : nodeLabels){
+            DirectedLabeledGraph.Node<N> node = new DirectedLabeledGraph.Node<>(label);
+            nodes.add(node);
+            labels.put(label, node);
+        }
+
+        HashMap<DirectedLabeledGraph.Node<N>, Set<DirectedLabeledGraph.Edge<N,E>>> adj = new HashMap<>(capacityFor(nodeCount));
+        for(int i = 0; i < nodeCount; i++){
+            //Sized for the buffered degree, an upper bound on the distinct degree, so adding drops duplicates without resizing
+            Set<DirectedLabeledGraph.Edge<N,E>> edges = new HashSet<>(capacityFor(offsets[i + 1] - offsets[i]));
+            for(int k = offsets[i]; k < offsets[i + 1]; k++){
+                int e = order[k];
+                edges.add(new DirectedLabeledGraph.Edge<>(edgeLabels.get(e), nodes.get(targets[e])));
+            }
+            adj.put(nodes.get(i), edges);
+        }
+
+        HashMap<DirectedLabeledGraph.Node<N>, Set<DirectedLabeledGraph.Edge<N,E>>> incoming = null;
+        if(indexIncoming){
+            int[] inDegree = new int[nodeCount];
+            for(int e = 0; e < edgeCount; e++){
+                inDegree[targets[e]]++;
+            }
+            List<Set<DirectedLabeledGraph.Edge<N,E>>> reverse = new ArrayList<>(nodeCount);
+            incoming = new HashMap<>(capacityFor(nodeCount));
+            for(int i = 0; i < nodeCount; i++){
+                Set<DirectedLabeledGraph.Edge<N,E>> edges = new HashSet<>(capacityFor(inDegree[i]));
+                reverse.add(edges);
+                incoming.put(nodes.get(i), edges);
+            }
+            for(int i = 0; i < nodeCount; i++){
+                DirectedLabeledGraph.Node<N> source = nodes.get(i);
+                for(DirectedLabeledGraph.Edge<N,E> edge : adj.get(source)){
+                    int target = ids.get(edge.getDestination().getLabel());
+                    reverse.get(target).add(new DirectedLabeledGraph.Edge<>(edge.getLabel(), source));
+                }
+            }
+        }
+        return new DirectedLabeledGraph<>(adj, incoming, labels);
+    }
+
+    /**Builds an EncodedGraph holding the nodes and edges added so far, without creating a Node or Edge object for any
+     * of them. This builder is left unchanged and can keep being added to and built from.
+     *
+     * @return A new EncodedGraph with exactly the nodes and the distinct edges added to this
+     */
+    public EncodedGraph<N,E> buildEncoded(){
+        checkRep();
+        return new EncodedGraph<>(nodeLabels, sources, targets, edgeLabels);
+    }
+
+    /**Builds a MultiLabelGraph holding the nodes and edges added so far, with one MultiEdge for all the edges from one
+     * node to another. This builder is left unchanged and can keep being added to and built from.
+     *
+     * @param labelOrder The order the labels between two nodes are kept in. Labels it finds equal are the same label
+     * @return A new MultiLabelGraph with exactly the nodes and the distinct edges added to this
+     * @throws IllegalArgumentException if labelOrder is null
+     */
+    public MultiLabelGraph<N,E> buildMultiLabel(Comparator<? super E> labelOrder){
+        if(labelOrder == null){
+            throw new IllegalArgumentException();
+        }
+        checkRep();
+        return new MultiLabelGraph<>(nodeLabels, sources, targets, edgeLabels, labelOrder);
+    }
+
+    /**Returns the id of the node labeled label, adding the node if it is missing
+     *
+     * @param label The label of the node
+     * @spec.requires label is not null
+     * @return the id of the node labeled label
+     */
+    private int idFor(N label){
+        Integer id = ids.get(label);
+        if(id == null){
+            id = nodeLabels.size();
+            ids.put(label, id);
+            nodeLabels.add(label);
+        }
+        return id;
+    }
+
+    /**Buffers an edge
+     *
+     * @param label The label of the edge
+     * @param source The id of the node the edge comes out of
+     * @param target The id of the node the edge goes into
+     * @spec.requires label is not null and source and target are valid node ids
+     */
+    private void append(E label, int source, int target){
+        int e = edgeLabels.size();
+        ensureEdgeCapacity(e + 1);
+        sources[e] = source;
+        targets[e] = target;
+        edgeLabels.add(label);
+    }
+
+    /**Grows the edge buffers so they hold at least capacity edges
+     *
+     * @param capacity The number of edges the buffers must be able to hold
+     */
+    private void ensureEdgeCapacity(int capacity){
+        if(capacity > sources.length){
+            int grown = Math.max(capacity, sources.length * 2);
+            sources = Arrays.copyOf(sources, grown);
+            targets = Arrays.copyOf(targets, grown);
+            edgeLabels.ensureCapacity(grown);
+        }
+    }
+
+    /**Returns the initial capacity a HashMap or HashSet needs to hold size entries without resizing
+     *
+     * @param size The number of entries
+     * @return the initial capacity to use
+     */
+    private static int capacityFor(int size){
+        return (int) (size / 0.75f) + 1;
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated
+     */
+    private void checkRep(){
+        assert ids != null && nodeLabels != null && edgeLabels != null;
+        assert sources != null && targets != null;
+        assert ids.size() == nodeLabels.size();
+        assert sources.length == targets.length && sources.length >= edgeLabels.size();
+    }
+}
@@ -0,0 +1,327 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <b>GraphStats</b> is an immutable report of the shape and estimated memory footprint of a graph, so that changes to
+ * how graphs are represented can be measured and regressions in memory per edge noticed. DirectedLabeledGraph,
+ * WeightedGraph and BufferGraph each report their own representation: hash tables of edge objects, compressed sparse
+ * row arrays, or a memory-mapped buffer.
+ *
+ * <p>Memory is estimated for a 64-bit JVM with compressed references: 12 byte object headers, 4 byte references and
+ * objects padded to 8 bytes. Hash tables are assumed to be the smallest that hold their entries at the default load
+ * factor of 0.75, as GraphBuilder sizes them; a set grown from the default capacity of 16 may be larger. The labels
+ * themselves are not counted, as they are shared with whoever created them. The FrozenGraph snapshot a graph keeps
+ * after freeze() is counted separately, as snapshotBytes, and is included in estimatedBytes. Array and buffer graphs
+ * have no edge sets, so their idealLoadFactor and snapshotBytes are 0, and a BufferGraph counts the whole length of
+ * its buffer, whether or not the buffer is on the heap.</p>
+ *
+ * <p>Specification fields:
+ * @spec.specfield nodeCount : int //The number of nodes in the graph
+ * @spec.specfield edgeCount : int //The number of edges in the graph
+ * @spec.specfield maxOutDegree : int //The largest number of outgoing edges of any node
+ * @spec.specfield degreeHistogram : int[] //The number of nodes whose out-degree falls in each power of two bucket
+ * @spec.specfield idealLoadFactor : double //The mean, over nodes with outgoing edges, of their edge set's size over the capacity of the smallest table that holds it, or 0 if the graph has no edge sets
+ * @spec.specfield bytesPerNode : double //The estimated bytes retained for each node, apart from its edges
+ * @spec.specfield bytesPerEdge : double //The estimated bytes retained for each edge
+ * @spec.specfield snapshotBytes : long //The estimated bytes retained by the graph's cached FrozenGraph snapshot, or 0 if it has none
+ * @spec.specfield estimatedBytes : long //The estimated bytes retained by the whole graph, including its snapshot</p>
+ */
+public final class GraphStats {
+
+    /**
+     * Estimated sizes, in bytes, of the objects a DirectedLabeledGraph is made of
+     */
+    private static final int NODE_BYTES = 16, EDGE_BYTES = 24, ENTRY_BYTES = 32, HASH_SET_BYTES = 16, HASH_MAP_BYTES = 48, ARRAY_HEADER_BYTES = 16, REFERENCE_BYTES = 4, FROZEN_GRAPH_BYTES = 32, INTEGER_BYTES = 16;
+
+    /**
+     * The number of nodes and edges in the graph and the largest out-degree of any node
+     */
+    private final int nodeCount, edgeCount, maxOutDegree;
+
+    /**
+     * degreeHistogram[0] counts nodes with no outgoing edges and degreeHistogram[k] for k &gt; 0 counts nodes whose
+     * out-degree is at least 2^(k-1) and less than 2^k
+     */
+    private final int[] degreeHistogram;
+
+    /**
+     * The mean load factor the non-empty edge sets would have in the smallest tables that hold them. The real tables are
+     * not visible, so this is transient to keep it out of serialized reports such as the server's JSON, where it could be
+     * mistaken for a measurement
+     */
+    private final transient double idealLoadFactor;
+
+    /**
+     * The estimated bytes retained for nodes, apart from their edges, and for edges
+     */
+    private final long nodeBytes, edgeBytes;
+
+    /**
+     * The estimated bytes retained by the cached snapshot of the graph, or 0 if it has none
+     */
+    private final long snapshotBytes;
+
+    //Abstraction Function: nodeCount, edgeCount, maxOutDegree, degreeHistogram and idealLoadFactor are the spec fields of the same names,
+    //                      bytesPerNode = nodeBytes / nodeCount, bytesPerEdge = edgeBytes / edgeCount (0 for an empty graph)
+    //                      snapshotBytes is the spec field of the same name and estimatedBytes = nodeBytes + edgeBytes + snapshotBytes
+
+    //Representation Invariant: degreeHistogram != null, the entries of degreeHistogram sum to nodeCount
+    //                          0 <= maxOutDegree <= edgeCount, 0 <= idealLoadFactor <= 0.75, nodeBytes >= 0, edgeBytes >= 0 and snapshotBytes >= 0
+
+    /**Computes the statistics of a graph from its maps, for use by DirectedLabeledGraph
+     *
+     * @param adj The adjacency list of the graph
+     * @param incoming The incoming edge index of the graph, or null if it has none
+     * @param labels The label index of the graph
+     * @param snapshot The FrozenGraph snapshot the graph keeps, or null if it has none
+     * @spec.requires adj, incoming and labels satisfy the representation invariant of DirectedLabeledGraph
+     */
+    GraphStats(Map<?, ? extends Set<?>> adj, Map<?, ? extends Set<?>> incoming, Map<?, ?> labels, IntAdjacency<?> snapshot){
+        nodeCount = adj.size();
+        int edges = 0;
+        int maxDegree = 0;
+        int[] histogram = new int[33];
+        int buckets = 1;
+        double loadFactors = 0;
+        int nonEmpty = 0;
+        long slots = 0;
+        for(Set<?> set : adj.values()){
+            int degree = set.size();
+            edges += degree;
+            maxDegree = Math.max(maxDegree, degree);
+            int bucket = bucket(degree);
+            histogram[bucket]++;
+            buckets = Math.max(buckets, bucket + 1);
+            if(degree > 0){
+                loadFactors += degree / (double) capacity(degree);
+                nonEmpty++;
+            }
+            slots += capacity(degree);
+        }
+        edgeCount = edges;
+        maxOutDegree = maxDegree;
+        degreeHistogram = Arrays.copyOf(histogram, buckets);
+        idealLoadFactor = nonEmpty == 0 ? 0 : loadFactors / nonEmpty;
+
+        int indexes = incoming == null ? 1 : 2;
+        long nodes = (long) nodeCount * NODE_BYTES + mapBytes(labels.size());
+        long edgeObjects = (long) edgeCount * (EDGE_BYTES + ENTRY_BYTES);
+        long edgeSlots = slots * REFERENCE_BYTES;
+        nodes += mapBytes(adj.size()) + (long) nodeCount * setBytes();
+        if(incoming != null){
+            nodes += mapBytes(incoming.size()) + (long) nodeCount * setBytes();
+            for(Set<?> set : incoming.values()){
+                edgeSlots += (long) capacity(set.size()) * REFERENCE_BYTES;
+            }
+        }
+        nodeBytes = nodes;
+        edgeBytes = edgeObjects * indexes + edgeSlots;
+        snapshotBytes = snapshot == null ? 0 : snapshotBytes(snapshot.nodeCount(), snapshot.edgeCount());
+        checkRep();
+    }
+
+    /**Computes the statistics of a graph held in arrays or a buffer, for use by WeightedGraph and BufferGraph
+     *
+     * @param graph The graph to report the shape of
+     * @param nodeBytes The bytes the graph retains for its nodes, apart from their edges
+     * @param edgeBytes The bytes the graph retains for its edges
+     * @spec.requires graph is not null, nodeBytes &gt;= 0 and edgeBytes &gt;= 0
+     */
+    GraphStats(IntAdjacency<?> graph, long nodeBytes, long edgeBytes){
+        nodeCount = graph.nodeCount();
+        edgeCount = graph.edgeCount();
+        int maxDegree = 0;
+        int[] histogram = new int[33];
+        int buckets = 1;
+        for(int n = 0; n < nodeCount; n++){
+            int degree = graph.edgeEnd(n) - graph.edgeStart(n);
+            maxDegree = Math.max(maxDegree, degree);
+            int bucket = bucket(degree);
+            histogram[bucket]++;
+            buckets = Math.max(buckets, bucket + 1);
+        }
+        maxOutDegree = maxDegree;
+        degreeHistogram = Arrays.copyOf(histogram, buckets);
+        idealLoadFactor = 0;
+        this.nodeBytes = nodeBytes;
+        this.edgeBytes = edgeBytes;
+        snapshotBytes = 0;
+        checkRep();
+    }
+
+    /**Returns the degree histogram bucket of an out-degree
+     *
+     * @param degree The out-degree of a node
+     * @return 0 for a degree of 0, otherwise the k such that 2^(k-1) &lt;= degree &lt; 2^k
+     */
+    private static int bucket(int degree){
+        return 32 - Integer.numberOfLeadingZeros(degree);
+    }
+
+    /**Returns the capacity of the smallest hash table that holds a number of entries at the default load factor
+     *
+     * @param size The number of entries
+     * @return the least power of two whose three quarters is at least size, or 0 if size is 0
+     */
+    private static int capacity(int size){
+        if(size == 0){
+            return 0;
+        }
+        int needed = (int) Math.ceil(size / 0.75);
+        return needed <= 1 ? 1 : Integer.highestOneBit(needed - 1) << 1;
+    }
+
+    /**Returns the estimated bytes of a HashMap, its table and its entries
+     *
+     * @param size The number of entries in the map
+     * @return the estimated bytes retained by a map of size entries, not counting its keys and values
+     */
+    static long mapBytes(int size){
+        return HASH_MAP_BYTES + ARRAY_HEADER_BYTES + (long) capacity(size) * REFERENCE_BYTES + (long) size * ENTRY_BYTES;
+    }
+
+    /**Returns the estimated bytes of the node label array and label to id map that array and buffer graphs keep
+     *
+     * @param nodes The number of nodes in the graph
+     * @return the estimated bytes of an array of node labels and a map with a boxed id per node, not counting the labels
+     */
+    static long labelIndexBytes(int nodes){
+        return ARRAY_HEADER_BYTES + (long) nodes * REFERENCE_BYTES + mapBytes(nodes) + (long) nodes * INTEGER_BYTES;
+    }
+
+    /**Returns the estimated bytes of a FrozenGraph: its node label array, its id map with a boxed id per node, and
+     * its offset, target and edge label arrays
+     *
+     * @param nodes The number of nodes in the snapshot
+     * @param edges The number of edges in the snapshot
+     * @return the estimated bytes retained by a FrozenGraph of that size, not counting its labels
+     */
+    private static long snapshotBytes(int nodes, int edges){
+        long arrays = 3L * ARRAY_HEADER_BYTES + (nodes + 1L) * Integer.BYTES + (long) edges * (Integer.BYTES + REFERENCE_BYTES);
+        return FROZEN_GRAPH_BYTES + arrays + labelIndexBytes(nodes);
+    }
+
+    /**Returns the estimated bytes of an edge set apart from its entries and table slots, which are counted with the edges
+     *
+     * @return the bytes of a HashSet, the HashMap inside it and the header of its table
+     */
+    private static int setBytes(){
+        return HASH_SET_BYTES + HASH_MAP_BYTES + ARRAY_HEADER_BYTES;
+    }
+
+    /**Returns the number of nodes in the graph
+     *
+     * @return nodeCount
+     */
+    public int nodeCount(){
+        return nodeCount;
+    }
+
+    /**Returns the number of edges in the graph
+     *
+     * @return edgeCount
+     */
+    public int edgeCount(){
+        return edgeCount;
+    }
+
+    /**Returns the largest out-degree of any node in the graph
+     *
+     * @return maxOutDegree, or 0 for an empty graph
+     */
+    public int maxOutDegree(){
+        return maxOutDegree;
+    }
+
+    /**Returns the out-degree histogram of the graph, in power of two buckets
+     *
+     * @return A copy of degreeHistogram, where entry 0 counts nodes with no outgoing edges and entry k &gt; 0 counts
+     *         nodes whose out-degree is at least 2^(k-1) and less than 2^k. The last entry is the highest non-empty bucket
+     */
+    public int[] degreeHistogram(){
+        return degreeHistogram.clone();
+    }
+
+    /**Returns the mean load factor the edge sets of nodes with outgoing edges would have if each were in the smallest
+     * table that holds it, as GraphBuilder sizes them. A set that grew from the default capacity may be emptier
+     *
+     * @return idealLoadFactor, between 0 and 0.75, or 0 if no node has an outgoing edge
+     */
+    public double idealLoadFactor(){
+        return idealLoadFactor;
+    }
+
+    /**Returns the estimated bytes retained for each node, apart from its edges
+     *
+     * @return bytesPerNode, or 0 for a graph with no nodes
+     */
+    public double bytesPerNode(){
+        return nodeCount == 0 ? 0 : nodeBytes / (double) nodeCount;
+    }
+
+    /**Returns the estimated bytes retained for each edge
+     *
+     * @return bytesPerEdge, or 0 for a graph with no edges
+     */
+    public double bytesPerEdge(){
+        return edgeCount == 0 ? 0 : edgeBytes / (double) edgeCount;
+    }
+
+    /**Returns the estimated bytes retained by the cached FrozenGraph snapshot of the graph
+     *
+     * @return snapshotBytes, or 0 if the graph has not been frozen since it last changed
+     */
+    public long snapshotBytes(){
+        return snapshotBytes;
+    }
+
+    /**Returns the estimated bytes retained by the whole graph, including its cached snapshot but not its labels
+     *
+     * @return estimatedBytes
+     */
+    public long estimatedBytes(){
+        return nodeBytes + edgeBytes + snapshotBytes;
+    }
+
+    /**
+     * Returns a multi-line report of these statistics, for printing
+     *
+     * @return a String listing each statistic and each non-empty bucket of the degree histogram
+     */
+    @Override
+    public String toString(){
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("nodes: %d%n", nodeCount));
+        report.append(String.format("edges: %d%n", edgeCount));
+        report.append(String.format("max out-degree: %d%n", maxOutDegree));
+        if(idealLoadFactor > 0){
+            report.append(String.format("ideal edge set load factor: %.3f%n", idealLoadFactor));
+        }
+        report.append(String.format("estimated bytes: %d (%.1f per node, %.1f per edge)%n", estimatedBytes(), bytesPerNode(), bytesPerEdge()));
+        if(snapshotBytes > 0){
+            report.append(String.format("cached snapshot bytes: %d%n", snapshotBytes));
+        }
+        report.append(String.format("out-degree histogram:%n"));
+        for(int k = 0; k < degreeHistogram.length; k++){
+            if(degreeHistogram[k] != 0){
+                String range = k == 0 ? "0" : k == 1 ? "1" : (1L << (k - 1)) + "-" + ((1L << k) - 1);
+                report.append(String.format("  %s: %d%n", range, degreeHistogram[k]));
+            }
+        }
+        return report.toString();
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated
+     */
+    private void checkRep(){
+        assert degreeHistogram != null;
+        assert Arrays.stream(degreeHistogram).sum() == nodeCount;
+        assert maxOutDegree >= 0 && maxOutDegree <= edgeCount;
+        assert idealLoadFactor >= 0 && idealLoadFactor <= 0.75;
+        assert nodeBytes >= 0 && edgeBytes >= 0 && snapshotBytes >= 0;
+    }
+}
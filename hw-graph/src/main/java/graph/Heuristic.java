@@ -0,0 +1,22 @@
+package graph;
+
+/**
+ * <b>Heuristic</b> estimates the remaining distance between two nodes of an int-indexed weighted graph, guiding an A*
+ * search in a DijkstraEngine towards its target.
+ *
+ * <p>A heuristic must be consistent: for every edge from u to v with weight w, estimate(u, t) &lt;= w + estimate(v, t),
+ * and estimate(t, t) == 0. A consistent heuristic never overestimates, so the paths A* finds are shortest paths and no
+ * node needs to be settled twice.</p>
+ */
+@FunctionalInterface
+public interface Heuristic {
+
+    /**Returns a lower bound on the distance from one node to another
+     *
+     * @param node The id of the node to estimate from
+     * @param target The id of the node to estimate to
+     * @return a non-negative lower bound on the length of the shortest path from node to target
+     * @spec.requires both ids are valid node ids of the graph being searched
+     */
+    double estimate(int node, int target);
+}
@@ -0,0 +1,176 @@
+package graph;
+
+/**
+ * <b>IndexedHeap</b> is a 4-ary min-heap of int node ids in the range [0, capacity) ordered by double keys. Each id is
+ * held at most once, and the heap tracks where each id is so that its key can be lowered in place (decrease-key)
+ * rather than by adding a second entry. Ties between equal keys are broken by the heap's internal order.
+ *
+ * <p>Specification fields:
+ * @spec.specfield entries : Map(int, double) //The ids in the heap and their keys</p>
+ */
+final class IndexedHeap {
+
+    /**
+     * The number of children of each heap entry
+     */
+    private static final int ARITY = 4;
+
+    /**
+     * The ids in the heap, in heap order, in indices [0, size)
+     */
+    private final int[] heap;
+
+    /**
+     * The index of each id in heap, valid only for ids in the heap
+     */
+    private final int[] position;
+
+    /**
+     * The key of each id, valid only for ids in the heap
+     */
+    private final double[] key;
+
+    /**
+     * The number of ids in the heap
+     */
+    private int size;
+
+    //Abstraction Function: entries maps heap[i] to key[heap[i]] for each 0 <= i < size
+
+    //Representation Invariant: heap, position and key are not null and have the same length, 0 <= size <= heap.length
+    //                          for 0 <= i < size, position[heap[i]] == i
+    //                          for 0 < i < size, key[heap[(i - 1) / ARITY]] <= key[heap[i]]
+
+    /**Creates an empty heap for ids below capacity
+     *
+     * @param capacity One more than the largest id the heap will hold
+     * @spec.effects Constructs a new empty heap
+     */
+    IndexedHeap(int capacity){
+        heap = new int[capacity];
+        position = new int[capacity];
+        key = new double[capacity];
+    }
+
+    /**Removes every id from the heap
+     *
+     * @spec.modifies this
+     * @spec.effects Makes entries empty
+     */
+    void clear(){
+        size = 0;
+    }
+
+    /**Returns whether the heap is empty
+     *
+     * @return true if entries is empty
+     */
+    boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**Returns the least key in the heap
+     *
+     * @return the least key in entries, or positive infinity if the heap is empty
+     */
+    double peekKey(){
+        return size == 0 ? Double.POSITIVE_INFINITY : key[heap[0]];
+    }
+
+    /**Adds an id to the heap
+     *
+     * @param id The id to add
+     * @param idKey The key of id
+     * @spec.requires id is not in the heap
+     * @spec.modifies this
+     * @spec.effects Adds id to entries with key idKey
+     */
+    void insert(int id, double idKey){
+        key[id] = idKey;
+        heap[size] = id;
+        size++;
+        siftUp(size - 1);
+    }
+
+    /**Lowers the key of an id in the heap
+     *
+     * @param id The id whose key is lowered
+     * @param idKey The new key of id
+     * @spec.requires id is in the heap and idKey is no greater than its key
+     * @spec.modifies this
+     * @spec.effects Changes the key of id in entries to idKey
+     */
+    void decreaseKey(int id, double idKey){
+        key[id] = idKey;
+        siftUp(position[id]);
+    }
+
+    /**Removes the id with the least key from the heap
+     *
+     * @return the removed id
+     * @spec.requires the heap is not empty
+     * @spec.modifies this
+     * @spec.effects Removes the entry with the least key from entries
+     */
+    int pop(){
+        int top = heap[0];
+        size--;
+        if(size > 0){
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**Moves the heap entry at index i towards the root until its parent's key is no greater
+     *
+     * @param i The heap index of the entry to move
+     */
+    private void siftUp(int i){
+        int id = heap[i];
+        double idKey = key[id];
+        while(i > 0){
+            int up = (i - 1) / ARITY;
+            int above = heap[up];
+            if(key[above] <= idKey){
+                break;
+            }
+            heap[i] = above;
+            position[above] = i;
+            i = up;
+        }
+        heap[i] = id;
+        position[id] = i;
+    }
+
+    /**Moves the heap entry at index i away from the root until none of its children has a smaller key
+     *
+     * @param i The heap index of the entry to move
+     */
+    private void siftDown(int i){
+        int id = heap[i];
+        double idKey = key[id];
+        while(true){
+            int first = i * ARITY + 1;
+            if(first >= size){
+                break;
+            }
+            int best = first;
+            int last = Math.min(first + ARITY, size);
+            for(int c = first + 1; c < last; c++){
+                if(key[heap[c]] < key[heap[best]]){
+                    best = c;
+                }
+            }
+            if(key[heap[best]] >= idKey){
+                break;
+            }
+            heap[i] = heap[best];
+            position[heap[i]] = i;
+            i = best;
+        }
+        heap[i] = id;
+        position[id] = i;
+    }
+}
@@ -0,0 +1,63 @@
+package graph;
+
+/**
+ * <b>IntAdjacency</b> is implemented by read-only graphs whose nodes are numbered with int ids in the range [0, nodeCount())
+ * and whose edges are numbered with int indices in the range [0, edgeCount()). The outgoing edges of node id are the
+ * edge indices in the range [edgeStart(id), edgeEnd(id)), which lets algorithms walk adjacency without allocating.
+ *
+ * Type Parameter N is the data type of the node labels in the graph.
+ */
+public interface IntAdjacency<N> {
+
+    /**Returns the number of nodes in this
+     *
+     * @return the number of nodes in this
+     */
+    int nodeCount();
+
+    /**Returns the number of edges in this
+     *
+     * @return the number of edges in this
+     */
+    int edgeCount();
+
+    /**Returns the id of the node with a specific label
+     *
+     * @param label The label of the node whose id should be returned
+     * @return The id of the node with label "label" or -1 if no such node exists in this
+     * @spec.requires label is not null
+     */
+    int idOf(N label);
+
+    /**Returns the label of the node with a specific id
+     *
+     * @param id The id of the node whose label should be returned
+     * @return The label of the node with id "id"
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    N labelOf(int id);
+
+    /**Returns the index of the first outgoing edge of a node
+     *
+     * @param id The id of the node
+     * @return the index of the first outgoing edge of the node with id "id"
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    int edgeStart(int id);
+
+    /**Returns one past the index of the last outgoing edge of a node
+     *
+     * @param id The id of the node
+     * @return one past the index of the last outgoing edge of the node with id "id"
+     * @spec.requires 0 &lt;= id &lt; nodeCount()
+     */
+    int edgeEnd(int id);
+
+    /**Returns the id of the destination node of an edge
+     *
+     * @param edge The index of the edge
+     * @return the id of the node that the edge with index "edge" goes into
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    int target(int edge);
+}
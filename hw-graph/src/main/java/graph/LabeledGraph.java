@@ -0,0 +1,187 @@
+package graph;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <b>LabeledGraph</b> is the interface of a mutable directed labeled graph consisting of nodes and labeled edges between nodes.
+ * It is implemented by DirectedLabeledGraph for single threaded use and by ConcurrentDirectedLabeledGraph for graphs shared
+ * between threads.
+ *
+ * <p>Specification fields:
+ * @spec.specfield nodes : Set(Nodes) //The nodes in the graph
+ * @spec.specfield edges : Set(Edges) //The labeled edges in the graph</p>
+ *
+ * <p>Abstract Invariant:
+ * Two of the same node cannot be in the graph and each edge with the same parent and child must have different labels</p>
+ *
+ * Type Parameter N is the data type that will be held in the nodes of this LabeledGraph.
+ * Type Parameter E is the data type that will be held in the edges of this LabeledGraph.
+ */
+public interface LabeledGraph<N,E> extends Iterable<DirectedLabeledGraph.Node<N>> {
+
+    /**Adds node to this without any ingoing or outgoing edges
+     *
+     * @param node The node to be added to the graph
+     * @return true if node was added to the graph and false if node was not added (already in graph)
+     * @spec.requires node is not null
+     * @spec.modifies this
+     * @spec.effects Adds node to this without any edges in or out of it or does not add to graph if node already in graph
+     */
+    boolean addNode(DirectedLabeledGraph.Node<N> node);
+
+    /**Adds a node with label "label" to this without any ingoing or outgoing edges
+     *
+     * @param label The label of the node to be added to the graph
+     * @return true if node was added to the graph and false if node was not added (already in graph)
+     * @spec.requires label is not null
+     * @spec.modifies this
+     * @spec.effects Adds node with label without any edges in or out of it or does not add the node if node with label already in graph
+     */
+    boolean addNode(N label);
+
+    /**Adds an edge to this with label "label" between source and destination
+     *
+     * @param label The label of the edge to be added
+     * @param source The Node that the added edge comes out of
+     * @param destination The Node that the added edges goes into
+     * @return true if the edge was added and false if the edge was not added (edge between the two nodes with same label exists)
+     * @spec.requires source, destination and label are not null.
+     * @spec.modifies this
+     * @spec.effects Adds the given edge with the label "label" to this from the node source to the node destination or does not add the edge if it already exists.
+     *               If source or destination does not exist in the graph, addEdge will add the missing node into the graph and then add the edge
+     */
+    boolean addEdge(E label, DirectedLabeledGraph.Node<N> source, DirectedLabeledGraph.Node<N> destination);
+
+    /**Removes the edge in this between source and destination
+     *
+     * @param label the label of the edge to be removed
+     * @param source The node that the edge to be removed comes out of
+     * @param destination The node that the edge to be removed goes into
+     * @return true if the edge between the nodes was removed and false if not (edge doesn't exist)
+     * @spec.requires source, destination and label are not null
+     * @spec.modifies this
+     * @spec.effects Removes the edge between source and destination in this or does nothing if the edge didn't exist
+     */
+    boolean removeEdge(E label, DirectedLabeledGraph.Node<N> source, DirectedLabeledGraph.Node<N> destination);
+
+    /**Removes node from this
+     *
+     * @param node The node in this to be removed
+     * @return true if node was removed and false if node was not removed (node did not exist in graph)
+     * @spec.requires node is not null
+     * @spec.modifies this
+     * @spec.effects Removes node from this and removes all occurrences of node from this or does nothing if the node did not exist in the graph
+     */
+    boolean removeNode(DirectedLabeledGraph.Node<N> node);
+
+    /**Removes node with label "label" from this
+     *
+     * @param label The label of the node to be removed
+     * @return true if node was removed and false if node was not removed (node did not exist in graph)
+     * @spec.requires label is not null
+     * @spec.modifies this
+     * @spec.effects Removes the node with label "label" from this and removes all occurrences of the node with "label" or does nothing if a node with "label" does not exist
+     */
+    boolean removeNode(N label);
+
+    /**Returns a list of all of the nodes where there exists an edge from "node" to them.
+     *
+     * @param node The node whom's children will be in the list
+     * @return A list of all of the nodes where there exists an edge from "node" to them
+     * @spec.requires node is not null, node exists in this
+     */
+    List<DirectedLabeledGraph.Node<N>> listChildren(DirectedLabeledGraph.Node<N> node);
+
+    /**Returns a list of all of the nodes where there exists an edge from them to "node".
+     *
+     * @param node The node whom's parents will be in the list
+     * @return A list of all of the nodes where there exists an edge from them to "node", listed once per edge
+     * @spec.requires node is not null, node exists in this
+     */
+    List<DirectedLabeledGraph.Node<N>> listParents(DirectedLabeledGraph.Node<N> node);
+
+    /**Returns a set of the edges coming into node, each reversed so that its destination is the node the edge comes from
+     *
+     * @param node The node who's incoming edges will be returned
+     * @return A set of edges with the label of each edge into node and the node that edge comes from as its destination (empty set if no parents)
+     * @spec.requires node is not null and node is in the graph
+     */
+    Set<DirectedLabeledGraph.Edge<N,E>> getIncomingEdges(DirectedLabeledGraph.Node<N> node);
+
+    /**Provides an iterator over all of the nodes in this
+     *
+     * @return An iterator over all of the nodes in this
+     */
+    @Override
+    Iterator<DirectedLabeledGraph.Node<N>> iterator();
+
+    /**Returns a read-only view of the set of nodes in this graph
+     *
+     * @return an unmodifiable view of the set of nodes that are in this
+     */
+    Set<DirectedLabeledGraph.Node<N>> getNodes();
+
+    /**Returns whether or not a node is in this graph
+     *
+     * @param node The node to look for
+     * @return true if node is in this and false otherwise
+     * @spec.requires node is not null
+     */
+    boolean containsNode(DirectedLabeledGraph.Node<N> node);
+
+    /**Returns the number of edges coming out of a node
+     *
+     * @param node The node whose out degree will be returned
+     * @return the number of edges coming out of node
+     * @spec.requires node is not null and node is in the graph
+     */
+    int outDegree(DirectedLabeledGraph.Node<N> node);
+
+    /**Returns the node with a specific label in this
+     *
+     * @param label The label of the node that should be returned
+     * @return The node in this with the label "label" or null if node does not exist in this
+     * @spec.requires label is not null
+     */
+    DirectedLabeledGraph.Node<N> getNodeByName(String label);
+
+    /**Returns the node with a specific label in this in constant time
+     *
+     * @param label The label of the node that should be returned
+     * @return The node in this with the label "label" or null if node does not exist in this
+     * @spec.requires label is not null
+     */
+    DirectedLabeledGraph.Node<N> getNode(N label);
+
+    /**Returns a set of the labels of the edges between two nodes
+     *
+     * @param source The node that the edges in the returned set are coming out of
+     * @param destination The node that the edges in the returned set go into
+     * @return A set of the labels of the edges between source and destination (empty set if no edges between)
+     * @spec.requires source and destination are not null, source and destination both exist in the graph
+     */
+    Set<E> getEdgesBetween(DirectedLabeledGraph.Node<N> source, DirectedLabeledGraph.Node<N> destination);
+
+    /**Returns a read-only view of the set of the edges to children nodes of node
+     *
+     * @param node The node who's edges will be returned
+     * @return An unmodifiable view of the edges to the children of node (empty set if no children)
+     * @spec.requires node is not null and node is in the graph
+     */
+    Set<DirectedLabeledGraph.Edge<N,E>> getEdges(DirectedLabeledGraph.Node<N> node);
+
+    /**Creates an immutable compressed snapshot of this for fast read-only traversal
+     *
+     * @return A FrozenGraph with the same nodes and edges as this. Later changes to this are not reflected in the snapshot
+     */
+    FrozenGraph<N,E> freeze();
+
+    /**Removes all nodes and edges from this
+     *
+     * @spec.modifies this
+     * @spec.effects Removes all node and edges from this, resulting in a empty graph
+     */
+    void clear();
+}
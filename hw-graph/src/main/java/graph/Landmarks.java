@@ -0,0 +1,282 @@
+package graph;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * <b>Landmarks</b> is an ALT (A*, landmarks, triangle inequality) heuristic over a WeightedAdjacency graph. A few
+ * landmark nodes are chosen, and the distances from each landmark to every node and from every node to each landmark
+ * are computed once with full Dijkstra searches. For any landmark L, the triangle inequality gives two lower bounds on
+ * the distance from v to t: d(L,t) - d(L,v) and d(v,L) - d(t,L). The estimate is the largest such bound over all
+ * landmarks, which is consistent whenever the distance tables are exact. Unlike a straight-line bound it follows the
+ * actual edges, so it stays tight where paths must detour around obstacles.
+ *
+ * <p>Landmarks are chosen by farthest selection: each new landmark is the node farthest from the landmarks already
+ * chosen, so they end up spread around the edge of the graph, where their bounds are tightest.</p>
+ *
+ * <p>The tables hold only ids and distances, so they can be saved to a file and loaded back onto the same graph
+ * instead of being recomputed. Landmarks are immutable and can be shared by threads.</p>
+ *
+ * <p>Specification fields:
+ * @spec.specfield graph : WeightedAdjacency //The graph the distances are over
+ * @spec.specfield landmarks : List(int) //The ids of the landmark nodes
+ * @spec.specfield from : Map((int, int), double) //The distance from each landmark to each node
+ * @spec.specfield to : Map((int, int), double) //The distance from each node to each landmark</p>
+ *
+ * Type Parameter N is the data type of the node labels in the graph.
+ */
+public final class Landmarks<N> implements Heuristic {
+
+    /**
+     * The first int of saved landmark tables, "DLAL" in ASCII
+     */
+    private static final int MAGIC = 0x444C414C;
+
+    /**
+     * The version of the saved landmark format
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The graph the distances are over
+     */
+    private final WeightedAdjacency<N> graph;
+
+    /**
+     * The ids of the landmark nodes
+     */
+    private final int[] landmarks;
+
+    /**
+     * The distance from landmark i to node v is fromLandmark[i * nodeCount + v], and from node v to landmark i is
+     * toLandmark[i * nodeCount + v], each positive infinity if there is no path
+     */
+    private final double[] fromLandmark, toLandmark;
+
+    //Abstraction Function: landmarks[i] is the i'th landmark. from maps (landmarks[i], v) to fromLandmark[i * graph.nodeCount() + v]
+    //                      and to maps (v, landmarks[i]) to toLandmark[i * graph.nodeCount() + v].
+
+    //Representation Invariant: graph, landmarks, fromLandmark and toLandmark are not null
+    //                          every landmark is a node id of graph, and no landmark appears twice
+    //                          fromLandmark.length == toLandmark.length == landmarks.length * graph.nodeCount()
+    //                          no entry of fromLandmark or toLandmark is negative or NaN
+
+    /**Creates landmarks from their distance tables
+     *
+     * @param graph The graph the distances are over
+     * @param landmarks The ids of the landmark nodes
+     * @param fromLandmark The distances from each landmark to each node
+     * @param toLandmark The distances from each node to each landmark
+     */
+    private Landmarks(WeightedAdjacency<N> graph, int[] landmarks, double[] fromLandmark, double[] toLandmark){
+        this.graph = graph;
+        this.landmarks = landmarks;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+        checkRep();
+    }
+
+    /**Chooses landmarks for a graph and computes their distance tables, which takes two full Dijkstra searches per landmark
+     *
+     * @param graph The graph to choose landmarks in. Must not change while the landmarks are in use
+     * @param count The number of landmarks to choose
+     * @param <N> The type of the node labels
+     * @return New landmarks over graph, fewer than count only if graph has fewer than count nodes
+     * @throws IllegalArgumentException if graph is null or count is less than 1
+     * @spec.requires graph does not contain any negative edge weights
+     */
+    public static <N> Landmarks<N> build(WeightedAdjacency<N> graph, int count){
+        if(graph == null || count < 1){
+            throw new IllegalArgumentException();
+        }
+        int nodeCount = graph.nodeCount();
+        count = Math.min(count, nodeCount);
+        int[] landmarks = new int[count];
+        double[] fromLandmark = new double[count * nodeCount];
+        double[] toLandmark = new double[count * nodeCount];
+        DijkstraEngine<N> forward = new DijkstraEngine<>(graph);
+        DijkstraEngine<N> backward = new DijkstraEngine<>(new ReverseAdjacency<>(graph));
+        double[] nearest = new double[nodeCount]; //The distance to each node from its nearest landmark chosen so far
+        if(count > 0){
+            forward.search(0, -1);
+            for(int v = 0; v < nodeCount; v++){
+                nearest[v] = forward.distance(v);
+            }
+        }
+        for(int i = 0; i < count; i++){
+            int landmark = farthest(nearest);
+            landmarks[i] = landmark;
+            forward.search(landmark, -1);
+            backward.search(landmark, -1);
+            for(int v = 0; v < nodeCount; v++){
+                fromLandmark[i * nodeCount + v] = forward.distance(v);
+                toLandmark[i * nodeCount + v] = backward.distance(v);
+                nearest[v] = i == 0 ? forward.distance(v) : Math.min(nearest[v], forward.distance(v));
+            }
+            nearest[landmark] = -1; //Never choose a landmark twice
+        }
+        return new Landmarks<>(graph, landmarks, fromLandmark, toLandmark);
+    }
+
+    /**Returns the node farthest from the landmarks chosen so far. Nodes no landmark reaches count as farthest, so
+     * that every part of a disconnected graph gets a landmark before any part gets a second.
+     *
+     * @param nearest The distance to each node from its nearest landmark, or -1 for landmarks themselves
+     * @return The id of the node with the greatest entry in nearest, the least id among ties
+     */
+    private static int farthest(double[] nearest){
+        int best = 0;
+        for(int v = 1; v < nearest.length; v++){
+            if(nearest[v] > nearest[best]){
+                best = v;
+            }
+        }
+        return best;
+    }
+
+    /**Loads landmarks saved by save() back onto the graph they were built over
+     *
+     * @param file The file the landmarks were saved to
+     * @param graph The graph the landmarks were built over
+     * @param <N> The type of the node labels
+     * @return The saved landmarks, over graph
+     * @throws IOException if file cannot be read
+     * @throws IllegalArgumentException if file or graph is null, file does not hold saved landmarks, or the landmarks
+     *                                  were built over a graph with different nodes, edges or weights
+     */
+    public static <N> Landmarks<N> load(Path file, WeightedAdjacency<N> graph) throws IOException {
+        if(file == null || graph == null){
+            throw new IllegalArgumentException();
+        }
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))){
+            if(in.readInt() != MAGIC || in.readInt() != VERSION){
+                throw new IllegalArgumentException("Not a landmark file");
+            }
+            int nodeCount = in.readInt();
+            int edgeCount = in.readInt();
+            long fingerprint = in.readLong();
+            if(nodeCount != graph.nodeCount() || edgeCount != graph.edgeCount() || fingerprint != ContractionHierarchy.fingerprint(graph)){
+                throw new IllegalArgumentException("Landmarks were built over a different graph");
+            }
+            int count = in.readInt();
+            if(count < 0 || count > nodeCount){
+                throw new IllegalArgumentException("Corrupt landmark file");
+            }
+            int[] landmarks = new int[count];
+            boolean[] used = new boolean[nodeCount];
+            for(int i = 0; i < count; i++){
+                landmarks[i] = in.readInt();
+                if(landmarks[i] < 0 || landmarks[i] >= nodeCount || used[landmarks[i]]){
+                    throw new IllegalArgumentException("Corrupt landmark file");
+                }
+                used[landmarks[i]] = true;
+            }
+            double[] fromLandmark = readDistances(in, count * nodeCount);
+            double[] toLandmark = readDistances(in, count * nodeCount);
+            return new Landmarks<>(graph, landmarks, fromLandmark, toLandmark);
+        } catch (EOFException e){
+            throw new IllegalArgumentException("Truncated landmark file");
+        }
+    }
+
+    /**Reads a distance table
+     *
+     * @param in The stream to read from
+     * @param length The number of distances in the table
+     * @return The distances read
+     * @throws IOException if in cannot be read
+     * @throws IllegalArgumentException if any distance read is negative or NaN
+     */
+    private static double[] readDistances(DataInputStream in, int length) throws IOException {
+        double[] distances = new double[length];
+        for(int i = 0; i < length; i++){
+            distances[i] = in.readDouble();
+            if(!(distances[i] >= 0)){
+                throw new IllegalArgumentException("Corrupt landmark file");
+            }
+        }
+        return distances;
+    }
+
+    /**Saves these landmarks to a file so that they can be loaded instead of being recomputed
+     *
+     * @param file The file to write, replacing it if it exists
+     * @throws IOException if file cannot be written
+     * @throws IllegalArgumentException if file is null
+     */
+    public void save(Path file) throws IOException {
+        if(file == null){
+            throw new IllegalArgumentException();
+        }
+        try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))){
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(graph.nodeCount());
+            out.writeInt(graph.edgeCount());
+            out.writeLong(ContractionHierarchy.fingerprint(graph));
+            out.writeInt(landmarks.length);
+            for(int landmark : landmarks){
+                out.writeInt(landmark);
+            }
+            for(double d : fromLandmark){
+                out.writeDouble(d);
+            }
+            for(double d : toLandmark){
+                out.writeDouble(d);
+            }
+        }
+    }
+
+    /**Returns the graph the distances are over
+     *
+     * @return the graph the distances are over
+     */
+    public WeightedAdjacency<N> graph(){
+        return graph;
+    }
+
+    /**Returns the landmark nodes
+     *
+     * @return the ids of the landmarks, in the order they were chosen
+     */
+    public int[] landmarks(){
+        return Arrays.copyOf(landmarks, landmarks.length);
+    }
+
+    /**Returns a lower bound on the distance from one node to another, from the triangle inequality at each landmark.
+     * Landmarks that cannot reach or be reached from both nodes give no bound.
+     *
+     * @param node The id of the node the distance is from
+     * @param target The id of the node the distance is to
+     * @return the largest of 0, d(L,target) - d(L,node) and d(node,L) - d(target,L) over all landmarks L, shaved by a
+     *         relative 1e-9
+     * @spec.requires 0 &lt;= node, target &lt; graph.nodeCount()
+     */
+    @Override
+    public double estimate(int node, int target){
+        int nodeCount = graph.nodeCount();
+        double best = 0;
+        for(int offset = 0; offset < fromLandmark.length; offset += nodeCount){
+            double ahead = fromLandmark[offset + target] - fromLandmark[offset + node];
+            double behind = toLandmark[offset + node] - toLandmark[offset + target];
+            if(ahead > best && ahead < Double.POSITIVE_INFINITY){
+                best = ahead;
+            }
+            if(behind > best && behind < Double.POSITIVE_INFINITY){
+                best = behind;
+            }
+        }
+        //Shave off a little so rounding in the differences of long sums cannot make the estimate inconsistent
+        return best * (1 - 1e-9);
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated
+     */
+    private void checkRep(){
+        assert graph != null && landmarks != null && fromLandmark != null && toLandmark != null;
+        assert fromLandmark.length == landmarks.length * graph.nodeCount() && toLandmark.length == fromLandmark.length;
+    }
+}
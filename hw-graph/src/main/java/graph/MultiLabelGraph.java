@@ -0,0 +1,764 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * <b>MultiLabelGraph</b> represents a mutable directed labeled graph with the same specification as DirectedLabeledGraph,
+ * that stores all the edges from one node to another as a single MultiEdge holding their labels in a sorted array. Two
+ * nodes joined by forty labels, such as two characters who share forty comic books, take one MultiEdge and one hash map
+ * entry instead of forty Edge objects and forty hash set entries, and a search that only needs the first label between
+ * each pair of nodes walks one entry per neighbor.
+ *
+ * <p>Labels are ordered by the comparator given at construction, or by their natural order. getEdges and
+ * getEdgesBetween answer from the MultiEdges, so getEdges builds a new set of one Edge per label.</p>
+ *
+ * <p>Specification fields:
+ * @spec.specfield nodes : Set(Nodes) //The nodes in the graph
+ * @spec.specfield edges : Set(Edges) //The labeled edges in the graph
+ * @spec.specfield labelOrder : Comparator(E) //The order the labels between two nodes are kept in</p>
+ *
+ * <p>Abstract Invariant:
+ * Two of the same node cannot be in the graph and each edge with the same parent and child must have different labels</p>
+ *
+ * Type Parameter N is the data type that will be held in the nodes of this MultiLabelGraph.
+ * Type Parameter E is the data type that will be held in the edges of this MultiLabelGraph.
+ */
+public class MultiLabelGraph<N,E> implements LabeledGraph<N,E> {
+
+    /**
+     *Maps each node to the MultiEdges out of it, keyed by their destination
+     */
+    private final HashMap<DirectedLabeledGraph.Node<N>, HashMap<DirectedLabeledGraph.Node<N>, MultiEdge<N,E>>> adj;
+
+    /**
+     *Maps the label of each node in this graph to that node
+     */
+    private final HashMap<N, DirectedLabeledGraph.Node<N>> labels;
+
+    /**
+     *The order the labels of each MultiEdge are kept in
+     */
+    private final Comparator<? super E> labelOrder;
+
+    /**
+     *The total number of labels over all MultiEdges, which is the number of edges in the graph
+     */
+    private int edgeCount;
+
+    /**
+     *The snapshot last returned by freeze(), or null if this has not been frozen since it last changed
+     */
+    private FrozenGraph<N,E> frozen;
+
+    /**
+     * Indicates if checkRep() will run in its entirety if called
+     */
+    private static final boolean DEBUG = false;
+
+    //Abstract Invariant: adj.keySet() is the set of nodes in this graph. For each node n in adj.keySet() and each MultiEdge m in adj.get(n).values(),
+    //                    there is an edge from n to m's destination with each of m's labels. The union of all of these edges make up the set of edges in this graph
+    //                    labels maps the label of each node in this graph to that node
+
+    //Representation Invariant: adj, labels and labelOrder are not null
+    //                          for each node n in adj.keySet(), n != null and for each entry (d, m) of adj.get(n), d is in adj.keySet(), m != null and m.getDestination() equals d
+    //                          every MultiEdge has at least one label, and its labels are strictly increasing in labelOrder
+    //                          edgeCount is the sum of the label counts of all MultiEdges
+    //                          labels.size() == adj.size() and for each node n in adj.keySet(), labels.get(n.getLabel()) equals n
+    //                          if frozen != null, frozen has exactly the nodes and edges of this
+
+    /**Creates a new MultiLabelGraph with no nodes or edges, keeping labels in their natural order
+     * @spec.effects Constructs a new MultiLabelGraph with no nodes or edges
+     * @spec.requires Type parameters must be immutable objects and E must be Comparable to itself
+     */
+    public MultiLabelGraph(){
+        this(naturalOrder());
+    }
+
+    /**Creates a new MultiLabelGraph with no nodes or edges, keeping labels in the order of a comparator
+     *
+     * @param labelOrder The order the labels between two nodes are kept in. Labels it finds equal are the same label
+     * @throws IllegalArgumentException if labelOrder is null
+     * @spec.effects Constructs a new MultiLabelGraph with no nodes or edges
+     * @spec.requires Type parameters must be immutable objects
+     */
+    public MultiLabelGraph(Comparator<? super E> labelOrder){
+        if(labelOrder == null){
+            throw new IllegalArgumentException();
+        }
+        adj = new HashMap<>();
+        labels = new HashMap<>();
+        this.labelOrder = labelOrder;
+        checkRep();
+    }
+
+    /**Creates a MultiLabelGraph from the buffered nodes and edges of a GraphBuilder
+     *
+     * @param nodes The label of each node, indexed by the builder's node id
+     * @param sources The builder's source node id of each edge
+     * @param targets The builder's destination node id of each edge
+     * @param edgeLabels The label of each edge
+     * @param labelOrder The order the labels between two nodes are kept in
+     * @spec.requires nodes and edgeLabels hold no nulls, sources and targets hold at least edgeLabels.size() valid builder node ids,
+     *                labelOrder is not null
+     * @spec.effects Constructs a new MultiLabelGraph with the nodes and the distinct edges given
+     */
+    MultiLabelGraph(List<N> nodes, int[] sources, int[] targets, List<E> edgeLabels, Comparator<? super E> labelOrder){
+        this.labelOrder = labelOrder;
+        int nodeCount = nodes.size();
+        int count = edgeLabels.size();
+        List<DirectedLabeledGraph.Node<N>> nodeList = new ArrayList<>(nodeCount);
+        labels = new HashMap<>(nodeCount * 4 / 3 + 1);
+        for(N label : nodes){
+            DirectedLabeledGraph.Node<N> node = new DirectedLabeledGraph.Node<>(label);
+            nodeList.add(node);
+            labels.put(label, node);
+        }
+
+        //Group the edges by source, then sort each source's edges by destination so each destination's labels are one run
+        int[] offsets = new int[nodeCount + 1];
+        for(int e = 0; e < count; e++){
+            offsets[sources[e] + 1]++;
+        }
+        for(int i = 0; i < nodeCount; i++){
+            offsets[i + 1] += offsets[i];
+        }
+        long[] keys = new long[count];
+        int[] next = Arrays.copyOf(offsets, nodeCount);
+        for(int e = 0; e < count; e++){
+            keys[next[sources[e]]++] = (long) targets[e] << 32 | e;
+        }
+        adj = new HashMap<>(nodeCount * 4 / 3 + 1);
+        int total = 0;
+        for(int i = 0; i < nodeCount; i++){
+            Arrays.sort(keys, offsets[i], offsets[i + 1]);
+            HashMap<DirectedLabeledGraph.Node<N>, MultiEdge<N,E>> out = new HashMap<>();
+            int k = offsets[i];
+            while(k < offsets[i + 1]){
+                int target = (int) (keys[k] >>> 32);
+                int end = k;
+                while(end < offsets[i + 1] && (int) (keys[end] >>> 32) == target){
+                    end++;
+                }
+                Object[] run = new Object[end - k];
+                for(int r = 0; r < run.length; r++){
+                    run[r] = edgeLabels.get((int) keys[k + r]);
+                }
+                MultiEdge<N,E> edge = new MultiEdge<>(nodeList.get(target), sortedDistinct(run, labelOrder));
+                out.put(edge.getDestination(), edge);
+                total += edge.labelCount();
+                k = end;
+            }
+            adj.put(nodeList.get(i), out);
+        }
+        edgeCount = total;
+        checkRep();
+    }
+
+    /**Returns the natural order of a label type
+     *
+     * @param <E> The type of the labels
+     * @return A comparator that compares labels with compareTo
+     * @spec.requires the labels compared are Comparable to each other
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <E> Comparator<E> naturalOrder(){
+        return (a, b) -> ((Comparable) a).compareTo(b);
+    }
+
+    /**Sorts labels and drops repeats
+     *
+     * @param labels The labels, which are sorted in place
+     * @param order The order to sort labels in
+     * @return an array of the distinct labels in order, which may be labels itself
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> Object[] sortedDistinct(Object[] labels, Comparator<? super E> order){
+        Arrays.sort(labels, (a, b) -> order.compare((E) a, (E) b));
+        int kept = 0;
+        for(int k = 0; k < labels.length; k++){
+            if(k == 0 || order.compare((E) labels[k], (E) labels[kept - 1]) != 0){
+                labels[kept++] = labels[k];
+            }
+        }
+        return kept == labels.length ? labels : Arrays.copyOf(labels, kept);
+    }
+
+    /**Adds node to this without any ingoing or outgoing edges
+     *
+     * @param node The node to be added to the graph
+     * @return true if node was added to the graph and false if node was not added (already in graph)
+     * @spec.requires node is not null
+     * @spec.modifies this
+     * @spec.effects Adds node to this without any edges in or out of it or does not add to graph if node already in graph
+     */
+    @Override
+    public boolean addNode(DirectedLabeledGraph.Node<N> node){
+        checkRep();
+        if(node == null){
+            throw new IllegalArgumentException();
+        } else if(adj.containsKey(node)){
+            return false;
+        }
+        adj.put(node, new HashMap<>());
+        labels.put(node.getLabel(), node);
+        frozen = null;
+        checkRep();
+        return true;
+    }
+
+    /**Adds a node with label "label" to this without any ingoing or outgoing edges
+     *
+     * @param label The label of the node to be added to the graph
+     * @return true if node was added to the graph and false if node was not added (already in graph)
+     * @spec.requires label is not null
+     * @spec.modifies this
+     * @spec.effects Adds node with label without any edges in or out of it or does not add the node if node with label already in graph
+     */
+    @Override
+    public boolean addNode(N label){
+        if(label == null){
+            throw new IllegalArgumentException();
+        }
+        return addNode(new DirectedLabeledGraph.Node<>(label));
+    }
+
+    /**Adds an edge to this with label "label" between source and destination, inserting label in order into the
+     * MultiEdge from source to destination
+     *
+     * @param label The label of the edge to be added
+     * @param source The Node that the added edge comes out of
+     * @param destination The Node that the added edges goes into
+     * @return true if the edge was added and false if the edge was not added (edge between the two nodes with same label exists)
+     * @spec.requires source, destination and label are not null.
+     * @spec.modifies this
+     * @spec.effects Adds the given edge with the label "label" to this from the node source to the node destination or does not add the edge if it already exists.
+     *               If source or destination does not exist in the graph, addEdge will add the missing node into the graph and then add the edge
+     */
+    @Override
+    public boolean addEdge(E label, DirectedLabeledGraph.Node<N> source, DirectedLabeledGraph.Node<N> destination){
+        checkRep();
+        if(label == null || source == null || destination == null){
+            throw new IllegalArgumentException();
+        }
+        addNode(source);
+        addNode(destination);
+        HashMap<DirectedLabeledGraph.Node<N>, MultiEdge<N,E>> out = adj.get(source);
+        MultiEdge<N,E> edge = out.get(destination);
+        if(edge == null){
+            out.put(destination, new MultiEdge<>(destination, new Object[]{label}));
+        } else {
+            MultiEdge<N,E> added = edge.with(label, labelOrder);
+            if(added == edge){
+                return false;
+            }
+            out.put(destination, added);
+        }
+        edgeCount++;
+        frozen = null;
+        checkRep();
+        return true;
+    }
+
+    /**Removes the edge in this between source and destination
+     *
+     * @param label the label of the edge to be removed
+     * @param source The node that the edge to be removed comes out of
+     * @param destination The node that the edge to be removed goes into
+     * @return true if the edge between the nodes was removed and false if not (edge doesn't exist)
+     * @spec.requires source, destination and label are not null
+     * @spec.modifies this
+     * @spec.effects Removes the edge between source and destination in this or does nothing if the edge didn't exist
+     */
+    @Override
+    public boolean removeEdge(E label, DirectedLabeledGraph.Node<N> source, DirectedLabeledGraph.Node<N> destination){
+        checkRep();
+        if(label == null || source == null || destination == null){
+            throw new IllegalArgumentException();
+        }
+        HashMap<DirectedLabeledGraph.Node<N>, MultiEdge<N,E>> out = adj.get(source);
+        MultiEdge<N,E> edge = out == null ? null : out.get(destination);
+        if(edge == null){
+            return false;
+        }
+        MultiEdge<N,E> removed = edge.without(label, labelOrder);
+        if(removed == edge){
+            return false;
+        } else if(removed == null){
+            out.remove(destination);
+        } else {
+            out.put(destination, removed);
+        }
+        edgeCount--;
+        frozen = null;
+        checkRep();
+        return true;
+    }
+
+    /**Removes node from this
+     *
+     * @param node The node in this to be removed
+     * @return true if node was removed and false if node was not removed (node did not exist in graph)
+     * @spec.requires node is not null
+     * @spec.modifies this
+     * @spec.effects Removes node from this and removes all occurrences of node from this or does nothing if the node did not exist in the graph
+     */
+    @Override
+    public boolean removeNode(DirectedLabeledGraph.Node<N> node){
+        checkRep();
+        if(node == null){
+            throw new IllegalArgumentException();
+        }
+        HashMap<DirectedLabeledGraph.Node<N>, MultiEdge<N,E>> out = adj.remove(node);
+        if(out == null){
+            return false;
+        }
+        labels.remove(node.getLabel());
+        frozen = null;
+        for(MultiEdge<N,E> edge : out.values()){
+            edgeCount -= edge.labelCount();
+        }
+        for(HashMap<DirectedLabeledGraph.Node<N>, MultiEdge<N,E>> edges : adj.values()){
+            MultiEdge<N,E> into = edges.remove(node);
+            if(into != null){
+                edgeCount -= into.labelCount();
+            }
+        }
+        checkRep();
+        return true;
+    }
+
+    /**Removes node with label "label" from this
+     *
+     * @param label The label of the node to be removed
+     * @return true if node was removed and false if node was not removed (node did not exist in graph)
+     * @spec.requires label is not null
+     * @spec.modifies this
+     * @spec.effects Removes the node with label "label" from this and removes all occurrences of the node with "label" or does nothing if a node with "label" does not exist
+     */
+    @Override
+    public boolean removeNode(N label){
+        if(label == null){
+            throw new IllegalArgumentException();
+        }
+        return removeNode(new DirectedLabeledGraph.Node<>(label));
+    }
+
+    /**Returns a list of all of the nodes where there exists an edge from "node" to them.
+     *
+     * @param node The node whom's children will be in the list
+     * @return A list of all of the nodes where there exists an edge from "node" to them, listed once per edge
+     * @spec.requires node is not null, node exists in this
+     */
+    @Override
+    public List<DirectedLabeledGraph.Node<N>> listChildren(DirectedLabeledGraph.Node<N> node){
+        List<DirectedLabeledGraph.Node<N>> children = new ArrayList<>();
+        for(MultiEdge<N,E> edge : outgoing(node).values()){
+            for(int i = 0; i < edge.labelCount(); i++){
+                children.add(edge.getDestination());
+            }
+        }
+        return children;
+    }
+
+    /**Returns a list of all of the nodes where there exists an edge from them to "node".
+     *
+     * @param node The node whom's parents will be in the list
+     * @return A list of all of the nodes where there exists an edge from them to "node", listed once per edge
+     * @spec.requires node is not null, node exists in this
+     */
+    @Override
+    public List<DirectedLabeledGraph.Node<N>> listParents(DirectedLabeledGraph.Node<N> node){
+        List<DirectedLabeledGraph.Node<N>> parents = new ArrayList<>();
+        for(DirectedLabeledGraph.Edge<N,E> edge : getIncomingEdges(node)){
+            parents.add(edge.getDestination());
+        }
+        return parents;
+    }
+
+    /**Returns a set of the edges coming into node, each reversed so that its destination is the node the edge comes from.
+     * Costs O(nodes + edges into node), as this graph does not index incoming edges.
+     *
+     * @param node The node who's incoming edges will be returned
+     * @return A set of edges with the label of each edge into node and the node that edge comes from as its destination (empty set if no parents)
+     * @spec.requires node is not null and node is in the graph
+     */
+    @Override
+    public Set<DirectedLabeledGraph.Edge<N,E>> getIncomingEdges(DirectedLabeledGraph.Node<N> node){
+        outgoing(node);
+        Set<DirectedLabeledGraph.Edge<N,E>> edges = new HashSet<>();
+        for(Map.Entry<DirectedLabeledGraph.Node<N>, HashMap<DirectedLabeledGraph.Node<N>, MultiEdge<N,E>>> entry : adj.entrySet()){
+            MultiEdge<N,E> into = entry.getValue().get(node);
+            if(into != null){
+                for(int i = 0; i < into.labelCount(); i++){
+                    edges.add(new DirectedLabeledGraph.Edge<>(into.getLabel(i), entry.getKey()));
+                }
+            }
+        }
+        return edges;
+    }
+
+    /**Provides an iterator over all of the nodes in this. The iterator does not support remove and must not be used
+     * after this graph is modified
+     *
+     * @return An iterator over all of the nodes in this
+     */
+    @Override
+    public Iterator<DirectedLabeledGraph.Node<N>> iterator(){
+        return Collections.unmodifiableSet(adj.keySet()).iterator();
+    }
+
+    /**Returns a read-only view of the set of nodes in this graph. The view reflects later changes to this graph
+     *
+     * @return an unmodifiable view of the set of nodes that are in this
+     */
+    @Override
+    public Set<DirectedLabeledGraph.Node<N>> getNodes(){
+        return Collections.unmodifiableSet(adj.keySet());
+    }
+
+    /**Returns whether or not a node is in this graph
+     *
+     * @param node The node to look for
+     * @return true if node is in this and false otherwise
+     * @spec.requires node is not null
+     */
+    @Override
+    public boolean containsNode(DirectedLabeledGraph.Node<N> node){
+        if(node == null){
+            throw new IllegalArgumentException();
+        }
+        return adj.containsKey(node);
+    }
+
+    /**Returns the number of edges coming out of a node
+     *
+     * @param node The node whose out degree will be returned
+     * @return the number of edges coming out of node, counting each label of each MultiEdge
+     * @spec.requires node is not null and node is in the graph
+     */
+    @Override
+    public int outDegree(DirectedLabeledGraph.Node<N> node){
+        int degree = 0;
+        for(MultiEdge<N,E> edge : outgoing(node).values()){
+            degree += edge.labelCount();
+        }
+        return degree;
+    }
+
+    /**Returns the node with a specific label in this
+     *
+     * @param label The label of the node that should be returned
+     * @return The node in this with the label "label" or null if node does not exist in this
+     * @spec.requires label is not null
+     */
+    @Override
+    public DirectedLabeledGraph.Node<N> getNodeByName(String label){
+        if(label == null){
+            throw new IllegalArgumentException();
+        }
+        return labels.get(label);
+    }
+
+    /**Returns the node with a specific label in this in constant time
+     *
+     * @param label The label of the node that should be returned
+     * @return The node in this with the label "label" or null if node does not exist in this
+     * @spec.requires label is not null
+     */
+    @Override
+    public DirectedLabeledGraph.Node<N> getNode(N label){
+        if(label == null){
+            throw new IllegalArgumentException();
+        }
+        return labels.get(label);
+    }
+
+    /**Returns a set of the labels of the edges between two nodes, read from the one MultiEdge between them
+     *
+     * @param source The node that the edges in the returned set are coming out of
+     * @param destination The node that the edges in the returned set go into
+     * @return A set of the labels of the edges between source and destination (empty set if no edges between)
+     * @spec.requires source and destination are not null, source and destination both exist in the graph
+     */
+    @Override
+    public Set<E> getEdgesBetween(DirectedLabeledGraph.Node<N> source, DirectedLabeledGraph.Node<N> destination){
+        HashMap<DirectedLabeledGraph.Node<N>, MultiEdge<N,E>> out = outgoing(source);
+        if(destination == null || !adj.containsKey(destination)){
+            throw new IllegalArgumentException();
+        }
+        MultiEdge<N,E> edge = out.get(destination);
+        return edge == null ? new HashSet<>() : new HashSet<>(edge.getLabels());
+    }
+
+    /**Returns a set of the edges to children nodes of node, one Edge for each label of each MultiEdge out of node. Later
+     * changes to this are not reflected in the set
+     *
+     * @param node The node who's edges will be returned
+     * @return A new unmodifiable set of the edges to the children of node (empty set if no children)
+     * @spec.requires node is not null and node is in the graph
+     */
+    @Override
+    public Set<DirectedLabeledGraph.Edge<N,E>> getEdges(DirectedLabeledGraph.Node<N> node){
+        Set<DirectedLabeledGraph.Edge<N,E>> edges = new HashSet<>();
+        for(MultiEdge<N,E> edge : outgoing(node).values()){
+            for(int i = 0; i < edge.labelCount(); i++){
+                edges.add(new DirectedLabeledGraph.Edge<>(edge.getLabel(i), edge.getDestination()));
+            }
+        }
+        return Collections.unmodifiableSet(edges);
+    }
+
+    /**Returns a read-only view of the MultiEdges out of a node, one for each node it has edges to. The view reflects
+     * later changes to the outgoing edges of node
+     *
+     * @param node The node who's MultiEdges will be returned
+     * @return An unmodifiable view of the MultiEdges out of node (empty if no children)
+     * @spec.requires node is not null and node is in the graph
+     */
+    public Collection<MultiEdge<N,E>> getMultiEdges(DirectedLabeledGraph.Node<N> node){
+        return Collections.unmodifiableCollection(outgoing(node).values());
+    }
+
+    /**Returns the number of edges in this
+     *
+     * @return the number of labeled edges in this, counting each label of each MultiEdge
+     */
+    public int edgeCount(){
+        return edgeCount;
+    }
+
+    /**Returns the number of MultiEdges in this, which is the number of ordered pairs of nodes joined by an edge
+     *
+     * @return the number of MultiEdges in this
+     */
+    public int multiEdgeCount(){
+        int count = 0;
+        for(HashMap<DirectedLabeledGraph.Node<N>, MultiEdge<N,E>> out : adj.values()){
+            count += out.size();
+        }
+        return count;
+    }
+
+    /**Creates an immutable compressed snapshot of this for fast read-only traversal. The snapshot is kept until this
+     * next changes, so freezing an unchanged graph again returns the same snapshot without rebuilding it
+     *
+     * @return A FrozenGraph with the same nodes and edges as this. Later changes to this are not reflected in the snapshot
+     */
+    @Override
+    public FrozenGraph<N,E> freeze(){
+        checkRep();
+        if(frozen == null){
+            Map<DirectedLabeledGraph.Node<N>, Set<DirectedLabeledGraph.Edge<N,E>>> expanded = new HashMap<>(adj.size() * 4 / 3 + 1);
+            for(DirectedLabeledGraph.Node<N> node : adj.keySet()){
+                expanded.put(node, getEdges(node));
+            }
+            frozen = new FrozenGraph<>(expanded);
+        }
+        return frozen;
+    }
+
+    /**Removes all nodes and edges from this
+     *
+     * @spec.modifies this
+     * @spec.effects Removes all node and edges from this, resulting in a empty graph
+     */
+    @Override
+    public void clear(){
+        adj.clear();
+        labels.clear();
+        edgeCount = 0;
+        frozen = null;
+        checkRep();
+    }
+
+    /**Returns the MultiEdges out of a node, keyed by destination
+     *
+     * @param node The node
+     * @return the map of the MultiEdges out of node
+     * @throws IllegalArgumentException if node is null or not in this
+     */
+    private HashMap<DirectedLabeledGraph.Node<N>, MultiEdge<N,E>> outgoing(DirectedLabeledGraph.Node<N> node){
+        if(node == null){
+            throw new IllegalArgumentException();
+        }
+        HashMap<DirectedLabeledGraph.Node<N>, MultiEdge<N,E>> out = adj.get(node);
+        if(out == null){
+            throw new IllegalArgumentException();
+        }
+        return out;
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated
+     */
+    private void checkRep(){
+        assert adj != null && labels != null && labelOrder != null;
+        assert edgeCount >= 0;
+        if(DEBUG) {
+            assert labels.size() == adj.size() : "label index size differs";
+            int count = 0;
+            for (DirectedLabeledGraph.Node<N> node : adj.keySet()) {
+                assert node != null : "null node";
+                assert node.equals(labels.get(node.getLabel())) : "label index missing node";
+                for (Map.Entry<DirectedLabeledGraph.Node<N>, MultiEdge<N,E>> entry : adj.get(node).entrySet()) {
+                    assert adj.containsKey(entry.getKey()) : "edge with destination not in graph";
+                    assert entry.getValue().getDestination().equals(entry.getKey()) : "edge keyed by another destination";
+                    assert entry.getValue().labelCount() > 0 : "edge with no labels";
+                    for (int i = 1; i < entry.getValue().labelCount(); i++) {
+                        assert labelOrder.compare(entry.getValue().getLabel(i - 1), entry.getValue().getLabel(i)) < 0 : "labels out of order";
+                    }
+                    count += entry.getValue().labelCount();
+                }
+            }
+            assert count == edgeCount : "edge count differs";
+        }
+    }
+
+    /**
+     * <b>MultiEdge</b> represents all of the edges from one node to one other node in a MultiLabelGraph: an immutable
+     * destination node with one or more distinct labels, kept sorted in the graph's label order.
+     *
+     * <p>Specification fields:
+     * @spec.specfield destination : Node //The node the edges go into
+     * @spec.specfield labels : List(E) //The labels of the edges, in the graph's label order</p>
+     *
+     * Type Parameter N is the data type of the destination node's label.
+     * Type Parameter E is the data type of the edge labels.
+     */
+    public static final class MultiEdge<N,E> {
+
+        /**
+         * The node the edges go into
+         */
+        private final DirectedLabeledGraph.Node<N> destination;
+
+        /**
+         * The labels of the edges, in order
+         */
+        private final Object[] labels;
+
+        //Abstraction Function: MultiEdge represents the edges to destination with the labels labels[0] to labels[labels.length - 1], in that order
+
+        //Representation Invariant: destination != null, labels != null, labels.length > 0 and no element of labels is null
+
+        /**Creates a MultiEdge that owns an array of labels
+         *
+         * @param destination The node the edges go into
+         * @param labels The labels of the edges, which this keeps
+         * @spec.requires destination is not null, labels is non-empty, holds no nulls and is sorted without repeats in the graph's label order
+         */
+        MultiEdge(DirectedLabeledGraph.Node<N> destination, Object[] labels){
+            this.destination = destination;
+            this.labels = labels;
+            checkRep();
+        }
+
+        /**Returns the node the edges go into
+         *
+         * @return destination
+         */
+        public DirectedLabeledGraph.Node<N> getDestination(){
+            return destination;
+        }
+
+        /**Returns the number of labels, which is the number of edges this stands for
+         *
+         * @return the number of labels, at least 1
+         */
+        public int labelCount(){
+            return labels.length;
+        }
+
+        /**Returns one of the labels
+         *
+         * @param index The position of the label in order
+         * @return the label at position index, so that getLabel(0) is the first label in the graph's label order
+         * @spec.requires 0 &lt;= index &lt; labelCount()
+         */
+        @SuppressWarnings("unchecked")
+        public E getLabel(int index){
+            return (E) labels[index];
+        }
+
+        /**Returns the labels in order
+         *
+         * @return an unmodifiable list of the labels, in the graph's label order
+         */
+        @SuppressWarnings("unchecked")
+        public List<E> getLabels(){
+            return Collections.unmodifiableList(Arrays.asList((E[]) labels));
+        }
+
+        /**Returns a MultiEdge with a label added
+         *
+         * @param label The label to add
+         * @param order The graph's label order
+         * @return this if label is already a label of this, otherwise a new MultiEdge with label inserted in order
+         */
+        @SuppressWarnings("unchecked")
+        MultiEdge<N,E> with(E label, Comparator<? super E> order){
+            int at = Arrays.binarySearch((E[]) labels, label, order);
+            if(at >= 0){
+                return this;
+            }
+            int insert = -at - 1;
+            Object[] added = new Object[labels.length + 1];
+            System.arraycopy(labels, 0, added, 0, insert);
+            added[insert] = label;
+            System.arraycopy(labels, insert, added, insert + 1, labels.length - insert);
+            return new MultiEdge<>(destination, added);
+        }
+
+        /**Returns a MultiEdge with a label removed
+         *
+         * @param label The label to remove
+         * @param order The graph's label order
+         * @return this if label is not a label of this, null if it is the only label, and otherwise a new MultiEdge without label
+         */
+        @SuppressWarnings("unchecked")
+        MultiEdge<N,E> without(E label, Comparator<? super E> order){
+            int at = Arrays.binarySearch((E[]) labels, label, order);
+            if(at < 0){
+                return this;
+            } else if(labels.length == 1){
+                return null;
+            }
+            Object[] removed = new Object[labels.length - 1];
+            System.arraycopy(labels, 0, removed, 0, at);
+            System.arraycopy(labels, at + 1, removed, at, labels.length - at - 1);
+            return new MultiEdge<>(destination, removed);
+        }
+
+        /**
+         * Standard hashCode function.
+         *
+         * @return an int that all objects equal to this will also return
+         */
+        @Override
+        public int hashCode(){
+            return 31 * destination.hashCode() + Arrays.hashCode(labels);
+        }
+
+        /**
+         * Standard equality operation.
+         *
+         * @param obj the object to be compared for equality
+         * @return true if and only if 'obj' is a MultiEdge with an equal destination and equal labels in the same order
+         */
+        @Override
+        public boolean equals(Object obj){
+            if(obj instanceof MultiEdge<?,?>){
+                MultiEdge<?,?> edge = (MultiEdge<?,?>) obj;
+                return destination.equals(edge.destination) && Arrays.equals(labels, edge.labels);
+            }
+            return false;
+        }
+
+        /**
+         * Throws an exception if the representation invariant is violated
+         */
+        private void checkRep(){
+            assert destination != null && labels != null && labels.length > 0;
+        }
+    }
+}
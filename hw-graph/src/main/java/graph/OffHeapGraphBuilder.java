@@ -0,0 +1,306 @@
+package graph;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * <b>OffHeapGraphBuilder</b> builds weighted graphs too large to hold as one object per edge. Added edges are staged
+ * in fixed size direct ByteBuffers, and build() lays the graph out in the binary graph format in a single direct
+ * ByteBuffer, returning a BufferGraph that reads from it. Only the node labels and a few int arrays indexed by node
+ * id live on the heap, so heap use and GC pauses depend on the number of nodes, not on the number of edges.
+ *
+ * <p>As in a DirectedLabeledGraph, an edge added more than once with the same weight is held once. The outgoing
+ * edges of each node in the built graph are ordered by destination node id, and edges to the same destination by the
+ * order they were first added. A built graph can be at most 2 GiB in the binary format, about 170 million edges.</p>
+ *
+ * <p>Specification fields:
+ * @spec.specfield nodes : Set(Nodes) //The nodes added so far
+ * @spec.specfield edges : List(Edges) //The weighted edges added so far, in order and possibly with duplicates</p>
+ *
+ * Type Parameter N is the data type that will be held in the nodes of the built graph.
+ */
+public final class OffHeapGraphBuilder<N> {
+
+    /**
+     * The number of staged edges each staging chunk holds
+     */
+    private static final int CHUNK_EDGES = 1 << 16;
+
+    /**
+     * The size in bytes of one staged edge: an int source id, an int destination id and a double weight
+     */
+    private static final int STAGED_BYTES = 16;
+
+    /**
+     * Turns each node label into the string stored in the graph's dictionary
+     */
+    private final Function<? super N, String> nodeEncoder;
+
+    /**
+     * Maps each node label added so far to its node id
+     */
+    private final HashMap<N, Integer> ids;
+
+    /**
+     * The label of each node, indexed by node id
+     */
+    private final ArrayList<N> nodeLabels;
+
+    /**
+     * Direct buffers holding the staged edges, each full except possibly the last
+     */
+    private final ArrayList<ByteBuffer> chunks;
+
+    /**
+     * The number of edges staged so far
+     */
+    private long stagedEdges;
+
+    /**
+     * True once build() has been called, after which this builder cannot be used
+     */
+    private boolean built;
+
+    //Abstract Invariant: nodeLabels holds the nodes added so far, in the order they were first added. The i-th edge added is the
+    //                    record at byte STAGED_BYTES * (i % CHUNK_EDGES) of chunks.get(i / CHUNK_EDGES).
+
+    //Representation Invariant: nodeEncoder, ids, nodeLabels and chunks are not null
+    //                          ids.get(nodeLabels.get(i)) == i for all 0 <= i < nodeLabels.size() and ids.size() == nodeLabels.size()
+    //                          chunks.size() == ceil(stagedEdges / CHUNK_EDGES) unless built, and every staged id is a valid node id
+
+    /**Creates a new OffHeapGraphBuilder with no nodes or edges
+     *
+     * @param nodeEncoder Turns each node label into the string stored for it in the built graph, which must differ for different labels
+     * @throws IllegalArgumentException if nodeEncoder is null
+     * @spec.effects Constructs a new OffHeapGraphBuilder with no nodes or edges
+     * @spec.requires Type parameter must be immutable objects
+     */
+    public OffHeapGraphBuilder(Function<? super N, String> nodeEncoder){
+        if(nodeEncoder == null){
+            throw new IllegalArgumentException();
+        }
+        this.nodeEncoder = nodeEncoder;
+        ids = new HashMap<>();
+        nodeLabels = new ArrayList<>();
+        chunks = new ArrayList<>();
+        checkRep();
+    }
+
+    /**Adds a node with label "label" to this if it has not been added already
+     *
+     * @param label The label of the node to add
+     * @return this builder
+     * @throws IllegalArgumentException if label is null
+     * @throws IllegalStateException if build() has already been called
+     * @spec.modifies this
+     * @spec.effects Adds a node with label "label" to nodes if no such node is in nodes
+     */
+    public OffHeapGraphBuilder<N> addNode(N label){
+        if(label == null){
+            throw new IllegalArgumentException();
+        }
+        requireNotBuilt();
+        idFor(label);
+        return this;
+    }
+
+    /**Adds an edge with weight "weight" from the node labeled source to the node labeled destination, adding either
+     * node if it has not been added already
+     *
+     * @param source The label of the node the edge comes out of
+     * @param destination The label of the node the edge goes into
+     * @param weight The weight of the edge
+     * @return this builder
+     * @throws IllegalArgumentException if source or destination is null
+     * @throws IllegalStateException if build() has already been called
+     * @spec.modifies this
+     * @spec.effects Adds source and destination to nodes if they are missing and appends the edge to edges
+     */
+    public OffHeapGraphBuilder<N> addEdge(N source, N destination, double weight){
+        if(source == null || destination == null){
+            throw new IllegalArgumentException();
+        }
+        requireNotBuilt();
+        int from = idFor(source);
+        int to = idFor(destination);
+        int slot = (int) (stagedEdges % CHUNK_EDGES);
+        if(slot == 0){
+            chunks.add(ByteBuffer.allocateDirect(CHUNK_EDGES * STAGED_BYTES));
+        }
+        chunks.get(chunks.size() - 1).putInt(from).putInt(to).putDouble(weight);
+        stagedEdges++;
+        return this;
+    }
+
+    /**Builds the graph in a direct ByteBuffer and releases the staged edges. This builder cannot be used afterwards.
+     *
+     * @return A new BufferGraph with exactly the nodes and the distinct edges added to this, stored off the heap
+     * @throws IllegalArgumentException if the graph is too large for the binary format or two node labels encode to the same string
+     * @throws IllegalStateException if build() has already been called
+     * @spec.modifies this
+     */
+    @SuppressWarnings("unchecked")
+    public BufferGraph<N> build(){
+        requireNotBuilt();
+        checkRep();
+        built = true;
+        int nodeCount = nodeLabels.size();
+        if(stagedEdges > Integer.MAX_VALUE / 12){
+            throw new IllegalArgumentException("Graph too large for the binary format");
+        }
+        int staged = (int) stagedEdges;
+
+        //Scatter the staged edges into per-source buckets with a counting sort
+        int[] offsets = new int[nodeCount + 1];
+        forEachStaged((source, target, weight) -> offsets[source + 1]++);
+        for(int i = 0; i < nodeCount; i++){
+            offsets[i + 1] += offsets[i];
+        }
+        ByteBuffer bucketTargets = ByteBuffer.allocateDirect(4 * Math.max(staged, 1));
+        ByteBuffer bucketWeights = ByteBuffer.allocateDirect(8 * Math.max(staged, 1));
+        int[] next = Arrays.copyOf(offsets, nodeCount);
+        forEachStaged((source, target, weight) -> {
+            int slot = next[source]++;
+            bucketTargets.putInt(4 * slot, target);
+            bucketWeights.putDouble(8 * slot, weight);
+        });
+        chunks.clear();
+
+        //Order each bucket by target and drop duplicate edges, compacting the buckets towards the front
+        int maxDegree = 0;
+        for(int i = 0; i < nodeCount; i++){
+            maxDegree = Math.max(maxDegree, offsets[i + 1] - offsets[i]);
+        }
+        long[] keys = new long[maxDegree];
+        int[] bucketTarget = new int[maxDegree];
+        double[] bucketWeight = new double[maxDegree];
+        int[] degrees = new int[nodeCount];
+        int write = 0;
+        for(int i = 0; i < nodeCount; i++){
+            int start = offsets[i];
+            int degree = offsets[i + 1] - start;
+            for(int k = 0; k < degree; k++){
+                bucketTarget[k] = bucketTargets.getInt(4 * (start + k));
+                bucketWeight[k] = bucketWeights.getDouble(8 * (start + k));
+                keys[k] = ((long) bucketTarget[k] << 32) | k;
+            }
+            Arrays.sort(keys, 0, degree);
+            int nodeStart = write;
+            for(int k = 0; k < degree; k++){
+                int target = bucketTarget[(int) keys[k]];
+                double weight = bucketWeight[(int) keys[k]];
+                boolean duplicate = false;
+                for(int d = write - 1; d >= nodeStart && bucketTargets.getInt(4 * d) == target; d--){
+                    if(Double.compare(bucketWeights.getDouble(8 * d), weight) == 0){
+                        duplicate = true;
+                        break;
+                    }
+                }
+                if(!duplicate){
+                    //write never passes start + k, so this only overwrites slots already copied out
+                    bucketTargets.putInt(4 * write, target);
+                    bucketWeights.putDouble(8 * write, weight);
+                    write++;
+                }
+            }
+            degrees[i] = write - nodeStart;
+        }
+        int edgeCount = write;
+
+        //Lay the deduplicated graph out in the binary format
+        List<byte[]> strings = new ArrayList<>(nodeCount);
+        Set<String> seen = new HashSet<>(nodeCount * 4 / 3 + 1);
+        int[] nodeStrings = new int[nodeCount];
+        for(int i = 0; i < nodeCount; i++){
+            String encoded = nodeEncoder.apply(nodeLabels.get(i));
+            if(encoded == null || !seen.add(encoded)){
+                throw new IllegalArgumentException("Node labels must encode to distinct non-null strings");
+            }
+            strings.add(encoded.getBytes(StandardCharsets.UTF_8));
+            nodeStrings[i] = i;
+        }
+        ByteBuffer out = BufferGraph.startBuffer(true, true, nodeCount, edgeCount, strings, nodeStrings);
+        int offset = 0;
+        for(int i = 0; i < nodeCount; i++){
+            out.putInt(offset);
+            offset += degrees[i];
+        }
+        out.putInt(edgeCount);
+        for(int e = 0; e < edgeCount; e++){
+            out.putInt(bucketTargets.getInt(4 * e));
+        }
+        out.position(BufferGraph.align(out.position()));
+        for(int e = 0; e < edgeCount; e++){
+            out.putDouble(bucketWeights.getDouble(8 * e));
+        }
+        assert !out.hasRemaining() : "graph size miscounted";
+        out.clear();
+        return new BufferGraph<>(out, (N[]) nodeLabels.toArray());
+    }
+
+    /**Returns the id of the node labeled label, adding the node if it is missing
+     *
+     * @param label The label of the node
+     * @spec.requires label is not null
+     * @return the id of the node labeled label
+     */
+    private int idFor(N label){
+        Integer id = ids.get(label);
+        if(id == null){
+            id = nodeLabels.size();
+            ids.put(label, id);
+            nodeLabels.add(label);
+        }
+        return id;
+    }
+
+    /**Passes every staged edge to consumer in the order the edges were added
+     *
+     * @param consumer The callback that receives each staged edge
+     */
+    private void forEachStaged(StagedEdgeConsumer consumer){
+        long remaining = stagedEdges;
+        for(ByteBuffer chunk : chunks){
+            int count = (int) Math.min(remaining, CHUNK_EDGES);
+            for(int k = 0; k < count; k++){
+                int at = k * STAGED_BYTES;
+                consumer.accept(chunk.getInt(at), chunk.getInt(at + 4), chunk.getDouble(at + 8));
+            }
+            remaining -= count;
+        }
+    }
+
+    /**Throws an IllegalStateException if build() has been called
+     */
+    private void requireNotBuilt(){
+        if(built){
+            throw new IllegalStateException("Builder already built");
+        }
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated
+     */
+    private void checkRep(){
+        assert nodeEncoder != null && ids != null && nodeLabels != null && chunks != null;
+        assert ids.size() == nodeLabels.size();
+        assert built || chunks.size() == (stagedEdges + CHUNK_EDGES - 1) / CHUNK_EDGES;
+    }
+
+    /**
+     * <b>StagedEdgeConsumer</b> receives staged edges one at a time as primitive values
+     */
+    @FunctionalInterface
+    private interface StagedEdgeConsumer {
+
+        /**Accepts a single staged edge
+         *
+         * @param source The id of the node the edge comes out of
+         * @param target The id of the node the edge goes into
+         * @param weight The weight of the edge
+         */
+        void accept(int source, int target, double weight);
+    }
+}
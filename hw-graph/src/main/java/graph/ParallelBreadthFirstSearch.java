@@ -0,0 +1,270 @@
+package graph;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * ParallelBreadthFirstSearch finds fewest-edge paths in a FrozenGraph with a level-synchronous breadth first search
+ * whose frontiers are expanded by fork-join workers.
+ *
+ * <p>The path found is the one a sequential breadth first search finds when it expands the children of each node in
+ * order of node id and, among parallel edges to the same child, takes the least edge label. For Comparable node labels
+ * FrozenGraph ids follow label order, so this is the usual lexicographic tie-break. To get the same answer in parallel,
+ * each newly reached node records the least frontier position that reached it, and the next frontier is put in
+ * (parent position, node id) order before it is expanded.</p>
+ */
+public final class ParallelBreadthFirstSearch {
+
+    /**
+     * Frontiers with fewer nodes than this are expanded by a single task
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 256;
+
+    /**
+     * Marks a node that was settled in an earlier level in the claims array
+     */
+    private static final int SETTLED = -1;
+
+    /**
+     * Marks a node that has not been reached in the claims array
+     */
+    private static final int UNCLAIMED = Integer.MAX_VALUE;
+
+    //This class does not represent an ADT.
+
+    private ParallelBreadthFirstSearch(){
+    }
+
+    /**Finds the shortest path between two nodes using the common fork-join pool
+     *
+     * @param graph The graph to search
+     * @param start The label of the node the path should begin at
+     * @param end The label of the node the path should arrive at
+     * @param edgeOrder The order used to choose between parallel edges from a parent to the same child
+     * @param <N> The type of the node labels
+     * @param <E> The type of the edge labels
+     * @return The edges of the shortest path from start to end, not including start (empty if start equals end), or null if end cannot be reached
+     * @throws IllegalArgumentException if any argument is null or start is not a node in graph
+     */
+    public static <N,E> List<DirectedLabeledGraph.Edge<N,E>> findPath(FrozenGraph<N,E> graph, N start, N end, Comparator<? super E> edgeOrder){
+        return findPath(graph, start, end, edgeOrder, ForkJoinPool.commonPool());
+    }
+
+    /**Finds the shortest path between two nodes using the workers of a given fork-join pool
+     *
+     * @param graph The graph to search
+     * @param start The label of the node the path should begin at
+     * @param end The label of the node the path should arrive at
+     * @param edgeOrder The order used to choose between parallel edges from a parent to the same child
+     * @param pool The pool whose workers expand each frontier
+     * @param <N> The type of the node labels
+     * @param <E> The type of the edge labels
+     * @return The edges of the shortest path from start to end, not including start (empty if start equals end), or null if end cannot be reached
+     * @throws IllegalArgumentException if any argument is null or start is not a node in graph
+     */
+    public static <N,E> List<DirectedLabeledGraph.Edge<N,E>> findPath(FrozenGraph<N,E> graph, N start, N end,
+                                                                        Comparator<? super E> edgeOrder, ForkJoinPool pool){
+        if(graph == null || start == null || end == null || edgeOrder == null || pool == null){
+            throw new IllegalArgumentException();
+        }
+        int source = graph.idOf(start);
+        if(source == -1){
+            throw new IllegalArgumentException();
+        }
+        int target = graph.idOf(end);
+        if(target == -1){
+            return null;
+        }
+        int[] parentEdge = search(graph, source, target, edgeOrder, pool);
+        if(parentEdge == null){
+            return null;
+        }
+        List<DirectedLabeledGraph.Edge<N,E>> path = new ArrayList<>();
+        for(int node = target; node != source; ){
+            int e = parentEdge[node];
+            path.add(new DirectedLabeledGraph.Edge<>(graph.edgeLabel(e), new DirectedLabeledGraph.Node<>(graph.labelOf(node))));
+            node = parentOf(graph, e);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**Runs the level-synchronous search until target is settled or every reachable node has been
+     *
+     * @param graph The graph to search
+     * @param source The id of the start node
+     * @param target The id of the end node
+     * @param edgeOrder The order used to choose between parallel edges
+     * @param pool The pool whose workers expand each frontier
+     * @return The index of the edge used to reach each settled node (undefined for source and unsettled nodes), or null if target cannot be reached
+     */
+    private static <E> int[] search(FrozenGraph<?,E> graph, int source, int target, Comparator<? super E> edgeOrder, ForkJoinPool pool){
+        int nodeCount = graph.nodeCount();
+        AtomicLongArray settled = new AtomicLongArray((nodeCount + 63) >>> 6);
+        AtomicIntegerArray claims = new AtomicIntegerArray(nodeCount);
+        for(int i = 0; i < nodeCount; i++){
+            claims.set(i, UNCLAIMED);
+        }
+        int[] parentEdge = new int[nodeCount];
+        settle(settled, claims, source);
+
+        int[] frontier = {source};
+        while(frontier.length > 0 && source != target){
+            int[] next = pool.invoke(new Expand(graph, frontier, 0, frontier.length, settled, claims));
+
+            //Order the next frontier as the sequential search would have queued it, by parent position and then id
+            long[] keys = new long[next.length];
+            for(int k = 0; k < next.length; k++){
+                keys[k] = ((long) claims.get(next[k]) << 32) | next[k];
+            }
+            Arrays.parallelSort(keys);
+            boolean found = false;
+            for(int k = 0; k < keys.length; k++){
+                int node = (int) keys[k];
+                int parent = frontier[(int) (keys[k] >>> 32)];
+                parentEdge[node] = leastEdge(graph, parent, node, edgeOrder);
+                next[k] = node;
+                found |= node == target;
+            }
+            for(int node : next){
+                settle(settled, claims, node);
+            }
+            if(found){
+                return parentEdge;
+            }
+            frontier = next;
+        }
+        return source == target ? parentEdge : null;
+    }
+
+    /**Marks a node as settled in an earlier level
+     *
+     * @param settled The settled bitset
+     * @param claims The least frontier position that reached each node this level
+     * @param node The id of the node to settle
+     */
+    private static void settle(AtomicLongArray settled, AtomicIntegerArray claims, int node){
+        long bit = 1L << node;
+        int word = node >>> 6;
+        long old;
+        do {
+            old = settled.get(word);
+        } while(!settled.compareAndSet(word, old, old | bit));
+        claims.set(node, SETTLED);
+    }
+
+    /**Returns the least edge, by edge label, from parent to child
+     *
+     * @param graph The graph holding the edges
+     * @param parent The id of the parent node
+     * @param child The id of the child node
+     * @param edgeOrder The order of the edge labels
+     * @return The index of the least edge from parent to child
+     * @spec.requires there is an edge from parent to child
+     */
+    private static <E> int leastEdge(FrozenGraph<?,E> graph, int parent, int child, Comparator<? super E> edgeOrder){
+        int best = -1;
+        for(int e = graph.edgeStart(parent); e < graph.edgeEnd(parent); e++){
+            if(graph.target(e) == child && (best == -1 || edgeOrder.compare(graph.edgeLabel(e), graph.edgeLabel(best)) < 0)){
+                best = e;
+            }
+        }
+        return best;
+    }
+
+    /**Returns the id of the node an edge comes out of
+     *
+     * @param graph The graph holding the edge
+     * @param edge The index of the edge
+     * @return The id of the node whose outgoing edges include edge
+     */
+    private static int parentOf(IntAdjacency<?> graph, int edge){
+        int low = 0;
+        int high = graph.nodeCount() - 1;
+        while(low < high){ //Find the last node whose edges start at or before edge, which is the one edge belongs to
+            int mid = (low + high + 1) >>> 1;
+            if(graph.edgeStart(mid) <= edge){
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * A fork-join task that expands a range of the frontier and returns the nodes it reached first
+     */
+    private static final class Expand extends RecursiveTask<int[]> {
+
+        private final IntAdjacency<?> graph;
+        private final int[] frontier;
+        private final int from, to;
+        private final AtomicLongArray settled;
+        private final AtomicIntegerArray claims;
+
+        //Abstraction Function: expands the frontier positions from (inclusive) to to (exclusive)
+        //Representation Invariant: 0 <= from <= to <= frontier.length
+
+        Expand(IntAdjacency<?> graph, int[] frontier, int from, int to, AtomicLongArray settled, AtomicIntegerArray claims){
+            this.graph = graph;
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+            this.settled = settled;
+            this.claims = claims;
+        }
+
+        @Override
+        protected int[] compute(){
+            if(to - from <= SEQUENTIAL_THRESHOLD){
+                return expand();
+            }
+            int mid = (from + to) >>> 1;
+            Expand left = new Expand(graph, frontier, from, mid, settled, claims);
+            left.fork();
+            int[] right = new Expand(graph, frontier, mid, to, settled, claims).compute();
+            int[] leftNodes = left.join();
+            int[] both = Arrays.copyOf(leftNodes, leftNodes.length + right.length);
+            System.arraycopy(right, 0, both, leftNodes.length, right.length);
+            return both;
+        }
+
+        /**Expands this task's range of the frontier into a buffer owned by this task
+         *
+         * @return The ids of the nodes this task was first to reach
+         */
+        private int[] expand(){
+            int[] reached = new int[16];
+            int count = 0;
+            for(int position = from; position < to; position++){
+                int node = frontier[position];
+                for(int e = graph.edgeStart(node); e < graph.edgeEnd(node); e++){
+                    int child = graph.target(e);
+                    if((settled.get(child >>> 6) & (1L << child)) != 0){
+                        continue;
+                    }
+                    //Lower the claim to this position, remembering whether this task made the first claim
+                    int claim = claims.get(child);
+                    while(position < claim && claim != SETTLED){
+                        int seen = claims.compareAndExchange(child, claim, position);
+                        if(seen == claim){
+                            break;
+                        }
+                        claim = seen;
+                    }
+                    if(claim == UNCLAIMED){
+                        if(count == reached.length){
+                            reached = Arrays.copyOf(reached, count * 2);
+                        }
+                        reached[count++] = child;
+                    }
+                }
+            }
+            return Arrays.copyOf(reached, count);
+        }
+    }
+}
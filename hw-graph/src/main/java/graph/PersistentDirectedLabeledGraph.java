@@ -0,0 +1,417 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * <b>PersistentDirectedLabeledGraph</b> represents an immutable directed labeled graph with cheap edits. Every edit returns a
+ * new version of the graph in O(log n) time that shares all unchanged structure with the version it was made from, and
+ * leaves that version untouched. A reader holding a version therefore sees a consistent snapshot for as long as it keeps the
+ * reference, while a writer publishes new versions, for example through an AtomicReference.
+ *
+ * <p>Specification fields:
+ * @spec.specfield nodes : Set(Nodes) //The nodes in the graph
+ * @spec.specfield edges : Set(Edges) //The labeled edges in the graph</p>
+ *
+ * <p>Abstract Invariant:
+ * Two of the same node cannot be in the graph and each edge with the same parent and child must have different labels</p>
+ *
+ * Type Parameter N is the data type that will be held in the nodes of this PersistentDirectedLabeledGraph.
+ * Type Parameter E is the data type that will be held in the edges of this PersistentDirectedLabeledGraph.
+ */
+public final class PersistentDirectedLabeledGraph<N,E> implements Iterable<DirectedLabeledGraph.Node<N>> {
+
+    /**
+     * The shared empty graph
+     */
+    @SuppressWarnings("rawtypes")
+    private static final PersistentDirectedLabeledGraph EMPTY =
+            new PersistentDirectedLabeledGraph<>(PersistentHashMap.empty(), PersistentHashMap.empty(), 0);
+
+    /**
+     * Maps each node to the set of its outgoing edges, each set stored as a map from edge to Boolean.TRUE
+     */
+    private final PersistentHashMap<DirectedLabeledGraph.Node<N>, PersistentHashMap<DirectedLabeledGraph.Edge<N,E>, Boolean>> out;
+
+    /**
+     * Maps each node to the set of its incoming edges, where the destination of each stored edge is the node the edge comes from
+     */
+    private final PersistentHashMap<DirectedLabeledGraph.Node<N>, PersistentHashMap<DirectedLabeledGraph.Edge<N,E>, Boolean>> in;
+
+    /**
+     * The number of edges in this graph
+     */
+    private final int edgeCount;
+
+    //Abstract Invariant: the keys of out are the nodes of this graph. For each node n, each key e of out.get(n) is an edge from n
+    //                    to e's destination with e's label. in holds the same edges reversed.
+    //Representation Invariant: out and in are not null, out and in have the same key set,
+    //                          for all nodes a, b and labels l, out.get(a) contains Edge(l, b) if and only if in.get(b) contains Edge(l, a),
+    //                          edgeCount is the total size of the sets in out
+
+    /**Creates a graph version from its maps
+     *
+     * @param out The outgoing edge sets of each node
+     * @param in The incoming edge sets of each node
+     * @param edgeCount The number of edges
+     */
+    private PersistentDirectedLabeledGraph(PersistentHashMap<DirectedLabeledGraph.Node<N>, PersistentHashMap<DirectedLabeledGraph.Edge<N,E>, Boolean>> out,
+                                           PersistentHashMap<DirectedLabeledGraph.Node<N>, PersistentHashMap<DirectedLabeledGraph.Edge<N,E>, Boolean>> in,
+                                           int edgeCount){
+        this.out = out;
+        this.in = in;
+        this.edgeCount = edgeCount;
+        checkRep();
+    }
+
+    /**Returns the empty graph
+     *
+     * @param <N> The type of the node labels
+     * @param <E> The type of the edge labels
+     * @return a PersistentDirectedLabeledGraph with no nodes or edges
+     */
+    @SuppressWarnings("unchecked")
+    public static <N,E> PersistentDirectedLabeledGraph<N,E> empty(){
+        return (PersistentDirectedLabeledGraph<N,E>) EMPTY;
+    }
+
+    /**Creates a persistent copy of a graph
+     *
+     * @param graph The graph to copy
+     * @param <N> The type of the node labels
+     * @param <E> The type of the edge labels
+     * @return a PersistentDirectedLabeledGraph with the same nodes and edges as graph
+     * @throws IllegalArgumentException if graph is null
+     */
+    public static <N,E> PersistentDirectedLabeledGraph<N,E> of(LabeledGraph<N,E> graph){
+        if(graph == null){
+            throw new IllegalArgumentException();
+        }
+        PersistentDirectedLabeledGraph<N,E> result = empty();
+        for(DirectedLabeledGraph.Node<N> node : graph){
+            result = result.withNode(node);
+            for(DirectedLabeledGraph.Edge<N,E> edge : graph.getEdges(node)){
+                result = result.withEdge(edge.getLabel(), node, edge.getDestination());
+            }
+        }
+        return result;
+    }
+
+    /**Returns a version of this with an added node
+     *
+     * @param node The node to be added to the graph
+     * @return this if node is already in this, otherwise a new version with node added without any edges
+     * @spec.requires node is not null
+     */
+    public PersistentDirectedLabeledGraph<N,E> withNode(DirectedLabeledGraph.Node<N> node){
+        if(node == null){
+            throw new IllegalArgumentException();
+        }
+        if(out.containsKey(node)){
+            return this;
+        }
+        return new PersistentDirectedLabeledGraph<>(out.put(node, PersistentHashMap.empty()), in.put(node, PersistentHashMap.empty()), edgeCount);
+    }
+
+    /**Returns a version of this with an added node with label "label"
+     *
+     * @param label The label of the node to be added to the graph
+     * @return this if the node is already in this, otherwise a new version with the node added without any edges
+     * @spec.requires label is not null
+     */
+    public PersistentDirectedLabeledGraph<N,E> withNode(N label){
+        if(label == null){
+            throw new IllegalArgumentException();
+        }
+        return withNode(new DirectedLabeledGraph.Node<>(label));
+    }
+
+    /**Returns a version of this with an added edge with label "label" from source to destination
+     *
+     * @param label The label of the edge to be added
+     * @param source The Node that the added edge comes out of
+     * @param destination The Node that the added edges goes into
+     * @return this if the edge is already in this, otherwise a new version with the edge added. Missing source or destination
+     *         nodes are added as well
+     * @spec.requires source, destination and label are not null
+     */
+    public PersistentDirectedLabeledGraph<N,E> withEdge(E label, DirectedLabeledGraph.Node<N> source, DirectedLabeledGraph.Node<N> destination){
+        if(label == null || source == null || destination == null){
+            throw new IllegalArgumentException();
+        }
+        PersistentDirectedLabeledGraph<N,E> g = withNode(source).withNode(destination);
+        PersistentHashMap<DirectedLabeledGraph.Edge<N,E>, Boolean> sourceOut = g.out.get(source);
+        DirectedLabeledGraph.Edge<N,E> edge = new DirectedLabeledGraph.Edge<>(label, destination);
+        if(sourceOut.containsKey(edge)){
+            return g;
+        }
+        PersistentHashMap<DirectedLabeledGraph.Edge<N,E>, Boolean> destinationIn = g.in.get(destination);
+        return new PersistentDirectedLabeledGraph<>(
+                g.out.put(source, sourceOut.put(edge, Boolean.TRUE)),
+                g.in.put(destination, destinationIn.put(new DirectedLabeledGraph.Edge<>(label, source), Boolean.TRUE)),
+                edgeCount + 1);
+    }
+
+    /**Returns a version of this without the edge with label "label" from source to destination
+     *
+     * @param label the label of the edge to be removed
+     * @param source The node that the edge to be removed comes out of
+     * @param destination The node that the edge to be removed goes into
+     * @return this if the edge is not in this, otherwise a new version without the edge
+     * @spec.requires source, destination and label are not null
+     */
+    public PersistentDirectedLabeledGraph<N,E> withoutEdge(E label, DirectedLabeledGraph.Node<N> source, DirectedLabeledGraph.Node<N> destination){
+        if(label == null || source == null || destination == null){
+            throw new IllegalArgumentException();
+        }
+        PersistentHashMap<DirectedLabeledGraph.Edge<N,E>, Boolean> sourceOut = out.get(source);
+        DirectedLabeledGraph.Edge<N,E> edge = new DirectedLabeledGraph.Edge<>(label, destination);
+        if(sourceOut == null || !sourceOut.containsKey(edge)){
+            return this;
+        }
+        return new PersistentDirectedLabeledGraph<>(
+                out.put(source, sourceOut.remove(edge)),
+                in.put(destination, in.get(destination).remove(new DirectedLabeledGraph.Edge<>(label, source))),
+                edgeCount - 1);
+    }
+
+    /**Returns a version of this without a node and without every edge into or out of it. Costs O(degree * log n)
+     *
+     * @param node The node to be removed
+     * @return this if node is not in this, otherwise a new version without node
+     * @spec.requires node is not null
+     */
+    public PersistentDirectedLabeledGraph<N,E> withoutNode(DirectedLabeledGraph.Node<N> node){
+        if(node == null){
+            throw new IllegalArgumentException();
+        }
+        PersistentHashMap<DirectedLabeledGraph.Edge<N,E>, Boolean> nodeOut = out.get(node);
+        if(nodeOut == null){
+            return this;
+        }
+        PersistentHashMap<DirectedLabeledGraph.Edge<N,E>, Boolean> nodeIn = in.get(node);
+        PersistentHashMap<DirectedLabeledGraph.Node<N>, PersistentHashMap<DirectedLabeledGraph.Edge<N,E>, Boolean>> newOut = out.remove(node);
+        PersistentHashMap<DirectedLabeledGraph.Node<N>, PersistentHashMap<DirectedLabeledGraph.Edge<N,E>, Boolean>> newIn = in.remove(node);
+        int removed = nodeOut.size();
+        for(Map.Entry<DirectedLabeledGraph.Edge<N,E>, Boolean> entry : nodeIn){
+            DirectedLabeledGraph.Edge<N,E> reversed = entry.getKey();
+            DirectedLabeledGraph.Node<N> source = reversed.getDestination();
+            if(!source.equals(node)){
+                newOut = newOut.put(source, newOut.get(source).remove(new DirectedLabeledGraph.Edge<>(reversed.getLabel(), node)));
+                removed++;
+            }
+        }
+        for(Map.Entry<DirectedLabeledGraph.Edge<N,E>, Boolean> entry : nodeOut){
+            DirectedLabeledGraph.Node<N> destination = entry.getKey().getDestination();
+            if(!destination.equals(node)){
+                newIn = newIn.put(destination, newIn.get(destination).remove(new DirectedLabeledGraph.Edge<>(entry.getKey().getLabel(), node)));
+            }
+        }
+        return new PersistentDirectedLabeledGraph<>(newOut, newIn, edgeCount - removed);
+    }
+
+    /**Returns a version of this without the node with label "label" and without every edge into or out of it
+     *
+     * @param label The label of the node to be removed
+     * @return this if the node is not in this, otherwise a new version without the node
+     * @spec.requires label is not null
+     */
+    public PersistentDirectedLabeledGraph<N,E> withoutNode(N label){
+        if(label == null){
+            throw new IllegalArgumentException();
+        }
+        return withoutNode(new DirectedLabeledGraph.Node<>(label));
+    }
+
+    /**Returns the number of nodes in this
+     *
+     * @return the number of nodes in this
+     */
+    public int nodeCount(){
+        return out.size();
+    }
+
+    /**Returns the number of edges in this
+     *
+     * @return the number of edges in this
+     */
+    public int edgeCount(){
+        return edgeCount;
+    }
+
+    /**Returns whether or not a node is in this graph
+     *
+     * @param node The node to look for
+     * @return true if node is in this and false otherwise
+     * @spec.requires node is not null
+     */
+    public boolean containsNode(DirectedLabeledGraph.Node<N> node){
+        if(node == null){
+            throw new IllegalArgumentException();
+        }
+        return out.containsKey(node);
+    }
+
+    /**Returns the number of edges coming out of a node
+     *
+     * @param node The node whose out degree will be returned
+     * @return the number of edges coming out of node
+     * @spec.requires node is not null and node is in the graph
+     */
+    public int outDegree(DirectedLabeledGraph.Node<N> node){
+        return outgoing(node).size();
+    }
+
+    /**Returns a read-only view of the set of nodes in this graph
+     *
+     * @return an unmodifiable set of the nodes that are in this
+     */
+    public Set<DirectedLabeledGraph.Node<N>> getNodes(){
+        return out.keySet();
+    }
+
+    /**Provides an iterator over all of the nodes in this
+     *
+     * @return An iterator over all of the nodes in this
+     */
+    @Override
+    public Iterator<DirectedLabeledGraph.Node<N>> iterator(){
+        return getNodes().iterator();
+    }
+
+    /**Returns a read-only view of the set of the edges to children nodes of node
+     *
+     * @param node The node who's edges will be returned
+     * @return An unmodifiable set of the edges to the children of node (empty set if no children)
+     * @spec.requires node is not null and node is in the graph
+     */
+    public Set<DirectedLabeledGraph.Edge<N,E>> getEdges(DirectedLabeledGraph.Node<N> node){
+        return outgoing(node).keySet();
+    }
+
+    /**Returns a read-only view of the set of the edges coming into node, each reversed so that its destination is the
+     * node the edge comes from
+     *
+     * @param node The node who's incoming edges will be returned
+     * @return An unmodifiable set of the reversed edges into node (empty set if no parents)
+     * @spec.requires node is not null and node is in the graph
+     */
+    public Set<DirectedLabeledGraph.Edge<N,E>> getIncomingEdges(DirectedLabeledGraph.Node<N> node){
+        if(node == null || !in.containsKey(node)){
+            throw new IllegalArgumentException();
+        }
+        return in.get(node).keySet();
+    }
+
+    /**Returns a list of all of the nodes where there exists an edge from "node" to them.
+     *
+     * @param node The node whom's children will be in the list
+     * @return A list of all of the nodes where there exists an edge from "node" to them
+     * @spec.requires node is not null, node exists in this
+     */
+    public List<DirectedLabeledGraph.Node<N>> listChildren(DirectedLabeledGraph.Node<N> node){
+        List<DirectedLabeledGraph.Node<N>> children = new ArrayList<>();
+        for(DirectedLabeledGraph.Edge<N,E> edge : getEdges(node)){
+            children.add(edge.getDestination());
+        }
+        return children;
+    }
+
+    /**Returns a list of all of the nodes where there exists an edge from them to "node".
+     *
+     * @param node The node whom's parents will be in the list
+     * @return A list of all of the nodes where there exists an edge from them to "node", listed once per edge
+     * @spec.requires node is not null, node exists in this
+     */
+    public List<DirectedLabeledGraph.Node<N>> listParents(DirectedLabeledGraph.Node<N> node){
+        List<DirectedLabeledGraph.Node<N>> parents = new ArrayList<>();
+        for(DirectedLabeledGraph.Edge<N,E> edge : getIncomingEdges(node)){
+            parents.add(edge.getDestination());
+        }
+        return parents;
+    }
+
+    /**Returns a set of the labels of the edges between two nodes
+     *
+     * @param source The node that the edges in the returned set are coming out of
+     * @param destination The node that the edges in the returned set go into
+     * @return A set of the labels of the edges between source and destination (empty set if no edges between)
+     * @spec.requires source and destination are not null, source and destination both exist in the graph
+     */
+    public Set<E> getEdgesBetween(DirectedLabeledGraph.Node<N> source, DirectedLabeledGraph.Node<N> destination){
+        if(destination == null || !out.containsKey(destination)){
+            throw new IllegalArgumentException();
+        }
+        Set<E> between = new HashSet<>();
+        for(DirectedLabeledGraph.Edge<N,E> edge : getEdges(source)){
+            if(edge.getDestination().equals(destination)){
+                between.add(edge.getLabel());
+            }
+        }
+        return between;
+    }
+
+    /**Creates an immutable compressed snapshot of this for fast read-only traversal
+     *
+     * @return A FrozenGraph with the same nodes and edges as this
+     */
+    public FrozenGraph<N,E> freeze(){
+        Map<DirectedLabeledGraph.Node<N>, Set<DirectedLabeledGraph.Edge<N,E>>> adj = new HashMap<>(nodeCount() * 4 / 3 + 1);
+        for(Map.Entry<DirectedLabeledGraph.Node<N>, PersistentHashMap<DirectedLabeledGraph.Edge<N,E>, Boolean>> entry : out){
+            adj.put(entry.getKey(), entry.getValue().keySet());
+        }
+        return new FrozenGraph<>(adj);
+    }
+
+    /**Returns the outgoing edge set of a node that must be in this
+     *
+     * @param node The node whose edges should be returned
+     * @return the outgoing edge set of node
+     * @throws IllegalArgumentException if node is null or not in this
+     */
+    private PersistentHashMap<DirectedLabeledGraph.Edge<N,E>, Boolean> outgoing(DirectedLabeledGraph.Node<N> node){
+        if(node == null){
+            throw new IllegalArgumentException();
+        }
+        PersistentHashMap<DirectedLabeledGraph.Edge<N,E>, Boolean> edges = out.get(node);
+        if(edges == null){
+            throw new IllegalArgumentException();
+        }
+        return edges;
+    }
+
+    /**
+     * Standard hashCode function.
+     *
+     * @return an int that all objects equal to this will also return
+     */
+    @Override
+    public int hashCode() {
+        return out.hashCode();
+    }
+
+    /**
+     * Standard equality operation.
+     *
+     * @param obj the object to be compared for equality
+     * @return true if and only if 'obj' is an instance of a PersistentDirectedLabeledGraph and 'this' and 'obj' represent
+     * the same graph.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if(obj instanceof PersistentDirectedLabeledGraph<?,?>) {
+            PersistentDirectedLabeledGraph<?,?> graph = (PersistentDirectedLabeledGraph<?,?>) obj;
+            return edgeCount == graph.edgeCount && out.equals(graph.out);
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated
+     */
+    private void checkRep(){
+        assert out != null && in != null : "null edge maps";
+        assert out.size() == in.size() : "incoming map out of step";
+        assert edgeCount >= 0 : "negative edge count";
+    }
+}
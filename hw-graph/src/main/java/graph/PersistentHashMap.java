@@ -0,0 +1,483 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * <b>PersistentHashMap</b> represents an immutable map implemented as a hash array mapped trie. Every update returns a new
+ * map that shares all untouched structure with the old one, so updates cost O(log32 n) time and space and old versions
+ * remain valid and unchanged.
+ *
+ * <p>Specification fields:
+ * @spec.specfield entries : Set(Pair(K, V)) //The key value pairs in the map</p>
+ *
+ * Type Parameter K is the type of the keys, which must be immutable and have consistent equals and hashCode.
+ * Type Parameter V is the type of the values.
+ */
+final class PersistentHashMap<K,V> implements Iterable<Map.Entry<K,V>> {
+
+    /**
+     * The number of hash bits consumed at each level of the trie
+     */
+    private static final int BITS = 5;
+
+    /**
+     * Mask selecting the hash bits used at a single level of the trie
+     */
+    private static final int MASK = (1 << BITS) - 1;
+
+    /**
+     * The shared empty map
+     */
+    @SuppressWarnings("rawtypes")
+    private static final PersistentHashMap EMPTY = new PersistentHashMap<>(null, 0);
+
+    /**
+     * The root of the trie, or null if this map is empty
+     */
+    private final TrieNode root;
+
+    /**
+     * The number of entries in this map
+     */
+    private final int size;
+
+    //Abstract Invariant: the entries of this map are the entries stored in the trie rooted at root
+    //Representation Invariant: size >= 0, root == null if and only if size == 0, size is the number of entries in the trie,
+    //                          no key is stored twice and no key or value is null
+
+    /**Creates a map with the given trie
+     *
+     * @param root The root of the trie, or null for an empty map
+     * @param size The number of entries in the trie
+     */
+    private PersistentHashMap(TrieNode root, int size){
+        this.root = root;
+        this.size = size;
+    }
+
+    /**Returns the empty map
+     *
+     * @param <K> The type of the keys
+     * @param <V> The type of the values
+     * @return the empty PersistentHashMap
+     */
+    @SuppressWarnings("unchecked")
+    static <K,V> PersistentHashMap<K,V> empty(){
+        return (PersistentHashMap<K,V>) EMPTY;
+    }
+
+    /**Returns the number of entries in this
+     *
+     * @return the number of entries in this
+     */
+    int size(){
+        return size;
+    }
+
+    /**Returns the value mapped to a key
+     *
+     * @param key The key to look up
+     * @return the value mapped to key or null if key is not in this
+     * @spec.requires key is not null
+     */
+    @SuppressWarnings("unchecked")
+    V get(Object key){
+        return root == null ? null : (V) root.find(hash(key), key, 0);
+    }
+
+    /**Returns whether a key is in this
+     *
+     * @param key The key to look up
+     * @return true if key is mapped to a value in this
+     * @spec.requires key is not null
+     */
+    boolean containsKey(Object key){
+        return get(key) != null;
+    }
+
+    /**Returns a map with the same entries as this except that key maps to value
+     *
+     * @param key The key to add or replace
+     * @param value The value for key
+     * @return this if key already maps to value, otherwise a new map with key mapped to value
+     * @spec.requires key and value are not null
+     */
+    PersistentHashMap<K,V> put(K key, V value){
+        boolean[] added = new boolean[1];
+        TrieNode newRoot = root == null
+                ? new BitmapNode(0, new Object[0]).put(hash(key), key, value, 0, added)
+                : root.put(hash(key), key, value, 0, added);
+        if(newRoot == root){
+            return this;
+        }
+        return new PersistentHashMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**Returns a map with the same entries as this except without key
+     *
+     * @param key The key to remove
+     * @return this if key is not in this, otherwise a new map without key
+     * @spec.requires key is not null
+     */
+    PersistentHashMap<K,V> remove(Object key){
+        if(root == null){
+            return this;
+        }
+        TrieNode newRoot = root.remove(hash(key), key, 0);
+        if(newRoot == root){
+            return this;
+        }
+        return newRoot == null ? empty() : new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    /**Returns a read-only set view of the keys of this
+     *
+     * @return an unmodifiable set of the keys in this
+     */
+    Set<K> keySet(){
+        return new AbstractSet<K>() {
+            @Override
+            public boolean contains(Object o){
+                return o != null && containsKey(o);
+            }
+
+            @Override
+            public int size(){
+                return size;
+            }
+
+            @Override
+            public Iterator<K> iterator(){
+                Iterator<Map.Entry<K,V>> entries = PersistentHashMap.this.iterator();
+                return new Iterator<K>() {
+                    @Override
+                    public boolean hasNext(){
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public K next(){
+                        return entries.next().getKey();
+                    }
+                };
+            }
+        };
+    }
+
+    /**Provides an iterator over the entries of this
+     *
+     * @return An iterator over the entries of this, which does not support remove
+     */
+    @Override
+    public Iterator<Map.Entry<K,V>> iterator(){
+        return new EntryIterator();
+    }
+
+    /**
+     * Standard hashCode function.
+     *
+     * @return an int that all objects equal to this will also return
+     */
+    @Override
+    public int hashCode(){
+        int h = 0;
+        for(Map.Entry<K,V> entry : this){
+            h += entry.hashCode();
+        }
+        return h;
+    }
+
+    /**
+     * Standard equality operation.
+     *
+     * @param obj the object to be compared for equality
+     * @return true if and only if 'obj' is a PersistentHashMap with the same entries as 'this'
+     */
+    @Override
+    public boolean equals(Object obj){
+        if(this == obj){
+            return true;
+        }
+        if(!(obj instanceof PersistentHashMap<?,?>)){
+            return false;
+        }
+        PersistentHashMap<?,?> other = (PersistentHashMap<?,?>) obj;
+        if(other.size != size){
+            return false;
+        }
+        for(Map.Entry<K,V> entry : this){
+            if(!entry.getValue().equals(other.get(entry.getKey()))){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**Spreads the bits of a key's hash code
+     *
+     * @param key The key to hash
+     * @return the spread hash of key
+     */
+    private static int hash(Object key){
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**Builds a subtrie holding two entries whose hashes agree on all bits used above shift
+     *
+     * @return a new trie node holding both entries
+     */
+    private static TrieNode pair(int shift, Object key1, Object value1, int hash2, Object key2, Object value2){
+        int hash1 = hash(key1);
+        if(hash1 == hash2){
+            return new CollisionNode(hash1, new Object[]{key1, value1, key2, value2});
+        }
+        boolean[] added = new boolean[1];
+        return new BitmapNode(0, new Object[0])
+                .put(hash1, key1, value1, shift, added)
+                .put(hash2, key2, value2, shift, added);
+    }
+
+    /**
+     * A node of the trie. Nodes are never modified after they are published
+     */
+    private abstract static class TrieNode {
+
+        /**Returns the value of key in this subtrie or null if key is absent*/
+        abstract Object find(int hash, Object key, int shift);
+
+        /**Returns this if key already maps to value, otherwise a copy of this subtrie with the mapping. Sets added[0] if key was absent*/
+        abstract TrieNode put(int hash, Object key, Object value, int shift, boolean[] added);
+
+        /**Returns this if key is absent, null if removing key empties this subtrie, otherwise a copy without key*/
+        abstract TrieNode remove(int hash, Object key, int shift);
+
+        /**Returns the array of this node, where slot 2i holds a key (or null for a child node) and slot 2i+1 its value (or child)*/
+        abstract Object[] slots();
+    }
+
+    /**
+     * A trie node with up to 32 slots, present slots marked by a bitmap
+     */
+    private static final class BitmapNode extends TrieNode {
+        private final int bitmap;
+        private final Object[] array;
+
+        BitmapNode(int bitmap, Object[] array){
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        @Override
+        Object find(int hash, Object key, int shift){
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if((bitmap & bit) == 0){
+                return null;
+            }
+            int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object k = array[i];
+            if(k == null){
+                return ((TrieNode) array[i + 1]).find(hash, key, shift + BITS);
+            }
+            return key.equals(k) ? array[i + 1] : null;
+        }
+
+        @Override
+        TrieNode put(int hash, Object key, Object value, int shift, boolean[] added){
+            int bit = 1 << ((hash >>> shift) & MASK);
+            int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+            if((bitmap & bit) == 0){
+                Object[] copy = new Object[array.length + 2];
+                System.arraycopy(array, 0, copy, 0, i);
+                copy[i] = key;
+                copy[i + 1] = value;
+                System.arraycopy(array, i, copy, i + 2, array.length - i);
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, copy);
+            }
+            Object k = array[i];
+            Object v = array[i + 1];
+            Object newValue;
+            Object newKey = k;
+            if(k == null){
+                TrieNode child = ((TrieNode) v).put(hash, key, value, shift + BITS, added);
+                if(child == v){
+                    return this;
+                }
+                newValue = child;
+            } else if(key.equals(k)){
+                if(value == v){
+                    return this;
+                }
+                newValue = value;
+            } else {
+                newKey = null;
+                newValue = pair(shift + BITS, k, v, hash, key, value);
+                added[0] = true;
+            }
+            Object[] copy = array.clone();
+            copy[i] = newKey;
+            copy[i + 1] = newValue;
+            return new BitmapNode(bitmap, copy);
+        }
+
+        @Override
+        TrieNode remove(int hash, Object key, int shift){
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if((bitmap & bit) == 0){
+                return this;
+            }
+            int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object k = array[i];
+            if(k == null){
+                TrieNode child = (TrieNode) array[i + 1];
+                TrieNode newChild = child.remove(hash, key, shift + BITS);
+                if(newChild == child){
+                    return this;
+                }
+                if(newChild != null){
+                    Object[] copy = array.clone();
+                    copy[i + 1] = newChild;
+                    return new BitmapNode(bitmap, copy);
+                }
+            } else if(!key.equals(k)){
+                return this;
+            }
+            if(bitmap == bit){
+                return null;
+            }
+            Object[] copy = new Object[array.length - 2];
+            System.arraycopy(array, 0, copy, 0, i);
+            System.arraycopy(array, i + 2, copy, i, array.length - i - 2);
+            return new BitmapNode(bitmap & ~bit, copy);
+        }
+
+        @Override
+        Object[] slots(){
+            return array;
+        }
+    }
+
+    /**
+     * A trie node holding entries whose keys all have the same full hash
+     */
+    private static final class CollisionNode extends TrieNode {
+        private final int hash;
+        private final Object[] array;
+
+        CollisionNode(int hash, Object[] array){
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int indexOf(Object key){
+            for(int i = 0; i < array.length; i += 2){
+                if(key.equals(array[i])){
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(int hash, Object key, int shift){
+            int i = hash == this.hash ? indexOf(key) : -1;
+            return i == -1 ? null : array[i + 1];
+        }
+
+        @Override
+        TrieNode put(int hash, Object key, Object value, int shift, boolean[] added){
+            if(hash != this.hash){
+                //Nest this node under a bitmap node at this level, then insert the new key beside it
+                int bit = 1 << ((this.hash >>> shift) & MASK);
+                return new BitmapNode(bit, new Object[]{null, this}).put(hash, key, value, shift, added);
+            }
+            int i = indexOf(key);
+            if(i != -1){
+                if(array[i + 1] == value){
+                    return this;
+                }
+                Object[] copy = array.clone();
+                copy[i + 1] = value;
+                return new CollisionNode(hash, copy);
+            }
+            Object[] copy = Arrays.copyOf(array, array.length + 2);
+            copy[array.length] = key;
+            copy[array.length + 1] = value;
+            added[0] = true;
+            return new CollisionNode(hash, copy);
+        }
+
+        @Override
+        TrieNode remove(int hash, Object key, int shift){
+            int i = hash == this.hash ? indexOf(key) : -1;
+            if(i == -1){
+                return this;
+            }
+            if(array.length == 2){
+                return null;
+            }
+            Object[] copy = new Object[array.length - 2];
+            System.arraycopy(array, 0, copy, 0, i);
+            System.arraycopy(array, i + 2, copy, i, array.length - i - 2);
+            return new CollisionNode(hash, copy);
+        }
+
+        @Override
+        Object[] slots(){
+            return array;
+        }
+    }
+
+    /**
+     * Depth first iterator over the entries of the trie
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<K,V>> {
+        private final Deque<Object[]> arrays = new ArrayDeque<>();
+        private final Deque<Integer> positions = new ArrayDeque<>();
+        private Map.Entry<K,V> next;
+
+        EntryIterator(){
+            if(root != null){
+                arrays.push(root.slots());
+                positions.push(0);
+            }
+            advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance(){
+            next = null;
+            while(next == null && !arrays.isEmpty()){
+                Object[] array = arrays.peek();
+                int i = positions.pop();
+                if(i >= array.length){
+                    arrays.pop();
+                    continue;
+                }
+                positions.push(i + 2);
+                if(array[i] == null){
+                    arrays.push(((TrieNode) array[i + 1]).slots());
+                    positions.push(0);
+                } else {
+                    next = new AbstractMap.SimpleImmutableEntry<>((K) array[i], (V) array[i + 1]);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext(){
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<K,V> next(){
+            if(next == null){
+                throw new NoSuchElementException();
+            }
+            Map.Entry<K,V> result = next;
+            advance();
+            return result;
+        }
+    }
+}
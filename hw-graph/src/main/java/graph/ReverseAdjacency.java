@@ -0,0 +1,158 @@
+package graph;
+
+/**
+ * <b>ReverseAdjacency</b> is a read-only view of an int-indexed graph with every edge turned around, for searching
+ * backwards from a target. Node ids and labels are those of the forward graph, and each reversed edge remembers the
+ * index of the forward edge it came from, so weights and labels are read from the forward graph rather than copied.
+ * Building the view transposes the forward graph's adjacency once, in O(nodes + edges) time.
+ *
+ * <p>The incoming edges of each node are ordered by the id of the node they come from, and edges from the same node by
+ * their forward index.</p>
+ *
+ * <p>Specification fields:
+ * @spec.specfield forward : IntAdjacency //The graph this is the reverse of
+ * @spec.specfield edges : Set(Edges) //An edge from v to u for each edge from u to v in forward</p>
+ *
+ * Type Parameter N is the data type of the node labels in the graph.
+ */
+public final class ReverseAdjacency<N> implements WeightedAdjacency<N> {
+
+    /**
+     * The graph this is the reverse of
+     */
+    private final IntAdjacency<N> forward;
+
+    /**
+     * The reversed edges of node i are the indices [offsets[i], offsets[i + 1])
+     */
+    private final int[] offsets;
+
+    /**
+     * The node each reversed edge goes into, which is the node its forward edge comes out of
+     */
+    private final int[] targets;
+
+    /**
+     * The index in forward of the edge each reversed edge reverses
+     */
+    private final int[] forwardEdges;
+
+    //Abstraction Function: For each node id i and each index e in [offsets[i], offsets[i + 1]), there is an edge from i to targets[e]
+    //                      reversing the edge forwardEdges[e] of forward, which goes from targets[e] to i.
+
+    //Representation Invariant: forward, offsets, targets and forwardEdges are not null
+    //                          offsets.length == forward.nodeCount() + 1, offsets[0] == 0 and offsets is non-decreasing
+    //                          targets.length == forwardEdges.length == offsets[forward.nodeCount()] == forward.edgeCount()
+    //                          for all i and e in [offsets[i], offsets[i + 1]), forward.target(forwardEdges[e]) == i
+
+    /**Creates the reverse of a graph
+     *
+     * @param forward The graph to reverse. Must not change while this is in use
+     * @throws IllegalArgumentException if forward is null
+     * @spec.effects Constructs a view of forward with every edge reversed
+     */
+    public ReverseAdjacency(IntAdjacency<N> forward){
+        if(forward == null){
+            throw new IllegalArgumentException();
+        }
+        this.forward = forward;
+        int nodeCount = forward.nodeCount();
+        int edgeCount = forward.edgeCount();
+        offsets = new int[nodeCount + 1];
+        for(int e = 0; e < edgeCount; e++){
+            offsets[forward.target(e) + 1]++;
+        }
+        for(int i = 0; i < nodeCount; i++){
+            offsets[i + 1] += offsets[i];
+        }
+        targets = new int[edgeCount];
+        forwardEdges = new int[edgeCount];
+        int[] next = new int[nodeCount];
+        System.arraycopy(offsets, 0, next, 0, nodeCount);
+        for(int i = 0; i < nodeCount; i++){ //Visiting sources in id order leaves each node's incoming edges sorted by source
+            for(int e = forward.edgeStart(i); e < forward.edgeEnd(i); e++){
+                int slot = next[forward.target(e)]++;
+                targets[slot] = i;
+                forwardEdges[slot] = e;
+            }
+        }
+        checkRep();
+    }
+
+    /**Returns the graph this is the reverse of
+     *
+     * @return forward
+     */
+    public IntAdjacency<N> forward(){
+        return forward;
+    }
+
+    /**Returns the index in the forward graph of the edge a reversed edge reverses
+     *
+     * @param edge The index of the reversed edge
+     * @return the index in forward of the edge from target(edge) to the node edge comes out of
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    public int forwardEdge(int edge){
+        return forwardEdges[edge];
+    }
+
+    @Override
+    public int nodeCount(){
+        return forward.nodeCount();
+    }
+
+    @Override
+    public int edgeCount(){
+        return targets.length;
+    }
+
+    @Override
+    public int idOf(N label){
+        return forward.idOf(label);
+    }
+
+    @Override
+    public N labelOf(int id){
+        return forward.labelOf(id);
+    }
+
+    @Override
+    public int edgeStart(int id){
+        return offsets[id];
+    }
+
+    @Override
+    public int edgeEnd(int id){
+        return offsets[id + 1];
+    }
+
+    @Override
+    public int target(int edge){
+        return targets[edge];
+    }
+
+    /**Returns the weight of a reversed edge, which is the weight of the forward edge it reverses
+     *
+     * @param edge The index of the edge
+     * @return the weight of the edge with index "edge"
+     * @throws IllegalStateException if the forward graph is not a WeightedAdjacency
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    @Override
+    public double weight(int edge){
+        if(!(forward instanceof WeightedAdjacency)){
+            throw new IllegalStateException("Graph is not weighted");
+        }
+        return ((WeightedAdjacency<N>) forward).weight(forwardEdges[edge]);
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated
+     */
+    private void checkRep(){
+        assert forward != null && offsets != null && targets != null && forwardEdges != null;
+        assert offsets.length == forward.nodeCount() + 1 && offsets[0] == 0;
+        assert targets.length == forwardEdges.length && targets.length == offsets[offsets.length - 1];
+    }
+}
@@ -0,0 +1,157 @@
+package graph;
+
+/**
+ * <b>ShortestPathTree</b> is an immutable snapshot of every shortest path out of one source in a WeightedAdjacency
+ * graph, as found by a full Dijkstra search. Each reached node keeps its distance from the source and the edge it is
+ * reached by on its path, in primitive arrays indexed by node id, so the path to any node can be read off by walking
+ * those edges back to the source, in time proportional to the path's length. A tree does not change when the engine
+ * that built it searches again, and it can be shared by threads.
+ *
+ * <p>Specification fields:
+ * @spec.specfield graph : WeightedAdjacency //The graph the paths are in
+ * @spec.specfield source : int //The node every path starts at
+ * @spec.specfield paths : Map(int, List(int)) //The edges of the shortest path from source to each node reachable from it</p>
+ *
+ * Type Parameter N is the data type of the node labels in the graph.
+ */
+public final class ShortestPathTree<N> {
+
+    /**
+     * The graph the paths are in
+     */
+    private final WeightedAdjacency<N> graph;
+
+    /**
+     * The node every path starts at
+     */
+    private final int source;
+
+    /**
+     * The distance from source to each node, or positive infinity if it cannot be reached
+     */
+    private final double[] distance;
+
+    /**
+     * The node before each node on its path, or -1 for source and nodes that cannot be reached
+     */
+    private final int[] parent;
+
+    /**
+     * The edge into each node on its path, or -1 for source and nodes that cannot be reached
+     */
+    private final int[] parentEdge;
+
+    /**
+     * The number of nodes the search that built this settled
+     */
+    private final int settledCount;
+
+    //Abstraction Function: For each node n with distance[n] finite, paths maps n to the edges parentEdge[m] of the nodes m met by following
+    //                      parent back from n until reaching source, in order from source.
+
+    //Representation Invariant: graph, distance, parent and parentEdge are not null and have length graph.nodeCount()
+    //                          0 <= source < graph.nodeCount(), distance[source] == 0 and parent[source] == parentEdge[source] == -1
+    //                          for every node n != source with distance[n] finite, graph.target(parentEdge[n]) == n
+
+    /**Creates a tree from the arrays of a finished search
+     *
+     * @param graph The graph the paths are in
+     * @param source The node every path starts at
+     * @param distance The distance to each node
+     * @param parent The node before each node on its path
+     * @param parentEdge The edge into each node on its path
+     * @param settledCount The number of nodes the search settled
+     */
+    ShortestPathTree(WeightedAdjacency<N> graph, int source, double[] distance, int[] parent, int[] parentEdge, int settledCount){
+        this.graph = graph;
+        this.source = source;
+        this.distance = distance;
+        this.parent = parent;
+        this.parentEdge = parentEdge;
+        this.settledCount = settledCount;
+        checkRep();
+    }
+
+    /**Returns the graph the paths are in
+     *
+     * @return the graph the paths are in
+     */
+    public WeightedAdjacency<N> graph(){
+        return graph;
+    }
+
+    /**Returns the node every path starts at
+     *
+     * @return the id of the source
+     */
+    public int source(){
+        return source;
+    }
+
+    /**Returns whether a node can be reached from the source
+     *
+     * @param node The id of the node
+     * @return true if there is a path from source to node
+     * @spec.requires 0 &lt;= node &lt; graph.nodeCount()
+     */
+    public boolean reached(int node){
+        return distance[node] != Double.POSITIVE_INFINITY;
+    }
+
+    /**Returns the length of the shortest path to a node
+     *
+     * @param node The id of the node
+     * @return the distance from source to node, or positive infinity if node cannot be reached
+     * @spec.requires 0 &lt;= node &lt; graph.nodeCount()
+     */
+    public double distance(int node){
+        return distance[node];
+    }
+
+    /**Returns the edges of the shortest path to a node
+     *
+     * @param node The id of the node the path ends at
+     * @return the indices in graph of the edges of the path from source to node, in order, which is empty if node is
+     *         source, or null if node cannot be reached
+     * @spec.requires 0 &lt;= node &lt; graph.nodeCount()
+     */
+    public int[] pathEdges(int node){
+        if(!reached(node)){
+            return null;
+        }
+        int length = 0;
+        for(int n = node; parent[n] != -1; n = parent[n]){
+            length++;
+        }
+        int[] edges = new int[length];
+        for(int n = node, i = length - 1; i >= 0; n = parent[n], i--){
+            edges[i] = parentEdge[n];
+        }
+        return edges;
+    }
+
+    /**Returns the number of nodes settled by the search that built this tree
+     *
+     * @return the number of nodes reachable from source
+     */
+    public int settledCount(){
+        return settledCount;
+    }
+
+    /**Returns about how much memory this tree takes, for bounding caches of trees
+     *
+     * @return an estimate of the bytes used by this tree's arrays and headers
+     */
+    public long estimatedBytes(){
+        return 64 + 16L * distance.length;
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated
+     */
+    private void checkRep(){
+        assert graph != null && distance != null && parent != null && parentEdge != null;
+        assert distance.length == graph.nodeCount() && parent.length == distance.length && parentEdge.length == distance.length;
+        assert distance[source] == 0 && parent[source] == -1 && parentEdge[source] == -1;
+    }
+}
@@ -0,0 +1,185 @@
+package graph;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <b>ShortestPathTreeCache</b> keeps the ShortestPathTrees of the sources most recently searched from in a
+ * WeightedAdjacency graph, so that several paths from the same source cost one full search and then a walk along each
+ * path. The cache is bounded by the estimated memory of the trees it holds: adding a tree that takes it over its limit
+ * evicts the least recently used trees until it fits again. It counts the requests it answers from a cached tree (hits)
+ * and those that need a new search (misses).
+ *
+ * <p>A cache is safe for use by multiple threads. Each thread searches with its own DijkstraEngine, outside the
+ * cache's lock, so two threads missing on the same source at once may both search it.</p>
+ *
+ * <p>Specification fields:
+ * @spec.specfield graph : WeightedAdjacency //The graph the trees are in
+ * @spec.specfield maxBytes : long //The most memory the cached trees may take
+ * @spec.specfield trees : List(ShortestPathTree) //The cached trees, least recently used first
+ * @spec.specfield hits : long //The number of requests answered from a cached tree
+ * @spec.specfield misses : long //The number of requests that searched for a new tree
+ * @spec.specfield settled : long //The number of nodes settled by the searches of all misses</p>
+ *
+ * Type Parameter N is the data type of the node labels in the graph.
+ */
+public final class ShortestPathTreeCache<N> {
+
+    /**
+     * The graph the trees are in
+     */
+    private final WeightedAdjacency<N> graph;
+
+    /**
+     * The most memory the cached trees may take, in bytes
+     */
+    private final long maxBytes;
+
+    /**
+     * The cached trees by source, in access order so the eldest entry is the least recently used. Guarded by this.
+     */
+    private final LinkedHashMap<Integer, ShortestPathTree<N>> trees;
+
+    /**
+     * The estimated memory taken by the trees in trees. Guarded by this.
+     */
+    private long bytes;
+
+    /**
+     * A Dijkstra engine over graph for each thread that misses
+     */
+    private final ThreadLocal<DijkstraEngine<N>> engines;
+
+    /**
+     * The number of requests answered from a cached tree, the number that searched, and the number of nodes settled by those searches
+     */
+    private final LongAdder hits, misses, settled;
+
+    //Abstraction Function: The cached trees are the values of trees in iteration order, and hits, misses and settled are the sums of the
+    //                      adders of the same names
+
+    //Representation Invariant: graph, trees, engines, hits, misses and settled are not null, maxBytes >= 0
+    //                          every tree in trees is over graph and is keyed by its source
+    //                          bytes is the sum of the estimatedBytes() of the trees in trees, and bytes <= maxBytes
+
+    /**Creates an empty cache
+     *
+     * @param graph The graph whose shortest path trees will be cached. Must not change while the cache is in use
+     * @param maxBytes The most memory the cached trees may take, in bytes
+     * @throws IllegalArgumentException if graph is null or maxBytes is negative
+     * @spec.effects Constructs a new cache with no trees, hits or misses
+     */
+    public ShortestPathTreeCache(WeightedAdjacency<N> graph, long maxBytes){
+        if(graph == null || maxBytes < 0){
+            throw new IllegalArgumentException();
+        }
+        this.graph = graph;
+        this.maxBytes = maxBytes;
+        trees = new LinkedHashMap<>(16, 0.75f, true);
+        engines = ThreadLocal.withInitial(() -> new DijkstraEngine<>(graph));
+        hits = new LongAdder();
+        misses = new LongAdder();
+        settled = new LongAdder();
+        checkRep();
+    }
+
+    /**Returns the graph the trees are in
+     *
+     * @return the graph the trees are in
+     */
+    public WeightedAdjacency<N> graph(){
+        return graph;
+    }
+
+    /**Returns the shortest path tree out of a source, from the cache if it holds one and otherwise by searching and
+     * caching the result. A tree too large to ever fit is returned without being cached.
+     *
+     * @param source The id of the node the tree's paths start at
+     * @return The shortest path tree out of source
+     * @throws IllegalArgumentException if source is not a valid node id
+     * @spec.modifies this
+     * @spec.effects Counts a hit and marks source's tree most recently used if it is cached, and otherwise counts a miss,
+     *               caches the new tree and evicts least recently used trees until the cache is within maxBytes
+     */
+    public ShortestPathTree<N> tree(int source){
+        if(source < 0 || source >= graph.nodeCount()){
+            throw new IllegalArgumentException();
+        }
+        synchronized(this){
+            ShortestPathTree<N> cached = trees.get(source);
+            if(cached != null){
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        ShortestPathTree<N> tree = engines.get().shortestPathTree(source);
+        settled.add(tree.settledCount());
+        if(tree.estimatedBytes() <= maxBytes){
+            synchronized(this){
+                ShortestPathTree<N> replaced = trees.put(source, tree);
+                bytes += tree.estimatedBytes() - (replaced == null ? 0 : replaced.estimatedBytes());
+                Iterator<ShortestPathTree<N>> eldest = trees.values().iterator();
+                while(bytes > maxBytes){
+                    bytes -= eldest.next().estimatedBytes();
+                    eldest.remove();
+                }
+                checkRep();
+            }
+        }
+        return tree;
+    }
+
+    /**Returns the number of requests answered from a cached tree
+     *
+     * @return hits
+     */
+    public long hitCount(){
+        return hits.sum();
+    }
+
+    /**Returns the number of requests that searched for a new tree
+     *
+     * @return misses
+     */
+    public long missCount(){
+        return misses.sum();
+    }
+
+    /**Returns the number of nodes settled by the searches of all misses, a measure of the work the cache has done
+     *
+     * @return settled
+     */
+    public long settledCount(){
+        return settled.sum();
+    }
+
+    /**Returns the number of trees in the cache
+     *
+     * @return the number of cached trees
+     */
+    public synchronized int size(){
+        return trees.size();
+    }
+
+    /**Returns the estimated memory taken by the cached trees
+     *
+     * @return the sum of the estimated bytes of the cached trees, which is at most maxBytes
+     */
+    public synchronized long bytes(){
+        return bytes;
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated
+     */
+    private void checkRep(){
+        assert graph != null && trees != null && engines != null && hits != null && misses != null && settled != null;
+        assert maxBytes >= 0 && bytes >= 0 && bytes <= maxBytes;
+        for(Map.Entry<Integer, ShortestPathTree<N>> entry : trees.entrySet()){
+            assert entry.getValue().graph() == graph && entry.getValue().source() == entry.getKey();
+        }
+    }
+}
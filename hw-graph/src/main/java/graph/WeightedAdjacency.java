@@ -0,0 +1,18 @@
+package graph;
+
+/**
+ * <b>WeightedAdjacency</b> is implemented by read-only int-indexed graphs whose edges carry primitive double weights,
+ * so weighted search can run over any of them without boxing.
+ *
+ * Type Parameter N is the data type of the node labels in the graph.
+ */
+public interface WeightedAdjacency<N> extends IntAdjacency<N> {
+
+    /**Returns the weight of an edge
+     *
+     * @param edge The index of the edge
+     * @return the weight of the edge with index "edge"
+     * @spec.requires 0 &lt;= edge &lt; edgeCount()
+     */
+    double weight(int edge);
+}
@@ -0,0 +1,173 @@
+package graph;
+
+import java.util.Map;
+
+/**
+ * <b>WeightedGraph</b> represents an immutable directed graph whose edges are labeled with primitive double weights.
+ * Adjacency is stored in compressed sparse row form with the weights held in a double[] parallel to the edge targets,
+ * so no weight is ever boxed.
+ *
+ * <p>Specification fields:
+ * @spec.specfield nodes : Set(Nodes) //The nodes in the graph, each with a unique id
+ * @spec.specfield edges : Set(Edges) //The weighted edges in the graph, each with a unique index</p>
+ *
+ * Type Parameter N is the data type held in the nodes of this WeightedGraph.
+ */
+public final class WeightedGraph<N> implements WeightedAdjacency<N> {
+
+    /**
+     * The label of each node, indexed by node id
+     */
+    private final N[] nodeLabels;
+
+    /**
+     * Maps each node label to its node id
+     */
+    private final Map<N, Integer> ids;
+
+    /**
+     * The outgoing edges of node id are stored at indices offsets[id] (inclusive) to offsets[id + 1] (exclusive)
+     */
+    private final int[] offsets;
+
+    /**
+     * The destination node id of each edge, indexed by edge index
+     */
+    private final int[] targets;
+
+    /**
+     * The weight of each edge, indexed by edge index
+     */
+    private final double[] weights;
+
+    //Abstract Invariant: nodeLabels[i] is the label of the node with id i. For each node id i, the edges at indices offsets[i] to offsets[i+1]-1
+    //                    are the outgoing edges of node i, where the edge at index j goes to node targets[j] and has weight weights[j].
+
+    //Representation Invariant: nodeLabels, ids, offsets, targets and weights are not null
+    //                          offsets.length == nodeLabels.length + 1, targets.length == weights.length
+    //                          (the remaining structural invariants are those of the FrozenGraph the arrays were taken from)
+
+    /**Creates a WeightedGraph with the same nodes and edges as a DirectedLabeledGraph whose edge labels are weights
+     *
+     * @param graph The graph to copy, whose edge labels are the weights of its edges
+     * @param <N> The type of the node labels in graph
+     * @return A new WeightedGraph with the nodes and edges of graph
+     * @throws IllegalArgumentException if graph is null
+     */
+    public static <N> WeightedGraph<N> of(DirectedLabeledGraph<N, Double> graph){
+        if(graph == null){
+            throw new IllegalArgumentException();
+        }
+        return new WeightedGraph<>(graph.freeze());
+    }
+
+    /**Creates a WeightedGraph from a frozen graph whose edge labels are weights. The structure arrays are shared with
+     * frozen, which is immutable, and only the boxed weights are copied out.
+     *
+     * @param frozen The frozen graph to unbox the weights of
+     * @spec.requires frozen is not null
+     */
+    private WeightedGraph(FrozenGraph<N, Double> frozen){
+        this.nodeLabels = frozen.nodeLabelArray();
+        this.ids = frozen.idMap();
+        this.offsets = frozen.offsetArray();
+        this.targets = frozen.targetArray();
+        this.weights = new double[targets.length];
+        for(int e = 0; e < weights.length; e++){
+            weights[e] = frozen.edgeLabel(e);
+        }
+        checkRep();
+    }
+
+    @Override
+    public int nodeCount(){
+        return nodeLabels.length;
+    }
+
+    @Override
+    public int edgeCount(){
+        return targets.length;
+    }
+
+    @Override
+    public int idOf(N label){
+        if(label == null){
+            throw new IllegalArgumentException();
+        }
+        Integer id = ids.get(label);
+        return id == null ? -1 : id;
+    }
+
+    @Override
+    public N labelOf(int id){
+        return nodeLabels[id];
+    }
+
+    @Override
+    public int edgeStart(int id){
+        return offsets[id];
+    }
+
+    @Override
+    public int edgeEnd(int id){
+        return offsets[id + 1];
+    }
+
+    @Override
+    public int target(int edge){
+        return targets[edge];
+    }
+
+    @Override
+    public double weight(int edge){
+        return weights[edge];
+    }
+
+    /**Passes the target id and weight of every outgoing edge of a node to consumer, without allocating
+     *
+     * @param id The id of the node whose outgoing edges will be visited
+     * @param consumer The callback that receives each outgoing edge
+     * @spec.requires 0 &lt;= id &lt; nodeCount(), consumer is not null
+     */
+    public void forEachNeighbor(int id, NeighborConsumer consumer){
+        int end = offsets[id + 1];
+        for(int e = offsets[id]; e < end; e++){
+            consumer.accept(targets[e], weights[e]);
+        }
+    }
+
+    /**Reports the shape and estimated memory footprint of this, on the same assumptions as DirectedLabeledGraph.stats(),
+     * so the two representations can be compared
+     *
+     * @return The node and edge counts, out-degree histogram and estimated bytes per node and per edge of this, counting
+     *         the node label index and offsets for the nodes and the target and weight arrays for the edges
+     */
+    public GraphStats stats(){
+        long nodeBytes = GraphStats.labelIndexBytes(nodeLabels.length) + 16 + 4L * offsets.length;
+        long edgeBytes = 2 * 16 + (4L + 8) * targets.length;
+        return new GraphStats(this, nodeBytes, edgeBytes);
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated
+     */
+    private void checkRep(){
+        assert nodeLabels != null && ids != null && offsets != null && targets != null && weights != null;
+        assert offsets.length == nodeLabels.length + 1 : "offsets has wrong length";
+        assert weights.length == targets.length : "weights out of step with edges";
+    }
+
+    /**
+     * <b>NeighborConsumer</b> receives the outgoing edges of a node one at a time as primitive values
+     */
+    @FunctionalInterface
+    public interface NeighborConsumer {
+
+        /**Accepts a single outgoing edge
+         *
+         * @param target The id of the node the edge goes into
+         * @param weight The weight of the edge
+         */
+        void accept(int target, double weight);
+    }
+}
@@ -0,0 +1,110 @@
+package graph.junitTests;
+
+import graph.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * BidirectionalBreadthFirstSearch class.
+ *
+ * <p>
+ */
+public class BidirectionalBreadthFirstSearchTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    /**The number of edges on a shortest path from start to end found by a one-sided search, or -1 if there is none*/
+    private int distance(FrozenGraph<Integer,String> g, int start, int end){
+        int[] depth = new int[g.nodeCount()];
+        Arrays.fill(depth, -1);
+        Queue<Integer> queue = new ArrayDeque<>();
+        depth[g.idOf(start)] = 0;
+        queue.add(g.idOf(start));
+        while(!queue.isEmpty()){
+            int node = queue.remove();
+            for(int e = g.edgeStart(node); e < g.edgeEnd(node); e++){
+                if(depth[g.target(e)] == -1){
+                    depth[g.target(e)] = depth[node] + 1;
+                    queue.add(g.target(e));
+                }
+            }
+        }
+        return depth[g.idOf(end)];
+    }
+
+    @Test
+    public void findsShortestPathsTest(){
+        Random random = new Random(331);
+        DirectedLabeledGraph<Integer,String> graph = new DirectedLabeledGraph<>();
+        for(int i = 0; i < 2000; i++){
+            graph.addEdge("e" + random.nextInt(3), new DirectedLabeledGraph.Node<>(random.nextInt(1000)),
+                    new DirectedLabeledGraph.Node<>(random.nextInt(1000)));
+        }
+        FrozenGraph<Integer,String> frozen = graph.freeze();
+        BidirectionalBreadthFirstSearch<Integer,String> search = new BidirectionalBreadthFirstSearch<>(frozen);
+        for(int i = 0; i < 200; i++){
+            int start = random.nextInt(1000);
+            int end = random.nextInt(1000);
+            if(!frozen.containsNode(start) || !frozen.containsNode(end)){
+                continue;
+            }
+            int expected = distance(frozen, start, end);
+            List<DirectedLabeledGraph.Edge<Integer,String>> path = search.findPath(start, end, Comparator.naturalOrder());
+            if(expected == -1){
+                assertNull(path);
+                continue;
+            }
+            assertEquals(expected, path.size());
+            int at = start;
+            for(DirectedLabeledGraph.Edge<Integer,String> edge : path){
+                int to = edge.getDestination().getLabel();
+                assertEquals(Collections.min(frozen.getEdgesBetween(new DirectedLabeledGraph.Node<>(at), edge.getDestination())), edge.getLabel());
+                at = to;
+            }
+            assertEquals(end, at);
+        }
+    }
+
+    @Test
+    public void reachesFewerNodesTest(){
+        //Two stars joined through their centers: a one-sided search from a leaf reaches every node of both stars
+        DirectedLabeledGraph<String,String> graph = new DirectedLabeledGraph<>();
+        DirectedLabeledGraph.Node<String> left = new DirectedLabeledGraph.Node<>("left");
+        DirectedLabeledGraph.Node<String> right = new DirectedLabeledGraph.Node<>("right");
+        for(int i = 0; i < 100; i++){
+            DirectedLabeledGraph.Node<String> leaf = new DirectedLabeledGraph.Node<>("l" + i);
+            graph.addEdge("x", leaf, left);
+            graph.addEdge("x", left, leaf);
+            leaf = new DirectedLabeledGraph.Node<>("r" + i);
+            graph.addEdge("x", leaf, right);
+            graph.addEdge("x", right, leaf);
+        }
+        graph.addEdge("y", left, right);
+        graph.addEdge("y", right, left);
+        BidirectionalBreadthFirstSearch<String,String> search = new BidirectionalBreadthFirstSearch<>(graph.freeze());
+        List<DirectedLabeledGraph.Edge<String,String>> path = search.findPath("l0", "r0", Comparator.naturalOrder());
+        assertEquals(Arrays.asList(new DirectedLabeledGraph.Edge<>("x", left), new DirectedLabeledGraph.Edge<>("y", right),
+                new DirectedLabeledGraph.Edge<>("x", new DirectedLabeledGraph.Node<>("r0"))), path);
+        assertTrue(search.reachedCount() < 110);
+    }
+
+    @Test
+    public void trivialPathsTest(){
+        DirectedLabeledGraph<String,String> graph = new DirectedLabeledGraph<>();
+        graph.addEdge("x", new DirectedLabeledGraph.Node<>("a"), new DirectedLabeledGraph.Node<>("b"));
+        BidirectionalBreadthFirstSearch<String,String> search = new BidirectionalBreadthFirstSearch<>(graph.freeze());
+        assertTrue(search.findPath("a", "a", Comparator.naturalOrder()).isEmpty());
+        assertNull(search.findPath("b", "a", Comparator.naturalOrder()));
+        assertNull(search.findPath("a", "missing", Comparator.naturalOrder()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingStartTest(){
+        new BidirectionalBreadthFirstSearch<>(new DirectedLabeledGraph<String,String>().freeze()).findPath("a", "b", Comparator.naturalOrder());
+    }
+}
@@ -0,0 +1,76 @@
+package graph.junitTests;
+
+import graph.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * BidirectionalDijkstra class.
+ *
+ * <p>
+ */
+public class BidirectionalDijkstraTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    @Test
+    public void matchesDijkstraTest(){
+        Random random = new Random(331);
+        DirectedLabeledGraph<Integer,Double> graph = new DirectedLabeledGraph<>();
+        for(int i = 0; i < 400; i++){
+            graph.addNode(i);
+        }
+        for(int i = 0; i < 1600; i++){
+            graph.addEdge((double) random.nextInt(50), new DirectedLabeledGraph.Node<>(random.nextInt(400)),
+                    new DirectedLabeledGraph.Node<>(random.nextInt(400)));
+        }
+        WeightedGraph<Integer> g = WeightedGraph.of(graph);
+        DijkstraEngine<Integer> engine = new DijkstraEngine<>(g);
+        BidirectionalDijkstra<Integer> search = new BidirectionalDijkstra<>(g);
+        for(int i = 0; i < 200; i++){
+            int source = random.nextInt(400);
+            int target = random.nextInt(400);
+            boolean found = engine.search(source, target);
+            assertEquals(found, search.search(source, target));
+            if(!found){
+                assertNull(search.pathEdges());
+                assertEquals(Double.POSITIVE_INFINITY, search.distance(), 0);
+                continue;
+            }
+            assertEquals(engine.distance(target), search.distance(), 0);
+            //The edges form a path from source to target of the same length
+            int at = source;
+            double length = 0;
+            for(int e : search.pathEdges()){
+                assertTrue(e >= g.edgeStart(at) && e < g.edgeEnd(at));
+                length += g.weight(e);
+                at = g.target(e);
+            }
+            assertEquals(target, at);
+            assertEquals(engine.distance(target), length, 0);
+        }
+    }
+
+    @Test
+    public void sameSourceAndTargetTest(){
+        DirectedLabeledGraph<String,Double> graph = new DirectedLabeledGraph<>();
+        graph.addEdge(1.0, new DirectedLabeledGraph.Node<>("a"), new DirectedLabeledGraph.Node<>("b"));
+        BidirectionalDijkstra<String> search = new BidirectionalDijkstra<>(WeightedGraph.of(graph));
+        assertTrue(search.search(0, 0));
+        assertEquals(0, search.pathEdges().length);
+        assertEquals(0, search.distance(), 0);
+        assertFalse(search.search(1, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mismatchedReverseTest(){
+        DirectedLabeledGraph<String,Double> graph = new DirectedLabeledGraph<>();
+        graph.addNode("a");
+        new BidirectionalDijkstra<>(WeightedGraph.of(graph), new ReverseAdjacency<>(WeightedGraph.of(graph)));
+    }
+}
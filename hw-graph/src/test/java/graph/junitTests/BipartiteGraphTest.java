@@ -0,0 +1,96 @@
+package graph.junitTests;
+
+import graph.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * BipartiteGraph class.
+ *
+ * <p>
+ */
+public class BipartiteGraphTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    /**Breadth first search over edges sorted by destination then label, as MarvelPaths.findPath does, as a reference*/
+    private List<DirectedLabeledGraph.Edge<Integer,Integer>> reference(FrozenGraph<Integer,Integer> g, int start, int end){
+        Map<Integer, List<DirectedLabeledGraph.Edge<Integer,Integer>>> paths = new HashMap<>();
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        paths.put(start, new ArrayList<>());
+        queue.add(start);
+        while(!queue.isEmpty()){
+            int node = queue.remove();
+            if(node == end){
+                return paths.get(node);
+            }
+            List<DirectedLabeledGraph.Edge<Integer,Integer>> edges = new ArrayList<>(g.getEdges(new DirectedLabeledGraph.Node<>(node)));
+            edges.sort(Comparator.comparing((DirectedLabeledGraph.Edge<Integer,Integer> e) -> e.getDestination().getLabel()).thenComparing(DirectedLabeledGraph.Edge::getLabel));
+            for(DirectedLabeledGraph.Edge<Integer,Integer> edge : edges){
+                if(!paths.containsKey(edge.getDestination().getLabel())){
+                    List<DirectedLabeledGraph.Edge<Integer,Integer>> path = new ArrayList<>(paths.get(node));
+                    path.add(edge);
+                    paths.put(edge.getDestination().getLabel(), path);
+                    queue.add(edge.getDestination().getLabel());
+                }
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void matchesCliqueGraphTest(){
+        Random random = new Random(331);
+        Map<Integer, List<Integer>> books = new HashMap<>();
+        GraphBuilder<Integer,Integer> builder = new GraphBuilder<>();
+        for(int book = 0; book < 60; book++){
+            List<Integer> cast = new ArrayList<>();
+            int size = 1 + random.nextInt(5);
+            for(int i = 0; i < size; i++){
+                cast.add(random.nextInt(80));
+            }
+            books.put(book, cast);
+            builder.addClique(book, cast);
+        }
+        BipartiteGraph<Integer,Integer> bipartite = new BipartiteGraph<>(books);
+        FrozenGraph<Integer,Integer> cliques = builder.build().freeze();
+        assertEquals(cliques.nodeCount(), bipartite.nodeCount());
+        assertEquals(60, bipartite.groupCount());
+        for(int s = 0; s < cliques.nodeCount(); s += 3){
+            for(int e = 0; e < cliques.nodeCount(); e += 2){
+                int start = cliques.labelOf(s);
+                int end = cliques.labelOf(e);
+                assertEquals(reference(cliques, start, end), bipartite.findPath(start, end));
+            }
+        }
+    }
+
+    @Test
+    public void repeatedMemberTest(){
+        Map<String, List<String>> books = new HashMap<>();
+        books.put("b", Arrays.asList("x", "x", "y"));
+        books.put("a", Collections.singletonList("z"));
+        BipartiteGraph<String,String> g = new BipartiteGraph<>(books);
+        assertEquals(3, g.nodeCount());
+        assertEquals(3, g.incidenceCount());
+        assertTrue(g.containsNode("z"));
+        assertEquals(Collections.singletonList(new DirectedLabeledGraph.Edge<>("b", new DirectedLabeledGraph.Node<>("y"))), g.findPath("x", "y"));
+        assertNull(g.findPath("x", "z"));
+        assertEquals(Collections.emptyList(), g.findPath("z", "z"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void startDoesntExistTest(){
+        new BipartiteGraph<String,String>(Collections.singletonMap("a", Arrays.asList("x", "y"))).findPath("w", "x");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullMemberTest(){
+        new BipartiteGraph<String,String>(Collections.singletonMap("a", Arrays.asList("x", null)));
+    }
+}
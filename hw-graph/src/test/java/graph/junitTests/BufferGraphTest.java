@@ -0,0 +1,243 @@
+package graph.junitTests;
+
+import graph.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * BufferGraph class and the binary graph format.
+ *
+ * <p>
+ */
+public class BufferGraphTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private DirectedLabeledGraph<String,String> sample(){
+        DirectedLabeledGraph<String,String> g = new DirectedLabeledGraph<>();
+        g.addNode("lonely");
+        g.addEdge("e1", new DirectedLabeledGraph.Node<>("a"), new DirectedLabeledGraph.Node<>("b"));
+        g.addEdge("e2", new DirectedLabeledGraph.Node<>("a"), new DirectedLabeledGraph.Node<>("b"));
+        g.addEdge("\u00e9\u00e8 \u2603", new DirectedLabeledGraph.Node<>("b"), new DirectedLabeledGraph.Node<>("\u00fcber"));
+        g.addEdge("a", new DirectedLabeledGraph.Node<>("\u00fcber"), new DirectedLabeledGraph.Node<>("\u00fcber"));
+        return g;
+    }
+
+    @Test
+    public void labeledRoundTripTest() throws IOException {
+        DirectedLabeledGraph<String,String> g = sample();
+        Path file = Files.createTempFile("graph", ".bin");
+        try {
+            BufferGraph.write(g, file, Function.identity(), Function.identity());
+            BufferGraph<String> mapped = BufferGraph.map(file, Function.identity());
+            assertFalse(mapped.hasWeights());
+            assertEquals(4, mapped.nodeCount());
+            assertEquals(4, mapped.edgeCount());
+            assertEquals(-1, mapped.idOf("missing"));
+            //Ids and edge order follow the frozen graph
+            FrozenGraph<String,String> frozen = g.freeze();
+            for(int i = 0; i < frozen.nodeCount(); i++){
+                assertEquals(frozen.labelOf(i), mapped.labelOf(i));
+                assertEquals(i, mapped.idOf(frozen.labelOf(i)));
+                assertEquals(frozen.edgeStart(i), mapped.edgeStart(i));
+                assertEquals(frozen.edgeEnd(i), mapped.edgeEnd(i));
+            }
+            for(int e = 0; e < frozen.edgeCount(); e++){
+                assertEquals(frozen.target(e), mapped.target(e));
+                assertEquals(frozen.edgeLabel(e), mapped.edgeLabel(e));
+            }
+            assertEquals(g, mapped.thaw(Function.identity()));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void weightedRoundTripTest() throws IOException {
+        Random random = new Random(331);
+        DirectedLabeledGraph<Integer,Double> g = new DirectedLabeledGraph<>();
+        for(int i = 0; i < 500; i++){
+            g.addEdge(random.nextDouble() * 100, new DirectedLabeledGraph.Node<>(random.nextInt(60)),
+                    new DirectedLabeledGraph.Node<>(random.nextInt(60)));
+        }
+        Path file = Files.createTempFile("graph", ".bin");
+        try {
+            BufferGraph.writeWeighted(g, file, String::valueOf);
+            BufferGraph<Integer> mapped = BufferGraph.map(file, Integer::valueOf);
+            WeightedGraph<Integer> expected = WeightedGraph.of(g);
+            assertTrue(mapped.hasWeights());
+            assertEquals(expected.nodeCount(), mapped.nodeCount());
+            assertEquals(expected.edgeCount(), mapped.edgeCount());
+            for(int i = 0; i < expected.nodeCount(); i++){
+                assertEquals(expected.labelOf(i), mapped.labelOf(i));
+                assertEquals(expected.edgeEnd(i), mapped.edgeEnd(i));
+            }
+            for(int e = 0; e < expected.edgeCount(); e++){
+                assertEquals(expected.target(e), mapped.target(e));
+                assertEquals(Double.doubleToLongBits(expected.weight(e)), Double.doubleToLongBits(mapped.weight(e)));
+            }
+            assertEquals(g, mapped.thaw(Double::valueOf));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void sourceRecordedTest() throws IOException {
+        byte[] data = "Char1,Book1\nChar2,Book1".getBytes(StandardCharsets.UTF_8);
+        int source = BufferGraph.checksum(new ByteArrayInputStream(data));
+        assertEquals(source, BufferGraph.checksum(new ByteArrayInputStream(data)));
+        data[data.length - 1] = '2';
+        assertNotEquals(source, BufferGraph.checksum(new ByteArrayInputStream(data)));
+        Path file = Files.createTempFile("graph", ".bin");
+        Path copy = Files.createTempFile("graph", ".bin");
+        try {
+            BufferGraph.write(sample(), file, Function.identity(), Function.identity(), source);
+            BufferGraph<String> mapped = BufferGraph.map(file, Function.identity());
+            assertEquals(source, mapped.source());
+            mapped.save(copy);
+            assertEquals(source, BufferGraph.map(copy, Function.identity()).source());
+            //Files written without a checksum record 0
+            BufferGraph.write(sample(), file, Function.identity(), Function.identity());
+            assertEquals(0, BufferGraph.map(file, Function.identity()).source());
+        } finally {
+            Files.delete(file);
+            Files.delete(copy);
+        }
+    }
+
+    @Test
+    public void copyOfTest() throws IOException {
+        DirectedLabeledGraph<String,String> g = sample();
+        BufferGraph<String> copy = BufferGraph.copyOf(g, Function.identity(), Function.identity(), 331);
+        FrozenGraph<String,String> frozen = g.freeze();
+        assertEquals(331, copy.source());
+        assertEquals(frozen.nodeCount(), copy.nodeCount());
+        for(int e = 0; e < frozen.edgeCount(); e++){
+            assertEquals(frozen.target(e), copy.target(e));
+            assertEquals(frozen.edgeLabel(e), copy.edgeLabel(e));
+        }
+        Path file = Files.createTempFile("graph", ".bin");
+        try {
+            copy.save(file);
+            assertEquals(g, BufferGraph.map(file, Function.identity()).thaw(Function.identity()));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void replaceWhileMappedTest() throws IOException {
+        Path directory = Files.createTempDirectory("graphs");
+        Path file = directory.resolve("graph.bin");
+        try {
+            BufferGraph.write(sample(), file, Function.identity(), Function.identity());
+            BufferGraph<String> mapped = BufferGraph.map(file, Function.identity());
+            DirectedLabeledGraph<String,String> other = new DirectedLabeledGraph<>();
+            other.addEdge("x", new DirectedLabeledGraph.Node<>("p"), new DirectedLabeledGraph.Node<>("q"));
+            BufferGraph.write(other, file, Function.identity(), Function.identity());
+            //The graph mapped from the replaced file still reads the old bytes
+            assertEquals(sample(), mapped.thaw(Function.identity()));
+            assertEquals(other, BufferGraph.map(file, Function.identity()).thaw(Function.identity()));
+            try(Stream<Path> files = Files.list(directory)){
+                assertEquals(1, files.count());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void emptyGraphTest() throws IOException {
+        Path file = Files.createTempFile("graph", ".bin");
+        try {
+            BufferGraph.write(new DirectedLabeledGraph<String,String>(), file, Function.identity(), Function.identity());
+            BufferGraph<String> mapped = BufferGraph.map(file, Function.identity());
+            assertEquals(0, mapped.nodeCount());
+            assertEquals(0, mapped.edgeCount());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void badMagicTest(){
+        BufferGraph.wrap(ByteBuffer.allocate(64), Function.identity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void truncatedTest() throws IOException {
+        Path file = Files.createTempFile("graph", ".bin");
+        try {
+            BufferGraph.write(sample(), file, Function.identity(), Function.identity());
+            byte[] bytes = Files.readAllBytes(file);
+            BufferGraph.wrap(ByteBuffer.wrap(bytes, 0, bytes.length - 4).slice(), Function.identity());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**Asserts that wrapping bytes fails once the int at a byte index is replaced by value*/
+    private void assertCorruptRejected(byte[] bytes, int at, int value){
+        ByteBuffer corrupt = ByteBuffer.wrap(bytes.clone());
+        corrupt.putInt(at, value);
+        try {
+            BufferGraph.wrap(corrupt, Function.identity());
+            fail("accepted " + value + " at byte " + at);
+        } catch (IllegalArgumentException e){
+            //expected
+        }
+    }
+
+    @Test
+    public void corruptSectionsTest() throws IOException {
+        Path file = Files.createTempFile("graph", ".bin");
+        try {
+            BufferGraph.write(sample(), file, Function.identity(), Function.identity());
+            byte[] bytes = Files.readAllBytes(file);
+            ByteBuffer header = ByteBuffer.wrap(bytes);
+            int nodes = header.getInt(12), edges = header.getInt(16), strings = header.getInt(20), stringBytes = header.getInt(24);
+            int nodeLabelsAt = (32 + 4 * (strings + 1) + stringBytes + 7) & ~7;
+            int offsetsAt = nodeLabelsAt + 4 * nodes;
+            int targetsAt = offsetsAt + 4 * (nodes + 1);
+            int labelsAt = (targetsAt + 4 * edges + 7) & ~7;
+            BufferGraph.wrap(ByteBuffer.wrap(bytes), Function.identity());
+
+            assertCorruptRejected(bytes, 36, Integer.MAX_VALUE); //A string offset past the string bytes
+            assertCorruptRejected(bytes, 36 + 4, 0); //A string offset below the one before it
+            assertCorruptRejected(bytes, nodeLabelsAt, strings); //A node label outside the dictionary
+            assertCorruptRejected(bytes, offsetsAt + 4, edges + 1); //A node offset past the edges
+            assertCorruptRejected(bytes, offsetsAt + 4 * nodes, edges - 1); //Offsets that end before the last edge
+            assertCorruptRejected(bytes, targetsAt, nodes); //An edge to a node that does not exist
+            assertCorruptRejected(bytes, targetsAt, -1);
+            assertCorruptRejected(bytes, labelsAt, strings); //An edge label outside the dictionary
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void weightOfLabeledGraphTest() throws IOException {
+        Path file = Files.createTempFile("graph", ".bin");
+        try {
+            BufferGraph.write(sample(), file, Function.identity(), Function.identity());
+            BufferGraph.map(file, Function.identity()).weight(0);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package graph.junitTests;
+
+import graph.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * CacheFiles class.
+ *
+ * <p>
+ */
+public class CacheFilesTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    @Test
+    public void savedTest() throws IOException {
+        Path file = Files.createTempFile("cache", ".bin");
+        try {
+            assertTrue(CacheFiles.saveOrWarn(file, f -> Files.write(f, new byte[]{1, 2, 3})));
+            assertEquals(3, Files.size(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void failureReportedTest() throws IOException {
+        Path dir = Files.createTempDirectory("cache");
+        Logger logger = Logger.getLogger(CacheFiles.class.getName());
+        boolean parentHandlers = logger.getUseParentHandlers();
+        logger.setUseParentHandlers(false); //Keep the expected warning out of the test output
+        try {
+            assertFalse(CacheFiles.saveOrWarn(dir.resolve("missing").resolve("cache.bin"), f -> Files.write(f, new byte[]{1})));
+        } finally {
+            logger.setUseParentHandlers(parentHandlers);
+            Files.delete(dir);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullWriterTest(){
+        CacheFiles.saveOrWarn(Paths.get("cache.bin"), null);
+    }
+}
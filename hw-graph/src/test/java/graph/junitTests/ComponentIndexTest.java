@@ -0,0 +1,109 @@
+package graph.junitTests;
+
+import graph.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * ComponentIndex class.
+ *
+ * <p>
+ */
+public class ComponentIndexTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    /**Every edge of the random graphs has weight 1*/
+    private static final ToDoubleFunction<Random> WEIGHTS = r -> 1.0;
+
+    /**Finds every node reachable from start by breadth first search, as a reference*/
+    private boolean[] reachable(IntAdjacency<?> g, int start){
+        boolean[] seen = new boolean[g.nodeCount()];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        seen[start] = true;
+        queue.add(start);
+        while(!queue.isEmpty()){
+            int n = queue.remove();
+            for(int e = g.edgeStart(n); e < g.edgeEnd(n); e++){
+                if(!seen[g.target(e)]){
+                    seen[g.target(e)] = true;
+                    queue.add(g.target(e));
+                }
+            }
+        }
+        return seen;
+    }
+
+    @Test
+    public void matchesReachabilityTest(){
+        Random random = new Random(331);
+        //Sparse enough to have many components of both kinds
+        WeightedGraph<Integer> g = RandomGraphs.randomGraph(random, 300, 330, WEIGHTS);
+        ComponentIndex<Integer> index = new ComponentIndex<>(g);
+        boolean[][] reaches = new boolean[300][];
+        for(int n = 0; n < 300; n++){
+            reaches[n] = reachable(g, n);
+        }
+        for(int u = 0; u < 300; u++){
+            for(int v = 0; v < 300; v++){
+                if(reaches[u][v]){
+                    assertTrue(index.mayReach(u, v));
+                    assertEquals(index.weakComponent(u), index.weakComponent(v));
+                }
+                assertEquals(reaches[u][v] && reaches[v][u], index.stronglyConnected(u, v));
+            }
+        }
+        assertTrue(index.weakComponentCount() > 1);
+        assertTrue(index.strongComponentCount() > index.weakComponentCount());
+    }
+
+    @Test
+    public void componentCountsTest(){
+        DirectedLabeledGraph<String,Double> graph = new DirectedLabeledGraph<>();
+        for(String label : new String[]{"a", "b", "c", "d", "e"}){
+            graph.addNode(label);
+        }
+        //a and b reach each other and both reach c; d and e are joined one way
+        graph.addEdge(1.0, new DirectedLabeledGraph.Node<>("a"), new DirectedLabeledGraph.Node<>("b"));
+        graph.addEdge(1.0, new DirectedLabeledGraph.Node<>("b"), new DirectedLabeledGraph.Node<>("a"));
+        graph.addEdge(1.0, new DirectedLabeledGraph.Node<>("b"), new DirectedLabeledGraph.Node<>("c"));
+        graph.addEdge(1.0, new DirectedLabeledGraph.Node<>("d"), new DirectedLabeledGraph.Node<>("e"));
+        ComponentIndex<String> index = new ComponentIndex<>(WeightedGraph.of(graph));
+        assertEquals(2, index.weakComponentCount());
+        assertEquals(4, index.strongComponentCount());
+        assertTrue(index.mayReach("a", "c"));
+        assertFalse(index.mayReach("c", "a"));
+        assertFalse(index.mayReach("a", "d"));
+        assertFalse(index.mayReach("e", "d"));
+        assertFalse(index.mayReach("a", "missing"));
+    }
+
+    @Test
+    public void longChainTest(){
+        //A recursive Tarjan search would overflow the call stack on a path this long
+        int length = 200000;
+        DirectedLabeledGraph<Integer,Double> graph = new DirectedLabeledGraph<>();
+        for(int i = 0; i < length; i++){
+            graph.addNode(i);
+        }
+        for(int i = 0; i + 1 < length; i++){
+            graph.addEdge(1.0, new DirectedLabeledGraph.Node<>(i), new DirectedLabeledGraph.Node<>(i + 1));
+        }
+        graph.addEdge(1.0, new DirectedLabeledGraph.Node<>(length - 1), new DirectedLabeledGraph.Node<>(0));
+        ComponentIndex<Integer> index = new ComponentIndex<>(WeightedGraph.of(graph));
+        assertEquals(1, index.weakComponentCount());
+        assertEquals(1, index.strongComponentCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullGraphTest(){
+        new ComponentIndex<Integer>(null);
+    }
+}
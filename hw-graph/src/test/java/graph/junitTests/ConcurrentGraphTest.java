@@ -0,0 +1,252 @@
+package graph.junitTests;
+
+import graph.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntPredicate;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * ConcurrentDirectedLabeledGraph class, including stress tests under contention.
+ *
+ * <p>
+ */
+public class ConcurrentGraphTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private static final int THREADS = 8;
+    private static final int OPS = 20000;
+    private static final int NODES = 6;
+
+    private DirectedLabeledGraph.Node<Integer> node(int label){
+        return new DirectedLabeledGraph.Node<>(label);
+    }
+
+    /**A successful add or remove of the element numbered key, made between ticks start and end of a shared clock*/
+    private static final class Change {
+        private final int key;
+        private final boolean add;
+        private final long start, end;
+
+        private Change(int key, boolean add, long start, long end){
+            this.key = key;
+            this.add = add;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**Runs task on THREADS threads at once and waits for all of them to finish, failing on any exception*/
+    private void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for(int t = 0; t < THREADS; t++){
+            int id = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                task.run(id, new Random(id));
+                return null;
+            }));
+        }
+        start.countDown();
+        try {
+            for(Future<?> f : futures){
+                f.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private interface ThreadTask {
+        void run(int id, Random random) throws Exception;
+    }
+
+    /**Creates one empty change log for each thread*/
+    private List<List<Change>> logs(){
+        List<List<Change>> logs = new ArrayList<>();
+        for(int t = 0; t < THREADS; t++){
+            logs.add(new ArrayList<>());
+        }
+        return logs;
+    }
+
+    /**Asserts that, for each key, the successful adds and removes logged by all threads can be ordered so that they
+     * alternate starting with an add, with each taking effect between its start and end tick, and that the element
+     * is present at the end exactly when one more add than remove succeeded. Sweeping the ticks in order, an add cannot
+     * have taken effect before it ended unless the removes that started by then make room for it, and likewise for removes
+     */
+    private void assertAlternates(List<List<Change>> logs, int keys, IntPredicate present){
+        List<List<Change>> byKey = new ArrayList<>();
+        for(int k = 0; k < keys; k++){
+            byKey.add(new ArrayList<>());
+        }
+        for(List<Change> log : logs){
+            for(Change change : log){
+                byKey.get(change.key).add(change);
+            }
+        }
+        for(int k = 0; k < keys; k++){
+            //Ticks are unique, so each event is a tick with its kind in the low bits:
+            //0 an add starts, 1 a remove starts, 2 an add ends, 3 a remove ends
+            long[] events = new long[byKey.get(k).size() * 2];
+            int n = 0;
+            for(Change change : byKey.get(k)){
+                events[n++] = change.start << 2 | (change.add ? 0 : 1);
+                events[n++] = change.end << 2 | (change.add ? 2 : 3);
+            }
+            Arrays.sort(events);
+            int[] counts = new int[4];
+            for(long event : events){
+                counts[(int) (event & 3)]++;
+                assertTrue("key " + k + " was added twice without a remove between", counts[2] <= counts[1] + 1);
+                assertTrue("key " + k + " was removed twice without an add between", counts[3] <= counts[0]);
+            }
+            assertEquals("key " + k, present.test(k) ? 1 : 0, counts[2] - counts[3]);
+        }
+    }
+
+    /**Asserts that no edge points at a missing node and that incoming edges mirror outgoing edges*/
+    private void assertConsistent(LabeledGraph<Integer,String> g){
+        for(DirectedLabeledGraph.Node<Integer> n : g.getNodes()){
+            for(DirectedLabeledGraph.Edge<Integer,String> e : g.getEdges(n)){
+                assertTrue(g.containsNode(e.getDestination()));
+                assertTrue(g.getIncomingEdges(e.getDestination()).contains(new DirectedLabeledGraph.Edge<>(e.getLabel(), n)));
+            }
+            for(DirectedLabeledGraph.Edge<Integer,String> e : g.getIncomingEdges(n)){
+                assertTrue(g.getEdges(e.getDestination()).contains(new DirectedLabeledGraph.Edge<>(e.getLabel(), n)));
+            }
+            assertEquals(n, g.getNode(n.getLabel()));
+        }
+    }
+
+    @Test
+    public void sequentialMatchesDirectedLabeledGraphTest(){
+        LabeledGraph<Integer,String> c = new ConcurrentDirectedLabeledGraph<>();
+        LabeledGraph<Integer,String> d = new DirectedLabeledGraph<>();
+        Random random = new Random(331);
+        for(int i = 0; i < 2000; i++){
+            int op = random.nextInt(4);
+            DirectedLabeledGraph.Node<Integer> a = node(random.nextInt(NODES));
+            DirectedLabeledGraph.Node<Integer> b = node(random.nextInt(NODES));
+            String label = "e" + random.nextInt(3);
+            if(op == 0){
+                assertEquals(d.addEdge(label, a, b), c.addEdge(label, a, b));
+            } else if(op == 1){
+                assertEquals(d.removeEdge(label, a, b), c.removeEdge(label, a, b));
+            } else if(op == 2){
+                assertEquals(d.addNode(a), c.addNode(a));
+            } else if(random.nextInt(4) == 0){
+                assertEquals(d.removeNode(a), c.removeNode(a));
+            }
+        }
+        assertEquals(d.getNodes(), c.getNodes());
+        for(DirectedLabeledGraph.Node<Integer> n : d.getNodes()){
+            assertEquals(d.getEdges(n), c.getEdges(n));
+            assertEquals(d.getIncomingEdges(n), c.getIncomingEdges(n));
+        }
+        assertEquals(d.freeze().thaw(), c.freeze().thaw());
+        c.clear();
+        assertTrue(c.getNodes().isEmpty());
+    }
+
+    @Test
+    public void edgeAddRemoveLinearizableTest() throws Exception {
+        ConcurrentDirectedLabeledGraph<Integer,String> g = new ConcurrentDirectedLabeledGraph<>();
+        for(int i = 0; i < NODES; i++){
+            g.addNode(i);
+        }
+        int labels = 2;
+        AtomicLong clock = new AtomicLong();
+        List<List<Change>> logs = logs();
+        runConcurrently((id, random) -> {
+            for(int i = 0; i < OPS; i++){
+                int a = random.nextInt(NODES);
+                int b = random.nextInt(NODES);
+                int l = random.nextInt(labels);
+                boolean add = random.nextBoolean();
+                long start = clock.getAndIncrement();
+                boolean changed = add ? g.addEdge("e" + l, node(a), node(b)) : g.removeEdge("e" + l, node(a), node(b));
+                long end = clock.getAndIncrement();
+                if(changed){
+                    logs.get(id).add(new Change((a * NODES + b) * labels + l, add, start, end));
+                }
+            }
+        });
+        assertAlternates(logs, NODES * NODES * labels,
+                key -> g.getEdgesBetween(node(key / labels / NODES), node(key / labels % NODES)).contains("e" + key % labels));
+        assertConsistent(g);
+    }
+
+    @Test
+    public void nodeAddRemoveLinearizableTest() throws Exception {
+        //Only addNode and removeNode are used, as addEdge would add missing nodes without reporting it
+        ConcurrentDirectedLabeledGraph<Integer,String> g = new ConcurrentDirectedLabeledGraph<>();
+        AtomicLong clock = new AtomicLong();
+        List<List<Change>> logs = logs();
+        runConcurrently((id, random) -> {
+            for(int i = 0; i < OPS; i++){
+                int a = random.nextInt(NODES);
+                boolean add = random.nextBoolean();
+                long start = clock.getAndIncrement();
+                boolean changed = add ? g.addNode(a) : g.removeNode(a);
+                long end = clock.getAndIncrement();
+                if(changed){
+                    logs.get(id).add(new Change(a, add, start, end));
+                }
+            }
+        });
+        assertAlternates(logs, NODES, a -> g.containsNode(node(a)));
+        assertConsistent(g);
+    }
+
+    @Test
+    public void nodeRemovalUnderContentionTest() throws Exception {
+        //Hubs are never removed. Every other node belongs to the one writer that creates it, which links it to random
+        //hubs in both directions and soon removes it, and its label is never used again, so once a reader finds such a
+        //node missing it is gone for good and no edge into it may be read afterwards
+        ConcurrentDirectedLabeledGraph<Integer,String> g = new ConcurrentDirectedLabeledGraph<>();
+        for(int i = 0; i < NODES; i++){
+            g.addNode(i);
+        }
+        int[] remaining = new int[THREADS];
+        runConcurrently((id, random) -> {
+            if(id == 0){
+                for(int i = 0; i < OPS; i++){
+                    DirectedLabeledGraph.Node<Integer> hub = node(random.nextInt(NODES));
+                    for(DirectedLabeledGraph.Edge<Integer,String> e : g.getEdges(hub)){
+                        if(!g.containsNode(e.getDestination())){
+                            assertFalse("edge " + e + " read after its destination was removed", g.getEdges(hub).contains(e));
+                        }
+                    }
+                    if(i % 100 == 0){
+                        assertConsistent(g.freeze().thaw());
+                    }
+                }
+            } else {
+                Deque<Integer> owned = new ArrayDeque<>();
+                for(int i = 0; i < OPS; i++){
+                    if(owned.size() == 4 || !owned.isEmpty() && random.nextInt(3) == 0){
+                        assertTrue(g.removeNode(owned.remove()));
+                    } else {
+                        int label = NODES + i * THREADS + id;
+                        owned.add(label);
+                        g.addEdge("e" + id, node(random.nextInt(NODES)), node(label));
+                        g.addEdge("e" + id, node(label), node(random.nextInt(NODES)));
+                    }
+                }
+                remaining[id] = owned.size();
+            }
+        });
+        assertEquals(NODES + Arrays.stream(remaining).sum(), g.getNodes().size());
+        assertConsistent(g);
+    }
+}
@@ -0,0 +1,108 @@
+package graph.junitTests;
+
+import graph.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * ContractionHierarchy class.
+ *
+ * <p>
+ */
+public class ContractionHierarchyTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    /**The random graphs have weights in eighths from 0 to 124.875*/
+    private static final ToDoubleFunction<Random> WEIGHTS = r -> r.nextInt(1000) / 8.0;
+
+    /**Checks that the query's path joins source to target with the same length Dijkstra finds*/
+    private void assertMatchesDijkstra(WeightedGraph<Integer> g, DijkstraEngine<Integer> engine, ContractionHierarchy.Query<Integer> query,
+                                       int source, int target){
+        boolean found = engine.search(source, target);
+        assertEquals(found, query.search(source, target));
+        if(!found){
+            assertNull(query.pathEdges());
+            return;
+        }
+        int at = source;
+        double length = 0;
+        for(int e : query.pathEdges()){
+            assertTrue(e >= g.edgeStart(at) && e < g.edgeEnd(at));
+            length += g.weight(e);
+            at = g.target(e);
+        }
+        assertEquals(target, at);
+        assertEquals(engine.distance(target), length, 1e-9);
+        assertEquals(engine.distance(target), query.distance(), 1e-9);
+    }
+
+    @Test
+    public void matchesDijkstraTest(){
+        Random random = new Random(331);
+        WeightedGraph<Integer> g = RandomGraphs.randomGraph(random, 500, 2000, WEIGHTS);
+        ContractionHierarchy<Integer> hierarchy = ContractionHierarchy.build(g);
+        ContractionHierarchy.Query<Integer> query = hierarchy.query();
+        DijkstraEngine<Integer> engine = new DijkstraEngine<>(g);
+        for(int i = 0; i < 300; i++){
+            assertMatchesDijkstra(g, engine, query, random.nextInt(500), random.nextInt(500));
+        }
+        assertTrue(query.search(7, 7));
+        assertEquals(0, query.pathEdges().length);
+    }
+
+    @Test
+    public void ranksArePermutationTest(){
+        WeightedGraph<Integer> g = RandomGraphs.randomGraph(new Random(331), 200, 600, WEIGHTS);
+        ContractionHierarchy<Integer> hierarchy = ContractionHierarchy.build(g);
+        boolean[] used = new boolean[g.nodeCount()];
+        for(int i = 0; i < g.nodeCount(); i++){
+            assertFalse(used[hierarchy.rank(i)]);
+            used[hierarchy.rank(i)] = true;
+        }
+    }
+
+    @Test
+    public void saveAndLoadTest() throws IOException {
+        Random random = new Random(331);
+        WeightedGraph<Integer> g = RandomGraphs.randomGraph(random, 300, 1200, WEIGHTS);
+        ContractionHierarchy<Integer> built = ContractionHierarchy.build(g);
+        Path file = Files.createTempFile("hierarchy", ".ch");
+        try {
+            built.save(file);
+            ContractionHierarchy<Integer> loaded = ContractionHierarchy.load(file, g);
+            assertEquals(built.shortcutCount(), loaded.shortcutCount());
+            ContractionHierarchy.Query<Integer> query = loaded.query();
+            DijkstraEngine<Integer> engine = new DijkstraEngine<>(g);
+            for(int i = 0; i < 100; i++){
+                assertMatchesDijkstra(g, engine, query, random.nextInt(300), random.nextInt(300));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void loadOntoDifferentGraphTest() throws IOException {
+        WeightedGraph<Integer> g = RandomGraphs.randomGraph(new Random(331), 100, 300, WEIGHTS);
+        WeightedGraph<Integer> other = RandomGraphs.randomGraph(new Random(332), 100, 300, WEIGHTS);
+        Path file = Files.createTempFile("hierarchy", ".ch");
+        try {
+            ContractionHierarchy.build(g).save(file);
+            assertThrows(IllegalArgumentException.class, () -> ContractionHierarchy.load(file, other));
+            Files.write(file, new byte[]{1, 2, 3});
+            assertThrows(IllegalArgumentException.class, () -> ContractionHierarchy.load(file, g));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
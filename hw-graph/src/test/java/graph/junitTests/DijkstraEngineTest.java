@@ -0,0 +1,142 @@
+package graph.junitTests;
+
+import graph.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * DijkstraEngine class.
+ *
+ * <p>
+ */
+public class DijkstraEngineTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    /**The random graphs have whole weights from 0 to 99*/
+    private static final ToDoubleFunction<Random> WEIGHTS = r -> r.nextInt(100);
+
+    /**A Bellman-Ford search giving the least distance from start to every node, as a reference*/
+    private double[] reference(WeightedAdjacency<Integer> g, int start){
+        double[] dist = new double[g.nodeCount()];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[start] = 0;
+        for(boolean changed = true; changed; ){
+            changed = false;
+            for(int n = 0; n < g.nodeCount(); n++){
+                for(int e = g.edgeStart(n); e < g.edgeEnd(n); e++){
+                    if(dist[n] + g.weight(e) < dist[g.target(e)]){
+                        dist[g.target(e)] = dist[n] + g.weight(e);
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return dist;
+    }
+
+    @Test
+    public void matchesReferenceDistancesTest(){
+        Random random = new Random(331);
+        WeightedGraph<Integer> g = RandomGraphs.randomGraph(random, 300, 1500, WEIGHTS);
+        DijkstraEngine<Integer> engine = new DijkstraEngine<>(g);
+        for(int i = 0; i < 20; i++){ //Reuse the same engine for every search
+            int start = random.nextInt(300);
+            double[] expected = reference(g, start);
+            assertTrue(engine.search(start, -1));
+            for(int n = 0; n < g.nodeCount(); n++){
+                assertEquals(expected[n], engine.distance(n), 0);
+                if(engine.isSettled(n) && n != start){
+                    int e = engine.parentEdge(n);
+                    assertEquals(n, g.target(e));
+                    assertEquals(engine.distance(engine.parent(n)) + g.weight(e), engine.distance(n), 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void stopsAtTargetTest(){
+        DirectedLabeledGraph<String,Double> graph = new DirectedLabeledGraph<>();
+        DirectedLabeledGraph.Node<String> a = new DirectedLabeledGraph.Node<>("a");
+        DirectedLabeledGraph.Node<String> b = new DirectedLabeledGraph.Node<>("b");
+        DirectedLabeledGraph.Node<String> c = new DirectedLabeledGraph.Node<>("c");
+        DirectedLabeledGraph.Node<String> d = new DirectedLabeledGraph.Node<>("d");
+        graph.addEdge(1.0, a, b);
+        graph.addEdge(5.0, a, c);
+        graph.addEdge(1.0, b, c);
+        graph.addEdge(10.0, c, d);
+        WeightedGraph<String> g = WeightedGraph.of(graph);
+        DijkstraEngine<String> engine = new DijkstraEngine<>(g);
+
+        assertTrue(engine.search(g.idOf("a"), g.idOf("c")));
+        assertEquals(3, engine.settledCount());
+        assertFalse(engine.isSettled(g.idOf("d")));
+        assertNull(engine.pathTo(g.idOf("d")));
+        assertEquals(2.0, engine.distance(g.idOf("c")), 0);
+        assertArrayEquals(new int[]{g.idOf("a"), g.idOf("b"), g.idOf("c")}, engine.pathTo(g.idOf("c")));
+        assertEquals(-1, engine.parent(g.idOf("a")));
+
+        //A new search forgets the previous one
+        assertFalse(engine.search(g.idOf("d"), g.idOf("a")));
+        assertEquals(g.idOf("d"), engine.source());
+        assertFalse(engine.reached(g.idOf("c")));
+        assertEquals(Double.POSITIVE_INFINITY, engine.distance(g.idOf("a")), 0);
+        assertArrayEquals(new int[]{g.idOf("d")}, engine.pathTo(g.idOf("d")));
+    }
+
+    @Test
+    public void aStarOnGridTest(){
+        //A grid with unit edges, where the Manhattan distance is a consistent heuristic
+        int side = 30;
+        DirectedLabeledGraph<Integer,Double> graph = new DirectedLabeledGraph<>();
+        for(int r = 0; r < side; r++){
+            for(int c = 0; c < side; c++){
+                DirectedLabeledGraph.Node<Integer> here = new DirectedLabeledGraph.Node<>(r * side + c);
+                if(c + 1 < side){
+                    graph.addEdge(1.0, here, new DirectedLabeledGraph.Node<>(r * side + c + 1));
+                    graph.addEdge(1.0, new DirectedLabeledGraph.Node<>(r * side + c + 1), here);
+                }
+                if(r + 1 < side){
+                    graph.addEdge(1.0, here, new DirectedLabeledGraph.Node<>((r + 1) * side + c));
+                    graph.addEdge(1.0, new DirectedLabeledGraph.Node<>((r + 1) * side + c), here);
+                }
+            }
+        }
+        WeightedGraph<Integer> g = WeightedGraph.of(graph);
+        Heuristic manhattan = (node, target) -> {
+            int a = g.labelOf(node);
+            int b = g.labelOf(target);
+            return Math.abs(a / side - b / side) + Math.abs(a % side - b % side);
+        };
+        DijkstraEngine<Integer> engine = new DijkstraEngine<>(g);
+        int source = g.idOf(5 * side + 5);
+        int target = g.idOf(5 * side + 25);
+        assertTrue(engine.search(source, target));
+        int dijkstraSettled = engine.settledCount();
+        assertTrue(engine.search(source, target, manhattan));
+        assertEquals(20.0, engine.distance(target), 0);
+        assertEquals(21, engine.pathTo(target).length);
+        assertTrue(engine.settledCount() * 4 < dijkstraSettled);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void heuristicWithoutTargetTest(){
+        DirectedLabeledGraph<String,Double> graph = new DirectedLabeledGraph<>();
+        graph.addNode("a");
+        new DijkstraEngine<>(WeightedGraph.of(graph)).search(0, -1, (node, target) -> 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidSourceTest(){
+        DirectedLabeledGraph<String,Double> graph = new DirectedLabeledGraph<>();
+        graph.addNode("a");
+        new DijkstraEngine<>(WeightedGraph.of(graph)).search(1, -1);
+    }
+}
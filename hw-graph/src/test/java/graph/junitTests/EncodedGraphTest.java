@@ -0,0 +1,85 @@
+package graph.junitTests;
+
+import graph.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * EncodedGraph class.
+ *
+ * <p>
+ */
+public class EncodedGraphTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private EncodedGraph<String,String> sample(){
+        return new GraphBuilder<String,String>()
+                .addNode("d")
+                .addEdge("z", "c", "a")
+                .addEdge("y", "a", "c")
+                .addEdge("x", "a", "c")
+                .addEdge("y", "a", "b")
+                .addEdge("x", "a", "c")
+                .addClique("w", Arrays.asList("b", "c"))
+                .buildEncoded();
+    }
+
+    @Test
+    public void emptyTest(){
+        EncodedGraph<String,String> g = new GraphBuilder<String,String>().buildEncoded();
+        assertEquals(0, g.nodeCount());
+        assertEquals(0, g.edgeCount());
+        assertEquals(0, g.edgeLabelCount());
+        assertEquals(-1, g.idOf("a"));
+    }
+
+    @Test
+    public void countsAndDictionaryTest(){
+        EncodedGraph<String,String> g = sample();
+        assertEquals(4, g.nodeCount());
+        assertEquals(6, g.edgeCount()); //The repeated a to c edge labeled x is kept once
+        assertEquals(4, g.edgeLabelCount());
+        for(int i = 0; i < g.nodeCount(); i++){
+            assertEquals(i, g.idOf(g.labelOf(i)));
+        }
+        //Comparable labels get ids and codes in their natural order
+        assertEquals("a", g.labelOf(0));
+        assertEquals("d", g.labelOf(3));
+        assertEquals("w", g.decodeEdgeLabel(0));
+        assertEquals("z", g.decodeEdgeLabel(3));
+        assertTrue(g.containsNode("d"));
+        assertEquals(g.edgeStart(3), g.edgeEnd(3));
+    }
+
+    @Test
+    public void edgesSortedTest(){
+        EncodedGraph<String,String> g = sample();
+        int a = g.idOf("a");
+        String[] expected = {"b y", "c x", "c y"};
+        assertEquals(expected.length, g.edgeEnd(a) - g.edgeStart(a));
+        for(int k = 0; k < expected.length; k++){
+            int e = g.edgeStart(a) + k;
+            assertEquals(expected[k], g.labelOf(g.target(e)) + " " + g.edgeLabel(e));
+            assertEquals(g.edgeLabel(e), g.decodeEdgeLabel(g.edgeLabelCode(e)));
+        }
+    }
+
+    @Test
+    public void smallerThanGraphTest(){
+        GraphBuilder<Integer,String> builder = new GraphBuilder<>();
+        for(int book = 0; book < 50; book++){
+            builder.addClique("book" + book % 5, Arrays.asList(book, book + 1, book + 2, book + 3));
+        }
+        EncodedGraph<Integer,String> encoded = builder.buildEncoded();
+        GraphStats stats = builder.build().stats();
+        assertEquals(stats.nodeCount(), encoded.nodeCount());
+        assertEquals(stats.edgeCount(), encoded.edgeCount());
+        assertTrue(encoded.estimatedBytes() * 2 < stats.estimatedBytes());
+    }
+}
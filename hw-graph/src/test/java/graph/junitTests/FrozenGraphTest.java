@@ -0,0 +1,146 @@
+package graph.junitTests;
+
+import graph.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * FrozenGraph class.
+ *
+ * <p>
+ */
+public class FrozenGraphTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+    //Some nodes to use for testing
+    private DirectedLabeledGraph.Node<String> a = new DirectedLabeledGraph.Node<>("a");
+    private DirectedLabeledGraph.Node<String> b = new DirectedLabeledGraph.Node<>("b");
+    private DirectedLabeledGraph.Node<String> c = new DirectedLabeledGraph.Node<>("c");
+
+    private DirectedLabeledGraph<String,String> sample(){
+        DirectedLabeledGraph<String,String> g = new DirectedLabeledGraph<>();
+        g.addNode(c);
+        g.addNode(b);
+        g.addNode(a);
+        g.addEdge("e1", a, b);
+        g.addEdge("e2", a, b);
+        g.addEdge("e3", b, c);
+        g.addEdge("e4", c, c);
+        return g;
+    }
+
+    @Test
+    public void emptyTest(){
+        FrozenGraph<String,String> f = new DirectedLabeledGraph<String,String>().freeze();
+        assertEquals(0, f.nodeCount());
+        assertEquals(0, f.edgeCount());
+        assertEquals(-1, f.idOf("a"));
+        assertFalse(f.containsNode("a"));
+    }
+
+    @Test
+    public void countsAndIdsTest(){
+        FrozenGraph<String,String> f = sample().freeze();
+        assertEquals(3, f.nodeCount());
+        assertEquals(4, f.edgeCount());
+        //Comparable labels get ids in their natural order
+        assertEquals(0, f.idOf("a"));
+        assertEquals(1, f.idOf("b"));
+        assertEquals(2, f.idOf("c"));
+        for(int i = 0; i < f.nodeCount(); i++){
+            assertEquals(i, f.idOf(f.labelOf(i)));
+        }
+        assertEquals(2, f.outDegree(f.idOf("a")));
+        assertEquals(1, f.outDegree(f.idOf("b")));
+        assertEquals(f.edgeCount(), f.edgeEnd(f.nodeCount() - 1));
+    }
+
+    @Test
+    public void csrTraversalTest(){
+        FrozenGraph<String,String> f = sample().freeze();
+        int id = f.idOf("a");
+        Set<String> labels = new HashSet<>();
+        for(int e = f.edgeStart(id); e < f.edgeEnd(id); e++){
+            assertEquals("b", f.labelOf(f.target(e)));
+            labels.add(f.edgeLabel(e));
+        }
+        assertEquals(Set.of("e1", "e2"), labels);
+    }
+
+    @Test
+    public void traversalApisMatchSourceTest(){
+        DirectedLabeledGraph<String,String> g = sample();
+        FrozenGraph<String,String> f = g.freeze();
+        assertEquals(g.getNodes(), f.getNodes());
+        for(DirectedLabeledGraph.Node<String> n : g.getNodes()){
+            assertEquals(g.getEdges(n), f.getEdges(n));
+            assertEquals(new HashSet<>(g.listChildren(n)), new HashSet<>(f.listChildren(n)));
+            for(DirectedLabeledGraph.Node<String> m : g.getNodes()){
+                assertEquals(g.getEdgesBetween(n, m), f.getEdgesBetween(n, m));
+            }
+        }
+        assertEquals(g, f.thaw());
+    }
+
+    @Test
+    public void snapshotUnchangedByEditsTest(){
+        DirectedLabeledGraph<String,String> g = sample();
+        FrozenGraph<String,String> f = g.freeze();
+        g.removeNode(c);
+        assertTrue(f.containsNode("c"));
+        List<DirectedLabeledGraph.Node<String>> children = f.listChildren(b);
+        assertEquals(1, children.size());
+        assertEquals(c, children.get(0));
+    }
+
+    @Test
+    public void edgesSortedTest(){
+        DirectedLabeledGraph<String,String> g = sample();
+        g.addEdge("e9", a, c);
+        g.addEdge("e0", a, c);
+        g.addEdge("e5", a, a);
+        FrozenGraph<String,String> f = g.freeze();
+        int node = f.idOf("a");
+        String[] expectedTargets = {"a", "b", "b", "c", "c"};
+        String[] expectedLabels = {"e5", "e1", "e2", "e0", "e9"};
+        assertEquals(expectedTargets.length, f.outDegree(node));
+        for(int k = 0; k < expectedTargets.length; k++){
+            int e = f.edgeStart(node) + k;
+            assertEquals(expectedTargets[k], f.labelOf(f.target(e)));
+            assertEquals(expectedLabels[k], f.edgeLabel(e));
+        }
+    }
+
+    @Test
+    public void snapshotReusedUntilEditTest(){
+        DirectedLabeledGraph<String,String> g = sample();
+        FrozenGraph<String,String> f = g.freeze();
+        assertSame(f, g.freeze());
+        assertFalse(g.addEdge("e1", a, b)); //Not a change
+        assertSame(f, g.freeze());
+        g.addEdge("e5", c, a);
+        FrozenGraph<String,String> edited = g.freeze();
+        assertNotSame(f, edited);
+        assertEquals(5, edited.edgeCount());
+        g.removeEdge("e5", c, a);
+        assertEquals(4, g.freeze().edgeCount());
+        g.removeNode(c);
+        assertFalse(g.freeze().containsNode("c"));
+        g.addNode(c);
+        assertTrue(g.freeze().containsNode("c"));
+        g.clear();
+        assertEquals(0, g.freeze().nodeCount());
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void missingNodeTest(){
+        sample().freeze().getEdges(new DirectedLabeledGraph.Node<>("fake"));
+    }
+}
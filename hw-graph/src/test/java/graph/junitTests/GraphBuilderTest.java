@@ -0,0 +1,107 @@
+package graph.junitTests;
+
+import graph.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * GraphBuilder class.
+ *
+ * <p>
+ */
+public class GraphBuilderTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private DirectedLabeledGraph.Node<String> node(String label){
+        return new DirectedLabeledGraph.Node<>(label);
+    }
+
+    @Test
+    public void emptyBuildTest(){
+        DirectedLabeledGraph<String,String> g = new GraphBuilder<String,String>().build();
+        assertTrue(g.getNodes().isEmpty());
+        assertEquals(new DirectedLabeledGraph<String,String>(), g);
+    }
+
+    @Test
+    public void duplicateEdgesDroppedTest(){
+        DirectedLabeledGraph<String,String> g = new GraphBuilder<String,String>(0, 0)
+                .addNode("lonely")
+                .addEdge("e1", "a", "b")
+                .addEdge("e1", "a", "b")
+                .addEdge("e2", "a", "b")
+                .addEdge("e3", "b", "b")
+                .build();
+        assertEquals(3, g.getNodes().size());
+        assertTrue(g.containsNode(node("lonely")));
+        assertEquals(2, g.outDegree(node("a")));
+        assertEquals(new HashSet<>(Arrays.asList("e1", "e2")), g.getEdgesBetween(node("a"), node("b")));
+        assertEquals(Collections.singleton("e3"), g.getEdgesBetween(node("b"), node("b")));
+        assertEquals(node("a"), g.getNodeByName("a"));
+    }
+
+    @Test
+    public void cliqueTest(){
+        DirectedLabeledGraph<String,String> g = new GraphBuilder<String,String>()
+                .addClique("book", Arrays.asList("a", "b", "c", "a"))
+                .addClique("single", Collections.singletonList("d"))
+                .build();
+        assertEquals(4, g.getNodes().size());
+        assertEquals(2, g.outDegree(node("a")));
+        assertEquals(0, g.outDegree(node("d")));
+        assertTrue(g.getEdgesBetween(node("a"), node("a")).isEmpty());
+        assertEquals(Collections.singleton("book"), g.getEdgesBetween(node("c"), node("a")));
+    }
+
+    @Test
+    public void matchesIncrementalBuildTest(){
+        Random random = new Random(331);
+        GraphBuilder<Integer,String> builder = new GraphBuilder<>();
+        GraphBuilder<Integer,String> indexedBuilder = new GraphBuilder<Integer,String>().indexIncoming();
+        DirectedLabeledGraph<Integer,String> expected = new DirectedLabeledGraph<>();
+        for(int i = 0; i < 2000; i++){
+            int a = random.nextInt(50);
+            int b = random.nextInt(50);
+            String label = "e" + random.nextInt(4);
+            builder.addEdge(label, a, b);
+            indexedBuilder.addEdge(label, a, b);
+            expected.addEdge(label, new DirectedLabeledGraph.Node<>(a), new DirectedLabeledGraph.Node<>(b));
+        }
+        DirectedLabeledGraph<Integer,String> built = builder.build();
+        DirectedLabeledGraph<Integer,String> indexed = indexedBuilder.build();
+        assertEquals(expected, built);
+        assertEquals(expected, indexed);
+        for(DirectedLabeledGraph.Node<Integer> n : expected.getNodes()){
+            assertEquals(expected.getIncomingEdges(n), built.getIncomingEdges(n));
+            assertEquals(expected.getIncomingEdges(n), indexed.getIncomingEdges(n));
+        }
+        //The built graph is an ordinary mutable graph
+        assertTrue(indexed.removeNode(new DirectedLabeledGraph.Node<>(0)));
+        assertTrue(expected.removeNode(new DirectedLabeledGraph.Node<>(0)));
+        assertEquals(expected, indexed);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeHintTest(){
+        new GraphBuilder<String,String>(-1, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullEdgeLabelTest(){
+        new GraphBuilder<String,String>().addEdge(null, "a", "b");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullCliqueMemberTest(){
+        new GraphBuilder<String,String>().addClique("book", Arrays.asList("a", null));
+    }
+}
@@ -0,0 +1,125 @@
+package graph.junitTests;
+
+import graph.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * GraphStats class.
+ *
+ * <p>
+ */
+public class GraphStatsTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    /**A star with one hub pointing at each of count leaves*/
+    private DirectedLabeledGraph<Integer,String> star(int count, boolean indexIncoming){
+        DirectedLabeledGraph<Integer,String> graph = new DirectedLabeledGraph<>(indexIncoming);
+        graph.addNode(0);
+        for(int i = 1; i <= count; i++){
+            graph.addNode(i);
+            graph.addEdge("e", new DirectedLabeledGraph.Node<>(0), new DirectedLabeledGraph.Node<>(i));
+        }
+        return graph;
+    }
+
+    @Test
+    public void emptyGraphTest(){
+        GraphStats stats = new DirectedLabeledGraph<String,String>().stats();
+        assertEquals(0, stats.nodeCount());
+        assertEquals(0, stats.edgeCount());
+        assertEquals(0, stats.maxOutDegree());
+        assertArrayEquals(new int[]{0}, stats.degreeHistogram());
+        assertEquals(0, stats.idealLoadFactor(), 0);
+        assertEquals(0, stats.bytesPerNode(), 0);
+        assertEquals(0, stats.bytesPerEdge(), 0);
+        assertTrue(stats.estimatedBytes() > 0);
+    }
+
+    @Test
+    public void countsAndHistogramTest(){
+        GraphStats stats = star(5, false).stats();
+        assertEquals(6, stats.nodeCount());
+        assertEquals(5, stats.edgeCount());
+        assertEquals(5, stats.maxOutDegree());
+        assertArrayEquals(new int[]{5, 0, 0, 1}, stats.degreeHistogram());
+        assertEquals(5 / 8.0, stats.idealLoadFactor(), 1e-12);
+        assertTrue(stats.bytesPerNode() > 0 && stats.bytesPerEdge() > 0);
+        assertTrue(stats.toString().contains("edges: 5"));
+        assertTrue(stats.toString().contains("4-7: 1"));
+    }
+
+    @Test
+    public void incomingIndexCostsMoreTest(){
+        GraphStats plain = star(100, false).stats();
+        GraphStats indexed = star(100, true).stats();
+        assertEquals(plain.edgeCount(), indexed.edgeCount());
+        assertTrue(indexed.bytesPerEdge() > plain.bytesPerEdge());
+        assertTrue(indexed.bytesPerNode() > plain.bytesPerNode());
+    }
+
+    @Test
+    public void builderMatchesGraphTest(){
+        GraphBuilder<Integer,String> builder = new GraphBuilder<>();
+        DirectedLabeledGraph<Integer,String> graph = star(40, false);
+        for(int i = 0; i <= 40; i++){
+            builder.addNode(i);
+        }
+        for(int i = 1; i <= 40; i++){
+            builder.addEdge("e", 0, i);
+        }
+        GraphStats built = builder.build().stats();
+        GraphStats added = graph.stats();
+        assertEquals(added.estimatedBytes(), built.estimatedBytes());
+        assertArrayEquals(added.degreeHistogram(), built.degreeHistogram());
+    }
+
+    @Test
+    public void snapshotCountedTest(){
+        DirectedLabeledGraph<Integer,String> graph = star(40, false);
+        GraphStats before = graph.stats();
+        assertEquals(0, before.snapshotBytes());
+        graph.freeze();
+        GraphStats frozen = graph.stats();
+        assertTrue(frozen.snapshotBytes() > 0);
+        assertEquals(before.estimatedBytes() + frozen.snapshotBytes(), frozen.estimatedBytes());
+        graph.addNode(41);
+        assertEquals(0, graph.stats().snapshotBytes());
+    }
+
+    @Test
+    public void arrayRepresentationsTest(){
+        DirectedLabeledGraph<Integer,Double> graph = new DirectedLabeledGraph<>();
+        graph.addNode(0);
+        for(int i = 1; i <= 40; i++){
+            graph.addNode(i);
+            graph.addEdge((double) i, new DirectedLabeledGraph.Node<>(0), new DirectedLabeledGraph.Node<>(i));
+        }
+        GraphStats hashed = graph.stats();
+        GraphStats arrays = WeightedGraph.of(graph).stats();
+        GraphStats buffer = BufferGraph.copyOf(graph, String::valueOf, String::valueOf, 0).stats();
+        for(GraphStats stats : Arrays.asList(arrays, buffer)){
+            assertEquals(hashed.nodeCount(), stats.nodeCount());
+            assertEquals(hashed.edgeCount(), stats.edgeCount());
+            assertEquals(hashed.maxOutDegree(), stats.maxOutDegree());
+            assertArrayEquals(hashed.degreeHistogram(), stats.degreeHistogram());
+            assertEquals(0, stats.idealLoadFactor(), 0);
+            assertEquals(0, stats.snapshotBytes());
+            assertTrue(stats.estimatedBytes() < hashed.estimatedBytes());
+            assertFalse(stats.toString().contains("load factor"));
+        }
+        assertEquals(8, buffer.bytesPerEdge(), 0);
+    }
+
+    @Test
+    public void idealLoadFactorNotSerializedTest() throws NoSuchFieldException {
+        assertTrue(Modifier.isTransient(GraphStats.class.getDeclaredField("idealLoadFactor").getModifiers()));
+    }
+}
@@ -394,6 +394,30 @@ public class GraphTest {
     }
 
 
+    //Get node by label test
+    @Test
+    public void getNodeTest(){
+        DirectedLabeledGraph<Integer,String> g = new DirectedLabeledGraph<Integer,String>(true);
+        DirectedLabeledGraph.Node<Integer> n1 = new DirectedLabeledGraph.Node<>(1);
+        DirectedLabeledGraph.Node<Integer> n2 = new DirectedLabeledGraph.Node<>(2);
+        assertNull(g.getNode(1));
+        g.addEdge("e1", n1, n2);
+        assertEquals(n1, g.getNode(1));
+        assertEquals(n2, g.getNode(2));
+        //Index follows removals and clear
+        g.removeNode(n2);
+        assertNull(g.getNode(2));
+        assertEquals(n1, g.getNode(1));
+        g.clear();
+        assertNull(g.getNode(1));
+
+        //getNodeByName uses the same index
+        DirectedLabeledGraph<String,String> s = getTwoEdgesThreeNodes();
+        s.removeNode("two");
+        assertNull(s.getNodeByName("two"));
+        assertEquals(three, s.getNode("three"));
+    }
+
     //Get edges between test
     @Test
     public void getEdgesBetweenTest(){
@@ -436,6 +460,52 @@ public class GraphTest {
     }
 
 
+    //Read-only view tests
+    @Test (expected = UnsupportedOperationException.class)
+    public void getEdgesUnmodifiableTest(){
+        getOneEdgeTwoNodes().getEdges(one).clear();
+    }
+
+    @Test (expected = UnsupportedOperationException.class)
+    public void getNodesUnmodifiableTest(){
+        getOneEdgeTwoNodes().getNodes().remove(one);
+    }
+
+    @Test (expected = UnsupportedOperationException.class)
+    public void iteratorUnmodifiableTest(){
+        Iterator<DirectedLabeledGraph.Node<String>> it = oneNode().iterator();
+        it.next();
+        it.remove();
+    }
+
+    @Test
+    public void liveViewTest(){
+        DirectedLabeledGraph<String,String> g = twoNodes();
+        Set<DirectedLabeledGraph.Node<String>> nodes = g.getNodes();
+        Set<DirectedLabeledGraph.Edge<String,String>> edges = g.getEdges(one);
+        assertTrue(edges.isEmpty());
+        g.addEdge("e1", one, three);
+        assertTrue(nodes.contains(three));
+        assertTrue(edges.contains(new DirectedLabeledGraph.Edge<>("e1", three)));
+    }
+
+    @Test
+    public void containsNodeAndOutDegreeTest(){
+        DirectedLabeledGraph<String,String> g = twoEdgesTwoNodes();
+        assertTrue(g.containsNode(one));
+        assertTrue(g.containsNode(two));
+        assertFalse(g.containsNode(three));
+        assertEquals(2, g.outDegree(one));
+        assertEquals(0, g.outDegree(two));
+        g.removeEdge("e1", one, two);
+        assertEquals(1, g.outDegree(one));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void outDegreeMissingNodeTest(){
+        oneNode().outDegree(two);
+    }
+
     //Iterator Test
     @Test
     public void iteratorTest(){
@@ -487,4 +557,55 @@ public class GraphTest {
         }
         assertEquals(actual,expected);
     }
+
+    //Incoming edge index tests
+    private DirectedLabeledGraph<String,String> triangle(boolean indexIncoming){
+        DirectedLabeledGraph<String,String> g = new DirectedLabeledGraph<String,String>(indexIncoming);
+        g.addEdge("e1", one, two);
+        g.addEdge("e2", two, three);
+        g.addEdge("e3", three, one);
+        g.addEdge("e4", one, three);
+        g.addEdge("e5", two, two);
+        return g;
+    }
+
+    @Test
+    public void incomingEdgesTest(){
+        //Indexed and unindexed graphs must give the same answers
+        for(boolean indexIncoming : new boolean[]{true, false}){
+            DirectedLabeledGraph<String,String> g = triangle(indexIncoming);
+            Set<DirectedLabeledGraph.Edge<String,String>> s = new HashSet<>();
+            s.add(new DirectedLabeledGraph.Edge<>("e2", two));
+            s.add(new DirectedLabeledGraph.Edge<>("e4", one));
+            assertEquals(s, g.getIncomingEdges(three));
+            assertEquals(2, g.listParents(three).size());
+            assertTrue(g.listParents(two).contains(two));
+        }
+    }
+
+    @Test
+    public void indexedRemoveNodeTest(){
+        DirectedLabeledGraph<String,String> g = triangle(true);
+        assertTrue(g.removeNode(three));
+        DirectedLabeledGraph<String,String> expected = new DirectedLabeledGraph<String,String>();
+        expected.addEdge("e1", one, two);
+        expected.addEdge("e5", two, two);
+        assertEquals(expected, g);
+        assertTrue(g.getIncomingEdges(one).isEmpty());
+        assertFalse(g.removeNode(three));
+
+        assertTrue(g.removeNode(two));
+        assertEquals(oneNode(), g);
+        assertTrue(g.getIncomingEdges(one).isEmpty());
+    }
+
+    @Test
+    public void indexedRemoveEdgeTest(){
+        DirectedLabeledGraph<String,String> g = triangle(true);
+        assertTrue(g.removeEdge("e4", one, three));
+        assertEquals(1, g.listParents(three).size());
+        assertFalse(g.removeEdge("e4", one, three));
+        g.clear();
+        assertEquals(empty(), g);
+    }
 }
@@ -0,0 +1,135 @@
+package graph.junitTests;
+
+import graph.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * Landmarks class.
+ *
+ * <p>
+ */
+public class LandmarksTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    /**The random graphs have weights in eighths from 0 to 124.875*/
+    private static final ToDoubleFunction<Random> WEIGHTS = r -> r.nextInt(1000) / 8.0;
+
+    @Test
+    public void estimateIsLowerBoundTest(){
+        Random random = new Random(331);
+        WeightedGraph<Integer> g = RandomGraphs.randomGraph(random, 400, 1600, WEIGHTS);
+        Landmarks<Integer> landmarks = Landmarks.build(g, 6);
+        DijkstraEngine<Integer> engine = new DijkstraEngine<>(g);
+        for(int i = 0; i < 20; i++){
+            int target = random.nextInt(400);
+            for(int node = 0; node < 400; node++){
+                engine.search(node, target);
+                assertTrue(landmarks.estimate(node, target) <= engine.distance(target));
+            }
+            assertEquals(0, landmarks.estimate(target, target), 0);
+        }
+    }
+
+    @Test
+    public void altMatchesDijkstraTest(){
+        Random random = new Random(331);
+        WeightedGraph<Integer> g = RandomGraphs.randomGraph(random, 500, 2000, WEIGHTS);
+        Landmarks<Integer> landmarks = Landmarks.build(g, 8);
+        DijkstraEngine<Integer> plain = new DijkstraEngine<>(g);
+        DijkstraEngine<Integer> alt = new DijkstraEngine<>(g);
+        int plainSettled = 0;
+        int altSettled = 0;
+        for(int i = 0; i < 300; i++){
+            int source = random.nextInt(500);
+            int target = random.nextInt(500);
+            assertEquals(plain.search(source, target), alt.search(source, target, landmarks));
+            assertEquals(plain.distance(target), alt.distance(target), 1e-9);
+            plainSettled += plain.settledCount();
+            altSettled += alt.settledCount();
+        }
+        assertTrue(altSettled < plainSettled);
+    }
+
+    @Test
+    public void landmarksAreDistinctTest(){
+        WeightedGraph<Integer> g = RandomGraphs.randomGraph(new Random(331), 50, 150, WEIGHTS);
+        int[] chosen = Landmarks.build(g, 10).landmarks();
+        assertEquals(10, chosen.length);
+        boolean[] used = new boolean[g.nodeCount()];
+        for(int landmark : chosen){
+            assertFalse(used[landmark]);
+            used[landmark] = true;
+        }
+        //A graph with fewer nodes than landmarks asked for makes every node a landmark
+        assertEquals(50, Landmarks.build(g, 80).landmarks().length);
+    }
+
+    @Test
+    public void disconnectedGraphTest(){
+        DirectedLabeledGraph<Integer,Double> graph = new DirectedLabeledGraph<>();
+        for(int i = 0; i < 4; i++){
+            graph.addNode(i);
+        }
+        graph.addEdge(2.0, new DirectedLabeledGraph.Node<>(0), new DirectedLabeledGraph.Node<>(1));
+        graph.addEdge(3.0, new DirectedLabeledGraph.Node<>(2), new DirectedLabeledGraph.Node<>(3));
+        WeightedGraph<Integer> g = WeightedGraph.of(graph);
+        Landmarks<Integer> landmarks = Landmarks.build(g, 2);
+        int id0 = g.idOf(0), id1 = g.idOf(1), id2 = g.idOf(2), id3 = g.idOf(3);
+        //Unreachable parts give no bound rather than an infinite or NaN one
+        assertEquals(0, landmarks.estimate(id0, id3), 0);
+        assertTrue(landmarks.estimate(id0, id1) <= 2.0);
+        assertTrue(landmarks.estimate(id2, id3) <= 3.0);
+        assertFalse(Double.isNaN(landmarks.estimate(id1, id2)));
+    }
+
+    @Test
+    public void saveAndLoadTest() throws IOException {
+        Random random = new Random(331);
+        WeightedGraph<Integer> g = RandomGraphs.randomGraph(random, 300, 1200, WEIGHTS);
+        Landmarks<Integer> built = Landmarks.build(g, 4);
+        Path file = Files.createTempFile("landmarks", ".alt");
+        try {
+            built.save(file);
+            Landmarks<Integer> loaded = Landmarks.load(file, g);
+            assertArrayEquals(built.landmarks(), loaded.landmarks());
+            for(int i = 0; i < 200; i++){
+                int node = random.nextInt(300);
+                int target = random.nextInt(300);
+                assertEquals(built.estimate(node, target), loaded.estimate(node, target), 0);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void loadOntoDifferentGraphTest() throws IOException {
+        WeightedGraph<Integer> g = RandomGraphs.randomGraph(new Random(331), 100, 300, WEIGHTS);
+        WeightedGraph<Integer> other = RandomGraphs.randomGraph(new Random(332), 100, 300, WEIGHTS);
+        Path file = Files.createTempFile("landmarks", ".alt");
+        try {
+            Landmarks.build(g, 3).save(file);
+            assertThrows(IllegalArgumentException.class, () -> Landmarks.load(file, other));
+            Files.write(file, new byte[]{1, 2, 3});
+            assertThrows(IllegalArgumentException.class, () -> Landmarks.load(file, g));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noLandmarksTest(){
+        Landmarks.build(RandomGraphs.randomGraph(new Random(331), 10, 20, WEIGHTS), 0);
+    }
+}
@@ -0,0 +1,127 @@
+package graph.junitTests;
+
+import graph.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * MultiLabelGraph class.
+ *
+ * <p>
+ */
+public class MultiLabelGraphTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+    //Some nodes to use for testing
+    private DirectedLabeledGraph.Node<String> a = new DirectedLabeledGraph.Node<>("a");
+    private DirectedLabeledGraph.Node<String> b = new DirectedLabeledGraph.Node<>("b");
+    private DirectedLabeledGraph.Node<String> c = new DirectedLabeledGraph.Node<>("c");
+
+    private MultiLabelGraph<String,String> sample(){
+        MultiLabelGraph<String,String> g = new MultiLabelGraph<>();
+        g.addEdge("e3", a, b);
+        g.addEdge("e1", a, b);
+        g.addEdge("e2", a, b);
+        g.addEdge("e1", a, c);
+        g.addEdge("e4", c, a);
+        return g;
+    }
+
+    @Test
+    public void oneMultiEdgePerPairTest(){
+        MultiLabelGraph<String,String> g = sample();
+        assertEquals(3, g.getNodes().size());
+        assertEquals(5, g.edgeCount());
+        assertEquals(3, g.multiEdgeCount());
+        assertEquals(4, g.outDegree(a));
+        assertEquals(2, g.getMultiEdges(a).size());
+        for(MultiLabelGraph.MultiEdge<String,String> edge : g.getMultiEdges(a)){
+            if(edge.getDestination().equals(b)){
+                assertEquals(Arrays.asList("e1", "e2", "e3"), edge.getLabels());
+                assertEquals("e1", edge.getLabel(0));
+            }
+        }
+    }
+
+    @Test
+    public void edgesAnsweredFromMultiEdgesTest(){
+        MultiLabelGraph<String,String> g = sample();
+        assertEquals(new HashSet<>(Arrays.asList("e1", "e2", "e3")), g.getEdgesBetween(a, b));
+        assertEquals(Collections.emptySet(), g.getEdgesBetween(b, a));
+        Set<DirectedLabeledGraph.Edge<String,String>> expected = new HashSet<>();
+        expected.add(new DirectedLabeledGraph.Edge<>("e1", b));
+        expected.add(new DirectedLabeledGraph.Edge<>("e2", b));
+        expected.add(new DirectedLabeledGraph.Edge<>("e3", b));
+        expected.add(new DirectedLabeledGraph.Edge<>("e1", c));
+        assertEquals(expected, g.getEdges(a));
+        assertEquals(Collections.singleton(new DirectedLabeledGraph.Edge<>("e4", c)), g.getIncomingEdges(a));
+        assertEquals(4, g.listChildren(a).size()); //Listed once per edge, as DirectedLabeledGraph does
+    }
+
+    @Test
+    public void addAndRemoveTest(){
+        MultiLabelGraph<String,String> g = sample();
+        assertFalse(g.addEdge("e2", a, b));
+        assertTrue(g.removeEdge("e2", a, b));
+        assertFalse(g.removeEdge("e2", a, b));
+        assertEquals(new HashSet<>(Arrays.asList("e1", "e3")), g.getEdgesBetween(a, b));
+        assertTrue(g.removeEdge("e1", a, c));
+        assertEquals(2, g.multiEdgeCount());
+        assertTrue(g.removeNode(b));
+        assertFalse(g.containsNode(b));
+        assertEquals(1, g.edgeCount());
+        assertEquals(0, g.outDegree(a));
+        g.clear();
+        assertEquals(0, g.edgeCount());
+        assertTrue(g.getNodes().isEmpty());
+    }
+
+    @Test
+    public void builderMatchesGraphTest(){
+        GraphBuilder<Integer,String> builder = new GraphBuilder<>();
+        Random random = new Random(331);
+        for(int book = 0; book < 40; book++){
+            List<Integer> cast = new ArrayList<>();
+            for(int i = random.nextInt(5); i >= 0; i--){
+                cast.add(random.nextInt(30));
+            }
+            builder.addClique("book" + random.nextInt(20), cast);
+        }
+        DirectedLabeledGraph<Integer,String> graph = builder.build();
+        MultiLabelGraph<Integer,String> multi = builder.buildMultiLabel(Comparator.naturalOrder());
+        assertEquals(graph.getNodes(), multi.getNodes());
+        int edges = 0;
+        for(DirectedLabeledGraph.Node<Integer> node : graph.getNodes()){
+            assertEquals(graph.getEdges(node), multi.getEdges(node));
+            edges += graph.outDegree(node);
+        }
+        assertEquals(edges, multi.edgeCount());
+        assertTrue(multi.multiEdgeCount() <= multi.edgeCount());
+        assertEquals(graph, multi.freeze().thaw());
+    }
+
+    @Test
+    public void freezeReusedUntilChangedTest(){
+        MultiLabelGraph<String,String> graph = sample();
+        FrozenGraph<String,String> frozen = graph.freeze();
+        assertSame(frozen, graph.freeze());
+        assertFalse(graph.addNode("a"));
+        assertSame(frozen, graph.freeze());
+        graph.addNode("d");
+        FrozenGraph<String,String> added = graph.freeze();
+        assertNotSame(frozen, added);
+        assertEquals(4, added.nodeCount());
+        graph.removeNode(new DirectedLabeledGraph.Node<>("d"));
+        assertEquals(3, graph.freeze().nodeCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingNodeTest(){
+        sample().getEdges(new DirectedLabeledGraph.Node<>("d"));
+    }
+}
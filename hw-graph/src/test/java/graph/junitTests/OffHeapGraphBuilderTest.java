@@ -0,0 +1,93 @@
+package graph.junitTests;
+
+import graph.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * OffHeapGraphBuilder class.
+ *
+ * <p>
+ */
+public class OffHeapGraphBuilderTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    @Test
+    public void emptyBuildTest(){
+        BufferGraph<String> g = new OffHeapGraphBuilder<String>(s -> s).build();
+        assertEquals(0, g.nodeCount());
+        assertEquals(0, g.edgeCount());
+        assertTrue(g.hasWeights());
+    }
+
+    @Test
+    public void duplicateEdgesDroppedTest(){
+        BufferGraph<String> g = new OffHeapGraphBuilder<String>(s -> s)
+                .addNode("lonely")
+                .addEdge("a", "c", 2.0)
+                .addEdge("a", "b", 1.0)
+                .addEdge("a", "c", 2.0)
+                .addEdge("a", "c", 3.0)
+                .addEdge("b", "b", 0.5)
+                .build();
+        assertEquals(4, g.nodeCount());
+        assertEquals(4, g.edgeCount());
+        int a = g.idOf("a");
+        assertEquals(3, g.edgeEnd(a) - g.edgeStart(a));
+        //Edges are ordered by destination id, then by the order they were first added
+        assertTrue(g.idOf("c") < g.idOf("b"));
+        assertEquals(g.idOf("c"), g.target(g.edgeStart(a)));
+        assertEquals(2.0, g.weight(g.edgeStart(a)), 0);
+        assertEquals(3.0, g.weight(g.edgeStart(a) + 1), 0);
+        assertEquals(g.idOf("b"), g.target(g.edgeStart(a) + 2));
+        assertEquals(1.0, g.weight(g.edgeStart(a) + 2), 0);
+        int lonely = g.idOf("lonely");
+        assertEquals(g.edgeStart(lonely), g.edgeEnd(lonely));
+    }
+
+    @Test
+    public void matchesDirectedLabeledGraphTest() throws IOException {
+        //Enough edges to span several staging chunks
+        Random random = new Random(331);
+        OffHeapGraphBuilder<Integer> builder = new OffHeapGraphBuilder<>(String::valueOf);
+        DirectedLabeledGraph<Integer,Double> expected = new DirectedLabeledGraph<>();
+        for(int i = 0; i < 200000; i++){
+            int a = random.nextInt(3000);
+            int b = random.nextInt(3000);
+            double weight = random.nextInt(4);
+            builder.addEdge(a, b, weight);
+            expected.addEdge(weight, new DirectedLabeledGraph.Node<>(a), new DirectedLabeledGraph.Node<>(b));
+        }
+        BufferGraph<Integer> built = builder.build();
+        assertEquals(expected, built.thaw(Double::valueOf));
+
+        Path file = Files.createTempFile("graph", ".bin");
+        try {
+            built.save(file);
+            assertEquals(expected, BufferGraph.map(file, Integer::valueOf).thaw(Double::valueOf));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void addAfterBuildTest(){
+        OffHeapGraphBuilder<String> builder = new OffHeapGraphBuilder<>(s -> s);
+        builder.build();
+        builder.addNode("a");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void collidingEncodingsTest(){
+        new OffHeapGraphBuilder<String>(s -> "same").addNode("a").addNode("b").build();
+    }
+}
@@ -0,0 +1,101 @@
+package graph.junitTests;
+
+import graph.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * ParallelBreadthFirstSearch class.
+ *
+ * <p>
+ */
+public class ParallelBreadthFirstSearchTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    /**A sequential breadth first search that expands children in id order and takes the least label among parallel edges*/
+    private List<DirectedLabeledGraph.Edge<Integer,String>> sequential(FrozenGraph<Integer,String> g, int start, int end){
+        Map<Integer, List<DirectedLabeledGraph.Edge<Integer,String>>> paths = new HashMap<>();
+        Queue<Integer> queue = new ArrayDeque<>();
+        paths.put(g.idOf(start), new ArrayList<>());
+        queue.add(g.idOf(start));
+        while(!queue.isEmpty()){
+            int node = queue.remove();
+            if(g.labelOf(node) == end){
+                return paths.get(node);
+            }
+            List<Integer> edges = new ArrayList<>();
+            for(int e = g.edgeStart(node); e < g.edgeEnd(node); e++){
+                edges.add(e);
+            }
+            edges.sort(Comparator.<Integer>comparingInt(g::target).thenComparing(g::edgeLabel));
+            for(int e : edges){
+                int child = g.target(e);
+                if(!paths.containsKey(child)){
+                    List<DirectedLabeledGraph.Edge<Integer,String>> path = new ArrayList<>(paths.get(node));
+                    path.add(new DirectedLabeledGraph.Edge<>(g.edgeLabel(e), new DirectedLabeledGraph.Node<>(g.labelOf(child))));
+                    paths.put(child, path);
+                    queue.add(child);
+                }
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void matchesSequentialSearchTest(){
+        Random random = new Random(331);
+        DirectedLabeledGraph<Integer,String> graph = new DirectedLabeledGraph<>();
+        //Wide and shallow, so frontiers are large enough to be split across workers, with many parallel edges
+        for(int i = 0; i < 40000; i++){
+            graph.addEdge("e" + random.nextInt(3), new DirectedLabeledGraph.Node<>(random.nextInt(5000)),
+                    new DirectedLabeledGraph.Node<>(random.nextInt(5000)));
+        }
+        graph.addNode(-1);
+        FrozenGraph<Integer,String> frozen = graph.freeze();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for(int i = 0; i < 30; i++){
+                int start = random.nextInt(5000);
+                int end = random.nextInt(5000);
+                if(!frozen.containsNode(start) || !frozen.containsNode(end)){
+                    continue;
+                }
+                assertEquals(sequential(frozen, start, end),
+                        ParallelBreadthFirstSearch.findPath(frozen, start, end, Comparator.naturalOrder(), pool));
+            }
+            assertNull(ParallelBreadthFirstSearch.findPath(frozen, 0, -1, Comparator.naturalOrder(), pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void lexicographicTieBreakTest(){
+        DirectedLabeledGraph<String,String> graph = new DirectedLabeledGraph<>();
+        DirectedLabeledGraph.Node<String> a = new DirectedLabeledGraph.Node<>("a");
+        DirectedLabeledGraph.Node<String> b = new DirectedLabeledGraph.Node<>("b");
+        DirectedLabeledGraph.Node<String> c = new DirectedLabeledGraph.Node<>("c");
+        DirectedLabeledGraph.Node<String> d = new DirectedLabeledGraph.Node<>("d");
+        graph.addEdge("z", a, c);
+        graph.addEdge("y", a, b);
+        graph.addEdge("x", b, d);
+        graph.addEdge("w", c, d);
+        graph.addEdge("v", b, d);
+        List<DirectedLabeledGraph.Edge<String,String>> path = ParallelBreadthFirstSearch.findPath(graph.freeze(), "a", "d", Comparator.naturalOrder());
+        assertEquals(Arrays.asList(new DirectedLabeledGraph.Edge<>("y", b), new DirectedLabeledGraph.Edge<>("v", d)), path);
+        assertTrue(ParallelBreadthFirstSearch.findPath(graph.freeze(), "a", "a", Comparator.naturalOrder()).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingStartTest(){
+        FrozenGraph<String,String> frozen = new DirectedLabeledGraph<String,String>().freeze();
+        ParallelBreadthFirstSearch.findPath(frozen, "a", "b", Comparator.naturalOrder());
+    }
+}
@@ -0,0 +1,128 @@
+package graph.junitTests;
+
+import graph.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * PersistentDirectedLabeledGraph class.
+ *
+ * <p>
+ */
+public class PersistentGraphTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private DirectedLabeledGraph.Node<String> one = new DirectedLabeledGraph.Node<>("one");
+    private DirectedLabeledGraph.Node<String> two = new DirectedLabeledGraph.Node<>("two");
+    private DirectedLabeledGraph.Node<String> three = new DirectedLabeledGraph.Node<>("three");
+
+    /**
+     * A node label with a deliberately poor hash code so that many labels collide
+     */
+    private static final class Collider {
+        private final int value;
+
+        Collider(int value){
+            this.value = value;
+        }
+
+        @Override
+        public int hashCode(){
+            return value % 3;
+        }
+
+        @Override
+        public boolean equals(Object obj){
+            return obj instanceof Collider && ((Collider) obj).value == value;
+        }
+    }
+
+    @Test
+    public void editsReturnNewVersionsTest(){
+        PersistentDirectedLabeledGraph<String,String> empty = PersistentDirectedLabeledGraph.empty();
+        PersistentDirectedLabeledGraph<String,String> v1 = empty.withEdge("e1", one, two);
+        PersistentDirectedLabeledGraph<String,String> v2 = v1.withEdge("e2", two, three);
+        PersistentDirectedLabeledGraph<String,String> v3 = v2.withoutNode(two);
+
+        //Older versions are unchanged
+        assertEquals(0, empty.nodeCount());
+        assertEquals(2, v1.nodeCount());
+        assertEquals(1, v1.edgeCount());
+        assertEquals(3, v2.nodeCount());
+        assertEquals(2, v2.edgeCount());
+        assertTrue(v2.getEdges(one).contains(new DirectedLabeledGraph.Edge<>("e1", two)));
+
+        assertFalse(v3.containsNode(two));
+        assertEquals(0, v3.edgeCount());
+        assertTrue(v3.getEdges(one).isEmpty());
+        assertTrue(v3.getIncomingEdges(three).isEmpty());
+    }
+
+    @Test
+    public void noOpEditsReturnSameVersionTest(){
+        PersistentDirectedLabeledGraph<String,String> g = PersistentDirectedLabeledGraph.<String,String>empty().withEdge("e1", one, two);
+        assertSame(g, g.withNode(one));
+        assertSame(g, g.withEdge("e1", one, two));
+        assertSame(g, g.withoutEdge("e2", one, two));
+        assertSame(g, g.withoutNode(three));
+    }
+
+    @Test
+    public void matchesDirectedLabeledGraphTest(){
+        Random random = new Random(331);
+        DirectedLabeledGraph<Integer,String> d = new DirectedLabeledGraph<>();
+        PersistentDirectedLabeledGraph<Integer,String> p = PersistentDirectedLabeledGraph.empty();
+        for(int i = 0; i < 3000; i++){
+            DirectedLabeledGraph.Node<Integer> a = new DirectedLabeledGraph.Node<>(random.nextInt(40));
+            DirectedLabeledGraph.Node<Integer> b = new DirectedLabeledGraph.Node<>(random.nextInt(40));
+            String label = "e" + random.nextInt(3);
+            int op = random.nextInt(10);
+            if(op < 6){
+                d.addEdge(label, a, b);
+                p = p.withEdge(label, a, b);
+            } else if(op < 9){
+                d.removeEdge(label, a, b);
+                p = p.withoutEdge(label, a, b);
+            } else {
+                d.removeNode(a);
+                p = p.withoutNode(a);
+            }
+        }
+        assertEquals(d.getNodes(), p.getNodes());
+        int edges = 0;
+        for(DirectedLabeledGraph.Node<Integer> n : d.getNodes()){
+            assertEquals(d.getEdges(n), p.getEdges(n));
+            assertEquals(d.getIncomingEdges(n), p.getIncomingEdges(n));
+            edges += d.outDegree(n);
+        }
+        assertEquals(edges, p.edgeCount());
+        assertEquals(d, p.freeze().thaw());
+        assertEquals(p, PersistentDirectedLabeledGraph.of(d));
+    }
+
+    @Test
+    public void hashCollisionsTest(){
+        PersistentDirectedLabeledGraph<Collider,String> p = PersistentDirectedLabeledGraph.empty();
+        for(int i = 0; i < 30; i++){
+            p = p.withEdge("e", new DirectedLabeledGraph.Node<>(new Collider(i)), new DirectedLabeledGraph.Node<>(new Collider(i + 1)));
+        }
+        assertEquals(31, p.nodeCount());
+        for(int i = 0; i < 30; i += 2){
+            p = p.withoutNode(new Collider(i));
+        }
+        assertEquals(16, p.nodeCount());
+        //Only the edge from 29 to 30 has both ends left
+        assertEquals(1, p.edgeCount());
+        Set<DirectedLabeledGraph.Node<Collider>> seen = new HashSet<>();
+        for(DirectedLabeledGraph.Node<Collider> n : p){
+            assertTrue(seen.add(n));
+        }
+        assertEquals(16, seen.size());
+    }
+}
@@ -0,0 +1,30 @@
+package graph.junitTests;
+
+import graph.*;
+
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * This class builds the random weighted graphs shared by the test cases for the shortest path and connectivity
+ * classes.
+ */
+final class RandomGraphs {
+
+    private RandomGraphs(){
+    }
+
+    /**Builds a graph on nodes 0 to nodes - 1 with edges random edges, drawing each edge's weight from random and then
+     * its source and destination, so a fixed seed always builds the same graph*/
+    static WeightedGraph<Integer> randomGraph(Random random, int nodes, int edges, ToDoubleFunction<Random> weight){
+        DirectedLabeledGraph<Integer,Double> graph = new DirectedLabeledGraph<>();
+        for(int i = 0; i < nodes; i++){
+            graph.addNode(i);
+        }
+        for(int i = 0; i < edges; i++){
+            graph.addEdge(weight.applyAsDouble(random), new DirectedLabeledGraph.Node<>(random.nextInt(nodes)),
+                    new DirectedLabeledGraph.Node<>(random.nextInt(nodes)));
+        }
+        return WeightedGraph.of(graph);
+    }
+}
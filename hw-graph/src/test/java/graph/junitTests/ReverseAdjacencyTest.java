@@ -0,0 +1,56 @@
+package graph.junitTests;
+
+import graph.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * ReverseAdjacency class.
+ *
+ * <p>
+ */
+public class ReverseAdjacencyTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    @Test
+    public void reversesEveryEdgeTest(){
+        DirectedLabeledGraph<String,Double> graph = new DirectedLabeledGraph<>();
+        DirectedLabeledGraph.Node<String> a = new DirectedLabeledGraph.Node<>("a");
+        DirectedLabeledGraph.Node<String> b = new DirectedLabeledGraph.Node<>("b");
+        DirectedLabeledGraph.Node<String> c = new DirectedLabeledGraph.Node<>("c");
+        graph.addEdge(1.0, a, c);
+        graph.addEdge(2.0, b, c);
+        graph.addEdge(3.0, c, a);
+        graph.addEdge(4.0, a, a);
+        graph.addNode("d");
+        WeightedGraph<String> forward = WeightedGraph.of(graph);
+        ReverseAdjacency<String> reverse = new ReverseAdjacency<>(forward);
+        assertSame(forward, reverse.forward());
+        assertEquals(forward.nodeCount(), reverse.nodeCount());
+        assertEquals(forward.edgeCount(), reverse.edgeCount());
+        assertEquals(forward.idOf("c"), reverse.idOf("c"));
+        for(int e = 0; e < reverse.edgeCount(); e++){
+            int f = reverse.forwardEdge(e);
+            assertEquals(forward.weight(f), reverse.weight(e), 0);
+        }
+        int cId = reverse.idOf("c");
+        assertEquals(2, reverse.edgeEnd(cId) - reverse.edgeStart(cId));
+        //Incoming edges are ordered by the id of the node they come from
+        assertEquals(reverse.idOf("a"), reverse.target(reverse.edgeStart(cId)));
+        assertEquals(1.0, reverse.weight(reverse.edgeStart(cId)), 0);
+        assertEquals(reverse.idOf("b"), reverse.target(reverse.edgeStart(cId) + 1));
+        int dId = reverse.idOf("d");
+        assertEquals(reverse.edgeStart(dId), reverse.edgeEnd(dId));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void unweightedGraphTest(){
+        DirectedLabeledGraph<String,String> graph = new DirectedLabeledGraph<>();
+        graph.addEdge("x", new DirectedLabeledGraph.Node<>("a"), new DirectedLabeledGraph.Node<>("b"));
+        new ReverseAdjacency<>(graph.freeze()).weight(0);
+    }
+}
@@ -0,0 +1,101 @@
+package graph.junitTests;
+
+import graph.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * ShortestPathTreeCache class.
+ *
+ * <p>
+ */
+public class ShortestPathTreeCacheTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    /**The random graphs have whole weights from 0 to 99*/
+    private static final ToDoubleFunction<Random> WEIGHTS = r -> r.nextInt(100);
+
+    @Test
+    public void treeMatchesEngineTest(){
+        Random random = new Random(331);
+        WeightedGraph<Integer> g = RandomGraphs.randomGraph(random, 300, 900, WEIGHTS);
+        ShortestPathTreeCache<Integer> cache = new ShortestPathTreeCache<>(g, Long.MAX_VALUE);
+        DijkstraEngine<Integer> engine = new DijkstraEngine<>(g);
+        for(int i = 0; i < 10; i++){
+            int source = random.nextInt(300);
+            ShortestPathTree<Integer> tree = cache.tree(source);
+            assertEquals(source, tree.source());
+            assertEquals(0, tree.pathEdges(source).length);
+            for(int target = 0; target < 300; target++){
+                assertEquals(engine.search(source, target), tree.reached(target));
+                assertEquals(engine.distance(target), tree.distance(target), 0);
+                if(tree.reached(target)){
+                    //The same edges an early-stopping search takes
+                    int[] edges = tree.pathEdges(target);
+                    for(int k = edges.length - 1, n = target; k >= 0; k--, n = engine.parent(n)){
+                        assertEquals(engine.parentEdge(n), edges[k]);
+                    }
+                } else {
+                    assertNull(tree.pathEdges(target));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void hitsAndMissesTest(){
+        WeightedGraph<Integer> g = RandomGraphs.randomGraph(new Random(331), 100, 300, WEIGHTS);
+        ShortestPathTreeCache<Integer> cache = new ShortestPathTreeCache<>(g, Long.MAX_VALUE);
+        ShortestPathTree<Integer> first = cache.tree(3);
+        assertSame(first, cache.tree(3));
+        cache.tree(4);
+        cache.tree(3);
+        assertEquals(2, cache.hitCount());
+        assertEquals(2, cache.missCount());
+        assertEquals(2, cache.size());
+        assertEquals(first.settledCount() + cache.tree(4).settledCount(), cache.settledCount());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedTest(){
+        WeightedGraph<Integer> g = RandomGraphs.randomGraph(new Random(331), 100, 300, WEIGHTS);
+        long treeBytes = new DijkstraEngine<>(g).shortestPathTree(0).estimatedBytes();
+        ShortestPathTreeCache<Integer> cache = new ShortestPathTreeCache<>(g, treeBytes * 2);
+        cache.tree(1);
+        cache.tree(2);
+        cache.tree(1); //2 is now the least recently used
+        cache.tree(3);
+        assertEquals(2, cache.size());
+        assertTrue(cache.bytes() <= treeBytes * 2);
+        long misses = cache.missCount();
+        cache.tree(1);
+        cache.tree(3);
+        assertEquals(misses, cache.missCount());
+        cache.tree(2);
+        assertEquals(misses + 1, cache.missCount());
+    }
+
+    @Test
+    public void treeLargerThanCacheTest(){
+        WeightedGraph<Integer> g = RandomGraphs.randomGraph(new Random(331), 100, 300, WEIGHTS);
+        ShortestPathTreeCache<Integer> cache = new ShortestPathTreeCache<>(g, 0);
+        assertNotNull(cache.tree(5));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.bytes());
+        cache.tree(5);
+        assertEquals(2, cache.missCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidSourceTest(){
+        WeightedGraph<Integer> g = RandomGraphs.randomGraph(new Random(331), 10, 20, WEIGHTS);
+        new ShortestPathTreeCache<>(g, 1000).tree(10);
+    }
+}
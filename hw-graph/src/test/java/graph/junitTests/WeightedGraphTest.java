@@ -0,0 +1,63 @@
+package graph.junitTests;
+
+import graph.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * WeightedGraph class.
+ *
+ * <p>
+ */
+public class WeightedGraphTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private DirectedLabeledGraph<String, Double> sample(){
+        DirectedLabeledGraph<String, Double> g = new DirectedLabeledGraph<>();
+        DirectedLabeledGraph.Node<String> a = new DirectedLabeledGraph.Node<>("a");
+        DirectedLabeledGraph.Node<String> b = new DirectedLabeledGraph.Node<>("b");
+        DirectedLabeledGraph.Node<String> c = new DirectedLabeledGraph.Node<>("c");
+        g.addEdge(1.5, a, b);
+        g.addEdge(2.5, a, c);
+        g.addEdge(4.0, b, c);
+        g.addNode("d");
+        return g;
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void nullGraphTest(){
+        WeightedGraph.of(null);
+    }
+
+    @Test
+    public void countsTest(){
+        WeightedGraph<String> w = WeightedGraph.of(sample());
+        assertEquals(4, w.nodeCount());
+        assertEquals(3, w.edgeCount());
+        assertEquals(-1, w.idOf("fake"));
+        int d = w.idOf("d");
+        assertEquals("d", w.labelOf(d));
+        assertEquals(w.edgeStart(d), w.edgeEnd(d));
+    }
+
+    @Test
+    public void cursorMatchesCallbackTest(){
+        WeightedGraph<String> w = WeightedGraph.of(sample());
+        int a = w.idOf("a");
+        Map<String, Double> cursor = new HashMap<>();
+        for(int e = w.edgeStart(a); e < w.edgeEnd(a); e++){
+            cursor.put(w.labelOf(w.target(e)), w.weight(e));
+        }
+        Map<String, Double> callback = new HashMap<>();
+        w.forEachNeighbor(a, (target, weight) -> callback.put(w.labelOf(target), weight));
+        assertEquals(Map.of("b", 1.5, "c", 2.5), cursor);
+        assertEquals(cursor, callback);
+    }
+}
@@ -1,8 +1,24 @@
 package marvel;
+import graph.BidirectionalBreadthFirstSearch;
+import graph.BipartiteGraph;
+import graph.BufferGraph;
+import graph.CacheFiles;
+import graph.ComponentIndex;
 import graph.DirectedLabeledGraph;
+import graph.EncodedGraph;
+import graph.FrozenGraph;
+import graph.GraphBuilder;
+import graph.IntAdjacency;
+import graph.MultiLabelGraph;
+import graph.ParallelBreadthFirstSearch;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 
 /**
  * MarvelPaths contains utilities to build a network DirectedLabeledGraph of characters from a csv file and find the shortest path between two characters
@@ -25,30 +41,117 @@ public class MarvelPaths {
      * @throws IllegalArgumentException if there is a problem with the input file
      */
     public static DirectedLabeledGraph<String,String> buildGraph(String fileName) {
-        DirectedLabeledGraph<String,String> graph = new DirectedLabeledGraph<>();
+        return networkBuilder(fileName).build();
+    }
+
+    /**Creates a dictionary encoded network graph from a csv file as buildGraph(fileName) does, where each character name
+     * and book title is stored once and the edges hold only int codes for them, so it takes a fraction of the memory
+     *
+     * @param fileName The name of the csv file that will be used to create a network graph from
+     * @return An EncodedGraph representing the relationships between characters where the nodes are characters and the edges are books the characters are both in
+     * @throws IllegalArgumentException if there is a problem with the input file
+     */
+    public static EncodedGraph<String,String> buildEncodedGraph(String fileName) {
+        return networkBuilder(fileName).buildEncoded();
+    }
+
+    /**Creates a network graph from a csv file that stores only which characters are in which books, rather than an edge
+     * between every two characters in a book, so it is built in time and memory proportional to the lines of the file
+     *
+     * @param fileName The name of the csv file that will be used to create a network graph from
+     * @return A BipartiteGraph of characters and the books they are in, standing for the network buildGraph(fileName) returns
+     * @throws IllegalArgumentException if there is a problem with the input file
+     */
+    public static BipartiteGraph<String,String> buildBipartiteGraph(String fileName) {
+        try {
+            return new BipartiteGraph<>(MarvelParser.parseData(fileName));
+        } catch (IOException e){
+            throw new IllegalArgumentException("Problem reading the input file");
+        }
+    }
+
+    /**Creates a network graph from a csv file as buildGraph(fileName) does, but with one MultiEdge between each two
+     * characters who share any books, holding the titles of all the books they share in lexicographical order
+     *
+     * @param fileName The name of the csv file that will be used to create a network graph from
+     * @return A MultiLabelGraph representing the relationships between characters where the nodes are characters and the edges are books the characters are both in
+     * @throws IllegalArgumentException if there is a problem with the input file
+     */
+    public static MultiLabelGraph<String,String> buildMultiLabelGraph(String fileName) {
+        return networkBuilder(fileName).buildMultiLabel(Comparator.naturalOrder());
+    }
+
+    /**Private helper method that parses a csv file and adds a clique of its characters for each book to a GraphBuilder
+     *
+     * @param fileName The name of the csv file that will be used to create a network graph from
+     * @return A GraphBuilder holding the network graph of the csv file
+     * @throws IllegalArgumentException if there is a problem with the input file
+     */
+    private static GraphBuilder<String,String> networkBuilder(String fileName) {
         try {
             Map<String, List<String>> map = MarvelParser.parseData(fileName);
+            int edges = 0;
+            for (List<String> characters : map.values()) {
+                edges += characters.size() * (characters.size() - 1);
+            }
+            GraphBuilder<String,String> builder = new GraphBuilder<>(16, edges);
             for (String book : map.keySet()) {
-                for (String name1 : map.get(book)) {
-                    DirectedLabeledGraph.Node<String> name1Node = new DirectedLabeledGraph.Node<>(name1);
-                    graph.addNode(name1Node);
-                    for (String name2 : map.get(book)) {
-                        DirectedLabeledGraph.Node<String> name2Node = new DirectedLabeledGraph.Node<>(name2);
-                        graph.addNode(name2Node);
-                        if (!name1.equals(name2)) {
-                            graph.addEdge(book, name1Node, name2Node);
-                        }
-                    }
-                }
+                builder.addClique(book, map.get(book));
             }
-            return graph;
+            return builder;
         } catch (IOException e){
             throw new IllegalArgumentException("Problem reading the input file");
         }
     }
 
 
-    /**Finds the shortest path between two characters in a network graph
+    /**Creates a network graph from a csv file as buildGraph(fileName) does, but memory-maps it from a binary graph file
+     * when one built from the current csv file exists, instead of parsing the csv file. The mapped graph is searched in
+     * place with findPathMapped, so loading it allocates nothing per edge.
+     *
+     * @param fileName The name of the csv file that will be used to create a network graph from
+     * @param graphFile The binary graph file to map the graph from. If it does not exist, cannot be read or was built from
+     *                  different contents of the csv file, the graph is built from the csv file and written to graphFile for next time
+     * @return A BufferGraph representing the relationships between characters where the nodes are characters and the edges are books the characters are both in
+     * @throws IllegalArgumentException if fileName or graphFile is null or there is a problem with the input file
+     */
+    public static BufferGraph<String> mapGraph(String fileName, java.nio.file.Path graphFile) {
+        if(fileName == null || graphFile == null){
+            throw new IllegalArgumentException();
+        }
+        int source = sourceChecksum(fileName);
+        if(Files.isRegularFile(graphFile)){
+            try {
+                BufferGraph<String> mapped = BufferGraph.map(graphFile, Function.identity());
+                if(!mapped.hasWeights() && mapped.source() == source){
+                    return mapped;
+                }
+            } catch (IOException | IllegalArgumentException e){
+                //Fall through and rebuild the graph file from the csv file, as for a stale one
+            }
+        }
+        BufferGraph<String> built = BufferGraph.copyOf(buildGraph(fileName), Function.identity(), Function.identity(), source);
+        CacheFiles.saveOrWarn(graphFile, built::save);
+        return built;
+    }
+
+    /**Private helper method that computes the checksum of a csv file, so that a graph file built from other contents of
+     * it is noticed and rebuilt
+     *
+     * @param fileName The name of the csv file
+     * @return The checksum of the file, or 0 if it cannot be read, in which case building the graph from it reports the problem
+     */
+    private static int sourceChecksum(String fileName){
+        try(InputStream data = MarvelPaths.class.getResourceAsStream("/data/" + fileName)){
+            return data == null ? 0 : BufferGraph.checksum(data);
+        } catch (IOException e){
+            return 0;
+        }
+    }
+
+    /**Finds the shortest path between two characters in a network graph. Each character's edges are visited in
+     * lexicographical order of the character they go to and then of the book, which the graph's frozen snapshot already
+     * stores them in, so the search walks them without sorting. The snapshot is built once and reused until graph changes.
      *
      * @param start The character that the path should begin at
      * @param end The character that the path should arrive at
@@ -61,51 +164,198 @@ public class MarvelPaths {
         if(start == null || end == null || graph == null){
             throw new IllegalArgumentException();
         }
-        DirectedLabeledGraph.Node<String> startNode = new DirectedLabeledGraph.Node<>(start);
-        DirectedLabeledGraph.Node<String> endNode = new DirectedLabeledGraph.Node<String>(end);
-        Queue<DirectedLabeledGraph.Node<String>> nodeQueue = new LinkedList<>(); //Queue holding next nodes to explore
-        Map<DirectedLabeledGraph.Node<String>, List<DirectedLabeledGraph.Edge<String,String>>> paths = new HashMap<>(); //Maps each node to the shortest path to get there
-
-        nodeQueue.add(startNode);
-        paths.put(startNode, new ArrayList<>());
-        while(!nodeQueue.isEmpty()){
-            DirectedLabeledGraph.Node<String> currNode = nodeQueue.remove();
-            if(currNode.equals(endNode)){ //We found the destination node
-                return paths.get(currNode);
-            }
-            List<DirectedLabeledGraph.Edge<String,String>> edgeList = new ArrayList<>(graph.getEdges(currNode));
-            edgeList.sort(new sortEdgeDestination().thenComparing(new sortEdgeNames())); //Sort the list in lexicographical order
-            for(DirectedLabeledGraph.Edge<String,String> edge : edgeList){
-                DirectedLabeledGraph.Node<String> destNode = edge.getDestination();
-                if(!paths.containsKey(destNode)){
-                    List<DirectedLabeledGraph.Edge<String,String>> currPath = paths.get(currNode);
-                    List<DirectedLabeledGraph.Edge<String,String>> newPath = new ArrayList<>(currPath);
-                    newPath.add(edge); //Shortest path to parent node + edge from parent to child = shortest path to child
-                    paths.put(destNode, newPath);
-                    nodeQueue.add(destNode);
+        FrozenGraph<String,String> frozen = graph.freeze();
+        return breadthFirstSearch(start, end, frozen, frozen::edgeLabel);
+    }
+
+    /**Finds the shortest path between two characters in a dictionary encoded network graph. Returns the same path as
+     * findPath does on the DirectedLabeledGraph built from the same file: the graph keeps each character's edges sorted
+     * by destination and then book, the order findPath visits them in, and codes compare as the strings they stand for.
+     * Book titles are only resolved for the edges of the path found.
+     *
+     * @param start The character that the path should begin at
+     * @param end The character that the path should arrive at
+     * @param graph The encoded network graph that a path must be found within
+     * @return A list of DirectedLabeledGraph Edges that represent the shortest path between start character and end character or null if no path exists. Note the start node will
+     *         not be in the returned list, the path is implied to start at "start"
+     * @throws IllegalArgumentException if start, end or graph are null or if start is not a node in graph
+     */
+    public static List<DirectedLabeledGraph.Edge<String,String>> findPathEncoded(String start, String end, EncodedGraph<String,String> graph){
+        if(start == null || end == null || graph == null){
+            throw new IllegalArgumentException();
+        }
+        return breadthFirstSearch(start, end, graph, graph::edgeLabel);
+    }
+
+    /**Finds the shortest path between two characters in a memory-mapped network graph, reading its edges straight out of
+     * the mapping. Returns the same path as findPath does on the DirectedLabeledGraph built from the same file, since the
+     * graph file stores each character's edges in the order of its frozen snapshot. Book titles are only decoded for the
+     * edges of the path found.
+     *
+     * @param start The character that the path should begin at
+     * @param end The character that the path should arrive at
+     * @param graph The mapped network graph that a path must be found within, as returned by mapGraph
+     * @return A list of DirectedLabeledGraph Edges that represent the shortest path between start character and end character or null if no path exists. Note the start node will
+     *         not be in the returned list, the path is implied to start at "start"
+     * @throws IllegalArgumentException if start, end or graph are null or if start is not a node in graph
+     * @throws IllegalStateException if the edges of graph carry weights rather than books
+     */
+    public static List<DirectedLabeledGraph.Edge<String,String>> findPathMapped(String start, String end, BufferGraph<String> graph){
+        if(start == null || end == null || graph == null){
+            throw new IllegalArgumentException();
+        }
+        if(graph.hasWeights()){
+            throw new IllegalStateException("Graph edges are weighted");
+        }
+        return breadthFirstSearch(start, end, graph, graph::edgeLabel);
+    }
+
+    /**Private helper method that finds the shortest path between two characters in a graph of int node ids, visiting each
+     * character's edges in the order the graph stores them and keeping only a parent pointer and edge per character reached
+     *
+     * @param start The character that the path should begin at
+     * @param end The character that the path should arrive at
+     * @param graph The network graph that a path must be found within
+     * @param books Gives the book labeling each edge index of graph
+     * @return A list of DirectedLabeledGraph Edges that represent the shortest path between start character and end character or null if no path exists. Note the start node will
+     *         not be in the returned list, the path is implied to start at "start"
+     * @throws IllegalArgumentException if start is not a node in graph
+     * @spec.requires start, end, graph and books are not null
+     */
+    private static List<DirectedLabeledGraph.Edge<String,String>> breadthFirstSearch(String start, String end, IntAdjacency<String> graph, IntFunction<String> books){
+        int source = graph.idOf(start);
+        if(source == -1){
+            throw new IllegalArgumentException();
+        }
+        int target = graph.idOf(end);
+        if(target == -1){
+            return null;
+        }
+        int[] parentEdge = new int[graph.nodeCount()]; //The edge each reached node was first reached by, or -1 if not reached
+        Arrays.fill(parentEdge, -1);
+        int[] parent = new int[graph.nodeCount()]; //The node each reached node was first reached from
+        int[] queue = new int[graph.nodeCount()]; //Queue holding next nodes to explore
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        boolean found = source == target;
+        while(head < tail && !found){
+            int node = queue[head++];
+            for(int e = graph.edgeStart(node); e < graph.edgeEnd(node); e++){ //Already in lexicographical order
+                int child = graph.target(e);
+                if(child != source && parentEdge[child] == -1){ //The first edge to reach a node ends a shortest path to it
+                    parentEdge[child] = e;
+                    parent[child] = node;
+                    queue[tail++] = child;
+                    found |= child == target;
                 }
             }
         }
-        return null;
+        if(!found){
+            return null;
+        }
+        LinkedList<DirectedLabeledGraph.Edge<String,String>> path = new LinkedList<>(); //Follow the parents back to build the path once
+        for(int node = target; node != source; node = parent[node]){
+            path.addFirst(new DirectedLabeledGraph.Edge<>(books.apply(parentEdge[node]), new DirectedLabeledGraph.Node<>(graph.labelOf(node))));
+        }
+        return new ArrayList<>(path);
     }
 
+    /**Finds the shortest path between two characters in a bipartite network graph, going from each character to their
+     * books and from each book to its characters as the search reaches them. Returns the same path as findPath does on
+     * the DirectedLabeledGraph built from the same file.
+     *
+     * @param start The character that the path should begin at
+     * @param end The character that the path should arrive at
+     * @param graph The bipartite network graph that a path must be found within
+     * @return A list of DirectedLabeledGraph Edges that represent the shortest path between start character and end character or null if no path exists. Note the start node will
+     *         not be in the returned list, the path is implied to start at "start"
+     * @throws IllegalArgumentException if start, end or graph are null or if start is not a node in graph
+     */
+    public static List<DirectedLabeledGraph.Edge<String,String>> findPathBipartite(String start, String end, BipartiteGraph<String,String> graph){
+        if(start == null || end == null || graph == null){
+            throw new IllegalArgumentException();
+        }
+        return graph.findPath(start, end);
+    }
 
-    /**
-     * A private helper class that implements the Comparator interface and sorts DirectedLabeledGraph Edges by the labels of the edges themselves
+    /**Finds the shortest path between two characters in a multi-label network graph. The search walks the graph's
+     * frozen snapshot, which stores each character's edges sorted by the character they go to and then by book, so the
+     * path is the one findPath returns on the DirectedLabeledGraph built from the same file and no neighbors are sorted
+     * per query. The snapshot is built once and reused until graph changes.
+     *
+     * @param start The character that the path should begin at
+     * @param end The character that the path should arrive at
+     * @param graph The multi-label network graph that a path must be found within
+     * @return A list of DirectedLabeledGraph Edges that represent the shortest path between start character and end character or null if no path exists. Note the start node will
+     *         not be in the returned list, the path is implied to start at "start"
+     * @throws IllegalArgumentException if start, end or graph are null or if start is not a node in graph
      */
-    private static class sortEdgeNames implements Comparator<DirectedLabeledGraph.Edge<String,String>>{
-        public int compare(DirectedLabeledGraph.Edge<String,String> a, DirectedLabeledGraph.Edge<String,String> b){
-            return a.getLabel().compareTo(b.getLabel());
+    public static List<DirectedLabeledGraph.Edge<String,String>> findPathMultiLabel(String start, String end, MultiLabelGraph<String,String> graph){
+        if(start == null || end == null || graph == null){
+            throw new IllegalArgumentException();
         }
+        FrozenGraph<String,String> frozen = graph.freeze();
+        return breadthFirstSearch(start, end, frozen, frozen::edgeLabel);
     }
 
-    /**
-     * A private helper class that implements the Comparator interface and sorts DirectedLabeledGraph Edges by the labels of the edge children
+    /**Finds the shortest path between two characters in a network graph as findPath(start, end, graph) does, but first
+     * checks a ComponentIndex of the graph, so that characters with no path between them are answered in O(1) instead of
+     * after searching every character reachable from start
+     *
+     * @param start The character that the path should begin at
+     * @param end The character that the path should arrive at
+     * @param graph The network graph that a path must be found within
+     * @param components The components of the frozen network graph, graph.freeze()
+     * @return A list of DirectedLabeledGraph Edges that represent the shortest path between start character and end character or null if no path exists. Note the start node will
+     *         not be in the returned list, the path is implied to start at "start"
+     * @throws IllegalArgumentException if start, end, graph or components are null or if start is not a node in graph
+     */
+    public static List<DirectedLabeledGraph.Edge<String,String>> findPath(String start, String end, DirectedLabeledGraph<String,String> graph,
+                                                                          ComponentIndex<String> components){
+        if(start == null || end == null || graph == null || components == null){
+            throw new IllegalArgumentException();
+        }
+        if(components.graph().idOf(start) != -1 && !components.mayReach(start, end)){
+            return null; //end is missing or in a component start cannot reach
+        }
+        return findPath(start, end, graph);
+    }
+
+    /**Finds the shortest path between two characters in a frozen network graph, expanding each level of the search in parallel.
+     * Returns the same path as findPath does on the graph that was frozen.
+     *
+     * @param start The character that the path should begin at
+     * @param end The character that the path should arrive at
+     * @param graph The frozen network graph that a path must be found within
+     * @return A list of DirectedLabeledGraph Edges that represent the shortest path between start character and end character or null if no path exists. Note the start node will
+     *         not be in the returned list, the path is implied to start at "start"
+     * @throws IllegalArgumentException if start, end or graph are null or if start is not a node in graph
      */
-    private static class sortEdgeDestination implements Comparator<DirectedLabeledGraph.Edge<String,String>>{
-        public int compare(DirectedLabeledGraph.Edge<String,String> a, DirectedLabeledGraph.Edge<String,String> b){
-            return a.getDestination().getLabel().compareTo(b.getDestination().getLabel());
+    public static List<DirectedLabeledGraph.Edge<String,String>> findPathParallel(String start, String end, FrozenGraph<String,String> graph){
+        if(start == null || end == null || graph == null){
+            throw new IllegalArgumentException();
         }
+        //FrozenGraph numbers String labels in lexicographical order, so this keeps findPath's tie-break
+        return ParallelBreadthFirstSearch.findPath(graph, start, end, Comparator.naturalOrder());
+    }
+
+    /**Finds a shortest path between two characters by searching from both ends at once, which in the small-world Marvel
+     * network reaches far fewer characters than findPath for distant pairs. The path has as few books as the one findPath
+     * returns, but among equally short paths it may pass through different characters.
+     *
+     * @param start The character that the path should begin at
+     * @param end The character that the path should arrive at
+     * @param search The bidirectional search over the frozen network graph that a path must be found within
+     * @return A list of DirectedLabeledGraph Edges that represent a shortest path between start character and end character or null if no path exists. Note the start node will
+     *         not be in the returned list, the path is implied to start at "start". Of several books linking two characters, the lexicographically least is used
+     * @throws IllegalArgumentException if start, end or search are null or if start is not a node in the graph
+     */
+    public static List<DirectedLabeledGraph.Edge<String,String>> findPathBidirectional(String start, String end, BidirectionalBreadthFirstSearch<String,String> search){
+        if(start == null || end == null || search == null){
+            throw new IllegalArgumentException();
+        }
+        return search.findPath(start, end, Comparator.naturalOrder());
     }
 
     /** Runs a command line interactive program with the user, prompting the user for two marvel character names and outputs
@@ -116,7 +366,26 @@ public class MarvelPaths {
     public static void main(String[] args){
         Scanner input = new Scanner(System.in);
 
-        DirectedLabeledGraph<String,String> graph = buildGraph(fileName);
+        //Start from a memory-mapped binary graph file, written on the first run, if one is configured
+        String graphFile = System.getProperty("marvel.graphFile");
+        IntAdjacency<String> graph;
+        IntFunction<String> books;
+        if(graphFile == null){
+            EncodedGraph<String,String> encoded = buildEncodedGraph(fileName);
+            graph = encoded;
+            books = encoded::edgeLabel;
+            //Optionally print the size and shape of the graph as a DirectedLabeledGraph beside the size of the encoded
+            //graph in use, to track memory per edge
+            if(Boolean.getBoolean("marvel.stats")){
+                System.out.print(buildGraph(fileName).stats());
+                System.out.println("encoded graph estimated bytes: " + encoded.estimatedBytes() + " (" + encoded.edgeLabelCount() + " distinct books)");
+            }
+        } else {
+            BufferGraph<String> mapped = mapGraph(fileName, Paths.get(graphFile));
+            graph = mapped;
+            books = mapped::edgeLabel;
+        }
+        ComponentIndex<String> components = new ComponentIndex<>(graph);
         String again = "y";
         System.out.println("Welcome to the CSE331 Marvel Paths Finder!");
 
@@ -129,15 +398,13 @@ public class MarvelPaths {
             String char2 = input.next();
             System.out.println();
 
-            DirectedLabeledGraph.Node<String> node1 = new DirectedLabeledGraph.Node<>(char1);
-            DirectedLabeledGraph.Node<String> node2 = new DirectedLabeledGraph.Node<>(char2);
-            if(!graph.getNodes().contains(node1) || !graph.getNodes().contains(node2)){
-                unknownChars(node1, node2, graph);
+            if(graph.idOf(char1) == -1 || graph.idOf(char2) == -1){
+                unknownChars(char1, char2, graph);
                 again = again();
                 continue;
             }
 
-            List<DirectedLabeledGraph.Edge<String,String>> path = findPath(char1, char2, graph);
+            List<DirectedLabeledGraph.Edge<String,String>> path = components.mayReach(char1, char2) ? breadthFirstSearch(char1, char2, graph, books) : null;
             if(path == null){
                 System.out.println("no path found");
                 again = again();
@@ -168,18 +435,18 @@ public class MarvelPaths {
         return input.next();
     }
 
-    /** Private helper method that prints out passed nodes that are not in the graph
+    /** Private helper method that prints out passed characters that are not in the graph
      *
-     * @param node1 First node that might not be in the graph
-     * @param node2 Second node that might not be in the graph
-     * @param graph The graph in which we are looking for whether node1 or node2 are not in the graph
+     * @param char1 First character that might not be in the graph
+     * @param char2 Second character that might not be in the graph
+     * @param graph The graph in which we are looking for whether char1 or char2 are not in the graph
      */
-    private static void unknownChars(DirectedLabeledGraph.Node<String> node1, DirectedLabeledGraph.Node<String> node2, DirectedLabeledGraph<String,String> graph){
-        if(!graph.getNodes().contains(node1)){
-            System.out.println("Unknown Character: " + node1.getLabel());
+    private static void unknownChars(String char1, String char2, IntAdjacency<String> graph){
+        if(graph.idOf(char1) == -1){
+            System.out.println("Unknown Character: " + char1);
         }
-        if(!graph.getNodes().contains(node2)){
-            System.out.println("Unknown Character: " + node2.getLabel());
+        if(graph.idOf(char2) == -1){
+            System.out.println("Unknown Character: " + char2);
         }
     }
 }
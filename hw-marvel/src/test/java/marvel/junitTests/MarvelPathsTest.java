@@ -1,6 +1,13 @@
 package marvel.junitTests;
 
+import graph.BidirectionalBreadthFirstSearch;
+import graph.BipartiteGraph;
+import graph.BufferGraph;
+import graph.ComponentIndex;
 import graph.DirectedLabeledGraph;
+import graph.EncodedGraph;
+import graph.FrozenGraph;
+import graph.MultiLabelGraph;
 import org.junit.Rule;
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -9,6 +16,14 @@ import org.junit.function.ThrowingRunnable;
 import org.junit.rules.Timeout;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * This class contains a set of test cases that can be used to test the implementation of the
@@ -20,6 +35,81 @@ public class MarvelPathsTest {
     @Rule
     public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
 
+    /**
+     * A few hundred books of marvel.csv, small enough to compare every way of finding a path against findPath within the timeout
+     */
+    private static final String SAMPLE = "marvelSample.csv";
+
+    /**
+     * The number of random pairs of characters each search is compared with findPath on
+     */
+    private static final int PAIRS = 40;
+
+    /**The breadth first search findPath used before it searched frozen graphs, kept as the reference every search
+     * must agree with. It copies the path to each node it reaches and visits each node's edges sorted by destination
+     * and then by book, so it finds the lexicographically first shortest path
+     *
+     * @param start The name of the first character
+     * @param end The name of the last character
+     * @param graph The graph to search
+     * @return The shortest path from start to end, or null if there is none
+     */
+    private static List<DirectedLabeledGraph.Edge<String,String>> referencePath(String start, String end, DirectedLabeledGraph<String,String> graph){
+        DirectedLabeledGraph.Node<String> startNode = new DirectedLabeledGraph.Node<>(start);
+        DirectedLabeledGraph.Node<String> endNode = new DirectedLabeledGraph.Node<>(end);
+        Queue<DirectedLabeledGraph.Node<String>> nodeQueue = new LinkedList<>();
+        Map<DirectedLabeledGraph.Node<String>, List<DirectedLabeledGraph.Edge<String,String>>> paths = new HashMap<>();
+        nodeQueue.add(startNode);
+        paths.put(startNode, new ArrayList<>());
+        while(!nodeQueue.isEmpty()){
+            DirectedLabeledGraph.Node<String> currNode = nodeQueue.remove();
+            if(currNode.equals(endNode)){
+                return paths.get(currNode);
+            }
+            List<DirectedLabeledGraph.Edge<String,String>> edgeList = new ArrayList<>(graph.getEdges(currNode));
+            edgeList.sort(Comparator.comparing((DirectedLabeledGraph.Edge<String,String> edge) -> edge.getDestination().getLabel())
+                    .thenComparing(DirectedLabeledGraph.Edge::getLabel));
+            for(DirectedLabeledGraph.Edge<String,String> edge : edgeList){
+                DirectedLabeledGraph.Node<String> destNode = edge.getDestination();
+                if(!paths.containsKey(destNode)){
+                    List<DirectedLabeledGraph.Edge<String,String>> newPath = new ArrayList<>(paths.get(currNode));
+                    newPath.add(edge);
+                    paths.put(destNode, newPath);
+                    nodeQueue.add(destNode);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**Asserts that a search finds the same paths in SAMPLE as referencePath does, for random pairs of its characters
+     * and for a character paired with itself
+     *
+     * @param seed The seed the pairs of characters are drawn with
+     * @param search Finds the path from its first argument to its second in SAMPLE
+     */
+    private static void assertMatchesReference(long seed, BiFunction<String, String, List<DirectedLabeledGraph.Edge<String,String>>> search){
+        DirectedLabeledGraph<String,String> graph = MarvelPaths.buildGraph(SAMPLE);
+        List<String> names = new ArrayList<>();
+        for(DirectedLabeledGraph.Node<String> node : graph.getNodes()){
+            names.add(node.getLabel());
+        }
+        Collections.sort(names);
+        Random random = new Random(seed);
+        for(int i = 0; i < PAIRS; i++){
+            String start = names.get(random.nextInt(names.size()));
+            String end = names.get(random.nextInt(names.size()));
+            assertEquals(referencePath(start, end, graph), search.apply(start, end));
+        }
+        assertEquals(referencePath(names.get(0), names.get(0), graph), search.apply(names.get(0), names.get(0)));
+    }
+
+    @Test
+    public void findPathMatchesReferenceTest(){
+        DirectedLabeledGraph<String,String> graph = MarvelPaths.buildGraph(SAMPLE);
+        assertMatchesReference(330, (start, end) -> MarvelPaths.findPath(start, end, graph));
+    }
+
     @Test (expected = IllegalArgumentException.class)
     public void buildExceptionTest(){
         MarvelPaths.buildGraph("badFile.csv");
@@ -59,4 +149,178 @@ public class MarvelPathsTest {
         DirectedLabeledGraph<String,String> graph = MarvelPaths.buildGraph("twoCharsNoPath.csv");
         assertNull(MarvelPaths.findPath("Char1", "Char2", graph));
     }
+
+    @Test
+    public void componentsMatchReferenceTest(){
+        DirectedLabeledGraph<String,String> graph = MarvelPaths.buildGraph(SAMPLE);
+        ComponentIndex<String> components = new ComponentIndex<>(graph.freeze());
+        assertMatchesReference(331, (start, end) -> MarvelPaths.findPath(start, end, graph, components));
+    }
+
+    @Test
+    public void componentsNoPathTest(){
+        DirectedLabeledGraph<String,String> graph = MarvelPaths.buildGraph("twoCharsNoPath.csv");
+        ComponentIndex<String> components = new ComponentIndex<>(graph.freeze());
+        assertNull(MarvelPaths.findPath("Char1", "Char2", graph, components));
+        assertNull(MarvelPaths.findPath("Char1", "Dont exist", graph, components));
+    }
+
+    @Test
+    public void encodedMatchesReferenceTest(){
+        EncodedGraph<String,String> encoded = MarvelPaths.buildEncodedGraph(SAMPLE);
+        assertEquals(MarvelPaths.buildGraph(SAMPLE).getNodes().size(), encoded.nodeCount());
+        assertMatchesReference(331, (start, end) -> MarvelPaths.findPathEncoded(start, end, encoded));
+    }
+
+    @Test
+    public void encodedNoPathTest(){
+        EncodedGraph<String,String> encoded = MarvelPaths.buildEncodedGraph("twoCharsNoPath.csv");
+        assertNull(MarvelPaths.findPathEncoded("Char1", "Char2", encoded));
+        assertNull(MarvelPaths.findPathEncoded("Char1", "Dont exist", encoded));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void encodedStartDoesntExistTest(){
+        EncodedGraph<String,String> encoded = MarvelPaths.buildEncodedGraph("staffSuperheroes.csv");
+        MarvelPaths.findPathEncoded("Dont exist", "Ernst-the-Bicycling-Wizard", encoded);
+    }
+
+    @Test
+    public void mappedMatchesReferenceTest() throws IOException {
+        Path file = Files.createTempFile("marvel", ".bin");
+        try {
+            Files.write(file, new byte[]{1, 2, 3}); //Not a graph, so it is rebuilt and written
+            BufferGraph<String> built = MarvelPaths.mapGraph(SAMPLE, file);
+            assertMatchesReference(334, (start, end) -> MarvelPaths.findPathMapped(start, end, built));
+            BufferGraph<String> mapped = MarvelPaths.mapGraph(SAMPLE, file);
+            assertEquals(built.source(), mapped.source());
+            assertMatchesReference(334, (start, end) -> MarvelPaths.findPathMapped(start, end, mapped));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void staleMappedGraphRebuiltTest() throws IOException {
+        Path file = Files.createTempFile("marvel", ".bin");
+        try {
+            BufferGraph<String> other = MarvelPaths.mapGraph("staffSuperheroes.csv", file);
+            BufferGraph<String> rebuilt = MarvelPaths.mapGraph("twoCharsNoPath.csv", file);
+            assertNotEquals(other.source(), rebuilt.source());
+            assertNull(MarvelPaths.findPathMapped("Char1", "Char2", rebuilt));
+            assertNull(MarvelPaths.findPathMapped("Char1", "Dont exist", rebuilt));
+            assertEquals(rebuilt.source(), MarvelPaths.mapGraph("twoCharsNoPath.csv", file).source());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void corruptMappedGraphRebuiltTest() throws IOException {
+        Path file = Files.createTempFile("marvel", ".bin");
+        try {
+            BufferGraph<String> built = MarvelPaths.mapGraph("staffSuperheroes.csv", file);
+            //Keep the header valid but point the second dictionary string far past the string bytes
+            try(FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)){
+                channel.write(ByteBuffer.allocate(4).putInt(0, Integer.MAX_VALUE), 36);
+            }
+            BufferGraph<String> rebuilt = MarvelPaths.mapGraph("staffSuperheroes.csv", file);
+            assertEquals(built.thaw(Function.identity()), rebuilt.thaw(Function.identity()));
+            assertEquals(built.thaw(Function.identity()), BufferGraph.map(file, Function.identity()).thaw(Function.identity()));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void bipartiteMatchesReferenceTest(){
+        BipartiteGraph<String,String> bipartite = MarvelPaths.buildBipartiteGraph(SAMPLE);
+        assertEquals(MarvelPaths.buildGraph(SAMPLE).getNodes().size(), bipartite.nodeCount());
+        assertMatchesReference(332, (start, end) -> MarvelPaths.findPathBipartite(start, end, bipartite));
+    }
+
+    @Test
+    public void bipartiteNoPathTest(){
+        BipartiteGraph<String,String> bipartite = MarvelPaths.buildBipartiteGraph("twoCharsNoPath.csv");
+        assertNull(MarvelPaths.findPathBipartite("Char1", "Char2", bipartite));
+        assertNull(MarvelPaths.findPathBipartite("Char1", "Dont exist", bipartite));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void bipartiteStartDoesntExistTest(){
+        BipartiteGraph<String,String> bipartite = MarvelPaths.buildBipartiteGraph("staffSuperheroes.csv");
+        MarvelPaths.findPathBipartite("Dont exist", "Ernst-the-Bicycling-Wizard", bipartite);
+    }
+
+    @Test
+    public void multiLabelMatchesReferenceTest(){
+        MultiLabelGraph<String,String> multi = MarvelPaths.buildMultiLabelGraph(SAMPLE);
+        assertTrue(multi.multiEdgeCount() < multi.edgeCount());
+        assertMatchesReference(333, (start, end) -> MarvelPaths.findPathMultiLabel(start, end, multi));
+    }
+
+    @Test
+    public void multiLabelNoPathTest(){
+        MultiLabelGraph<String,String> multi = MarvelPaths.buildMultiLabelGraph("twoCharsNoPath.csv");
+        assertNull(MarvelPaths.findPathMultiLabel("Char1", "Char2", multi));
+        assertNull(MarvelPaths.findPathMultiLabel("Char1", "Dont exist", multi));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void multiLabelMissingStartTest(){
+        MultiLabelGraph<String,String> multi = MarvelPaths.buildMultiLabelGraph("twoCharsNoPath.csv");
+        MarvelPaths.findPathMultiLabel("Dont exist", "Dont exist", multi);
+    }
+
+    @Test
+    public void parallelMatchesReferenceTest(){
+        FrozenGraph<String,String> frozen = MarvelPaths.buildGraph(SAMPLE).freeze();
+        assertMatchesReference(331, (start, end) -> MarvelPaths.findPathParallel(start, end, frozen));
+    }
+
+    @Test
+    public void parallelNoPathTest(){
+        FrozenGraph<String,String> frozen = MarvelPaths.buildGraph("twoCharsNoPath.csv").freeze();
+        assertNull(MarvelPaths.findPathParallel("Char1", "Char2", frozen));
+        assertNull(MarvelPaths.findPathParallel("Char1", "Dont exist", frozen));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parallelStartDoesntExistTest(){
+        FrozenGraph<String,String> frozen = MarvelPaths.buildGraph("staffSuperheroes.csv").freeze();
+        MarvelPaths.findPathParallel("Dont exist", "Ernst-the-Bicycling-Wizard", frozen);
+    }
+
+    @Test
+    public void bidirectionalMatchesLengthTest(){
+        FrozenGraph<String,String> frozen = MarvelPaths.buildGraph(SAMPLE).freeze();
+        BidirectionalBreadthFirstSearch<String,String> search = new BidirectionalBreadthFirstSearch<>(frozen);
+        Random random = new Random(331);
+        for(int i = 0; i < PAIRS; i++){
+            String start = frozen.labelOf(random.nextInt(frozen.nodeCount()));
+            String end = frozen.labelOf(random.nextInt(frozen.nodeCount()));
+            List<DirectedLabeledGraph.Edge<String,String>> expected = MarvelPaths.findPathParallel(start, end, frozen);
+            List<DirectedLabeledGraph.Edge<String,String>> path = MarvelPaths.findPathBidirectional(start, end, search);
+            if(expected == null){
+                assertNull(path);
+                continue;
+            }
+            assertEquals(expected.size(), path.size());
+            String previous = start;
+            for(DirectedLabeledGraph.Edge<String,String> edge : path){
+                assertTrue(frozen.getEdgesBetween(new DirectedLabeledGraph.Node<>(previous), edge.getDestination()).contains(edge.getLabel()));
+                previous = edge.getDestination().getLabel();
+            }
+            assertEquals(end, previous);
+            //Meeting in the middle reaches well under the whole network
+            assertTrue(search.reachedCount() < frozen.nodeCount());
+        }
+    }
+
+    @Test
+    public void bidirectionalNoPathTest(){
+        BidirectionalBreadthFirstSearch<String,String> search = new BidirectionalBreadthFirstSearch<>(MarvelPaths.buildGraph("twoCharsNoPath.csv").freeze());
+        assertNull(MarvelPaths.findPathBidirectional("Char1", "Char2", search));
+        assertNull(MarvelPaths.findPathBidirectional("Char1", "Dont exist", search));
+    }
 }
@@ -250,7 +250,7 @@ public class MarvelTestDriver {
         DirectedLabeledGraph<String,String> graph = graphs.get(graphName);
         DirectedLabeledGraph.Node<String> node1 = new DirectedLabeledGraph.Node<>(nodeA);
         DirectedLabeledGraph.Node<String> node2 = new DirectedLabeledGraph.Node<>(nodeB);
-        if(!graph.getNodes().contains(node1) || !graph.getNodes().contains(node2)){
+        if(!graph.containsNode(node1) || !graph.containsNode(node2)){
             unknownChars(node1, node2, graph);
             return;
         }
@@ -270,10 +270,10 @@ public class MarvelTestDriver {
     }
 
     private void unknownChars(DirectedLabeledGraph.Node<String> node1, DirectedLabeledGraph.Node<String> node2, DirectedLabeledGraph<String,String> graph){
-        if(!graph.getNodes().contains(node1)){
+        if(!graph.containsNode(node1)){
             output.println("unknown: " + node1.getLabel());
         }
-        if(!graph.getNodes().contains(node2)){
+        if(!graph.containsNode(node2)){
             output.println("unknown: " + node2.getLabel());
         }
     }
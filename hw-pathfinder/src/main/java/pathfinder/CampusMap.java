@@ -11,16 +11,35 @@
 
 package pathfinder;
 
+import graph.BidirectionalDijkstra;
+import graph.BufferGraph;
+import graph.CacheFiles;
+import graph.ComponentIndex;
+import graph.ContractionHierarchy;
+import graph.DijkstraEngine;
 import graph.DirectedLabeledGraph;
+import graph.GraphBuilder;
+import graph.GraphStats;
+import graph.Heuristic;
+import graph.Landmarks;
+import graph.ReverseAdjacency;
+import graph.ShortestPathTreeCache;
+import graph.WeightedAdjacency;
+import graph.WeightedGraph;
 import pathfinder.datastructures.Path;
 import pathfinder.datastructures.Point;
 import pathfinder.parser.CampusBuilding;
 import pathfinder.parser.CampusPath;
 import pathfinder.parser.CampusPathsParser;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * The CampusMap class implements the ModelAPI for the view/controller to represent the buildings and paths on the University of Washington campus.
@@ -28,14 +47,18 @@ import java.util.Map;
  */
 public class CampusMap implements ModelAPI {
 
-    //Abstraction Function: Each of the nodes (Points) in campusMap represents various spots on campus and the edges represent paths between these spots on campus where the label of
+    //Abstraction Function: Each of the nodes (Points) in campusRoutes represents various spots on campus and the edges represent paths between these spots on campus where the label of
     //                      the edges represent the physical distance between the spots. buildingMap's keys are the short names of all of the buildings on campus and those keys
-    //                      map to the point on campus where they are at corresponding to the points in campusMap. Finally, nameMap maps each of the building's short names to
+    //                      map to the point on campus where they are at corresponding to the points in campusRoutes. Finally, nameMap maps each of the building's short names to
     //                      their full names as seen on campus.
-    //Representation Invariant: campusMap != null, nameMap != null, buildingMap != null
+    //Representation Invariant: campusRoutes != null, reverseRoutes is the reverse of campusRoutes, straightLine != null, landmarks != null, nameMap != null, buildingMap != null, queries != null, settledPoints != null
+    //                          queries and settledPoints map every RoutingAlgorithm to a non-null counter
+    //                          hierarchy is null or is a contraction hierarchy over campusRoutes, and landmarks are over campusRoutes
+    //                          routeTable is null or holds the routes over campusRoutes between the buildings of buildingMap
+    //                          trees is a cache of shortest path trees over campusRoutes, and components indexes the components of campusRoutes
     //                          for all keys k in nameMap, k is not null and nameMap.get(k) is not null.
     //                          for all keys k in buildingMap, k is not null and buildingMap.get(k) is not null.
-    //                          (non-null nodes and edges are implied from DirectedLabeledGraph Rep Inv)
+    //                          (non-null nodes and edges are implied from the Rep Inv of campusRoutes)
 
     /**
      * The name of file with building data
@@ -46,9 +69,76 @@ public class CampusMap implements ModelAPI {
      */
     private static final String pathsFile = "campus_paths.csv";
     /**
-     * Graph of campus with nodes being points on campus connected by edges represented by their distance as a double.
+     * The number of landmarks ALT searches are guided by
      */
-    private DirectedLabeledGraph<Point, Double> campusMap;
+    private static final int LANDMARK_COUNT = 8;
+    /**
+     * The most memory the cached shortest path trees may take, in bytes, which holds a tree for every building on campus
+     */
+    private static final long TREE_CACHE_BYTES = 4L << 20;
+    /**
+     * Read-only graph of campus with nodes being points on campus connected by edges weighted by their distance,
+     * either built from pathsFile or mapped from a binary graph file
+     */
+    private WeightedAdjacency<Point> campusRoutes;
+    /**
+     * The connected components of campusRoutes, so that buildings with no path between them are answered without searching
+     */
+    private final ComponentIndex<Point> components;
+    /**
+     * The shortest path trees out of the points most recently searched from by queries that did not name an algorithm, so further paths from the same point are only walked
+     */
+    private final ShortestPathTreeCache<Point> trees;
+    /**
+     * A Dijkstra engine over campusRoutes for each thread that searches this map, since an engine holds the state of one search at a time
+     */
+    private final ThreadLocal<DijkstraEngine<Point>> engines = ThreadLocal.withInitial(() -> new DijkstraEngine<>(campusRoutes));
+    /**
+     * The reverse of campusRoutes, shared by the bidirectional searches of every thread
+     */
+    private final ReverseAdjacency<Point> reverseRoutes;
+    /**
+     * A bidirectional search over campusRoutes for each thread that searches this map
+     */
+    private final ThreadLocal<BidirectionalDijkstra<Point>> bidirectionalSearches;
+    /**
+     * The file the contraction hierarchy over campusRoutes is saved to and loaded from, or null if it is not saved
+     */
+    private final java.nio.file.Path hierarchyFile;
+    /**
+     * The contraction hierarchy over campusRoutes, or null until the first query that needs it, since building it takes
+     * longer than loading the graph. Guarded by this.
+     */
+    private ContractionHierarchy<Point> hierarchy;
+    /**
+     * A contraction hierarchy query for each thread that searches this map
+     */
+    private final ThreadLocal<ContractionHierarchy.Query<Point>> hierarchyQueries = ThreadLocal.withInitial(() -> hierarchy().query());
+    /**
+     * Straight-line distance estimates between the points of campusRoutes, guiding A* searches
+     */
+    private final EuclideanHeuristic straightLine;
+    /**
+     * Distances to and from landmark points of campusRoutes, guiding ALT searches
+     */
+    private final Landmarks<Point> landmarks;
+    /**
+     * The shortest route between every pair of buildings, or null until precomputeRoutes() is called. Guarded by this
+     * for writes; volatile so lookups see a complete table without locking.
+     */
+    private volatile RouteTable routeTable;
+    /**
+     * The statistics of the campus graph, or null until graphStats() is first called. Guarded by this.
+     */
+    private GraphStats graphStats;
+    /**
+     * The number of paths searched for with each algorithm
+     */
+    private final Map<RoutingAlgorithm, LongAdder> queries;
+    /**
+     * The total number of points settled by the searches made with each algorithm
+     */
+    private final Map<RoutingAlgorithm, LongAdder> settledPoints;
     /**
      * Map from a buildings short name to its long name
      */
@@ -69,7 +159,38 @@ public class CampusMap implements ModelAPI {
      * @throws CampusPathsParser.ParserException if the files cannot be found or parsed as expected
      */
     public CampusMap(){
-        buildGraph();
+        this(null);
+    }
+
+    /** Initializes the model of the University of Washington campus, loading the campus paths from a binary graph file
+     * when one exists so that startup does not have to parse and rebuild the graph
+     *
+     * @param graphFile The binary graph file to memory-map the campus paths from. If the file does not exist, cannot be
+     *                  read or was built from other contents of the text file, the paths are parsed from the text file and
+     *                  written to graphFile for the next start. The
+     *                  contraction hierarchy and landmark distances are likewise saved beside it, with ".ch" and ".alt"
+     *                  added to its name. May be null to always parse the text file and build the hierarchy and landmarks.
+     * @spec.effects Creates a CampusMap object from the provided files initializing the model of the campus map to be used by the view/controller
+     * @throws CampusPathsParser.ParserException if the text files cannot be found or parsed as expected
+     */
+    public CampusMap(java.nio.file.Path graphFile){
+        campusRoutes = graphFile == null ? null : mapGraph(graphFile);
+        if(campusRoutes == null){
+            buildGraph(graphFile);
+        }
+        hierarchyFile = graphFile == null ? null : graphFile.resolveSibling(graphFile.getFileName() + ".ch");
+        straightLine = new EuclideanHeuristic(campusRoutes);
+        trees = new ShortestPathTreeCache<>(campusRoutes, TREE_CACHE_BYTES);
+        components = new ComponentIndex<>(campusRoutes);
+        landmarks = loadLandmarks(graphFile == null ? null : graphFile.resolveSibling(graphFile.getFileName() + ".alt"));
+        reverseRoutes = new ReverseAdjacency<>(campusRoutes);
+        bidirectionalSearches = ThreadLocal.withInitial(() -> new BidirectionalDijkstra<>(campusRoutes, reverseRoutes));
+        queries = new EnumMap<>(RoutingAlgorithm.class);
+        settledPoints = new EnumMap<>(RoutingAlgorithm.class);
+        for(RoutingAlgorithm algorithm : RoutingAlgorithm.values()){
+            queries.put(algorithm, new LongAdder());
+            settledPoints.put(algorithm, new LongAdder());
+        }
         buildingMap = new HashMap<>();
         nameMap = new HashMap<>();
 
@@ -82,18 +203,127 @@ public class CampusMap implements ModelAPI {
     }
 
     /**
-     * Private helper method that parses the pathsFile and builds a DirectedLabeledGraph out of it
+     * Private helper method that parses the pathsFile and builds a graph out of it, saving the graph to graphFile if it is not null
+     *
+     * @param graphFile The binary graph file to save the built graph to, or null
      */
-    private void buildGraph(){
-        campusMap = new DirectedLabeledGraph<>();
+    private void buildGraph(java.nio.file.Path graphFile){
         List<CampusPath> paths = CampusPathsParser.parseCampusPaths(pathsFile);
+        GraphBuilder<Point,Double> builder = new GraphBuilder<>(paths.size() / 2, paths.size());
         for(CampusPath path : paths){
-            Point source = new Point(path.getX1(), path.getY1());
-            Point dest = new Point(path.getX2(), path.getY2());
-            campusMap.addEdge(path.getDistance(), new DirectedLabeledGraph.Node<>(source), new DirectedLabeledGraph.Node<>(dest));
+            builder.addEdge(path.getDistance(), new Point(path.getX1(), path.getY1()), new Point(path.getX2(), path.getY2()));
+        }
+        DirectedLabeledGraph<Point, Double> campusMap = builder.build();
+        campusRoutes = WeightedGraph.of(campusMap);
+        if(graphFile != null){
+            int source = sourceChecksum();
+            CacheFiles.saveOrWarn(graphFile, file -> BufferGraph.writeWeighted(campusMap, file, CampusMap::encodePoint, source));
         }
     }
 
+    /**
+     * Private helper method that returns the contraction hierarchy over campusRoutes, loading it from hierarchyFile or
+     * building it, and then saving it to hierarchyFile, the first time it is needed
+     *
+     * @return The contraction hierarchy over campusRoutes
+     */
+    private synchronized ContractionHierarchy<Point> hierarchy(){
+        if(hierarchy == null && hierarchyFile != null && Files.isRegularFile(hierarchyFile)){
+            try {
+                hierarchy = ContractionHierarchy.load(hierarchyFile, campusRoutes);
+            } catch (IOException | IllegalArgumentException e){
+                //A missing, corrupt or outdated hierarchy is rebuilt below
+            }
+        }
+        if(hierarchy == null){
+            hierarchy = ContractionHierarchy.build(campusRoutes);
+            if(hierarchyFile != null){
+                CacheFiles.saveOrWarn(hierarchyFile, hierarchy::save);
+            }
+        }
+        return hierarchy;
+    }
+
+    /**
+     * Private helper method that loads the landmarks over campusRoutes from a file, or chooses them and computes their
+     * distances, and then saves them to the file
+     *
+     * @param landmarkFile The file the landmarks are saved to and loaded from, or null if they are not saved
+     * @return The landmarks over campusRoutes
+     */
+    private Landmarks<Point> loadLandmarks(java.nio.file.Path landmarkFile){
+        if(landmarkFile != null && Files.isRegularFile(landmarkFile)){
+            try {
+                return Landmarks.load(landmarkFile, campusRoutes);
+            } catch (IOException | IllegalArgumentException e){
+                //A missing, corrupt or outdated landmark file is recomputed below
+            }
+        }
+        Landmarks<Point> built = Landmarks.build(campusRoutes, LANDMARK_COUNT);
+        if(landmarkFile != null){
+            CacheFiles.saveOrWarn(landmarkFile, built::save);
+        }
+        return built;
+    }
+
+    /**
+     * Private helper method that memory-maps the campus graph from a binary graph file
+     *
+     * @param graphFile The binary graph file to map
+     * @return The mapped graph, or null if graphFile does not exist, does not hold a weighted graph or was built from
+     *         different contents of pathsFile
+     */
+    private static WeightedAdjacency<Point> mapGraph(java.nio.file.Path graphFile){
+        if(!Files.isRegularFile(graphFile)){
+            return null;
+        }
+        try {
+            BufferGraph<Point> graph = BufferGraph.map(graphFile, CampusMap::decodePoint);
+            return graph.hasWeights() && graph.source() == sourceChecksum() ? graph : null;
+        } catch (IOException | IllegalArgumentException e){
+            return null;
+        }
+    }
+
+    /**
+     * Private helper method that computes the checksum of pathsFile, so that a binary graph file built from other
+     * contents of it is noticed and rebuilt, along with the hierarchy and landmarks computed from it
+     *
+     * @return The checksum of pathsFile, or 0 if it cannot be read, in which case parsing it reports the problem
+     */
+    private static int sourceChecksum(){
+        try(InputStream data = CampusMap.class.getResourceAsStream("/data/" + pathsFile)){
+            return data == null ? 0 : BufferGraph.checksum(data);
+        } catch (IOException e){
+            return 0;
+        }
+    }
+
+    /**
+     * Private helper method that turns a point into the string form stored in binary graph files
+     *
+     * @param point The point to encode
+     * @return The coordinates of point separated by a comma, each written exactly
+     */
+    private static String encodePoint(Point point){
+        return point.getX() + "," + point.getY();
+    }
+
+    /**
+     * Private helper method that turns the string form of a point stored in binary graph files back into a point
+     *
+     * @param s The string form of a point, as written by encodePoint
+     * @return The point s represents
+     * @throws IllegalArgumentException if s is not the string form of a point
+     */
+    private static Point decodePoint(String s){
+        int comma = s.indexOf(',');
+        if(comma < 0){
+            throw new IllegalArgumentException("Not a point: " + s);
+        }
+        return new Point(Double.parseDouble(s.substring(0, comma)), Double.parseDouble(s.substring(comma + 1)));
+    }
+
     @Override
     public boolean shortNameExists(String shortName) {
         return nameMap.containsKey(shortName);
@@ -114,10 +344,147 @@ public class CampusMap implements ModelAPI {
 
     @Override
     public Path<Point> findShortestPath(String startShortName, String endShortName) {
-        if(startShortName == null || endShortName == null || !shortNameExists(startShortName) || !shortNameExists(endShortName)){
+        return findShortestPath(startShortName, endShortName, RoutingAlgorithm.DIJKSTRA, true);
+    }
+
+    @Override
+    public Path<Point> findShortestPath(String startShortName, String endShortName, RoutingAlgorithm algorithm) {
+        return findShortestPath(startShortName, endShortName, algorithm, false);
+    }
+
+    /**
+     * Private helper method that finds the shortest path between two buildings and counts the work done
+     *
+     * @param startShortName The short name of the building at the beginning of the path
+     * @param endShortName The short name of the building at the end of the path
+     * @param algorithm The algorithm used to search for the path
+     * @param useTrees true to walk the path from a cached shortest path tree out of the start, searching for the tree
+     *                 if it is not cached, when algorithm is Dijkstra's and the route is not in the precomputed table.
+     *                 Queries that name their algorithm search instead, so their work can be compared.
+     * @return The shortest path from startShortName to endShortName, or null if there is none
+     * @throws IllegalArgumentException if any argument is null or either name is not a building's short name
+     */
+    private Path<Point> findShortestPath(String startShortName, String endShortName, RoutingAlgorithm algorithm, boolean useTrees) {
+        if(startShortName == null || endShortName == null || algorithm == null || !shortNameExists(startShortName) || !shortNameExists(endShortName)){
+            throw new IllegalArgumentException();
+        }
+        Point start = buildingMap.get(startShortName);
+        Point end = buildingMap.get(endShortName);
+        Path<Point> path;
+        int settled;
+        RouteTable table = routeTable;
+        int startId = campusRoutes.idOf(start);
+        int endId = campusRoutes.idOf(end);
+        if(startId != -1 && endId != -1 && !components.mayReach(startId, endId)){
+            path = null; //No search could connect points in components that cannot reach each other
+            settled = 0;
+        } else if(algorithm == RoutingAlgorithm.DIJKSTRA && table != null && table.contains(startShortName) && table.contains(endShortName)){
+            path = table.route(startShortName, endShortName);
+            settled = 0; //A lookup settles no points
+        } else if(algorithm == RoutingAlgorithm.DIJKSTRA && useTrees){
+            path = CampusPaths.findCachedPath(start, end, trees);
+            settled = 0; //Points settled by the cache's searches are counted by the cache
+        } else if(algorithm == RoutingAlgorithm.CONTRACTION_HIERARCHY){
+            ContractionHierarchy.Query<Point> query = hierarchyQueries.get();
+            path = CampusPaths.findHierarchyPath(start, end, query);
+            settled = query.settledCount();
+        } else if(algorithm == RoutingAlgorithm.BIDIRECTIONAL){
+            BidirectionalDijkstra<Point> search = bidirectionalSearches.get();
+            path = CampusPaths.findBidirectionalPath(start, end, search);
+            settled = search.settledCount();
+        } else {
+            DijkstraEngine<Point> engine = engines.get();
+            Heuristic heuristic = algorithm == RoutingAlgorithm.A_STAR ? straightLine : algorithm == RoutingAlgorithm.ALT ? landmarks : null;
+            path = CampusPaths.findWeightedPath(start, end, engine, heuristic);
+            settled = engine.settledCount();
+        }
+        queries.get(algorithm).increment();
+        settledPoints.get(algorithm).add(settled);
+        return path;
+    }
+
+    /** Computes the shortest route between every ordered pair of buildings, running one single-source search per
+     * building in parallel, so that later Dijkstra queries, including those made without naming an algorithm, are
+     * answered by looking the route up. The routes are exactly those Dijkstra's algorithm finds. Does nothing if the
+     * routes have already been computed. A CampusMap built again from its files, as when the map is reloaded, starts
+     * without the table, so stale routes are never returned.
+     *
+     * @spec.modifies this
+     * @spec.effects Makes findShortestPath with RoutingAlgorithm.DIJKSTRA a table lookup
+     */
+    public synchronized void precomputeRoutes() {
+        if(routeTable == null){
+            routeTable = new RouteTable(campusRoutes, buildingMap);
+        }
+        checkRep();
+    }
+
+    /** Returns whether precomputeRoutes() has been called, so that Dijkstra queries are answered from a table
+     *
+     * @return true if the routes between buildings have been precomputed
+     */
+    public boolean hasPrecomputedRoutes() {
+        return routeTable != null;
+    }
+
+    /** Reports the shape and memory footprint of the campus graph, for printing or serving. The statistics are of the
+     * representation this searches: the graph memory-mapped from the binary file, or the arrays built from the text file.
+     * They are computed once, on the first call.
+     *
+     * @return The node and edge counts, out-degree histogram and estimated bytes per node and per edge of the campus graph
+     */
+    public synchronized GraphStats graphStats() {
+        if(graphStats == null){
+            graphStats = campusRoutes instanceof BufferGraph ? ((BufferGraph<Point>) campusRoutes).stats()
+                    : ((WeightedGraph<Point>) campusRoutes).stats();
+        }
+        return graphStats;
+    }
+
+    /** Returns the number of paths this has searched for with an algorithm
+     *
+     * @param algorithm The algorithm to count searches of
+     * @throws IllegalArgumentException if algorithm is null
+     * @return The number of calls to findShortestPath that have used algorithm
+     */
+    public long queryCount(RoutingAlgorithm algorithm) {
+        if(algorithm == null){
+            throw new IllegalArgumentException();
+        }
+        return queries.get(algorithm).sum();
+    }
+
+    /** Returns the total number of points settled by the searches this has made with an algorithm, a measure of the
+     * work they did. Dividing by queryCount(algorithm) gives the average work per path.
+     *
+     * @param algorithm The algorithm to count settled points of
+     * @throws IllegalArgumentException if algorithm is null
+     * @return The number of points settled over all calls to findShortestPath that have used algorithm, which for
+     *         Dijkstra's algorithm includes the points settled by the shortest path trees searched for queries that
+     *         did not name an algorithm
+     */
+    public long settledPointCount(RoutingAlgorithm algorithm) {
+        if(algorithm == null){
             throw new IllegalArgumentException();
         }
-        return CampusPaths.findPath(buildingMap.get(startShortName), buildingMap.get(endShortName), campusMap);
+        long settled = settledPoints.get(algorithm).sum();
+        return algorithm == RoutingAlgorithm.DIJKSTRA ? settled + trees.settledCount() : settled;
+    }
+
+    /** Returns the number of queries, made without naming an algorithm, answered by walking a cached shortest path tree out of their start
+     *
+     * @return The number of shortest path tree cache hits
+     */
+    public long treeCacheHitCount() {
+        return trees.hitCount();
+    }
+
+    /** Returns the number of queries, made without naming an algorithm, that had to search for the shortest path tree out of their start
+     *
+     * @return The number of shortest path tree cache misses
+     */
+    public long treeCacheMissCount() {
+        return trees.missCount();
     }
 
     /**
@@ -126,7 +493,14 @@ public class CampusMap implements ModelAPI {
     private void checkRep(){
         assert nameMap != null : "nameMap is null";
         assert buildingMap != null : "buildingMap is null";
-        assert campusMap != null : "campusMap is null";
+        assert campusRoutes != null : "campusRoutes is null";
+        assert straightLine != null : "straightLine is null";
+        assert landmarks != null && landmarks.graph() == campusRoutes : "landmarks are not over campusRoutes";
+        assert reverseRoutes != null && reverseRoutes.forward() == campusRoutes : "reverseRoutes is not the reverse of campusRoutes";
+        assert queries != null && settledPoints != null : "a counter map is null";
+        assert routeTable == null || routeTable.graph() == campusRoutes : "routeTable is not over campusRoutes";
+        assert trees != null && trees.graph() == campusRoutes : "trees are not over campusRoutes";
+        assert components != null && components.graph() == campusRoutes : "components are not of campusRoutes";
 
         if(DEBUG){
             for(String name : nameMap.keySet()){
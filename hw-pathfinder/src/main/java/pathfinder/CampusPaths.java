@@ -1,6 +1,14 @@
 package pathfinder;
 
+import graph.BidirectionalDijkstra;
+import graph.ComponentIndex;
+import graph.ContractionHierarchy;
+import graph.DijkstraEngine;
 import graph.DirectedLabeledGraph;
+import graph.Heuristic;
+import graph.ShortestPathTree;
+import graph.ShortestPathTreeCache;
+import graph.WeightedAdjacency;
 import pathfinder.datastructures.Path;
 import pathfinder.parser.CampusPath;
 
@@ -9,11 +17,11 @@ import java.util.PriorityQueue;
 import java.util.Set;
 
 /**
- * CampusPaths provides a single utility method that performs Dijkstra's algorithm on a DirectedLabeledGraph to find the least cost path between two nodes
+ * CampusPaths provides utility methods that perform Dijkstra's algorithm on a DirectedLabeledGraph or a WeightedAdjacency graph such as WeightedGraph to find the least cost path between two nodes
  */
 public class CampusPaths{
 
-    //CampusPaths is not an ADT, it only provides one static method. Therefore, there is no representation invariant or abstraction function
+    //CampusPaths is not an ADT, it only provides static methods. Therefore, there is no representation invariant or abstraction function
 
     /** Finds the least cost path between two nodes in a DirectedLabeledGraph
      *
@@ -57,4 +65,194 @@ public class CampusPaths{
         }
         return null; //No path found return null
     }
+
+    /** Finds the least cost path between two nodes in a DirectedLabeledGraph as findPath(start, end, graph) does, but
+     * first checks a ComponentIndex of the graph, so that when end cannot be reached from start the answer is found in
+     * O(1) instead of after searching everything reachable from start
+     *
+     * @param graph The DirectedLabeledGraph that a path will be found in
+     * @param start The node in the graph that the path should start from
+     * @param end The node in the graph that the path should end at
+     * @param components The components of an int-indexed copy of graph, such as graph.freeze()
+     * @param <E> Type parameter of the nodes in the graph
+     * @spec.requires graph does not contain any negative edge weights. Nodes with labels start and end are in graph
+     * @throws IllegalArgumentException if graph, start, end, or components are null
+     * @return A Path of Points that represents the least cost path between start and end. If no path is found in the graph, null is returned
+     */
+    public static <E> Path<E> findPath(E start, E end, DirectedLabeledGraph<E,Double> graph, ComponentIndex<E> components){
+        if(graph == null || start == null || end == null || components == null){
+            throw new IllegalArgumentException();
+        }
+        if(!components.mayReach(start, end)){
+            return null; //end is in a component start cannot reach
+        }
+        return findPath(start, end, graph);
+    }
+
+    /** Finds the least cost path between two nodes in a graph with primitive edge weights, such as a WeightedGraph or a BufferGraph
+     *
+     * @param graph The weighted graph that a path will be found in
+     * @param start The node in the graph that the path should start from
+     * @param end The node in the graph that the path should end at
+     * @param <E> Type parameter of the nodes in the graph
+     * @spec.requires graph does not contain any negative edge weights
+     * @throws IllegalArgumentException if graph, start, or end are null or if start is not a node in graph
+     * @return A Path of Points that represents the least cost path between start and end. If no path is found in the graph, null is returned
+     */
+    public static <E> Path<E> findWeightedPath(E start, E end, WeightedAdjacency<E> graph){
+        if(graph == null){
+            throw new IllegalArgumentException();
+        }
+        return findWeightedPath(start, end, new DijkstraEngine<>(graph));
+    }
+
+    /** Finds the least cost path between two nodes using a reusable DijkstraEngine, so that repeated searches of the
+     * same graph do not allocate a new priority queue and Path for every edge relaxed. Only the final path is built as
+     * a Path, once end is settled, and its costs are summed in the same order, so the result equals that of findPath.
+     *
+     * @param engine The engine searching the weighted graph that a path will be found in
+     * @param start The node in the graph that the path should start from
+     * @param end The node in the graph that the path should end at
+     * @param <E> Type parameter of the nodes in the graph
+     * @spec.requires the graph does not contain any negative edge weights
+     * @spec.modifies engine
+     * @throws IllegalArgumentException if engine, start, or end are null or if start is not a node in the graph
+     * @return A Path of Points that represents the least cost path between start and end. If no path is found in the graph, null is returned
+     */
+    public static <E> Path<E> findWeightedPath(E start, E end, DijkstraEngine<E> engine){
+        return findWeightedPath(start, end, engine, null);
+    }
+
+    /** Finds the least cost path between two nodes with an A* search, using a reusable DijkstraEngine guided by a
+     * heuristic such as a EuclideanHeuristic or Landmarks. The number of nodes the search settled is left in engine.settledCount().
+     *
+     * @param engine The engine searching the weighted graph that a path will be found in
+     * @param start The node in the graph that the path should start from
+     * @param end The node in the graph that the path should end at
+     * @param heuristic The consistent heuristic estimating distances between nodes of the graph, or null to use Dijkstra's algorithm
+     * @param <E> Type parameter of the nodes in the graph
+     * @spec.requires the graph does not contain any negative edge weights
+     * @spec.modifies engine
+     * @throws IllegalArgumentException if engine, start, or end are null or if start is not a node in the graph
+     * @return A Path of Points that represents the least cost path between start and end. If no path is found in the graph, null is returned
+     */
+    public static <E> Path<E> findWeightedPath(E start, E end, DijkstraEngine<E> engine, Heuristic heuristic){
+        if(engine == null || start == null || end == null){
+            throw new IllegalArgumentException();
+        }
+        WeightedAdjacency<E> graph = engine.graph();
+        int source = graph.idOf(start);
+        if(source == -1){
+            throw new IllegalArgumentException();
+        }
+        int target = graph.idOf(end);
+        if(target == -1 || !engine.search(source, target, heuristic)){
+            return null; //No path found return null
+        }
+        Path<E> path = new Path<>(start);
+        int[] nodes = engine.pathTo(target);
+        for(int i = 1; i < nodes.length; i++){ //Extend in order from start so costs are summed as Dijkstra summed them
+            path = path.extend(graph.labelOf(nodes[i]), graph.weight(engine.parentEdge(nodes[i])));
+        }
+        return path;
+    }
+
+    /** Finds the least cost path between two nodes by reading it off the shortest path tree out of start, which the
+     * cache holds if an earlier path started at the same node, and otherwise searches for and caches. A path read off a
+     * cached tree takes time proportional to its length. The path is the one findWeightedPath would find.
+     *
+     * @param cache The cache of shortest path trees of the weighted graph that a path will be found in
+     * @param start The node in the graph that the path should start from
+     * @param end The node in the graph that the path should end at
+     * @param <E> Type parameter of the nodes in the graph
+     * @spec.requires the graph does not contain any negative edge weights
+     * @spec.modifies cache
+     * @throws IllegalArgumentException if cache, start, or end are null or if start is not a node in the graph
+     * @return A Path of Points that represents the least cost path between start and end. If no path is found in the graph, null is returned
+     */
+    public static <E> Path<E> findCachedPath(E start, E end, ShortestPathTreeCache<E> cache){
+        if(cache == null || start == null || end == null){
+            throw new IllegalArgumentException();
+        }
+        WeightedAdjacency<E> graph = cache.graph();
+        int source = graph.idOf(start);
+        if(source == -1){
+            throw new IllegalArgumentException();
+        }
+        ShortestPathTree<E> tree = cache.tree(source);
+        int target = graph.idOf(end);
+        if(target == -1 || !tree.reached(target)){
+            return null; //No path found return null
+        }
+        Path<E> path = new Path<>(start);
+        for(int e : tree.pathEdges(target)){
+            path = path.extend(graph.labelOf(graph.target(e)), graph.weight(e));
+        }
+        return path;
+    }
+
+    /** Finds the least cost path between two nodes with a bidirectional search, which runs Dijkstra's algorithm forward
+     * from start and backward from end until the two searches meet. The number of nodes the search settled is left in
+     * search.settledCount(). The path's cost is summed in order from start, as findPath sums it.
+     *
+     * @param search The bidirectional search over the weighted graph that a path will be found in
+     * @param start The node in the graph that the path should start from
+     * @param end The node in the graph that the path should end at
+     * @param <E> Type parameter of the nodes in the graph
+     * @spec.requires the graph does not contain any negative edge weights
+     * @spec.modifies search
+     * @throws IllegalArgumentException if search, start, or end are null or if start is not a node in the graph
+     * @return A Path of Points that represents the least cost path between start and end. If no path is found in the graph, null is returned
+     */
+    public static <E> Path<E> findBidirectionalPath(E start, E end, BidirectionalDijkstra<E> search){
+        if(search == null || start == null || end == null){
+            throw new IllegalArgumentException();
+        }
+        WeightedAdjacency<E> graph = search.graph();
+        int source = graph.idOf(start);
+        if(source == -1){
+            throw new IllegalArgumentException();
+        }
+        int target = graph.idOf(end);
+        if(target == -1 || !search.search(source, target)){
+            return null; //No path found return null
+        }
+        Path<E> path = new Path<>(start);
+        for(int e : search.pathEdges()){
+            path = path.extend(graph.labelOf(graph.target(e)), graph.weight(e));
+        }
+        return path;
+    }
+
+    /** Finds the least cost path between two nodes by querying a contraction hierarchy, then unpacks the shortcuts in
+     * the path found into the original edges, so the result is a Path of the graph's own segments. The number of nodes
+     * the query settled is left in query.settledCount(). The path's cost is summed in order from start, as findPath sums it.
+     *
+     * @param query The query over the contraction hierarchy of the weighted graph that a path will be found in
+     * @param start The node in the graph that the path should start from
+     * @param end The node in the graph that the path should end at
+     * @param <E> Type parameter of the nodes in the graph
+     * @spec.modifies query
+     * @throws IllegalArgumentException if query, start, or end are null or if start is not a node in the graph
+     * @return A Path of Points that represents the least cost path between start and end. If no path is found in the graph, null is returned
+     */
+    public static <E> Path<E> findHierarchyPath(E start, E end, ContractionHierarchy.Query<E> query){
+        if(query == null || start == null || end == null){
+            throw new IllegalArgumentException();
+        }
+        WeightedAdjacency<E> graph = query.hierarchy().graph();
+        int source = graph.idOf(start);
+        if(source == -1){
+            throw new IllegalArgumentException();
+        }
+        int target = graph.idOf(end);
+        if(target == -1 || !query.search(source, target)){
+            return null; //No path found return null
+        }
+        Path<E> path = new Path<>(start);
+        for(int e : query.pathEdges()){
+            path = path.extend(graph.labelOf(graph.target(e)), graph.weight(e));
+        }
+        return path;
+    }
 }
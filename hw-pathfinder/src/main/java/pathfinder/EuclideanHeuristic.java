@@ -0,0 +1,100 @@
+package pathfinder;
+
+import graph.Heuristic;
+import graph.WeightedAdjacency;
+import pathfinder.datastructures.Point;
+
+/**
+ * EuclideanHeuristic estimates the distance between two points of a campus graph as the straight-line distance between
+ * their coordinates, scaled so that it never exceeds the weight of any edge. Campus coordinates and path distances are in
+ * different units, so the scale is the least ratio of edge weight to straight-line length over all edges of the graph,
+ * which makes the estimate consistent for A* search.
+ */
+public final class EuclideanHeuristic implements Heuristic {
+
+    /**
+     * The x coordinate of each point, indexed by node id
+     */
+    private final double[] xs;
+
+    /**
+     * The y coordinate of each point, indexed by node id
+     */
+    private final double[] ys;
+
+    /**
+     * The factor converting coordinate distances into lower bounds on path distances
+     */
+    private final double scale;
+
+    //Abstraction Function: The estimated distance from node u to node v is scale * sqrt((xs[u] - xs[v])^2 + (ys[u] - ys[v])^2)
+
+    //Representation Invariant: xs and ys are not null and have the same length, scale >= 0 and is finite
+    //                          for every edge (u, v) with weight w in the graph, scale * |uv| <= w
+
+    /**Creates a heuristic for a campus graph
+     *
+     * @param graph The graph whose points will be estimated between
+     * @throws IllegalArgumentException if graph is null
+     * @spec.requires graph does not contain any negative edge weights
+     * @spec.effects Constructs a heuristic over the coordinates of graph's points, scaled to stay below every edge weight
+     */
+    public EuclideanHeuristic(WeightedAdjacency<Point> graph){
+        if(graph == null){
+            throw new IllegalArgumentException();
+        }
+        int nodeCount = graph.nodeCount();
+        xs = new double[nodeCount];
+        ys = new double[nodeCount];
+        for(int i = 0; i < nodeCount; i++){
+            Point point = graph.labelOf(i);
+            xs[i] = point.getX();
+            ys[i] = point.getY();
+        }
+        double least = Double.POSITIVE_INFINITY;
+        for(int i = 0; i < nodeCount; i++){
+            for(int e = graph.edgeStart(i); e < graph.edgeEnd(i); e++){
+                double length = length(i, graph.target(e));
+                if(length > 0){
+                    least = Math.min(least, graph.weight(e) / length);
+                }
+            }
+        }
+        //Shave off a little so rounding in the sums A* compares cannot make the estimate inconsistent
+        scale = least == Double.POSITIVE_INFINITY ? 0 : least * (1 - 1e-9);
+        checkRep();
+    }
+
+    /**Returns the factor converting straight-line coordinate distances into lower bounds on path distances
+     *
+     * @return the scale of this heuristic
+     */
+    public double scale(){
+        return scale;
+    }
+
+    @Override
+    public double estimate(int node, int target){
+        return scale * length(node, target);
+    }
+
+    /**Returns the straight-line distance between two points in coordinate units
+     *
+     * @param from The id of the first point
+     * @param to The id of the second point
+     * @return the distance between the coordinates of from and to
+     */
+    private double length(int from, int to){
+        double dx = xs[from] - xs[to];
+        double dy = ys[from] - ys[to];
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated
+     */
+    private void checkRep(){
+        assert xs != null && ys != null && xs.length == ys.length;
+        assert scale >= 0 && !Double.isInfinite(scale);
+    }
+}
@@ -71,4 +71,19 @@ public interface ModelAPI {
     // You'll need to change this return type to use the generic Path once you've
     // updated the Path ADT to be generic.
 
+    /**
+     * Finds the shortest path, by distance, between the two provided buildings using a specific
+     * search algorithm. Every algorithm finds a path of the same, least, distance.
+     *
+     * @param startShortName The short name of the building at the beginning of this path.
+     * @param endShortName   The short name of the building at the end of this path.
+     * @param algorithm      The algorithm used to search for the path.
+     * @return A path between {@code startBuilding} and {@code endBuilding}, or {@literal null}
+     * if none exists.
+     * @throws IllegalArgumentException if {@code startBuilding} or {@code endBuilding} are
+     *                                  {@literal null}, or not valid short names of buildings in
+     *                                  this campus map, or if {@code algorithm} is {@literal null}.
+     */
+    public Path<Point> findShortestPath(String startShortName, String endShortName, RoutingAlgorithm algorithm);
+
 }
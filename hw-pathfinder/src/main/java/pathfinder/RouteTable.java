@@ -0,0 +1,172 @@
+package pathfinder;
+
+import graph.DijkstraEngine;
+import graph.WeightedAdjacency;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * RouteTable holds the shortest route between every ordered pair of campus buildings, so that finding one is a lookup
+ * rather than a search. It is built with one single-source Dijkstra search per building, run in parallel, and each
+ * route is kept only as the edge indices of its segments, all packed into one int array. A lookup rebuilds the Path by
+ * extending along those edges in order, so its segments and cost are exactly those a search would return.
+ *
+ * <p>A RouteTable is immutable and can be shared by threads.</p>
+ */
+final class RouteTable {
+
+    /**
+     * The graph the routes are over
+     */
+    private final WeightedAdjacency<Point> graph;
+
+    /**
+     * The row of each building in the table
+     */
+    private final Map<String, Integer> rows;
+
+    /**
+     * The graph node id of the point of the building in each row
+     */
+    private final int[] sources;
+
+    /**
+     * The edges of the route from the building in row i to the building in row j are
+     * edges[offsets[i * sources.length + j]] to edges[offsets[i * sources.length + j + 1] - 1]
+     */
+    private final int[] offsets;
+
+    /**
+     * The edge indices of every route, one route after another
+     */
+    private final int[] edges;
+
+    /**
+     * The pairs i * sources.length + j for which there is no route from row i to row j
+     */
+    private final BitSet unreachable;
+
+    //Abstraction Function: For buildings a and b with rows i = rows.get(a) and j = rows.get(b), and k = i * sources.length + j, there is no
+    //                      route from a to b if unreachable.get(k), and otherwise the route is the path from graph node sources[i] along the
+    //                      edges edges[offsets[k]] to edges[offsets[k + 1] - 1] in order.
+
+    //Representation Invariant: graph, rows, sources, offsets, edges and unreachable are not null
+    //                          rows maps each building to a distinct row in [0, sources.length)
+    //                          offsets.length == sources.length * sources.length + 1, offsets[0] == 0, offsets is non-decreasing
+    //                          and offsets[offsets.length - 1] == edges.length
+
+    /**Builds the table of routes between buildings
+     *
+     * @param graph The graph of campus paths. Must not change while the table is in use
+     * @param buildings The point of each building, by short name
+     * @spec.requires graph does not contain any negative edge weights
+     * @spec.effects Constructs a table of the shortest route between each ordered pair of the buildings whose point is in graph
+     */
+    RouteTable(WeightedAdjacency<Point> graph, Map<String, Point> buildings){
+        this.graph = graph;
+        rows = new HashMap<>();
+        int[] ids = new int[buildings.size()];
+        int count = 0;
+        for(Map.Entry<String, Point> building : buildings.entrySet()){
+            int id = graph.idOf(building.getValue());
+            if(id != -1){ //A building off the paths cannot start a route, so a search reports it instead
+                rows.put(building.getKey(), count);
+                ids[count++] = id;
+            }
+        }
+        sources = Arrays.copyOf(ids, count);
+        int[][] rowEdges = new int[count][];
+        int[][] rowLengths = new int[count][];
+        IntStream.range(0, count).parallel().forEach(i -> {
+            DijkstraEngine<Point> engine = new DijkstraEngine<>(graph);
+            engine.search(sources[i], -1);
+            int[] lengths = new int[sources.length];
+            int total = 0;
+            for(int j = 0; j < sources.length; j++){
+                int[] path = engine.pathTo(sources[j]);
+                lengths[j] = path == null ? -1 : path.length - 1;
+                total += Math.max(lengths[j], 0);
+            }
+            int[] row = new int[total];
+            int next = 0;
+            for(int j = 0; j < sources.length; j++){
+                for(int k = next + lengths[j] - 1, node = sources[j]; k >= next; k--, node = engine.parent(node)){
+                    row[k] = engine.parentEdge(node);
+                }
+                next += Math.max(lengths[j], 0);
+            }
+            rowEdges[i] = row;
+            rowLengths[i] = lengths;
+        });
+        offsets = new int[count * count + 1];
+        unreachable = new BitSet(count * count);
+        int total = 0;
+        for(int i = 0; i < count; i++){
+            for(int j = 0; j < count; j++){
+                int length = rowLengths[i][j];
+                if(length == -1){
+                    unreachable.set(i * count + j);
+                }
+                total += Math.max(length, 0);
+                offsets[i * count + j + 1] = total;
+            }
+        }
+        edges = new int[total];
+        for(int i = 0; i < count; i++){
+            System.arraycopy(rowEdges[i], 0, edges, offsets[i * count], rowEdges[i].length);
+        }
+        checkRep();
+    }
+
+    /**Returns the graph the routes are over
+     *
+     * @return the graph the routes are over
+     */
+    WeightedAdjacency<Point> graph(){
+        return graph;
+    }
+
+    /**Returns whether the table holds the routes to and from a building
+     *
+     * @param shortName The short name of a building
+     * @return true if the table has a row for shortName
+     */
+    boolean contains(String shortName){
+        return rows.containsKey(shortName);
+    }
+
+    /**Looks up the shortest route between two buildings
+     *
+     * @param startShortName The short name of the building the route starts at
+     * @param endShortName The short name of the building the route ends at
+     * @return The shortest route from startShortName to endShortName, or null if there is none
+     * @spec.requires contains(startShortName) and contains(endShortName)
+     */
+    Path<Point> route(String startShortName, String endShortName){
+        int pair = rows.get(startShortName) * sources.length + rows.get(endShortName);
+        if(unreachable.get(pair)){
+            return null;
+        }
+        Path<Point> path = new Path<>(graph.labelOf(sources[rows.get(startShortName)]));
+        for(int k = offsets[pair]; k < offsets[pair + 1]; k++){
+            int e = edges[k];
+            path = path.extend(graph.labelOf(graph.target(e)), graph.weight(e));
+        }
+        return path;
+    }
+
+    /**
+     * Throws an exception if the representation invariant is violated
+     */
+    private void checkRep(){
+        assert graph != null && rows != null && sources != null && offsets != null && edges != null && unreachable != null;
+        assert rows.size() == sources.length && offsets.length == sources.length * sources.length + 1;
+        assert offsets[0] == 0 && offsets[offsets.length - 1] == edges.length;
+    }
+}
@@ -0,0 +1,35 @@
+package pathfinder;
+
+/**
+ * RoutingAlgorithm names the search algorithms a ModelAPI can use to find the shortest path between two buildings.
+ * Every algorithm finds a path of the least possible distance; they differ in how much of the campus they examine.
+ */
+public enum RoutingAlgorithm {
+
+    /**
+     * Dijkstra's algorithm, which settles every point closer to the start than the end is
+     */
+    DIJKSTRA,
+
+    /**
+     * A* search, which uses the straight-line distance to the end to settle mostly points in its direction
+     */
+    A_STAR,
+
+    /**
+     * ALT search, A* guided by lower bounds from precomputed distances to and from a few landmark points, which stay
+     * tight where paths have to detour and the straight line is a poor estimate
+     */
+    ALT,
+
+    /**
+     * Bidirectional Dijkstra, which searches from the start and backward from the end until the two searches meet
+     */
+    BIDIRECTIONAL,
+
+    /**
+     * A query of a contraction hierarchy, which is preprocessed once so that each query searches only upward through
+     * the points ranked most important, using shortcuts that stand for longer paths
+     */
+    CONTRACTION_HIERARCHY
+}
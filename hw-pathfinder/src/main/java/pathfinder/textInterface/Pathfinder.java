@@ -13,6 +13,8 @@ package pathfinder.textInterface;
 
 import pathfinder.CampusMap;
 
+import java.nio.file.Paths;
+
 /**
  * Pathfinder represents a complete application capable of responding to user prompts to provide
  * a variety of information about campus buildings and paths between them.
@@ -27,7 +29,9 @@ public class Pathfinder {
      * @param args The command-line arguments provided to the system.
      */
     public static void main(String[] args) {
-        CampusMap map = new CampusMap();
+        //Start from a memory-mapped binary graph file, written on the first run, if one is configured
+        String graphFile = System.getProperty("pathfinder.graphFile");
+        CampusMap map = graphFile == null ? new CampusMap() : new CampusMap(Paths.get(graphFile));
         TextInterfaceView view = new TextInterfaceView();
         TextInterfaceController controller = new TextInterfaceController(map, view);
         //
@@ -0,0 +1,281 @@
+package pathfinder.junitTests;
+
+import graph.BufferGraph;
+import graph.DirectedLabeledGraph;
+import graph.GraphStats;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import pathfinder.CampusMap;
+import pathfinder.CampusPaths;
+import pathfinder.RoutingAlgorithm;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusBuilding;
+import pathfinder.parser.CampusPath;
+import pathfinder.parser.CampusPathsParser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+
+/**
+ * This class contains a set of test cases that can be used to test the implementation of the
+ * CampusMap class not tested in the script tests.
+ *
+ * <p>
+ */
+public class CampusMapTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    @Test
+    public void graphFileMatchesTextFilesTest() throws IOException {
+        Path dir = Files.createTempDirectory("campus");
+        Path file = dir.resolve("campus.bin");
+        try {
+            CampusMap parsed = new CampusMap();
+            CampusMap written = new CampusMap(file);
+            assertTrue(Files.isRegularFile(file));
+            CampusMap mapped = new CampusMap(file);
+            List<String> names = new ArrayList<>(parsed.buildingNames().keySet());
+            for(int i = 0; i < names.size(); i += 3){
+                for(int j = 0; j < names.size(); j += 5){
+                    assertEquals(parsed.findShortestPath(names.get(i), names.get(j)), written.findShortestPath(names.get(i), names.get(j)));
+                    assertEquals(parsed.findShortestPath(names.get(i), names.get(j)), mapped.findShortestPath(names.get(i), names.get(j)));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(dir.resolve("campus.bin.alt"));
+            Files.deleteIfExists(file);
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void matchesCampusPathsTest(){
+        //The campus graph as a DirectedLabeledGraph, searched with the original Dijkstra's algorithm
+        DirectedLabeledGraph<Point, Double> campus = new DirectedLabeledGraph<>();
+        for(CampusPath path : CampusPathsParser.parseCampusPaths("campus_paths.csv")){
+            campus.addEdge(path.getDistance(), new DirectedLabeledGraph.Node<>(new Point(path.getX1(), path.getY1())),
+                    new DirectedLabeledGraph.Node<>(new Point(path.getX2(), path.getY2())));
+        }
+        CampusMap map = new CampusMap();
+        List<CampusBuilding> buildings = CampusPathsParser.parseCampusBuildings("campus_buildings.csv");
+        for(CampusBuilding start : buildings){
+            for(CampusBuilding end : buildings){
+                assertEquals(CampusPaths.findPath(new Point(start.getX(), start.getY()), new Point(end.getX(), end.getY()), campus),
+                        map.findShortestPath(start.getShortName(), end.getShortName()));
+            }
+        }
+    }
+
+    @Test
+    public void staleGraphFileRebuiltTest() throws IOException {
+        Path file = Files.createTempFile("campus", ".bin");
+        try {
+            //A readable graph file recorded as built from other contents of the paths file
+            DirectedLabeledGraph<String,Double> stale = new DirectedLabeledGraph<>();
+            stale.addEdge(1.0, new DirectedLabeledGraph.Node<>("0.0,0.0"), new DirectedLabeledGraph.Node<>("1.0,1.0"));
+            BufferGraph.writeWeighted(stale, file, Function.identity(), 331);
+            CampusMap map = new CampusMap(file);
+            assertNotNull(map.findShortestPath("CSE", "KNE"));
+            BufferGraph<String> rebuilt = BufferGraph.map(file, Function.identity());
+            assertNotEquals(331, rebuilt.source());
+            assertTrue(rebuilt.nodeCount() > 2);
+        } finally {
+            Files.deleteIfExists(file.resolveSibling(file.getFileName() + ".alt"));
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void corruptGraphFileRebuiltTest() throws IOException {
+        Path file = Files.createTempFile("campus", ".bin");
+        try {
+            Files.write(file, new byte[]{1, 2, 3});
+            CampusMap map = new CampusMap(file);
+            assertTrue(map.shortNameExists("CSE"));
+            assertNotNull(map.findShortestPath("CSE", "KNE"));
+            //The corrupt file was replaced with a readable one
+            assertTrue(Files.size(file) > 3);
+        } finally {
+            Files.deleteIfExists(file.resolveSibling(file.getFileName() + ".alt"));
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void aStarMatchesDijkstraTest(){
+        CampusMap map = new CampusMap();
+        List<String> names = new ArrayList<>(map.buildingNames().keySet());
+        for(int i = 0; i < names.size(); i += 2){
+            for(int j = 0; j < names.size(); j += 3){
+                assertEquals(map.findShortestPath(names.get(i), names.get(j), RoutingAlgorithm.DIJKSTRA),
+                        map.findShortestPath(names.get(i), names.get(j), RoutingAlgorithm.A_STAR));
+            }
+        }
+        assertEquals(map.queryCount(RoutingAlgorithm.DIJKSTRA), map.queryCount(RoutingAlgorithm.A_STAR));
+        //The straight-line estimate steers A* away from most of campus
+        assertTrue(map.settledPointCount(RoutingAlgorithm.A_STAR) * 2 < map.settledPointCount(RoutingAlgorithm.DIJKSTRA));
+    }
+
+    @Test
+    public void bidirectionalMatchesDijkstraTest(){
+        CampusMap map = new CampusMap();
+        List<String> names = new ArrayList<>(map.buildingNames().keySet());
+        for(int i = 1; i < names.size(); i += 2){
+            for(int j = 0; j < names.size(); j += 3){
+                assertEquals(map.findShortestPath(names.get(i), names.get(j), RoutingAlgorithm.DIJKSTRA),
+                        map.findShortestPath(names.get(i), names.get(j), RoutingAlgorithm.BIDIRECTIONAL));
+            }
+        }
+        assertTrue(map.settledPointCount(RoutingAlgorithm.BIDIRECTIONAL) < map.settledPointCount(RoutingAlgorithm.DIJKSTRA));
+    }
+
+    @Test
+    public void hierarchyMatchesDijkstraTest() throws IOException {
+        Path dir = Files.createTempDirectory("campus");
+        Path file = dir.resolve("campus.bin");
+        Path hierarchyFile = dir.resolve("campus.bin.ch");
+        try {
+            CampusMap built = new CampusMap(file);
+            List<String> names = new ArrayList<>(built.buildingNames().keySet());
+            for(int i = 0; i < names.size(); i += 2){
+                for(int j = 1; j < names.size(); j += 3){
+                    assertEquals(built.findShortestPath(names.get(i), names.get(j), RoutingAlgorithm.DIJKSTRA),
+                            built.findShortestPath(names.get(i), names.get(j), RoutingAlgorithm.CONTRACTION_HIERARCHY));
+                }
+            }
+            assertTrue(built.settledPointCount(RoutingAlgorithm.CONTRACTION_HIERARCHY) * 4 < built.settledPointCount(RoutingAlgorithm.DIJKSTRA));
+            //The hierarchy was saved on first use, and a new map loads it
+            assertTrue(Files.isRegularFile(hierarchyFile));
+            CampusMap loaded = new CampusMap(file);
+            assertEquals(built.findShortestPath("CSE", "KNE"), loaded.findShortestPath("CSE", "KNE", RoutingAlgorithm.CONTRACTION_HIERARCHY));
+        } finally {
+            Files.deleteIfExists(hierarchyFile);
+            Files.deleteIfExists(dir.resolve("campus.bin.alt"));
+            Files.deleteIfExists(file);
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void altMatchesDijkstraTest() throws IOException {
+        Path dir = Files.createTempDirectory("campus");
+        Path file = dir.resolve("campus.bin");
+        Path landmarkFile = dir.resolve("campus.bin.alt");
+        try {
+            CampusMap built = new CampusMap(file);
+            List<String> names = new ArrayList<>(built.buildingNames().keySet());
+            for(int i = 1; i < names.size(); i += 2){
+                for(int j = 1; j < names.size(); j += 3){
+                    assertEquals(built.findShortestPath(names.get(i), names.get(j), RoutingAlgorithm.DIJKSTRA),
+                            built.findShortestPath(names.get(i), names.get(j), RoutingAlgorithm.ALT));
+                }
+            }
+            assertTrue(built.settledPointCount(RoutingAlgorithm.ALT) * 2 < built.settledPointCount(RoutingAlgorithm.DIJKSTRA));
+            //The landmark distances were saved at startup, and a new map loads them
+            assertTrue(Files.isRegularFile(landmarkFile));
+            CampusMap loaded = new CampusMap(file);
+            assertEquals(built.findShortestPath("CSE", "KNE"), loaded.findShortestPath("CSE", "KNE", RoutingAlgorithm.ALT));
+        } finally {
+            Files.deleteIfExists(landmarkFile);
+            Files.deleteIfExists(dir.resolve("campus.bin.ch"));
+            Files.deleteIfExists(file);
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void precomputedRoutesMatchSearchTest(){
+        CampusMap searched = new CampusMap();
+        CampusMap precomputed = new CampusMap();
+        assertFalse(precomputed.hasPrecomputedRoutes());
+        precomputed.precomputeRoutes();
+        assertTrue(precomputed.hasPrecomputedRoutes());
+        List<String> names = new ArrayList<>(searched.buildingNames().keySet());
+        for(String start : names){
+            for(String end : names){
+                assertEquals(searched.findShortestPath(start, end), precomputed.findShortestPath(start, end));
+            }
+        }
+        //Every query was a lookup, and other algorithms still search
+        assertEquals(names.size() * names.size(), precomputed.queryCount(RoutingAlgorithm.DIJKSTRA));
+        assertEquals(0, precomputed.settledPointCount(RoutingAlgorithm.DIJKSTRA));
+        precomputed.findShortestPath("CSE", "KNE", RoutingAlgorithm.A_STAR);
+        assertTrue(precomputed.settledPointCount(RoutingAlgorithm.A_STAR) > 0);
+    }
+
+    @Test
+    public void treeCacheTest(){
+        CampusMap map = new CampusMap();
+        CampusMap reference = new CampusMap();
+        List<String> names = new ArrayList<>(map.buildingNames().keySet());
+        for(String end : names){
+            assertEquals(reference.findShortestPath("CSE", end, RoutingAlgorithm.A_STAR), map.findShortestPath("CSE", end));
+        }
+        //One search from CSE, then every other path was walked from its tree
+        assertEquals(1, map.treeCacheMissCount());
+        assertEquals(names.size() - 1, map.treeCacheHitCount());
+        long settled = map.settledPointCount(RoutingAlgorithm.DIJKSTRA);
+        assertTrue(settled > 0);
+        map.findShortestPath("CSE", "KNE");
+        assertEquals(settled, map.settledPointCount(RoutingAlgorithm.DIJKSTRA));
+        map.findShortestPath("KNE", "CSE");
+        assertEquals(2, map.treeCacheMissCount());
+    }
+
+    @Test
+    public void defaultAlgorithmIsDijkstraTest(){
+        CampusMap map = new CampusMap();
+        assertEquals(0, map.queryCount(RoutingAlgorithm.DIJKSTRA));
+        map.findShortestPath("CSE", "KNE");
+        assertEquals(1, map.queryCount(RoutingAlgorithm.DIJKSTRA));
+        assertEquals(0, map.queryCount(RoutingAlgorithm.A_STAR));
+        assertTrue(map.settledPointCount(RoutingAlgorithm.DIJKSTRA) > 0);
+    }
+
+    @Test
+    public void graphStatsTest(){
+        CampusMap map = new CampusMap();
+        GraphStats stats = map.graphStats();
+        assertSame(stats, map.graphStats());
+        assertTrue(stats.nodeCount() > 0 && stats.edgeCount() > 0);
+        int[] histogram = stats.degreeHistogram();
+        int nodes = 0;
+        for(int count : histogram){
+            nodes += count;
+        }
+        assertEquals(stats.nodeCount(), nodes);
+        assertTrue(stats.bytesPerEdge() > 0 && stats.bytesPerNode() > 0);
+    }
+
+    @Test
+    public void mappedGraphStatsTest() throws IOException {
+        Path dir = Files.createTempDirectory("campus");
+        Path file = dir.resolve("campus.bin");
+        try {
+            GraphStats parsed = new CampusMap(file).graphStats();
+            GraphStats mapped = new CampusMap(file).graphStats();
+            assertEquals(parsed.nodeCount(), mapped.nodeCount());
+            assertEquals(parsed.edgeCount(), mapped.edgeCount());
+            assertArrayEquals(parsed.degreeHistogram(), mapped.degreeHistogram());
+            assertEquals(12, mapped.bytesPerEdge(), 0);
+            assertTrue(mapped.estimatedBytes() > Files.size(file));
+        } finally {
+            Files.deleteIfExists(dir.resolve("campus.bin.alt"));
+            Files.deleteIfExists(file);
+            Files.delete(dir);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullAlgorithmTest(){
+        new CampusMap().findShortestPath("CSE", "KNE", null);
+    }
+}
@@ -1,12 +1,15 @@
 package pathfinder.junitTests;
 
+import graph.ComponentIndex;
 import graph.DirectedLabeledGraph;
+import graph.WeightedGraph;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.Timeout;
 import pathfinder.CampusPaths;
+import pathfinder.datastructures.Path;
 
 import java.util.HashSet;
 import java.util.Iterator;
@@ -64,5 +67,42 @@ public class CampusPathsTest {
         assertNull(CampusPaths.findPath("two", "one", graph));
     }
 
+    @Test
+    public void componentsNoPathTest(){
+        DirectedLabeledGraph<String, Double> graph = new DirectedLabeledGraph<>();
+        DirectedLabeledGraph.Node<String> one = new DirectedLabeledGraph.Node<>("one");
+        DirectedLabeledGraph.Node<String> two = new DirectedLabeledGraph.Node<>("two");
+        DirectedLabeledGraph.Node<String> three = new DirectedLabeledGraph.Node<>("three");
+        graph.addNode(one);
+        graph.addNode(two);
+        graph.addNode(three);
+        graph.addEdge(1.0, one, two);
+        graph.addEdge(2.0, two, one);
+        ComponentIndex<String> components = new ComponentIndex<>(WeightedGraph.of(graph));
+        assertNull(CampusPaths.findPath("one", "three", graph, components));
+        assertNull(CampusPaths.findPath("three", "two", graph, components));
+        assertEquals(CampusPaths.findPath("two", "one", graph), CampusPaths.findPath("two", "one", graph, components));
+    }
 
+    @Test
+    public void weightedGraphMatchesTest(){
+        DirectedLabeledGraph<String, Double> graph = new DirectedLabeledGraph<>();
+        DirectedLabeledGraph.Node<String> one = new DirectedLabeledGraph.Node<>("one");
+        DirectedLabeledGraph.Node<String> two = new DirectedLabeledGraph.Node<>("two");
+        DirectedLabeledGraph.Node<String> three = new DirectedLabeledGraph.Node<>("three");
+        DirectedLabeledGraph.Node<String> four = new DirectedLabeledGraph.Node<>("four");
+        graph.addEdge(1.0, one, two);
+        graph.addEdge(5.0, one, three);
+        graph.addEdge(1.0, two, three);
+        graph.addEdge(2.5, three, four);
+        graph.addEdge(7.0, two, four);
+        WeightedGraph<String> weighted = WeightedGraph.of(graph);
+        for(String start : new String[]{"one", "two", "three", "four"}){
+            for(String end : new String[]{"one", "two", "three", "four"}){
+                Path<String> expected = CampusPaths.findPath(start, end, graph);
+                assertEquals(expected, CampusPaths.findWeightedPath(start, end, weighted));
+            }
+        }
+        assertEquals(4.5, CampusPaths.findWeightedPath("one", "four", weighted).getCost(), 1e-9);
+    }
 }